@@ -15,6 +15,7 @@ package org.eclipse.equinox.common.tests;
 
 import org.eclipse.core.runtime.tests.FileLocatorTest;
 import org.eclipse.equinox.common.tests.adaptable.AdaptableTests;
+import org.eclipse.equinox.common.tests.concurrent.ConcurrentTests;
 import org.eclipse.equinox.common.tests.registry.RegistryTests;
 import org.eclipse.equinox.common.tests.registry.simple.SimpleRegistryTests;
 import org.eclipse.equinox.common.tests.text.StringMatcherTests;
@@ -29,7 +30,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	AdaptableTests.class,
 	RegistryTests.class,
 	SimpleRegistryTests.class,
-	FileLocatorTest.class
+	FileLocatorTest.class,
+	ConcurrentTests.class
 })
 public class AllTests {
 	// intentionally left blank
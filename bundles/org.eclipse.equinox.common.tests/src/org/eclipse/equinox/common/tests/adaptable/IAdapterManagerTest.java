@@ -69,6 +69,16 @@ public class IAdapterManagerTest {
 	class X extends Y implements A, B {
 	}
 
+	// only used by testRegisterInvalidatesAffectedLookups
+	interface P {
+	}
+
+	interface Q extends P {
+	}
+
+	class Z implements Q {
+	}
+
 	private static final String NON_EXISTING = "com.does.not.Exist";
 	private static final String TEST_ADAPTER = "org.eclipse.equinox.common.tests.adaptable.TestAdapter";
 	private static final String TEST_ADAPTER_CL = "testAdapter.testUnknown";
@@ -530,4 +540,42 @@ public class IAdapterManagerTest {
 			manager.unregisterAdapters(yFactory, TestAdaptable.class);
 		}
 	}
+
+	/**
+	 * Tests that registering and unregistering a factory for an interface discards
+	 * the cached lookups of the implementing classes, but not unrelated lookups.
+	 */
+	@Test
+	public void testRegisterInvalidatesAffectedLookups() {
+		AdapterManager adapterManager = AdapterManager.getDefault();
+		Z zAdaptable = new Z();
+		TestAdaptable unrelated = new TestAdaptable();
+		IAdapterFactory factory = new IAdapterFactory() {
+			@Override
+			public <T> T getAdapter(Object adaptableObject, Class<T> adapterType) {
+				return adapterType.cast("adapted from P"); //$NON-NLS-1$
+			}
+
+			@Override
+			public Class<?>[] getAdapterList() {
+				return new Class[] { String.class };
+			}
+		};
+		assertNull(adapterManager.getAdapter(zAdaptable, String.class));
+		assertFalse(adapterManager.hasAdapter(unrelated, "java.lang.String"));
+
+		adapterManager.registerAdapters(factory, P.class);
+		try {
+			// Z implements P through Q
+			assertEquals("adapted from P", adapterManager.getAdapter(zAdaptable, String.class)); //$NON-NLS-1$
+			long misses = adapterManager.getLookupMissCount();
+			long hits = adapterManager.getLookupHitCount();
+			assertFalse(adapterManager.hasAdapter(unrelated, "java.lang.String"));
+			assertEquals(misses, adapterManager.getLookupMissCount());
+			assertTrue(adapterManager.getLookupHitCount() > hits);
+		} finally {
+			adapterManager.unregisterAdapters(factory);
+		}
+		assertNull(adapterManager.getAdapter(zAdaptable, String.class));
+	}
 }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.common.tests.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.equinox.concurrent.future.IFuture;
+import org.eclipse.equinox.concurrent.future.PooledThreadsExecutor;
+import org.eclipse.equinox.concurrent.future.ThreadsExecutor;
+import org.eclipse.equinox.concurrent.future.ThreadsExecutors;
+import org.eclipse.equinox.concurrent.future.VirtualThreadsExecutor;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ThreadsExecutor}s created by {@link ThreadsExecutors}.
+ */
+public class ThreadsExecutorsTest {
+	private static final long TIMEOUT = 10000;
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private PooledThreadsExecutor pooled;
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		if (pooled != null) {
+			pooled.shutdown();
+		}
+		System.clearProperty(ThreadsExecutors.PROP_EXECUTOR);
+	}
+
+	@Test
+	public void testPooledReusesThreads() throws Exception {
+		pooled = ThreadsExecutors.newPooledExecutor(2);
+		List<IFuture<Thread>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(pooled.execute(monitor -> Thread.currentThread(), null));
+		}
+		Set<Thread> threads = new HashSet<>();
+		for (IFuture<Thread> future : futures) {
+			threads.add(future.get(TIMEOUT));
+			assertTrue("Wrong status.", future.getStatus().isOK());
+		}
+		assertTrue("Too many threads: " + threads.size(), threads.size() <= 2);
+		for (Thread thread : threads) {
+			assertTrue("Not a pool thread: " + thread.getName(), thread.getName().startsWith("PooledThreadsExecutor-"));
+			assertTrue("Not a daemon thread: " + thread.getName(), thread.isDaemon());
+		}
+		assertTrue("Wrong pool size.", pooled.getPoolSize() <= 2);
+	}
+
+	@Test
+	public void testPooledQueueFullRunsOnNewThread() throws Exception {
+		pooled = new PooledThreadsExecutor(1, 1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		IFuture<Thread> blocking = pooled.execute(monitor -> {
+			blocked.countDown();
+			release.await();
+			return Thread.currentThread();
+		}, null);
+		assertTrue("Pool thread not started.", blocked.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		IFuture<Thread> queued = pooled.execute(monitor -> Thread.currentThread(), null);
+		assertEquals("Wrong queue size.", 1, pooled.getQueueSize());
+		assertEquals("Wrong active count.", 1, pooled.getActiveCount());
+
+		// the queue is full, this one must not wait for the blocked pool thread
+		IFuture<Thread> overflow = pooled.execute(monitor -> Thread.currentThread(), null);
+		Thread overflowThread = overflow.get(TIMEOUT);
+		assertTrue("Not a thread of its own: " + overflowThread.getName(), overflowThread.getName().startsWith("ThreadsExecutor("));
+		assertFalse("Queued runnable ran too early.", queued.isDone());
+
+		release.countDown();
+		assertSame("Queued runnable not run by the pool thread.", blocking.get(TIMEOUT), queued.get(TIMEOUT));
+	}
+
+	@Test
+	public void testPooledCanceledWhileQueued() throws Exception {
+		pooled = ThreadsExecutors.newPooledExecutor(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		pooled.execute(monitor -> {
+			blocked.countDown();
+			release.await();
+			return null;
+		}, null);
+		assertTrue("Pool thread not started.", blocked.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		AtomicBoolean ran = new AtomicBoolean();
+		IFuture<Object> canceled = pooled.execute(monitor -> {
+			ran.set(true);
+			return null;
+		}, null);
+		assertTrue("Could not cancel.", canceled.cancel());
+		release.countDown();
+
+		// the pool thread runs the queued runnables in order
+		pooled.execute(monitor -> null, null).get(TIMEOUT);
+		assertFalse("Canceled runnable was run.", ran.get());
+		assertEquals("Wrong status.", IStatus.CANCEL, canceled.getStatus().getSeverity());
+	}
+
+	@Test
+	public void testVirtualThreads() throws Exception {
+		assumeTrue("Virtual threads are not supported", VirtualThreadsExecutor.isSupported());
+		ThreadsExecutor executor = ThreadsExecutors.newVirtualThreadsExecutor();
+		assertTrue("Wrong executor.", executor instanceof VirtualThreadsExecutor);
+		Thread thread = executor.execute(monitor -> Thread.currentThread(), null).get(TIMEOUT);
+		assertEquals("Not a virtual thread.", Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+		assertEquals("Wrong active count.", 0, ((VirtualThreadsExecutor) executor).getActiveCount());
+	}
+
+	@Test
+	public void testVirtualThreadsFallBackToPool() {
+		assumeTrue("Virtual threads are supported", !VirtualThreadsExecutor.isSupported());
+		ThreadsExecutor executor = ThreadsExecutors.newVirtualThreadsExecutor();
+		assertTrue("Wrong executor.", executor instanceof PooledThreadsExecutor);
+		pooled = (PooledThreadsExecutor) executor;
+	}
+
+	@Test
+	public void testDefaultExecutor() {
+		assertSame("Wrong default executor.", ThreadsExecutor.class, ThreadsExecutors.newDefaultExecutor().getClass());
+		System.setProperty(ThreadsExecutors.PROP_EXECUTOR, ThreadsExecutors.EXECUTOR_POOLED);
+		ThreadsExecutor executor = ThreadsExecutors.newDefaultExecutor();
+		assertTrue("Wrong pooled executor.", executor instanceof PooledThreadsExecutor);
+		pooled = (PooledThreadsExecutor) executor;
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.common.tests.registry.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.internal.registry.ExtensionRegistry;
+import org.eclipse.core.internal.registry.ExtensionRegistry.ParsedContribution;
+import org.eclipse.core.runtime.ContributorFactorySimple;
+import org.eclipse.core.runtime.IContributor;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.junit.Test;
+
+/**
+ * Tests contributions which are parsed concurrently and then added to the
+ * registry together. Duplicate extension points are resolved in the order
+ * the contributions are added, not in the order they were parsed.
+ */
+public class ParsedContributionsTest extends BaseExtensionRegistryRun {
+
+	@Test
+	public void testAddParsedContributions() throws Exception {
+		ExtensionRegistry registry = (ExtensionRegistry) simpleRegistry;
+		IContributor contributor1 = ContributorFactorySimple.createContributor("1"); //$NON-NLS-1$
+		IContributor contributor2 = ContributorFactorySimple.createContributor("2"); //$NON-NLS-1$
+
+		List<IExtension[]> addedExtensions = new ArrayList<>();
+		IRegistryEventListener listener = new IRegistryEventListener() {
+			@Override
+			public void added(IExtension[] extensions) {
+				synchronized (addedExtensions) {
+					addedExtensions.add(extensions);
+					addedExtensions.notifyAll();
+				}
+			}
+
+			@Override
+			public void removed(IExtension[] extensions) {
+				// nothing to do
+			}
+
+			@Override
+			public void added(IExtensionPoint[] extensionPoints) {
+				// nothing to do
+			}
+
+			@Override
+			public void removed(IExtensionPoint[] extensionPoints) {
+				// nothing to do
+			}
+		};
+		simpleRegistry.addListener(listener);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<ParsedContribution> parsed2 = executor.submit(() -> parse(registry, contributor2, "DuplicatePoints2.xml")); //$NON-NLS-1$
+			Future<ParsedContribution> parsed1 = executor.submit(() -> parse(registry, contributor1, "DuplicatePoints1.xml")); //$NON-NLS-1$
+			registry.addContributions(Arrays.asList(parsed1.get(), parsed2.get()), userToken);
+		} finally {
+			executor.shutdown();
+		}
+
+		IExtensionPoint[] extensionPoints = simpleRegistry.getExtensionPoints("testDuplicates"); //$NON-NLS-1$
+		assertEquals(2, extensionPoints.length);
+		IExtensionPoint duplicate = simpleRegistry.getExtensionPoint(qualifiedName("testDuplicates", "duplicateExtensionPoint")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull(duplicate);
+		assertEquals("Test11", duplicate.getLabel()); //$NON-NLS-1$
+		assertEquals(3, duplicate.getExtensions().length);
+		assertEquals(3, simpleRegistry.getExtensions("testDuplicates").length); //$NON-NLS-1$
+
+		// a single event for both contributions
+		synchronized (addedExtensions) {
+			long end = System.currentTimeMillis() + 5000;
+			while (addedExtensions.isEmpty() && System.currentTimeMillis() < end) {
+				addedExtensions.wait(100);
+			}
+			assertEquals(1, addedExtensions.size());
+			assertEquals(3, addedExtensions.get(0).length);
+		}
+		simpleRegistry.removeListener(listener);
+	}
+
+	@Test
+	public void testConcurrentAddOfSameContribution() throws Exception {
+		ExtensionRegistry registry = (ExtensionRegistry) simpleRegistry;
+		IContributor contributor = ContributorFactorySimple.createContributor("1"); //$NON-NLS-1$
+
+		// the same contribution is parsed twice, as when a bundle event races with
+		// the initial processing of all bundles; only one of them may be added
+		ParsedContribution parsed1 = parse(registry, contributor, "DuplicatePoints1.xml"); //$NON-NLS-1$
+		ParsedContribution parsed2 = parse(registry, contributor, "DuplicatePoints1.xml"); //$NON-NLS-1$
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> add1 = executor.submit(() -> {
+				barrier.await();
+				registry.addContributions(Arrays.asList(parsed1), userToken);
+				return null;
+			});
+			Future<?> add2 = executor.submit(() -> {
+				barrier.await();
+				registry.addContributions(Arrays.asList(parsed2), userToken);
+				return null;
+			});
+			add1.get();
+			add2.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1, simpleRegistry.getExtensionPoints("testDuplicates").length); //$NON-NLS-1$
+		IExtensionPoint extensionPoint = simpleRegistry.getExtensionPoint(qualifiedName("testDuplicates", "duplicateExtensionPoint")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull(extensionPoint);
+		assertEquals(1, extensionPoint.getExtensions().length);
+		assertEquals(1, simpleRegistry.getExtensions("testDuplicates").length); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testInvalidContribution() throws Exception {
+		ExtensionRegistry registry = (ExtensionRegistry) simpleRegistry;
+		IContributor contributor = ContributorFactorySimple.createContributor("1"); //$NON-NLS-1$
+		ParsedContribution parsed = registry.parseContribution(new ByteArrayInputStream("<plugin>".getBytes()), contributor, false, "invalid.xml", null, userToken, 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(parsed.isValid());
+		registry.addContributions(Arrays.asList(parsed), userToken);
+		assertEquals(0, simpleRegistry.getExtensionPoints().length);
+	}
+
+	private ParsedContribution parse(ExtensionRegistry registry, IContributor contributor, String fileName) throws IOException {
+		URL url = getXML(fileName);
+		return registry.parseContribution(url.openStream(), contributor, false, url.getFile(), null, userToken, 0);
+	}
+}
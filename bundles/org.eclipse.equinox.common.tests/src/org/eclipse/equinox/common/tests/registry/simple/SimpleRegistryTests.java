@@ -27,7 +27,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	XMLExtensionCreateEclipseTest.class,
 	DirectExtensionRemoveTest.class,
 	MergeContributionTest.class,
-	DuplicatePointsTest.class
+	DuplicatePointsTest.class,
+	ParsedContributionsTest.class
 })
 public class SimpleRegistryTests {
 	// intentionally left blank
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -12,6 +12,7 @@
  *     IBM Corporation - initial API and implementation
  *     Sergey Prigogin (Google) - use parameterized types (bug 442021)
  *     Christoph Laeubrich - Bug 567344 - Support registration of IAdapterFactory as OSGi Service
+ *     IBM Corporation - flush adapter lookups when bundles are unresolved
  *******************************************************************************/
 package org.eclipse.core.internal.runtime;
 
@@ -64,6 +65,16 @@ public class Activator implements BundleActivator {
 
 	private ServiceTracker<IAdapterFactory, ?> adapterFactoryTracker;
 
+	/*
+	 * Discards the cached adapter lookups when a bundle is unresolved so that they
+	 * do not keep the classes of uninstalled or refreshed bundles.
+	 */
+	private final BundleListener adapterLookupFlusher = event -> {
+		if (event.getType() == BundleEvent.UNRESOLVED) {
+			AdapterManager.getDefault().flushLookup();
+		}
+	};
+
 	/*
 	 * Returns the singleton for this Activator. Callers should be aware that
 	 * this will return null if the bundle is not active.
@@ -88,6 +99,7 @@ public class Activator implements BundleActivator {
 		debugRegistration = context.registerService(DebugOptionsListener.class, TracingOptions.DEBUG_OPTIONS_LISTENER, properties);
 		adapterFactoryTracker = new ServiceTracker<>(context, IAdapterFactory.class, new AdapterFactoryBridge(bundleContext));
 		adapterFactoryTracker.open();
+		context.addBundleListener(adapterLookupFlusher);
 	}
 
 	private PlatformLogWriter getPlatformWriter(BundleContext context) {
@@ -101,8 +113,8 @@ public class Activator implements BundleActivator {
 		PackageAdmin packageAdmin = context.getService(packageAdminRef);
 		if (logService == null || readerService == null || packageAdmin == null)
 			return null;
-		PlatformLogWriter writer = new PlatformLogWriter(logService, packageAdmin, context.getBundle());
-		readerService.addLogListener(writer, writer);
+		PlatformLogWriter writer = new PlatformLogWriter(logService, readerService, packageAdmin, context.getBundle());
+		writer.addToReaderService();
 		return writer;
 	}
 
@@ -212,6 +224,7 @@ public class Activator implements BundleActivator {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		context.removeBundleListener(adapterLookupFlusher);
 		if (adapterFactoryTracker != null) {
 			adapterFactoryTracker.close();
 		}
@@ -45,7 +45,6 @@ public class AdapterFactoryBridge implements ServiceTrackerCustomizer<IAdapterFa
 		for (String adaptableClass : adaptableClasses) {
 			manager.registerFactory(proxy, adaptableClass);
 		}
-		manager.flushLookup();
 		return proxy;
 	}
 
@@ -77,7 +76,6 @@ public class AdapterFactoryBridge implements ServiceTrackerCustomizer<IAdapterFa
 		for (String adaptableClass : adaptableClasses) {
 			manager.registerFactory(proxy, adaptableClass);
 		}
-		manager.flushLookup();
 	}
 
 	@Override
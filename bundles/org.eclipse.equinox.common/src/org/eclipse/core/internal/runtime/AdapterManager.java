@@ -14,6 +14,7 @@
  *     Filip Hrbek - fix thread safety problem described in bug 305863
  *     Sergey Prigogin (Google) - use parameterized types (bug 442021)
  *     Christoph Läubrich - Bug 576660 - AdapterManager should use more modern concurrency primitives
+ *     IBM Corporation - invalidate only the lookups affected by a factory change
  *******************************************************************************/
 package org.eclipse.core.internal.runtime;
 
@@ -21,6 +22,9 @@ import java.util.*;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Map.Entry;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.eclipse.core.runtime.*;
 
@@ -53,13 +57,29 @@ public final class AdapterManager implements IAdapterManager {
 	 */
 	private final ConcurrentMap<String, Map<String, List<IAdapterFactory>>> adapterLookup;
 
+	/**
+	 * The names of the adaptable classes in {@link #adapterLookup} that depend on the
+	 * factories registered for a type, keyed by the type name. Used to discard only
+	 * the affected lookups when factories are registered or unregistered for a type.
+	 * The entry of a type is dropped when its lookups are discarded and added again
+	 * when they are computed again.
+	 */
+	private final ConcurrentMap<String, Set<String>> adapterLookupDependents;
+
+	/**
+	 * Incremented whenever cached lookups are discarded. A lookup computed while the
+	 * generation changed is not kept as it may have been computed from stale factories.
+	 */
+	private final AtomicLong lookupGeneration = new AtomicLong();
+
 	/**
 	 * Cache of classes for a given type name. Avoids too many loadClass calls.
-	 * (factory -> (type name -> Class)).
+	 * (factory -> (type name -> Class)). An empty value records that a loaded
+	 * factory cannot provide the class so it is not searched for again.
 	 * Thread safety note: always use the compute methods to update the map 
 	 * and make sure the values (inner map) are modified also this way.
 	 */
-	private final ConcurrentMap<IAdapterFactory, ConcurrentMap<String, Class<?>>> classLookup;
+	private final ConcurrentMap<IAdapterFactory, ConcurrentMap<String, Optional<Class<?>>>> classLookup;
 
 	/**
 	 * Cache of class lookup order (Class -> Class[]). This avoids having to compute often, and
@@ -78,6 +98,11 @@ public final class AdapterManager implements IAdapterManager {
 
 	private final Queue<IAdapterManagerProvider> lazyFactoryProviders;
 
+	private final LongAdder lookupHits = new LongAdder();
+	private final LongAdder lookupMisses = new LongAdder();
+	private final LongAdder classNotFoundHits = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
 	private static final AdapterManager singleton = new AdapterManager();
 
 	public static AdapterManager getDefault() {
@@ -90,6 +115,7 @@ public final class AdapterManager implements IAdapterManager {
 	private AdapterManager() {
 		classSearchOrderLookup = new ConcurrentHashMap<>();
 		adapterLookup = new ConcurrentHashMap<>();
+		adapterLookupDependents = new ConcurrentHashMap<>();
 		lazyFactoryProviders = new ConcurrentLinkedQueue<>();
 		factories = new ConcurrentHashMap<>();
 		classLookup = new ConcurrentHashMap<>();
@@ -100,12 +126,11 @@ public final class AdapterManager implements IAdapterManager {
 	}
 
 	/**
-	 * Given a type name, add all of the factories that respond to those types into
-	 * the given table. Each entry will be keyed by the adapter class name (supplied in
+	 * Given the factories registered for a type name, add all of the factories that respond
+	 * to those types into the given table. Each entry will be keyed by the adapter class name (supplied in
 	 * IAdapterFactory.getAdapterList).
 	 */
-	private void addFactoriesFor(String adaptableTypeName, Map<String, List<IAdapterFactory>> table) {
-		List<IAdapterFactory> factoryList = getFactories().get(adaptableTypeName);
+	private void addFactoriesFor(List<IAdapterFactory> factoryList, Map<String, List<IAdapterFactory>> table) {
 		if (factoryList == null)
 			return;
 		for (IAdapterFactory factory : factoryList) {
@@ -132,23 +157,30 @@ public final class AdapterManager implements IAdapterManager {
 	 * 
 	 */
 	private Class<?> classForName(IAdapterFactory adapterFactory, String typeName) {
-		return classLookup.computeIfAbsent(adapterFactory, factory -> new ConcurrentHashMap<>()).computeIfAbsent(typeName, type -> {
+		Optional<Class<?>> clazz = classLookup.computeIfAbsent(adapterFactory, factory -> new ConcurrentHashMap<>()).computeIfAbsent(typeName, type -> {
 			return loadFactory(adapterFactory, false).map(factory -> {
 				try {
-					return factory.getClass().getClassLoader().loadClass(typeName);
+					return Optional.<Class<?>> of(factory.getClass().getClassLoader().loadClass(typeName));
 				} catch (ClassNotFoundException e) {
 					// it is possible that the default bundle classloader is unaware of this class
 					// but the adaptor factory can load it in some other way. See bug 200068.
 					Class<?>[] adapterList = factory.getAdapterList();
 					for (Class<?> adapter : adapterList) {
 						if (typeName.equals(adapter.getName())) {
-							return adapter;
+							return Optional.<Class<?>> of(adapter);
 						}
 					}
 				}
-				return null; // class not yet loaded
-			}).orElse(null); // factory not loaded yet
+				return Optional.<Class<?>> empty(); // the loaded factory cannot provide the class
+			}).orElse(null); // factory not loaded yet, do not cache
 		});
+		if (clazz == null) {
+			return null;
+		}
+		if (!clazz.isPresent()) {
+			classNotFoundHits.increment();
+		}
+		return clazz.orElse(null);
 	}
 
 	@Override
@@ -163,15 +195,39 @@ public final class AdapterManager implements IAdapterManager {
 	 * a table of adapter class name to factory object.
 	 */
 	private Map<String, List<IAdapterFactory>> getFactories(Class<? extends Object> adaptable) {
+		String adaptableName = adaptable.getName();
+		Map<String, List<IAdapterFactory>> factoriesTable = adapterLookup.get(adaptableName);
+		if (factoriesTable != null) {
+			lookupHits.increment();
+			return factoriesTable;
+		}
+		lookupMisses.increment();
+		// make sure lazy providers have registered their factories before the table is computed
+		Map<String, List<IAdapterFactory>> allFactories = getFactories();
+		long generation = lookupGeneration.get();
+		Class<?>[] classOrder = getClassOrder(adaptable);
+		// register the dependencies first so that a factory change for any of the types
+		// made while the table is computed discards the table
+		for (Class<?> cl : classOrder) {
+			adapterLookupDependents.computeIfAbsent(cl.getName(), any -> ConcurrentHashMap.newKeySet()).add(adaptableName);
+		}
+		// calculate adapters for the class
+		Map<String, List<IAdapterFactory>> table = new HashMap<>(4);
+		for (Class<?> cl : classOrder) {
+			addFactoriesFor(allFactories.get(cl.getName()), table);
+		}
+		// adaptables without any adapters share the same table
+		factoriesTable = table.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(table);
 		//cache reference to lookup to protect against concurrent flush
-		return adapterLookup.computeIfAbsent(adaptable.getName(), adaptableType -> {
-			// calculate adapters for the class
-			Map<String, List<IAdapterFactory>> table = new HashMap<>(4);
-			for (Class<?> cl : computeClassOrder(adaptable)) {
-				addFactoriesFor(cl.getName(), table);
-			}
-			return Collections.unmodifiableMap(table);
-		});
+		Map<String, List<IAdapterFactory>> existing = adapterLookup.putIfAbsent(adaptableName, factoriesTable);
+		if (existing != null) {
+			return existing;
+		}
+		if (generation != lookupGeneration.get()) {
+			// the factories changed while the table was computed, do not keep it
+			adapterLookup.remove(adaptableName, factoriesTable);
+		}
+		return factoriesTable;
 	}
 
 	/**
@@ -224,19 +280,67 @@ public final class AdapterManager implements IAdapterManager {
 	}
 
 	/**
-	 * Flushes the cache of adapter search paths. This is generally required whenever an
-	 * adapter is added or removed.
-	 * <p>
-	 * It is likely easier to just toss the whole cache rather than trying to be smart
-	 * and remove only those entries affected.
-	 * </p>
+	 * Flushes all caches of adapter search paths and classes. Registering and unregistering
+	 * factories already discards the affected entries, so this is only required if the set
+	 * of classes changed in some other way, for example when a bundle is uninstalled.
 	 */
-	public synchronized void flushLookup() {
+	public void flushLookup() {
+		invalidations.increment();
+		adapterLookupDependents.clear();
+		lookupGeneration.incrementAndGet();
 		adapterLookup.clear();
 		classLookup.clear();
 		classSearchOrderLookup.clear();
 	}
 
+	/**
+	 * Discards the cached adapter tables of all adaptable classes that have the given type
+	 * in their search order, and the cached class search orders so that no classes of
+	 * a bundle which contributed factories are kept. Must be called after the factories
+	 * of the type were changed.
+	 */
+	private void flushLookup(String adaptableTypeName) {
+		invalidations.increment();
+		// drop the dependencies before the tables, tables computed again register them again
+		Set<String> dependents = adapterLookupDependents.remove(adaptableTypeName);
+		lookupGeneration.incrementAndGet();
+		if (dependents != null) {
+			for (String adaptableName : dependents) {
+				adapterLookup.remove(adaptableName);
+			}
+		}
+		classSearchOrderLookup.clear();
+	}
+
+	/**
+	 * Returns the number of adapter lookups answered from the cache.
+	 */
+	public long getLookupHitCount() {
+		return lookupHits.sum();
+	}
+
+	/**
+	 * Returns the number of adapter lookups which had to be computed.
+	 */
+	public long getLookupMissCount() {
+		return lookupMisses.sum();
+	}
+
+	/**
+	 * Returns the number of adapter class lookups answered from the cache of classes
+	 * which a factory is known not to provide.
+	 */
+	public long getClassNotFoundHitCount() {
+		return classNotFoundHits.sum();
+	}
+
+	/**
+	 * Returns the number of times cached lookups were discarded because factories changed.
+	 */
+	public long getInvalidationCount() {
+		return invalidations.sum();
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T getAdapter(Object adaptable, Class<T> adapterType) {
@@ -334,7 +438,6 @@ public final class AdapterManager implements IAdapterManager {
 	@Override
 	public synchronized void registerAdapters(IAdapterFactory factory, Class<?> adaptable) {
 		registerFactory(factory, adaptable.getName());
-		flushLookup();
 	}
 
 	/*
@@ -342,6 +445,7 @@ public final class AdapterManager implements IAdapterManager {
 	 */
 	public void registerFactory(IAdapterFactory factory, String adaptableType) {
 		factories.computeIfAbsent(adaptableType, any -> new CopyOnWriteArrayList<>()).add(factory);
+		flushLookup(adaptableType);
 	}
 
 	/*
@@ -349,9 +453,22 @@ public final class AdapterManager implements IAdapterManager {
 	 */
 	@Override
 	public synchronized void unregisterAdapters(IAdapterFactory factory) {
-		for (List<IAdapterFactory> list : factories.values())
-			list.remove(factory);
-		flushLookup();
+		removeFactories(factory::equals);
+	}
+
+	/**
+	 * Unregisters all factories matching the given predicate for all adaptable types.
+	 * @param filter selects the factories to unregister
+	 */
+	public synchronized void removeFactories(Predicate<IAdapterFactory> filter) {
+		for (Entry<String, List<IAdapterFactory>> entry : factories.entrySet()) {
+			List<IAdapterFactory> list = entry.getValue();
+			List<IAdapterFactory> removed = list.stream().filter(filter).collect(Collectors.toList());
+			if (!removed.isEmpty() && list.removeAll(removed)) {
+				flushLookup(entry.getKey());
+				removed.forEach(classLookup::remove);
+			}
+		}
 	}
 
 	/*
@@ -363,7 +480,8 @@ public final class AdapterManager implements IAdapterManager {
 		if (factoryList == null)
 			return;
 		factoryList.remove(factory);
-		flushLookup();
+		flushLookup(adaptable.getName());
+		classLookup.remove(factory);
 	}
 
 	/*
@@ -388,9 +506,8 @@ public final class AdapterManager implements IAdapterManager {
 	public Map<String, List<IAdapterFactory>> getFactories() {
 		IAdapterManagerProvider provider;
 		while ((provider = lazyFactoryProviders.poll()) != null) {
-			if (provider.addFactories(this)) {
-				flushLookup();
-			}
+			// registering the factories discards the affected lookups
+			provider.addFactories(this);
 		}
 		return factories;
 	}
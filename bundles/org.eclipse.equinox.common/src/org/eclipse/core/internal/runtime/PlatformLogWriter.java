@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2015 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -29,18 +29,29 @@ import org.osgi.service.packageadmin.PackageAdmin;
  * Note that this class just provides a bridge from the old ILog interface
  * to the new extended log service
  */
-public class PlatformLogWriter implements SynchronousLogListener, LogFilter {
+public class PlatformLogWriter implements SynchronousLogListener, CacheableLogFilter {
 	public static final String EQUINOX_LOGGER_NAME = "org.eclipse.equinox.logger"; //$NON-NLS-1$
 	private final ExtendedLogService logService;
+	private final ExtendedLogReaderService readerService;
 	private final PackageAdmin packageAdmin;
 	private final Bundle bundle;
 
-	public PlatformLogWriter(ExtendedLogService logService, PackageAdmin packageAdmin, Bundle bundle) {
+	public PlatformLogWriter(ExtendedLogService logService, ExtendedLogReaderService readerService, PackageAdmin packageAdmin, Bundle bundle) {
 		this.logService = logService;
+		this.readerService = readerService;
 		this.packageAdmin = packageAdmin;
 		this.bundle = bundle;
 	}
 
+	/**
+	 * Adds this writer to the log reader service, again if it was already
+	 * added. Must be called when the result of {@link #isLoggable(Bundle, String, int)}
+	 * changes since the log service caches it.
+	 */
+	void addToReaderService() {
+		readerService.addLogListener(this, this);
+	}
+
 	void logging(IStatus status) {
 		Bundle b = getBundle(status);
 		Logger equinoxLog = logService.getLogger(b, EQUINOX_LOGGER_NAME);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,8 +50,10 @@ public final class RuntimeLog {
 	 * See org.eclipse.core.runtime.Platform#addLogListener(ILogListener)
 	 */
 	public static void addLogListener(ILogListener listener) {
+		PlatformLogWriter writer;
 		synchronized (logListeners) {
 			boolean firstListener = isEmpty();
+			writer = logListeners.isEmpty() ? logWriter : null;
 			// replace if already exists (Set behaviour but we use an array
 			// since we want to retain order)
 			logListeners.remove(listener);
@@ -59,15 +61,23 @@ public final class RuntimeLog {
 			if (firstListener)
 				emptyQueuedMessages();
 		}
+		// hasListeners() changed; the log writer filters on it
+		if (writer != null)
+			writer.addToReaderService();
 	}
 
 	/**
 	 * See org.eclipse.core.runtime.Platform#removeLogListener(ILogListener)
 	 */
 	public static void removeLogListener(ILogListener listener) {
+		PlatformLogWriter writer = null;
 		synchronized (logListeners) {
-			logListeners.remove(listener);
+			if (logListeners.remove(listener) && logListeners.isEmpty())
+				writer = logWriter;
 		}
+		// hasListeners() changed; the log writer filters on it
+		if (writer != null)
+			writer.addToReaderService();
 	}
 
 	/**
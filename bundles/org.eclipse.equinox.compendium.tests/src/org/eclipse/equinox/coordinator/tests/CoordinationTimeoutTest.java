@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.coordinator.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.equinox.compendium.tests.Activator;
+import org.eclipse.equinox.coordinator.metrics.CoordinatorMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.coordinator.Coordination;
+
+/*
+ * Ensures coordination timeouts fire and are removed from the metrics once the
+ * coordination ends or fails.
+ */
+public class CoordinationTimeoutTest extends CoordinatorTest {
+	private CoordinatorMetrics metrics;
+	private ServiceReference<CoordinatorMetrics> metricsRef;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		metricsRef = Activator.getBundleContext().getServiceReference(CoordinatorMetrics.class);
+		metrics = Activator.getBundleContext().getService(metricsRef);
+	}
+
+	@After
+	@Override
+	public void tearDown() throws Exception {
+		Activator.getBundleContext().ungetService(metricsRef);
+		super.tearDown();
+	}
+
+	@Test
+	public void testTimeoutFires() throws Exception {
+		int pending = metrics.getPendingTimeoutCount();
+		long timeouts = metrics.getTimeoutCount();
+		Coordination c = coordinator.create("c", 200); //$NON-NLS-1$
+		assertEquals("Timeout not scheduled", pending + 1, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+		c.join(10000);
+		assertTrue("Not terminated", c.isTerminated()); //$NON-NLS-1$
+		assertEquals("Wrong failure", Coordination.TIMEOUT, c.getFailure()); //$NON-NLS-1$
+		assertEquals("Wrong number of timeouts", timeouts + 1, metrics.getTimeoutCount()); //$NON-NLS-1$
+		assertEquals("Timeout still pending", pending, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testActiveCoordinationCount() throws Exception {
+		int active = metrics.getActiveCoordinationCount();
+		Coordination c = coordinator.create("c", 0); //$NON-NLS-1$
+		assertEquals("Coordination not counted", active + 1, metrics.getActiveCoordinationCount()); //$NON-NLS-1$
+		c.end();
+		assertEquals("Ended coordination still counted", active, metrics.getActiveCoordinationCount()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testTimeoutCanceledOnEnd() throws Exception {
+		int pending = metrics.getPendingTimeoutCount();
+		long timeouts = metrics.getTimeoutCount();
+		Coordination c = coordinator.create("c", 200); //$NON-NLS-1$
+		assertEquals("Timeout not scheduled", pending + 1, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+		c.end();
+		assertEquals("Timeout not canceled", pending, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+		// wait past the deadline of the canceled timeout
+		Thread.sleep(500);
+		assertEquals("Canceled timeout fired", timeouts, metrics.getTimeoutCount()); //$NON-NLS-1$
+		assertNull("Wrong failure", c.getFailure()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testTimeoutCanceledOnFail() throws Exception {
+		int pending = metrics.getPendingTimeoutCount();
+		long timeouts = metrics.getTimeoutCount();
+		Coordination c = coordinator.create("c", 200); //$NON-NLS-1$
+		assertEquals("Timeout not scheduled", pending + 1, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+		Exception failure = new Exception();
+		assertTrue("Not failed", c.fail(failure)); //$NON-NLS-1$
+		assertEquals("Timeout not canceled", pending, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+		// wait past the deadline of the canceled timeout
+		Thread.sleep(500);
+		assertEquals("Canceled timeout fired", timeouts, metrics.getTimeoutCount()); //$NON-NLS-1$
+		assertEquals("Wrong failure", failure, c.getFailure()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testExtendTimeoutReschedules() throws Exception {
+		int pending = metrics.getPendingTimeoutCount();
+		Coordination c = coordinator.create("c", 200); //$NON-NLS-1$
+		c.extendTimeout(60000);
+		assertEquals("Extended timeout not scheduled once", pending + 1, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+		// the original deadline has passed
+		Thread.sleep(500);
+		assertFalse("Terminated by the original timeout", c.isTerminated()); //$NON-NLS-1$
+		c.end();
+		assertEquals("Timeout not canceled", pending, metrics.getPendingTimeoutCount()); //$NON-NLS-1$
+	}
+}
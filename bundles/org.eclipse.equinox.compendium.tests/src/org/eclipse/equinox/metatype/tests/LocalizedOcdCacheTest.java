@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.metatype.tests;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.*;
+import org.osgi.framework.Bundle;
+import org.osgi.service.metatype.*;
+
+/*
+ * Localized object class definitions are created once per pid and locale and
+ * shared by all callers until the providing bundle is updated.
+ */
+public class LocalizedOcdCacheTest extends AbstractTest {
+	private static final String TB1_PID = "org.eclipse.equinox.metatype.tests.tb1.getDefaultValues"; //$NON-NLS-1$
+	private static final String TB8_PID = "org.eclipse.equinox.metatype.tests.tb8"; //$NON-NLS-1$
+
+	@Test
+	public void testSameLocaleSharesDefinition() throws Exception {
+		Bundle bundle = bundleInstaller.installBundle("tb8"); //$NON-NLS-1$
+		bundle.start();
+		MetaTypeInformation mti = metatype.getMetaTypeInformation(bundle);
+		assertNotNull(mti);
+		ObjectClassDefinition ocd = mti.getObjectClassDefinition(TB8_PID, null);
+		assertObjectClassDefinition(ocd, "1", "OCD1 Name", null); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSame("Definition was not shared", ocd, mti.getObjectClassDefinition(TB8_PID, null)); //$NON-NLS-1$
+
+		ObjectClassDefinition ocdEn = mti.getObjectClassDefinition(TB8_PID, "en"); //$NON-NLS-1$
+		assertObjectClassDefinition(ocdEn, "1", "OCD1 Name", null); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotSame("Definition was shared across locales", ocd, ocdEn); //$NON-NLS-1$
+		assertSame("Definition was not shared", ocdEn, mti.getObjectClassDefinition(TB8_PID, "en")); //$NON-NLS-1$ //$NON-NLS-2$
+		Assert.assertEquals("Wrong attribute definition name", "AD1 Name", ocdEn.getAttributeDefinitions(ObjectClassDefinition.ALL)[0].getName()); //$NON-NLS-1$ //$NON-NLS-2$
+
+		bundle.update();
+		mti = metatype.getMetaTypeInformation(bundle);
+		assertNotNull(mti);
+		ObjectClassDefinition updated = mti.getObjectClassDefinition(TB8_PID, null);
+		assertObjectClassDefinition(updated, "1", "OCD1 Name", null); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotSame("Definition survived the bundle update", ocd, updated); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSharedDefaultValueIsCopied() throws Exception {
+		Bundle bundle = bundleInstaller.installBundle("tb1"); //$NON-NLS-1$
+		bundle.start();
+		MetaTypeInformation mti = metatype.getMetaTypeInformation(bundle);
+		assertNotNull(mti);
+		AttributeDefinition ad = findAttributeDefinitionById("21", mti.getObjectClassDefinition(TB1_PID, null).getAttributeDefinitions(ObjectClassDefinition.ALL)); //$NON-NLS-1$
+		Assert.assertNotNull("Attribute definition not found", ad); //$NON-NLS-1$
+		ad.getDefaultValue()[0] = "modified"; //$NON-NLS-1$
+		ad = findAttributeDefinitionById("21", mti.getObjectClassDefinition(TB1_PID, null).getAttributeDefinitions(ObjectClassDefinition.ALL)); //$NON-NLS-1$
+		assertEquals("Wrong default value", new String[] {"", ""}, ad.getDefaultValue()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.useradmin.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.equinox.compendium.tests.Activator;
+import org.junit.*;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.useradmin.*;
+
+public class AuthorizationTest {
+
+	private UserAdmin userAdmin;
+	private ServiceReference<UserAdmin> userAdminReference;
+
+	@Before
+	public void setUp() throws Exception {
+		Activator.getBundle(Activator.BUNDLE_USERADMIN).start();
+		userAdminReference = Activator.getBundleContext().getServiceReference(UserAdmin.class);
+		userAdmin = Activator.getBundleContext().getService(userAdminReference);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		userAdmin.removeRole("testAuthUser"); //$NON-NLS-1$
+		userAdmin.removeRole("testAuthGroup1"); //$NON-NLS-1$
+		userAdmin.removeRole("testAuthGroup2"); //$NON-NLS-1$
+		userAdmin.removeRole("testAuthRequired"); //$NON-NLS-1$
+		Activator.getBundleContext().ungetService(userAdminReference);
+		Activator.getBundle(Activator.BUNDLE_USERADMIN).stop();
+	}
+
+	@Test
+	public void testNestedMembership() throws Exception {
+		User user = (User) userAdmin.createRole("testAuthUser", Role.USER); //$NON-NLS-1$
+		Group group1 = (Group) userAdmin.createRole("testAuthGroup1", Role.GROUP); //$NON-NLS-1$
+		Group group2 = (Group) userAdmin.createRole("testAuthGroup2", Role.GROUP); //$NON-NLS-1$
+		Authorization authorization = userAdmin.getAuthorization(user);
+
+		assertTrue(authorization.hasRole("testAuthUser")); //$NON-NLS-1$
+		assertFalse(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+		assertArrayEquals(new String[] {"testAuthUser"}, authorization.getRoles()); //$NON-NLS-1$
+
+		group1.addMember(user);
+		assertTrue(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+		assertFalse(authorization.hasRole("testAuthGroup2")); //$NON-NLS-1$
+
+		group2.addMember(group1);
+		assertTrue(authorization.hasRole("testAuthGroup2")); //$NON-NLS-1$
+		assertArrayEquals(new String[] {"testAuthUser", "testAuthGroup1", "testAuthGroup2"}, authorization.getRoles()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		group1.removeMember(user);
+		assertFalse(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+		assertFalse(authorization.hasRole("testAuthGroup2")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRequiredMembers() throws Exception {
+		User user = (User) userAdmin.createRole("testAuthUser", Role.USER); //$NON-NLS-1$
+		Group group1 = (Group) userAdmin.createRole("testAuthGroup1", Role.GROUP); //$NON-NLS-1$
+		Group required = (Group) userAdmin.createRole("testAuthRequired", Role.GROUP); //$NON-NLS-1$
+		Authorization authorization = userAdmin.getAuthorization(user);
+
+		group1.addMember(user);
+		group1.addRequiredMember(required);
+		assertFalse(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+
+		required.addMember(user);
+		assertTrue(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+
+		userAdmin.removeRole("testAuthRequired"); //$NON-NLS-1$
+		assertFalse(authorization.hasRole("testAuthRequired")); //$NON-NLS-1$
+		assertTrue(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemovedRole() throws Exception {
+		User user = (User) userAdmin.createRole("testAuthUser", Role.USER); //$NON-NLS-1$
+		Group group1 = (Group) userAdmin.createRole("testAuthGroup1", Role.GROUP); //$NON-NLS-1$
+		Authorization authorization = userAdmin.getAuthorization(user);
+
+		group1.addMember(user);
+		assertTrue(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+
+		userAdmin.removeRole("testAuthGroup1"); //$NON-NLS-1$
+		assertFalse(authorization.hasRole("testAuthGroup1")); //$NON-NLS-1$
+		assertArrayEquals(new String[] {"testAuthUser"}, authorization.getRoles()); //$NON-NLS-1$
+
+		userAdmin.removeRole("testAuthUser"); //$NON-NLS-1$
+		assertNull(authorization.getRoles());
+	}
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.useradmin.tests.perf;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+/**
+ * The UserAdmin performance tests. They are not part of the default test
+ * suite and have to be run explicitly.
+ */
+@RunWith(Suite.class)
+@SuiteClasses({AuthorizationPerformanceTest.class})
+public class AllTests {
+	// See @SuiteClasses
+}
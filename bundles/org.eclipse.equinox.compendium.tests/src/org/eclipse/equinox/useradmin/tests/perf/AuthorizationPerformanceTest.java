@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.useradmin.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.equinox.compendium.tests.Activator;
+import org.junit.*;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.useradmin.*;
+
+/**
+ * Measures authorization checks on a synthetic directory of users which are
+ * members of a hierarchy of nested groups. The size of the directory can be
+ * changed with the system properties <code>useradmin.perf.users</code>,
+ * <code>useradmin.perf.groups</code> and <code>useradmin.perf.depth</code>.
+ * The checks have to finish within the timeout of the test.
+ */
+public class AuthorizationPerformanceTest {
+
+	private static final String PREFIX = "perfAuth"; //$NON-NLS-1$
+
+	private UserAdmin userAdmin;
+	private ServiceReference<UserAdmin> userAdminReference;
+
+	private final int users = Integer.getInteger("useradmin.perf.users", 1000); //$NON-NLS-1$
+	private final int groups = Integer.getInteger("useradmin.perf.groups", 50); //$NON-NLS-1$
+	private final int depth = Integer.getInteger("useradmin.perf.depth", 5); //$NON-NLS-1$
+
+	@Before
+	public void setUp() throws Exception {
+		Activator.getBundle(Activator.BUNDLE_USERADMIN).start();
+		userAdminReference = Activator.getBundleContext().getServiceReference(UserAdmin.class);
+		userAdmin = Activator.getBundleContext().getService(userAdminReference);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Role[] roles = userAdmin.getRoles(null);
+		if (roles != null) {
+			for (Role role : roles) {
+				if (role.getName().startsWith(PREFIX)) {
+					userAdmin.removeRole(role.getName());
+				}
+			}
+		}
+		Activator.getBundleContext().ungetService(userAdminReference);
+		Activator.getBundle(Activator.BUNDLE_USERADMIN).stop();
+	}
+
+	@Test(timeout = 60000)
+	public void testAuthorizationChecks() throws Exception {
+		// groups form chains of the given depth: level 0 groups contain the users,
+		// level n groups contain the level n-1 group of the same chain
+		Group[][] chains = new Group[groups][depth];
+		for (int i = 0; i < groups; i++) {
+			for (int level = 0; level < depth; level++) {
+				chains[i][level] = (Group) userAdmin.createRole(PREFIX + "Group" + i + '_' + level, Role.GROUP); //$NON-NLS-1$
+				if (level > 0) {
+					chains[i][level].addMember(chains[i][level - 1]);
+				}
+			}
+		}
+		Authorization[] authorizations = new Authorization[users];
+		for (int i = 0; i < users; i++) {
+			User user = (User) userAdmin.createRole(PREFIX + "User" + i, Role.USER); //$NON-NLS-1$
+			chains[i % groups][0].addMember(user);
+			authorizations[i] = userAdmin.getAuthorization(user);
+		}
+
+		String top = PREFIX + "Group0_" + (depth - 1); //$NON-NLS-1$
+		int implied = 0;
+		for (int round = 0; round < 10; round++) {
+			for (Authorization authorization : authorizations) {
+				if (authorization.hasRole(top)) {
+					implied++;
+				}
+			}
+		}
+		assertEquals(10 * ((users + groups - 1) / groups), implied);
+
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < users; i++) {
+				Set<String> roles = new HashSet<>(Arrays.asList(authorizations[i].getRoles()));
+				assertEquals(depth + 1, roles.size());
+				assertTrue(roles.contains(PREFIX + "User" + i)); //$NON-NLS-1$
+				for (int level = 0; level < depth; level++) {
+					assertTrue(roles.contains(chains[i % groups][level].getName()));
+				}
+			}
+		}
+		assertTrue(authorizations[0].hasRole(top));
+	}
+}
@@ -0,0 +1,159 @@
+/******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.equinox.concurrent.future;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * <p>
+ * An executor that runs the given {@link IProgressRunnable}s on a bounded pool
+ * of reused threads instead of creating a new {@link Thread} for each of them.
+ * </p>
+ * <p>
+ * Runnables submitted while all threads are busy are queued. If the queue is
+ * full, the runnable is run on a new thread, just like {@link ThreadsExecutor}
+ * does. Futures which are canceled while their runnable is queued do not run
+ * the runnable. Idle threads are stopped after a keep alive time.
+ * </p>
+ * <p>
+ * Pool threads are configured with
+ * {@link #configureThreadForExecution(Thread)} when they are created.
+ * </p>
+ * 
+ * @since 1.3
+ */
+public class PooledThreadsExecutor extends ThreadsExecutor {
+
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final ThreadPoolExecutor pool;
+
+	/**
+	 * Create a pooled executor with the given maximum number of threads and an
+	 * unbounded queue.
+	 * 
+	 * @param maxThreads
+	 *            the maximum number of pool threads. Must be positive.
+	 */
+	public PooledThreadsExecutor(int maxThreads) {
+		this(maxThreads, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a pooled executor with the given maximum number of threads and
+	 * queue capacity.
+	 * 
+	 * @param maxThreads
+	 *            the maximum number of pool threads. Must be positive.
+	 * @param queueCapacity
+	 *            the maximum number of runnables waiting for a pool thread.
+	 *            Must be positive.
+	 */
+	public PooledThreadsExecutor(int maxThreads, int queueCapacity) {
+		Assert.isLegal(maxThreads > 0);
+		Assert.isLegal(queueCapacity > 0);
+		pool = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, createPoolThreadName(count.incrementAndGet()));
+						configureThreadForExecution(thread);
+						return thread;
+					}
+				});
+		pool.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Create the name of a pool thread.
+	 * 
+	 * @param index
+	 *            the number of the thread, starting with 1
+	 * @return the name of the thread
+	 */
+	protected String createPoolThreadName(int index) {
+		return "PooledThreadsExecutor-" + index; //$NON-NLS-1$
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public <ResultType> IFuture<ResultType> execute(
+			IProgressRunnable<? extends ResultType> runnable,
+			IProgressMonitor monitor) {
+		Assert.isNotNull(runnable);
+		AbstractFuture sof = createFuture(monitor);
+		Runnable task = createRunnable(sof, runnable);
+		try {
+			pool.execute(task);
+		} catch (RejectedExecutionException e) {
+			// queue full or shut down, fall back to a thread of its own
+			Thread thread = new Thread(task, createThreadName(runnable));
+			configureThreadForExecution(thread);
+			thread.start();
+		}
+		return sof;
+	}
+
+	/**
+	 * Returns the number of runnables waiting for a pool thread.
+	 * 
+	 * @return the queue size
+	 */
+	public int getQueueSize() {
+		return pool.getQueue().size();
+	}
+
+	/**
+	 * Returns the approximate number of pool threads running a runnable.
+	 * 
+	 * @return the number of active threads
+	 */
+	public int getActiveCount() {
+		return pool.getActiveCount();
+	}
+
+	/**
+	 * Returns the current number of threads in the pool.
+	 * 
+	 * @return the pool size
+	 */
+	public int getPoolSize() {
+		return pool.getPoolSize();
+	}
+
+	/**
+	 * Returns the approximate number of runnables run by the pool threads.
+	 * 
+	 * @return the number of completed runnables
+	 */
+	public long getCompletedCount() {
+		return pool.getCompletedTaskCount();
+	}
+
+	/**
+	 * Stops the pool threads once the queued runnables have been run.
+	 * Runnables submitted after shutdown run on a thread of their own.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,98 @@
+/******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.equinox.concurrent.future;
+
+/**
+ * <p>
+ * Factory methods for the {@link IExecutor}s running {@link IProgressRunnable}s
+ * asynchronously.
+ * </p>
+ * <p>
+ * {@link #newDefaultExecutor()} selects the implementation with the system
+ * property <code>org.eclipse.equinox.concurrent.executor</code>:
+ * <code>threads</code> (a new thread per runnable, the default),
+ * <code>pooled</code> (a bounded thread pool, sized with
+ * <code>org.eclipse.equinox.concurrent.executor.threads</code>) or
+ * <code>virtual</code> (virtual threads, if the Java runtime supports them,
+ * otherwise a pool).
+ * </p>
+ * 
+ * @since 1.3
+ */
+public final class ThreadsExecutors {
+
+	public static final String PROP_EXECUTOR = "org.eclipse.equinox.concurrent.executor"; //$NON-NLS-1$
+	public static final String PROP_EXECUTOR_THREADS = "org.eclipse.equinox.concurrent.executor.threads"; //$NON-NLS-1$
+
+	public static final String EXECUTOR_THREADS = "threads"; //$NON-NLS-1$
+	public static final String EXECUTOR_POOLED = "pooled"; //$NON-NLS-1$
+	public static final String EXECUTOR_VIRTUAL = "virtual"; //$NON-NLS-1$
+
+	private ThreadsExecutors() {
+		// no instances
+	}
+
+	/**
+	 * Create an executor which runs each runnable on a new thread.
+	 * 
+	 * @return the executor
+	 */
+	public static ThreadsExecutor newThreadsExecutor() {
+		return new ThreadsExecutor();
+	}
+
+	/**
+	 * Create an executor which runs the runnables on a bounded pool of threads.
+	 * 
+	 * @param maxThreads
+	 *            the maximum number of threads. Must be positive.
+	 * @return the executor
+	 */
+	public static PooledThreadsExecutor newPooledExecutor(int maxThreads) {
+		return new PooledThreadsExecutor(maxThreads);
+	}
+
+	/**
+	 * Create an executor which runs each runnable on a new virtual thread, or
+	 * on a pool of threads if the Java runtime does not support virtual
+	 * threads.
+	 * 
+	 * @return the executor
+	 */
+	public static ThreadsExecutor newVirtualThreadsExecutor() {
+		if (VirtualThreadsExecutor.isSupported())
+			return new VirtualThreadsExecutor();
+		return newPooledExecutor(getDefaultPoolSize());
+	}
+
+	/**
+	 * Create the executor selected by the system property
+	 * {@link #PROP_EXECUTOR}.
+	 * 
+	 * @return the executor
+	 */
+	public static ThreadsExecutor newDefaultExecutor() {
+		String executor = System.getProperty(PROP_EXECUTOR, EXECUTOR_THREADS);
+		if (EXECUTOR_POOLED.equals(executor))
+			return newPooledExecutor(getDefaultPoolSize());
+		if (EXECUTOR_VIRTUAL.equals(executor))
+			return newVirtualThreadsExecutor();
+		return newThreadsExecutor();
+	}
+
+	private static int getDefaultPoolSize() {
+		int threads = Integer.getInteger(PROP_EXECUTOR_THREADS, 0).intValue();
+		return threads > 0 ? threads : Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+	}
+}
@@ -0,0 +1,131 @@
+/******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.equinox.concurrent.future;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * <p>
+ * An executor that runs each of the given {@link IProgressRunnable}s on a new
+ * virtual thread. Virtual threads are cheap to create, so no pooling is
+ * required. Virtual threads are only available on Java 21 and later; use
+ * {@link #isSupported()} to check for them.
+ * </p>
+ * <p>
+ * The threads are named with {@link #createThreadName(IProgressRunnable)}.
+ * {@link #configureThreadForExecution(Thread)} is not called as virtual threads
+ * are always daemon threads.
+ * </p>
+ * 
+ * @since 1.3
+ */
+public class VirtualThreadsExecutor extends ThreadsExecutor {
+
+	// Thread.ofVirtual(), Thread.Builder.name(String) and
+	// Thread.Builder.unstarted(Runnable), looked up reflectively as this bundle
+	// runs on Java versions without virtual threads
+	private static final MethodHandle OF_VIRTUAL;
+	private static final MethodHandle NAME;
+	private static final MethodHandle UNSTARTED;
+
+	static {
+		MethodHandle ofVirtual = null;
+		MethodHandle name = null;
+		MethodHandle unstarted = null;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder"); //$NON-NLS-1$
+			Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual"); //$NON-NLS-1$
+			ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass)); //$NON-NLS-1$
+			name = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class)); //$NON-NLS-1$
+			unstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class)); //$NON-NLS-1$
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		UNSTARTED = unstarted;
+	}
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * Create a virtual threads executor.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             if the Java runtime does not support virtual threads
+	 */
+	public VirtualThreadsExecutor() {
+		if (!isSupported())
+			throw new UnsupportedOperationException("Virtual threads are not supported by this Java runtime"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns whether the Java runtime supports virtual threads.
+	 * 
+	 * @return <code>true</code> if virtual threads are available
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	@Override
+	protected Runnable createRunnable(ISafeProgressRunner runner, IProgressRunnable<?> progressRunnable) {
+		final Runnable runnable = super.createRunnable(runner, progressRunnable);
+		return new Runnable() {
+			public void run() {
+				active.incrementAndGet();
+				try {
+					runnable.run();
+				} finally {
+					active.decrementAndGet();
+				}
+			}
+		};
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public <ResultType> IFuture<ResultType> execute(
+			IProgressRunnable<? extends ResultType> runnable,
+			IProgressMonitor monitor) {
+		Assert.isNotNull(runnable);
+		AbstractFuture sof = createFuture(monitor);
+		Thread thread;
+		try {
+			Object builder = NAME.invoke(OF_VIRTUAL.invoke(), createThreadName(runnable));
+			thread = (Thread) UNSTARTED.invoke(builder, createRunnable(sof, runnable));
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+		thread.start();
+		return sof;
+	}
+
+	/**
+	 * Returns the number of runnables currently running.
+	 * 
+	 * @return the number of active threads
+	 */
+	public int getActiveCount() {
+		return active.get();
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.equinox.coordinator;
 import java.util.Dictionary;
 import java.util.Hashtable;
 
+import org.eclipse.equinox.coordinator.metrics.CoordinatorMetrics;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceRegistration;
@@ -24,6 +25,7 @@ import org.osgi.service.coordinator.Coordinator;
 public class Activator implements BundleActivator {
 	private CoordinatorServiceFactory factory;
 	private ServiceRegistration<Coordinator> registration;
+	private ServiceRegistration<CoordinatorMetrics> metricsRegistration;
 
 	public void start(BundleContext bundleContext) throws Exception {
 		factory = new CoordinatorServiceFactory(bundleContext);
@@ -32,9 +34,11 @@ public class Activator implements BundleActivator {
 		// Use local variable to avoid suppressing unchecked warnings at method level.
 		ServiceRegistration<Coordinator> reg = (ServiceRegistration<Coordinator>) bundleContext.registerService(Coordinator.class.getName(), factory, properties);
 		this.registration = reg;
+		metricsRegistration = bundleContext.registerService(CoordinatorMetrics.class, factory.getTimer(), null);
 	}
 
 	public void stop(BundleContext bundleContext) throws Exception {
+		metricsRegistration.unregister();
 		registration.unregister();
 		factory.shutdown();
 		CoordinationWeakReference.processOrphanedCoordinations();
@@ -19,7 +19,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TimerTask;
 
 import org.eclipse.osgi.util.NLS;
 import org.osgi.framework.Bundle;
@@ -42,7 +41,7 @@ public class CoordinationImpl {
 	private CoordinationImpl enclosingCoordination;
 	private Thread thread;
 	private long totalTimeout;
-	private TimerTask timerTask;
+	private CoordinationTimerTask timerTask;
 
 	private final CoordinatorImpl coordinator;
 	private final long id;
@@ -262,7 +261,7 @@ public class CoordinationImpl {
 				}
 			}
 			// Create the new timeout.
-			timerTask = new CoordinationTimerTask(this);
+			timerTask = new CoordinationTimerTask(this, coordinator.getTimer());
 			// Extend the current deadline.
 			deadline = new Date(deadline.getTime() + timeInMillis);
 			// Schedule the new timeout.
@@ -403,7 +402,7 @@ public class CoordinationImpl {
 		return referent;
 	}
 
-	synchronized void setTimerTask(TimerTask timerTask) {
+	synchronized void setTimerTask(CoordinationTimerTask timerTask) {
 		this.timerTask = timerTask;
 		deadline = new Date(System.currentTimeMillis() + totalTimeout);
 		coordinator.schedule(timerTask, deadline);
@@ -432,9 +431,9 @@ public class CoordinationImpl {
 	private void terminate() throws CoordinationException {
 		checkTerminated();
 		terminated = true;
-		// Cancel the timeout. Purge the task if it was, in fact, canceled.
-		if (timerTask != null && timerTask.cancel()) {
-			coordinator.purge();
+		// Cancel the timeout. The canceled task is removed from the timer queue.
+		if (timerTask != null) {
+			timerTask.cancel();
 		}
 		coordinator.terminate(this, participants);
 	}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.coordinator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.equinox.coordinator.metrics.CoordinatorMetrics;
+
+/**
+ * Schedules coordination timeouts. Canceled timeouts are removed from the
+ * timer queue immediately, so coordinations ending before their deadline
+ * leave nothing behind. The timer thread only hands timed out coordinations
+ * over to a separate pool which fails them, so a slow participant cannot
+ * delay the timeouts of other coordinations.
+ */
+public class CoordinationTimer implements CoordinatorMetrics {
+	private static final String TIMER_THREAD_NAME = "Coordination Timer"; //$NON-NLS-1$
+	private static final String TIMEOUT_THREAD_NAME = "Coordination Timeout Handler"; //$NON-NLS-1$
+	// The maximum number of threads used to fail timed out coordinations.
+	private static final int MAX_TIMEOUT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	private final ScheduledThreadPoolExecutor timer;
+	private final ExecutorService timeoutHandlers;
+
+	private final AtomicInteger scheduled = new AtomicInteger();
+	private final LongAdder timeouts = new LongAdder();
+	private final LongAdder totalLatency = new LongAdder();
+	private final AtomicLong maxLatency = new AtomicLong();
+
+	public CoordinationTimer() {
+		timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory(TIMER_THREAD_NAME));
+		timer.setRemoveOnCancelPolicy(true);
+		timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		ThreadPoolExecutor handlers = new ThreadPoolExecutor(MAX_TIMEOUT_THREADS, MAX_TIMEOUT_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory(TIMEOUT_THREAD_NAME));
+		handlers.allowCoreThreadTimeOut(true);
+		timeoutHandlers = handlers;
+	}
+
+	/**
+	 * Schedules the task to run at the given deadline.
+	 */
+	void schedule(CoordinationTimerTask task, long deadline) {
+		long delay = Math.max(0, deadline - System.currentTimeMillis());
+		scheduled.incrementAndGet();
+		task.setFuture(timer.schedule(() -> fire(task), delay, TimeUnit.MILLISECONDS), deadline);
+	}
+
+	/**
+	 * Called when a task which has not run was canceled.
+	 */
+	void canceled() {
+		scheduled.decrementAndGet();
+	}
+
+	private void fire(CoordinationTimerTask task) {
+		if (!task.fire())
+			return; // canceled concurrently
+		scheduled.decrementAndGet();
+		long latency = Math.max(0, System.currentTimeMillis() - task.getDeadline());
+		timeouts.increment();
+		totalLatency.add(latency);
+		long max;
+		while (latency > (max = maxLatency.get()) && !maxLatency.compareAndSet(max, latency)) {
+			// retry
+		}
+		timeoutHandlers.execute(task);
+	}
+
+	@Override
+	public int getActiveCoordinationCount() {
+		return CoordinatorImpl.getActiveCoordinationCount();
+	}
+
+	@Override
+	public int getPendingTimeoutCount() {
+		return scheduled.get();
+	}
+
+	@Override
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	@Override
+	public long getAverageTimeoutLatency() {
+		long count = timeouts.sum();
+		return count == 0 ? 0 : totalLatency.sum() / count;
+	}
+
+	@Override
+	public long getMaxTimeoutLatency() {
+		return maxLatency.get();
+	}
+
+	void shutdown() {
+		timer.shutdownNow();
+		timeoutHandlers.shutdown();
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final String name;
+
+		DaemonThreadFactory(String name) {
+			this.name = name;
+		}
+
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, name);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
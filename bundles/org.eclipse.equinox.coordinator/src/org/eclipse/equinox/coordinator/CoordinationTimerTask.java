@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,25 +13,71 @@
  *******************************************************************************/
 package org.eclipse.equinox.coordinator;
 
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.osgi.util.NLS;
 import org.osgi.service.coordinator.Coordination;
 import org.osgi.service.log.LogService;
 
-public class CoordinationTimerTask extends TimerTask {
+public class CoordinationTimerTask implements Runnable {
+	private static final int SCHEDULED = 0;
+	private static final int CANCELED = 1;
+	private static final int FIRED = 2;
+
 	private final CoordinationImpl coordination;
+	private final CoordinationTimer timer;
+	private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+	private volatile ScheduledFuture<?> future;
+	private volatile long deadline;
 
-	public CoordinationTimerTask(CoordinationImpl coordination) {
+	public CoordinationTimerTask(CoordinationImpl coordination, CoordinationTimer timer) {
 		if (coordination == null)
 			throw new NullPointerException(NLS.bind(Messages.NullParameter, "coordination")); //$NON-NLS-1$
 		this.coordination = coordination;
+		this.timer = timer;
+	}
+
+	void setFuture(ScheduledFuture<?> future, long deadline) {
+		this.deadline = deadline;
+		this.future = future;
+		// the task may have been canceled before it was scheduled
+		if (state.get() == CANCELED)
+			future.cancel(false);
+	}
+
+	long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Cancels this task.
+	 * @return true if the coordination will not be failed by this task, false if
+	 * the timeout has already fired.
+	 */
+	public boolean cancel() {
+		if (!state.compareAndSet(SCHEDULED, CANCELED))
+			return state.get() == CANCELED;
+		ScheduledFuture<?> f = future;
+		if (f != null) {
+			// removes the task from the timer queue
+			f.cancel(false);
+		}
+		timer.canceled();
+		return true;
+	}
+
+	/**
+	 * Marks this task as fired unless it has been canceled.
+	 */
+	boolean fire() {
+		return state.compareAndSet(SCHEDULED, FIRED);
 	}
 
 	@Override
 	public void run() {
-		// Catch all exceptions and errors in order to prevent the timer 
-		// thread from stopping.
+		// Catch all exceptions and errors in order to prevent the timeout
+		// handler thread from stopping.
 		try {
 			coordination.fail(Coordination.TIMEOUT);
 		} catch (Throwable t) {
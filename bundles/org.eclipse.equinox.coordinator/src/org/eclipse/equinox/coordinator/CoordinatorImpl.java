@@ -23,8 +23,6 @@ import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 
 import org.eclipse.osgi.util.NLS;
 import org.osgi.framework.Bundle;
@@ -95,11 +93,11 @@ public class CoordinatorImpl implements Coordinator {
 	private final List<CoordinationImpl> coordinations;
 	private final LogTracker logTracker;
 	private final long maxTimeout;
-	private final Timer timer;
+	private final CoordinationTimer timer;
 
 	private boolean shutdown;
 
-	public CoordinatorImpl(Bundle bundle, LogTracker logService, Timer timer, long maxTimeout) {
+	public CoordinatorImpl(Bundle bundle, LogTracker logService, CoordinationTimer timer, long maxTimeout) {
 		this.bundle = bundle;
 		this.logTracker = logService;
 		this.timer = timer;
@@ -155,7 +153,7 @@ public class CoordinatorImpl implements Coordinator {
 			}
 		}
 		if (timeout > 0) {
-			TimerTask timerTask = new CoordinationTimerTask(coordination);
+			CoordinationTimerTask timerTask = new CoordinationTimerTask(coordination, timer);
 			coordination.setTimerTask(timerTask);
 		}
 		// Make sure to return the referent targeted towards the initiator here.
@@ -261,21 +259,22 @@ public class CoordinatorImpl implements Coordinator {
 		return maxTimeout;
 	}
 
-	void purge() {
-		// Purge the timer of all canceled tasks if we're running on a supportive JCL.
-		try {
-			Timer.class.getMethod("purge", (Class<?>[]) null).invoke(timer, (Object[]) null); //$NON-NLS-1$
-		} catch (Exception e) {
-			logTracker.log(LogService.LOG_DEBUG, Messages.CanceledTaskNotPurged, e);
-		}
-	}
-
 	void push(CoordinationImpl coordination) throws CoordinationException {
 		coordinationStack.get().push(coordination);
 	}
 
-	void schedule(TimerTask task, Date deadline) {
-		timer.schedule(task, deadline);
+	void schedule(CoordinationTimerTask task, Date deadline) {
+		timer.schedule(task, deadline.getTime());
+	}
+
+	/**
+	 * Returns the number of coordinations which have been created and have not
+	 * terminated yet across all using bundles.
+	 */
+	static int getActiveCoordinationCount() {
+		synchronized (CoordinatorImpl.class) {
+			return idToCoordination.size();
+		}
 	}
 
 	void shutdown() {
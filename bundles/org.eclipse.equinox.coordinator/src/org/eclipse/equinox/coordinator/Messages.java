@@ -35,7 +35,6 @@ public class Messages extends NLS {
 	public static String GetCoordinationNotPermitted;
 	public static String CoordinatorShutdown;
 	public static String CoordinationAlreadyExists;
-	public static String CanceledTaskNotPurged;
 	public static String OrphanedCoordinationError;
 	public static String MaximumTimeout;
 
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.equinox.coordinator.metrics;
+
+/**
+ * A service reporting the coordinations and timeouts of the
+ * {@link org.osgi.service.coordinator.Coordinator Coordinator} registered
+ * by the same bundle.
+ * @since 1.0
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface CoordinatorMetrics {
+	/**
+	 * Returns the number of coordinations which have been created and have not
+	 * terminated yet across all using bundles.
+	 */
+	int getActiveCoordinationCount();
+
+	/**
+	 * Returns the number of coordinations with a pending timeout.
+	 */
+	int getPendingTimeoutCount();
+
+	/**
+	 * Returns the number of coordinations which have timed out.
+	 */
+	long getTimeoutCount();
+
+	/**
+	 * Returns the average time in milliseconds between the deadline of a
+	 * coordination and the time the timeout was detected.
+	 */
+	long getAverageTimeoutLatency();
+
+	/**
+	 * Returns the maximum time in milliseconds between the deadline of a
+	 * coordination and the time the timeout was detected.
+	 */
+	long getMaxTimeoutLatency();
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others
+ * Copyright (c) 2007, 2026 IBM Corporation and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,16 @@ public class JettyConfigurator {
 		Activator.stopServer(PID_PREFIX + id);
 	}
 
+	/**
+	 * Returns a snapshot of the thread pools of the started instances of Jetty.
+	 * @return the thread pools, one for each started instance
+	 * @since 1.6
+	 */
+	public static ThreadPoolDTO[] getThreadPoolDTOs() {
+		checkConfigurationPermission();
+		return Activator.getThreadPoolDTOs();
+	}
+
 	private static void checkConfigurationPermission() throws SecurityException {
 		SecurityManager sm = System.getSecurityManager();
 		if (sm != null)
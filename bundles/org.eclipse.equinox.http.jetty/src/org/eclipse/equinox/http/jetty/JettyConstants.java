@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,13 @@ public interface JettyConstants {
 	 */
 	public static final String HTTP_NIO = "http.nio"; //$NON-NLS-1$
 
+	/**
+	 * name="http.http2.enabled" type="Boolean" (default: false -- HTTP/2 over clear text (h2c) on the http connector;
+	 * requires the jetty http2 bundles)
+	 * @since 1.6
+	 */
+	public static final String HTTP_HTTP2_ENABLED = "http.http2.enabled"; //$NON-NLS-1$
+
 	/**
 	 * name="https.enabled" type="Boolean" (default: false)
 	 */
@@ -60,6 +67,20 @@ public interface JettyConstants {
 	 */
 	public static final String HTTPS_PORT = "https.port"; //$NON-NLS-1$
 
+	/**
+	 * name="https.http2.enabled" type="Boolean" (default: false -- HTTP/2 negotiated with ALPN on the https connector;
+	 * requires the jetty http2 and alpn bundles)
+	 * @since 1.6
+	 */
+	public static final String HTTPS_HTTP2_ENABLED = "https.http2.enabled"; //$NON-NLS-1$
+
+	/**
+	 * name="unixsocket.path" type="String" (default: none -- path of a Unix-domain socket to also accept connections on;
+	 * requires Java 16 and the jetty unixdomain bundle)
+	 * @since 1.6
+	 */
+	public static final String UNIXSOCKET_PATH = "unixsocket.path"; //$NON-NLS-1$
+
 	/**
 	 * name="http.maxThreads" type="Integer" (default: 200 -- max number of threads)
 	 * @since 1.2
@@ -72,6 +93,37 @@ public interface JettyConstants {
 	 */
 	public static final String HTTP_MINTHREADS = "http.minThreads"; //$NON-NLS-1$
 
+	/**
+	 * name="http.reservedThreads" type="Integer" (default: -1 -- computed from the number of available processors)
+	 * @since 1.6
+	 */
+	public static final String HTTP_RESERVEDTHREADS = "http.reservedThreads"; //$NON-NLS-1$
+
+	/**
+	 * name="http.maxQueueSize" type="Integer" (default: -1 -- unbounded; jobs are rejected when the queue is full)
+	 * @since 1.6
+	 */
+	public static final String HTTP_MAXQUEUESIZE = "http.maxQueueSize"; //$NON-NLS-1$
+
+	/**
+	 * name="http.virtualThreads" type="Boolean" (default: false -- requests are handled on virtual threads;
+	 * requires Java 21 and Jetty 10.0.14 or later, otherwise the threads of the pool are used)
+	 * @since 1.6
+	 */
+	public static final String HTTP_VIRTUALTHREADS = "http.virtualThreads"; //$NON-NLS-1$
+
+	/**
+	 * name="http.acceptors" type="Integer" (default: -1 -- computed from the number of available processors)
+	 * @since 1.6
+	 */
+	public static final String HTTP_ACCEPTORS = "http.acceptors"; //$NON-NLS-1$
+
+	/**
+	 * name="http.selectors" type="Integer" (default: -1 -- computed from the number of available processors)
+	 * @since 1.6
+	 */
+	public static final String HTTP_SELECTORS = "http.selectors"; //$NON-NLS-1$
+
 	/**
 	 * @deprecated
 	 * @since 1.3
@@ -150,6 +202,37 @@ public interface JettyConstants {
 	 */
 	public static final String CONTEXT_SESSIONINACTIVEINTERVAL = "context.sessioninactiveinterval"; //$NON-NLS-1$
 
+	/**
+	 * name="gzip.enabled" type="Boolean" (default: false -- compress responses of the servlet context)
+	 * @since 1.6
+	 */
+	public static final String GZIP_ENABLED = "gzip.enabled"; //$NON-NLS-1$
+
+	/**
+	 * name="gzip.minGzipSize" type="Integer" (default: 32 -- minimum size of a compressed response in bytes)
+	 * @since 1.6
+	 */
+	public static final String GZIP_MINGZIPSIZE = "gzip.minGzipSize"; //$NON-NLS-1$
+
+	/**
+	 * name="gzip.includedMethods" type="String" (default: GET -- comma separated request methods whose responses are compressed)
+	 * @since 1.6
+	 */
+	public static final String GZIP_INCLUDEDMETHODS = "gzip.includedMethods"; //$NON-NLS-1$
+
+	/**
+	 * name="gzip.includedMimeTypes" type="String" (default: all -- comma separated mime types of the compressed responses)
+	 * @since 1.6
+	 */
+	public static final String GZIP_INCLUDEDMIMETYPES = "gzip.includedMimeTypes"; //$NON-NLS-1$
+
+	/**
+	 * name="gzip.excludedMimeTypes" type="String" (comma separated mime types of the responses which are not compressed,
+	 * in addition to the already compressed types excluded by default)
+	 * @since 1.6
+	 */
+	public static final String GZIP_EXCLUDEDMIMETYPES = "gzip.excludedMimeTypes"; //$NON-NLS-1$
+
 	/**
 	 * name="housekeeper.interval" type="Integer"
 	 * @since 1.5
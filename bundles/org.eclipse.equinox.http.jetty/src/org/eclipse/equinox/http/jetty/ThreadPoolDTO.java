@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.jetty;
+
+import org.osgi.dto.DTO;
+
+/**
+ * <p>
+ * A snapshot of the state of the thread pool of a Jetty-based Http Service.
+ * </p>
+ *
+ * @see JettyConfigurator#getThreadPoolDTOs()
+ * @since 1.6
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class ThreadPoolDTO extends DTO {
+
+	/**
+	 * The service pid of the configuration of the server instance.
+	 */
+	public String pid;
+
+	/**
+	 * Whether requests are handled on virtual threads.
+	 */
+	public boolean virtualThreads;
+
+	/**
+	 * The minimum number of threads of the pool.
+	 */
+	public int minThreads;
+
+	/**
+	 * The maximum number of threads of the pool.
+	 */
+	public int maxThreads;
+
+	/**
+	 * The number of threads currently in the pool.
+	 */
+	public int threads;
+
+	/**
+	 * The number of idle threads in the pool.
+	 */
+	public int idleThreads;
+
+	/**
+	 * The number of threads in the pool running a job.
+	 */
+	public int busyThreads;
+
+	/**
+	 * The configured number of reserved threads, -1 if it is computed by Jetty.
+	 */
+	public int reservedThreads;
+
+	/**
+	 * The number of jobs waiting for a thread.
+	 */
+	public int queueSize;
+
+	/**
+	 * The maximum number of jobs waiting for a thread, -1 if the queue is
+	 * unbounded.
+	 */
+	public int maxQueueSize;
+
+	/**
+	 * Whether the pool is low on threads, i.e. new connections and requests
+	 * are likely to wait for a thread.
+	 */
+	public boolean lowOnThreads;
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2019 Cognos Incorporated, IBM Corporation and others.
+ * Copyright (c) 2005, 2026 Cognos Incorporated, IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ package org.eclipse.equinox.http.jetty.internal;
 import java.io.File;
 import java.util.*;
 import org.eclipse.equinox.http.jetty.JettyConstants;
+import org.eclipse.equinox.http.jetty.ThreadPoolDTO;
 import org.osgi.framework.*;
 import org.osgi.framework.startlevel.BundleStartLevel;
 import org.osgi.framework.wiring.BundleCapability;
@@ -126,6 +127,10 @@ public class Activator implements BundleActivator {
 		if (httpHost != null)
 			defaultSettings.put(JettyConstants.HTTP_HOST, httpHost);
 
+		// HTTP/2 over clear text (default is false)
+		Boolean http2Enabled = Details.getBooleanProp(context, JettyConstants.HTTP_HTTP2_ENABLED, false);
+		defaultSettings.put(JettyConstants.HTTP_HTTP2_ENABLED, http2Enabled);
+
 		// HTTPS Enabled (default is false)
 		Boolean httpsEnabled = Details.getBooleanProp(context, JettyConstants.HTTPS_ENABLED, false);
 		defaultSettings.put(JettyConstants.HTTPS_ENABLED, httpsEnabled);
@@ -142,6 +147,32 @@ public class Activator implements BundleActivator {
 			defaultSettings.put(JettyConstants.HTTP_MAXTHREADS, Integer.valueOf(maxThreads));
 		}
 
+		// number of reserved threads
+		int reservedThreads = Details.getIntProp(context, JettyConstants.HTTP_RESERVEDTHREADS, -1);
+		if (reservedThreads != -1) {
+			defaultSettings.put(JettyConstants.HTTP_RESERVEDTHREADS, Integer.valueOf(reservedThreads));
+		}
+
+		// maximum number of queued jobs
+		int maxQueueSize = Details.getIntProp(context, JettyConstants.HTTP_MAXQUEUESIZE, -1);
+		if (maxQueueSize != -1) {
+			defaultSettings.put(JettyConstants.HTTP_MAXQUEUESIZE, Integer.valueOf(maxQueueSize));
+		}
+
+		// Virtual Threads (default is false)
+		Boolean virtualThreads = Details.getBooleanProp(context, JettyConstants.HTTP_VIRTUALTHREADS, false);
+		defaultSettings.put(JettyConstants.HTTP_VIRTUALTHREADS, virtualThreads);
+
+		// number of acceptor and selector threads
+		int acceptors = Details.getIntProp(context, JettyConstants.HTTP_ACCEPTORS, -1);
+		if (acceptors != -1) {
+			defaultSettings.put(JettyConstants.HTTP_ACCEPTORS, Integer.valueOf(acceptors));
+		}
+		int selectors = Details.getIntProp(context, JettyConstants.HTTP_SELECTORS, -1);
+		if (selectors != -1) {
+			defaultSettings.put(JettyConstants.HTTP_SELECTORS, Integer.valueOf(selectors));
+		}
+
 		if (httpsEnabled.booleanValue()) {
 			// HTTPS Port
 
@@ -155,6 +186,10 @@ public class Activator implements BundleActivator {
 			if (httpsHost != null)
 				defaultSettings.put(JettyConstants.HTTPS_HOST, httpsHost);
 
+			// HTTP/2 over TLS (default is false)
+			Boolean https2Enabled = Details.getBooleanProp(context, JettyConstants.HTTPS_HTTP2_ENABLED, false);
+			defaultSettings.put(JettyConstants.HTTPS_HTTP2_ENABLED, https2Enabled);
+
 			// SSL SETTINGS
 			String keystore = Details.getStringProp(context, JettyConstants.SSL_KEYSTORE, null);
 			if (keystore != null)
@@ -189,6 +224,33 @@ public class Activator implements BundleActivator {
 				defaultSettings.put(JettyConstants.SSL_KEYSTORETYPE, keystoretype);
 		}
 
+		// Unix-domain socket
+		String unixSocketPath = Details.getStringProp(context, JettyConstants.UNIXSOCKET_PATH, null);
+		if (unixSocketPath != null)
+			defaultSettings.put(JettyConstants.UNIXSOCKET_PATH, unixSocketPath);
+
+		// Response compression (default is false)
+		Boolean gzipEnabled = Details.getBooleanProp(context, JettyConstants.GZIP_ENABLED, false);
+		defaultSettings.put(JettyConstants.GZIP_ENABLED, gzipEnabled);
+
+		if (gzipEnabled.booleanValue()) {
+			int minGzipSize = Details.getIntProp(context, JettyConstants.GZIP_MINGZIPSIZE, -1);
+			if (minGzipSize != -1)
+				defaultSettings.put(JettyConstants.GZIP_MINGZIPSIZE, Integer.valueOf(minGzipSize));
+
+			String includedMethods = Details.getStringProp(context, JettyConstants.GZIP_INCLUDEDMETHODS, null);
+			if (includedMethods != null)
+				defaultSettings.put(JettyConstants.GZIP_INCLUDEDMETHODS, includedMethods);
+
+			String includedMimeTypes = Details.getStringProp(context, JettyConstants.GZIP_INCLUDEDMIMETYPES, null);
+			if (includedMimeTypes != null)
+				defaultSettings.put(JettyConstants.GZIP_INCLUDEDMIMETYPES, includedMimeTypes);
+
+			String excludedMimeTypes = Details.getStringProp(context, JettyConstants.GZIP_EXCLUDEDMIMETYPES, null);
+			if (excludedMimeTypes != null)
+				defaultSettings.put(JettyConstants.GZIP_EXCLUDEDMIMETYPES, excludedMimeTypes);
+		}
+
 		// Servlet Context Path
 		String contextpath = Details.getStringProp(context, JettyConstants.CONTEXT_PATH, null);
 		if (contextpath != null)
@@ -241,6 +303,13 @@ public class Activator implements BundleActivator {
 			staticServerManager.deleted(pid);
 	}
 
+	public static synchronized ThreadPoolDTO[] getThreadPoolDTOs() {
+		if (staticServerManager == null)
+			return new ThreadPoolDTO[0];
+
+		return staticServerManager.getThreadPoolDTOs();
+	}
+
 	private static synchronized void setStaticServerManager(HttpServerManager httpServerManager) {
 		staticServerManager = httpServerManager;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Raymond Augé and others.
+ * Copyright (c) 2016, 2026 Raymond Augé and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.equinox.http.jetty.internal;
 
+import java.util.Collection;
 import java.util.Dictionary;
 import org.eclipse.equinox.http.jetty.JettyConstants;
 import org.osgi.framework.BundleContext;
@@ -131,6 +132,29 @@ public class Details {
 		return String.valueOf(value);
 	}
 
+	/**
+	 * Returns the values of a String, String[] or Collection property; a
+	 * String is split at commas. Returns {@code null} if the property is not set.
+	 */
+	public static String[] getStringPlus(@SuppressWarnings("rawtypes") Dictionary dictionary, String key) {
+		Object value = dictionary.get(key);
+		if (value == null) {
+			return null;
+		} else if (value instanceof String[]) {
+			return (String[]) value;
+		} else if (value instanceof Collection) {
+			Collection<?> values = (Collection<?>) value;
+			String[] result = new String[values.size()];
+			int i = 0;
+			for (Object o : values) {
+				result[i++] = String.valueOf(o);
+			}
+			return result;
+		}
+		String values = String.valueOf(value).trim();
+		return values.isEmpty() ? new String[0] : values.split("\\s*,\\s*"); //$NON-NLS-1$
+	}
+
 	public static String getStringProp(BundleContext dictionary, String key, String dflt) {
 		return getString(dictionary, JettyConstants.PROPERTY_PREFIX + key, dflt);
 	}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.jetty.internal;
+
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+
+/**
+ * Creates the HTTP/2 connection factories. The jetty http2 and alpn packages
+ * are optional, this class must only be loaded if HTTP/2 is enabled.
+ */
+class Http2Support {
+
+	private Http2Support() {
+		// no instances
+	}
+
+	/**
+	 * Returns the connection factory for HTTP/2 over clear text, both with
+	 * prior knowledge and upgraded from HTTP/1.1.
+	 */
+	static ConnectionFactory createH2CConnectionFactory(HttpConfiguration config) {
+		return new HTTP2CServerConnectionFactory(config);
+	}
+
+	/**
+	 * Returns the connection factories for HTTP/2 over TLS, negotiated with
+	 * ALPN and falling back to HTTP/1.1.
+	 */
+	static ConnectionFactory[] createH2ConnectionFactories(SslContextFactory.Server sslContextFactory, HttpConfiguration config) {
+		HttpConnectionFactory http1 = new HttpConnectionFactory(config);
+		HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(config);
+		ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory(http2.getProtocol(), http1.getProtocol());
+		alpn.setDefaultProtocol(http1.getProtocol());
+		sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+		return new ConnectionFactory[] {new SslConnectionFactory(sslContextFactory, alpn.getProtocol()), alpn, http2, http1};
+	}
+}
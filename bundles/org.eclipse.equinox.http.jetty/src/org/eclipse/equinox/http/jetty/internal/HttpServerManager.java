@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,20 +20,23 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Paths;
 import java.util.*;
 import javax.servlet.*;
 import javax.servlet.http.*;
 import org.eclipse.equinox.http.jetty.JettyConstants;
 import org.eclipse.equinox.http.jetty.JettyCustomizer;
+import org.eclipse.equinox.http.jetty.ThreadPoolDTO;
 import org.eclipse.equinox.http.servlet.HttpServiceServlet;
 import org.eclipse.jetty.http.UriCompliance;
 import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.server.session.HouseKeeper;
 import org.eclipse.jetty.server.session.SessionHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
-import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.osgi.framework.Constants;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedServiceFactory;
@@ -75,7 +78,7 @@ public class HttpServerManager implements ManagedServiceFactory {
 	@Override
 	public synchronized void updated(String pid, Dictionary<String, ?> dictionary) throws ConfigurationException {
 		deleted(pid);
-		Server server = new Server(new QueuedThreadPool(Details.getInt(dictionary, JettyConstants.HTTP_MAXTHREADS, 200), Details.getInt(dictionary, JettyConstants.HTTP_MINTHREADS, 8)));
+		Server server = new Server(new HttpThreadPool(dictionary));
 
 		JettyCustomizer customizer = createJettyCustomizer(dictionary);
 
@@ -88,6 +91,9 @@ public class HttpServerManager implements ManagedServiceFactory {
 
 		ServerConnector httpsConnector = createHttpsConnector(dictionary, server, http_config);
 
+		// checked before any port is opened, the socket is bound when the server starts
+		Connector unixSocketConnector = createUnixSocketConnector(pid, dictionary, server, http_config);
+
 		if (null != customizer)
 			httpConnector = (ServerConnector) customizer.customizeHttpConnector(httpConnector, dictionary);
 
@@ -112,6 +118,9 @@ public class HttpServerManager implements ManagedServiceFactory {
 			server.addConnector(httpsConnector);
 		}
 
+		if (unixSocketConnector != null)
+			server.addConnector(unixSocketConnector);
+
 		ServletHolder holder = new ServletHolder(new InternalHttpServiceServlet());
 		holder.setInitOrder(0);
 		holder.setInitParameter(Constants.SERVICE_VENDOR, "Eclipse.org"); //$NON-NLS-1$
@@ -158,12 +167,18 @@ public class HttpServerManager implements ManagedServiceFactory {
 			HouseKeeper houseKeeper = server.getSessionIdManager().getSessionHouseKeeper();
 			houseKeeper.setIntervalSec(Details.getLong(dictionary, JettyConstants.HOUSEKEEPER_INTERVAL, houseKeeper.getIntervalSec()));
 		} catch (Exception e) {
+			try {
+				// release the connectors which have been opened
+				server.stop();
+			} catch (Exception stopException) {
+				// ignore; the start failure is reported
+			}
 			throw new ConfigurationException(pid, e.getMessage(), e);
 		}
 		servers.put(pid, server);
 	}
 
-	private ServerConnector createHttpsConnector(@SuppressWarnings("rawtypes") Dictionary dictionary, Server server, HttpConfiguration http_config) {
+	private ServerConnector createHttpsConnector(@SuppressWarnings("rawtypes") Dictionary dictionary, Server server, HttpConfiguration http_config) throws ConfigurationException {
 		ServerConnector httpsConnector = null;
 		if (Details.getBoolean(dictionary, JettyConstants.HTTPS_ENABLED, false)) {
 			// SSL Context Factory for HTTPS and SPDY
@@ -185,14 +200,14 @@ public class HttpServerManager implements ManagedServiceFactory {
 			https_config.setUriCompliance(UriCompliance.LEGACY);
 
 			// HTTPS connector
-			httpsConnector = new ServerConnector(server, new SslConnectionFactory(sslContextFactory, "http/1.1"), new HttpConnectionFactory(https_config)); //$NON-NLS-1$
+			httpsConnector = new ServerConnector(server, getAcceptors(dictionary), getSelectors(dictionary), createHttpsConnectionFactories(dictionary, sslContextFactory, https_config));
 			httpsConnector.setPort(Details.getInt(dictionary, JettyConstants.HTTPS_PORT, 443));
 			httpsConnector.setHost(Details.getString(dictionary, JettyConstants.HTTPS_HOST, null));
 		}
 		return httpsConnector;
 	}
 
-	private ServerConnector createHttpConnector(@SuppressWarnings("rawtypes") Dictionary dictionary, Server server, HttpConfiguration http_config) {
+	private ServerConnector createHttpConnector(@SuppressWarnings("rawtypes") Dictionary dictionary, Server server, HttpConfiguration http_config) throws ConfigurationException {
 		ServerConnector httpConnector = null;
 		if (Details.getBoolean(dictionary, JettyConstants.HTTP_ENABLED, true)) {
 			// HTTP Configuration
@@ -202,7 +217,7 @@ public class HttpServerManager implements ManagedServiceFactory {
 			}
 			http_config.setUriCompliance(UriCompliance.LEGACY);;
 			// HTTP connector
-			httpConnector = new ServerConnector(server, new HttpConnectionFactory(http_config));
+			httpConnector = new ServerConnector(server, getAcceptors(dictionary), getSelectors(dictionary), createHttpConnectionFactories(dictionary, http_config));
 			httpConnector.setPort(Details.getInt(dictionary, JettyConstants.HTTP_PORT, 80));
 			httpConnector.setHost(Details.getString(dictionary, JettyConstants.HTTP_HOST, null));
 			httpConnector.setIdleTimeout(DEFAULT_IDLE_TIMEOUT);
@@ -210,6 +225,61 @@ public class HttpServerManager implements ManagedServiceFactory {
 		return httpConnector;
 	}
 
+	private ConnectionFactory[] createHttpConnectionFactories(@SuppressWarnings("rawtypes") Dictionary dictionary, HttpConfiguration http_config) throws ConfigurationException {
+		HttpConnectionFactory http1 = new HttpConnectionFactory(http_config);
+		if (!Details.getBoolean(dictionary, JettyConstants.HTTP_HTTP2_ENABLED, false))
+			return new ConnectionFactory[] {http1};
+		try {
+			return new ConnectionFactory[] {http1, Http2Support.createH2CConnectionFactory(http_config)};
+		} catch (NoClassDefFoundError e) {
+			throw new ConfigurationException(JettyConstants.HTTP_HTTP2_ENABLED, "HTTP/2 is not available: " + e.getMessage(), e); //$NON-NLS-1$
+		}
+	}
+
+	private ConnectionFactory[] createHttpsConnectionFactories(@SuppressWarnings("rawtypes") Dictionary dictionary, SslContextFactory.Server sslContextFactory, HttpConfiguration https_config) throws ConfigurationException {
+		if (!Details.getBoolean(dictionary, JettyConstants.HTTPS_HTTP2_ENABLED, false))
+			return new ConnectionFactory[] {new SslConnectionFactory(sslContextFactory, "http/1.1"), new HttpConnectionFactory(https_config)}; //$NON-NLS-1$
+		try {
+			return Http2Support.createH2ConnectionFactories(sslContextFactory, https_config);
+		} catch (NoClassDefFoundError e) {
+			throw new ConfigurationException(JettyConstants.HTTPS_HTTP2_ENABLED, "HTTP/2 is not available: " + e.getMessage(), e); //$NON-NLS-1$
+		}
+	}
+
+	private Connector createUnixSocketConnector(String pid, @SuppressWarnings("rawtypes") Dictionary dictionary, Server server, HttpConfiguration http_config) throws ConfigurationException {
+		String path = Details.getString(dictionary, JettyConstants.UNIXSOCKET_PATH, null);
+		if (path == null)
+			return null;
+		HttpConfiguration unix_config = new HttpConfiguration(http_config);
+		unix_config.setUriCompliance(UriCompliance.LEGACY);
+		try {
+			return UnixDomainSupport.createConnector(server, Paths.get(path), getAcceptors(dictionary), getSelectors(dictionary), createHttpConnectionFactories(dictionary, unix_config));
+		} catch (NoClassDefFoundError e) {
+			throw new ConfigurationException(JettyConstants.UNIXSOCKET_PATH, "Unix-domain sockets are not available: " + e.getMessage(), e); //$NON-NLS-1$
+		} catch (IOException e) {
+			throw new ConfigurationException(pid, e.getMessage(), e);
+		}
+	}
+
+	private static int getAcceptors(@SuppressWarnings("rawtypes") Dictionary dictionary) {
+		return Details.getInt(dictionary, JettyConstants.HTTP_ACCEPTORS, -1);
+	}
+
+	private static int getSelectors(@SuppressWarnings("rawtypes") Dictionary dictionary) {
+		return Details.getInt(dictionary, JettyConstants.HTTP_SELECTORS, -1);
+	}
+
+	public synchronized ThreadPoolDTO[] getThreadPoolDTOs() {
+		List<ThreadPoolDTO> threadPools = new ArrayList<>(servers.size());
+		for (Map.Entry<String, Server> server : servers.entrySet()) {
+			ThreadPool threadPool = server.getValue().getThreadPool();
+			if (threadPool instanceof HttpThreadPool) {
+				threadPools.add(((HttpThreadPool) threadPool).getThreadPoolDTO(server.getKey()));
+			}
+		}
+		return threadPools.toArray(new ThreadPoolDTO[0]);
+	}
+
 	public synchronized void shutdown() throws Exception {
 		for (Server server : servers.values()) {
 			server.stop();
@@ -232,9 +302,32 @@ public class HttpServerManager implements ManagedServiceFactory {
 		handler.setMaxInactiveInterval(Details.getInt(dictionary, JettyConstants.CONTEXT_SESSIONINACTIVEINTERVAL, -1));
 		httpContext.setSessionHandler(handler);
 
+		GzipHandler gzipHandler = createGzipHandler(dictionary);
+		if (gzipHandler != null)
+			httpContext.setGzipHandler(gzipHandler);
+
 		return httpContext;
 	}
 
+	private GzipHandler createGzipHandler(@SuppressWarnings("rawtypes") Dictionary dictionary) {
+		if (!Details.getBoolean(dictionary, JettyConstants.GZIP_ENABLED, false))
+			return null;
+
+		GzipHandler gzipHandler = new GzipHandler();
+		gzipHandler.setMinGzipSize(Details.getInt(dictionary, JettyConstants.GZIP_MINGZIPSIZE, gzipHandler.getMinGzipSize()));
+		String[] includedMethods = Details.getStringPlus(dictionary, JettyConstants.GZIP_INCLUDEDMETHODS);
+		if (includedMethods != null)
+			gzipHandler.setIncludedMethods(includedMethods);
+		String[] includedMimeTypes = Details.getStringPlus(dictionary, JettyConstants.GZIP_INCLUDEDMIMETYPES);
+		if (includedMimeTypes != null)
+			gzipHandler.setIncludedMimeTypes(includedMimeTypes);
+		// keep the excluded defaults, e.g. already compressed images
+		String[] excludedMimeTypes = Details.getStringPlus(dictionary, JettyConstants.GZIP_EXCLUDEDMIMETYPES);
+		if (excludedMimeTypes != null)
+			gzipHandler.addExcludedMimeTypes(excludedMimeTypes);
+		return gzipHandler;
+	}
+
 	private JettyCustomizer createJettyCustomizer(@SuppressWarnings("rawtypes") Dictionary dictionary) {
 		String customizerClass = (String) dictionary.get(JettyConstants.CUSTOMIZER_CLASS);
 		if (null == customizerClass)
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.jetty.internal;
+
+import java.lang.reflect.Method;
+import java.util.Dictionary;
+import java.util.concurrent.*;
+import org.eclipse.equinox.http.jetty.JettyConstants;
+import org.eclipse.equinox.http.jetty.ThreadPoolDTO;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+/**
+ * The thread pool of a server instance. Requests are optionally handled on
+ * virtual threads, the selectors and acceptors always use the threads of the
+ * pool.
+ */
+public class HttpThreadPool extends QueuedThreadPool {
+
+	private static final int DEFAULT_IDLE_TIMEOUT = 60000;
+
+	private final int maxQueueSize;
+	private final boolean virtualThreads;
+
+	HttpThreadPool(@SuppressWarnings("rawtypes") Dictionary dictionary) {
+		this(Details.getInt(dictionary, JettyConstants.HTTP_MAXTHREADS, 200), Details.getInt(dictionary, JettyConstants.HTTP_MINTHREADS, 8), Details.getInt(dictionary, JettyConstants.HTTP_RESERVEDTHREADS, -1), Details.getInt(dictionary, JettyConstants.HTTP_MAXQUEUESIZE, -1), Details.getBoolean(dictionary, JettyConstants.HTTP_VIRTUALTHREADS, false));
+	}
+
+	private HttpThreadPool(int maxThreads, int minThreads, int reservedThreads, int maxQueueSize, boolean virtualThreads) {
+		super(maxThreads, minThreads, DEFAULT_IDLE_TIMEOUT, reservedThreads, createQueue(minThreads, maxQueueSize), null);
+		this.maxQueueSize = maxQueueSize > 0 ? maxQueueSize : -1;
+		this.virtualThreads = virtualThreads && VirtualThreads.setExecutor(this);
+	}
+
+	private static BlockingQueue<Runnable> createQueue(int minThreads, int maxQueueSize) {
+		if (maxQueueSize <= 0) {
+			// let jetty create its default unbounded queue
+			return null;
+		}
+		int capacity = Math.min(maxQueueSize, Math.max(minThreads, 8));
+		return new BlockingArrayQueue<>(capacity, capacity, maxQueueSize);
+	}
+
+	ThreadPoolDTO getThreadPoolDTO(String pid) {
+		ThreadPoolDTO dto = new ThreadPoolDTO();
+		dto.pid = pid;
+		dto.virtualThreads = virtualThreads;
+		dto.minThreads = getMinThreads();
+		dto.maxThreads = getMaxThreads();
+		dto.threads = getThreads();
+		dto.idleThreads = getIdleThreads();
+		dto.busyThreads = getBusyThreads();
+		dto.reservedThreads = getReservedThreads();
+		dto.queueSize = getQueueSize();
+		dto.maxQueueSize = maxQueueSize;
+		dto.lowOnThreads = isLowOnThreads();
+		return dto;
+	}
+
+	/**
+	 * Virtual threads are only available on Java 21 and later and only used by
+	 * Jetty 10.0.14 and later; both are looked up reflectively.
+	 */
+	private static class VirtualThreads {
+		private static final Method OF_VIRTUAL;
+		private static final Method NAME;
+		private static final Method FACTORY;
+		private static final Method SET_VIRTUAL_THREADS_EXECUTOR;
+
+		static {
+			Method ofVirtual = null;
+			Method name = null;
+			Method factory = null;
+			Method setVirtualThreadsExecutor = null;
+			try {
+				ofVirtual = Thread.class.getMethod("ofVirtual"); //$NON-NLS-1$
+				Class<?> builder = Class.forName("java.lang.Thread$Builder"); //$NON-NLS-1$
+				name = builder.getMethod("name", String.class, long.class); //$NON-NLS-1$
+				factory = builder.getMethod("factory"); //$NON-NLS-1$
+				setVirtualThreadsExecutor = QueuedThreadPool.class.getMethod("setVirtualThreadsExecutor", Executor.class); //$NON-NLS-1$
+			} catch (ClassNotFoundException | NoSuchMethodException e) {
+				ofVirtual = null;
+			}
+			OF_VIRTUAL = ofVirtual;
+			NAME = name;
+			FACTORY = factory;
+			SET_VIRTUAL_THREADS_EXECUTOR = setVirtualThreadsExecutor;
+		}
+
+		static boolean setExecutor(QueuedThreadPool threadPool) {
+			if (OF_VIRTUAL == null) {
+				return false;
+			}
+			try {
+				Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), threadPool.getName() + "-virtual-", 0L); //$NON-NLS-1$
+				ThreadFactory threadFactory = (ThreadFactory) FACTORY.invoke(builder);
+				Executor executor = command -> threadFactory.newThread(command).start();
+				SET_VIRTUAL_THREADS_EXECUTOR.invoke(threadPool, executor);
+				return true;
+			} catch (Exception e) {
+				// fall back to the threads of the pool
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.jetty.internal;
+
+import java.io.IOException;
+import java.net.*;
+import java.nio.channels.SocketChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import org.eclipse.equinox.http.jetty.JettyConstants;
+import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.unixdomain.server.UnixDomainServerConnector;
+import org.osgi.service.cm.ConfigurationException;
+
+/**
+ * Creates the Unix-domain socket connector. The jetty unixdomain package is
+ * optional and requires Java 16 or later, this class must only be loaded if
+ * a socket path is configured.
+ */
+class UnixDomainSupport {
+
+	private UnixDomainSupport() {
+		// no instances
+	}
+
+	/**
+	 * Creates a connector for the socket at the given path. The connector binds
+	 * the socket when the server is started. A socket file left behind by a
+	 * previous run is deleted, a socket some other process still listens on is
+	 * left alone.
+	 * @throws ConfigurationException if some other process listens on the socket
+	 */
+	static Connector createConnector(Server server, Path path, int acceptors, int selectors, ConnectionFactory... factories) throws IOException, ConfigurationException {
+		if (Files.exists(path, LinkOption.NOFOLLOW_LINKS) && Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+			if (isListening(path))
+				throw new ConfigurationException(JettyConstants.UNIXSOCKET_PATH, "The socket is in use: " + path); //$NON-NLS-1$
+			// a socket left behind by a previous run would prevent the bind
+			Files.delete(path);
+		}
+		UnixDomainServerConnector connector = new UnixDomainServerConnector(server, acceptors, selectors, factories);
+		connector.setUnixDomainPath(path);
+		return connector;
+	}
+
+	/**
+	 * Answers whether a connection to the socket at the given path is accepted.
+	 * The Unix-domain socket API is only available since Java 16 and is accessed
+	 * reflectively since this bundle is compiled for Java 11.
+	 */
+	private static boolean isListening(Path path) throws IOException {
+		SocketAddress address;
+		SocketChannel channel;
+		try {
+			address = (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class).invoke(null, path); //$NON-NLS-1$ //$NON-NLS-2$
+			channel = (SocketChannel) SocketChannel.class.getMethod("open", ProtocolFamily.class).invoke(null, StandardProtocolFamily.valueOf("UNIX")); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (ReflectiveOperationException | IllegalArgumentException e) {
+			throw new IOException("Unix-domain sockets are not available", e); //$NON-NLS-1$
+		}
+		try (SocketChannel probe = channel) {
+			probe.connect(address);
+			return true;
+		} catch (IOException e) {
+			// nobody accepts connections on the socket
+			return false;
+		}
+	}
+}
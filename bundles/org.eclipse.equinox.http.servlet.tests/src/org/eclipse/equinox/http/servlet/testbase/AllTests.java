@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import org.eclipse.equinox.http.servlet.tests.Bug564747_Test;
 import org.eclipse.equinox.http.servlet.tests.Bug569406_Test;
 import org.eclipse.equinox.http.servlet.tests.ContextHelperCustomizerTests;
 import org.eclipse.equinox.http.servlet.tests.DispatchingTest;
+import org.eclipse.equinox.http.servlet.tests.FrameworkLauncherTest;
+import org.eclipse.equinox.http.servlet.tests.JettyConnectorsTest;
 import org.eclipse.equinox.http.servlet.tests.PreprocessorTestCase;
 import org.eclipse.equinox.http.servlet.tests.ServletTest;
 import org.eclipse.equinox.http.servlet.tests.TestHttpServiceAndErrorPage;
@@ -58,6 +60,7 @@ import org.eclipse.equinox.http.servlet.tests.Test_table_140_5_HTTP_WHITEBOARD_F
 import org.eclipse.equinox.http.servlet.tests.Test_table_140_5_HTTP_WHITEBOARD_FILTER_PATTERN;
 import org.eclipse.equinox.http.servlet.tests.Test_table_140_5_HTTP_WHITEBOARD_FILTER_REGEX;
 import org.eclipse.equinox.http.servlet.tests.Test_table_140_6_HTTP_WHITEBOARD_RESOURCE_validation;
+import org.eclipse.equinox.http.servlet.tests.ThreadPoolTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -66,6 +69,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
 	AuthenticationTest.class,
 	DispatchingTest.class,
+	FrameworkLauncherTest.class,
 	PreprocessorTestCase.class,
 	ServletTest.class,
 	Test_140_11_3.class,
@@ -108,7 +112,9 @@ import org.junit.runners.Suite.SuiteClasses;
 	Bug562843_2_Test.class,
 	Bug564747_Test.class,
 	Bug562440_Test.class,
-	Bug569406_Test.class
+	Bug569406_Test.class,
+	ThreadPoolTest.class,
+	JettyConnectorsTest.class
 })
 public class AllTests {
 	// see @SuiteClasses
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.servlet.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+
+import org.eclipse.equinox.servletbridge.FrameworkLauncher;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameworkLauncherTest {
+	private static final String EXTENSION_BUNDLE = "org.eclipse.equinox.servletbridge.extensionbundle";
+
+	private File root;
+	private File eclipse;
+	private File tempDir;
+	private final Map<String, String> initParameters = new HashMap<>();
+	private final Set<String> missingResources = new HashSet<>();
+
+	static class TestFrameworkLauncher extends FrameworkLauncher {
+		TestFrameworkLauncher(ServletConfig servletConfig) {
+			config = servletConfig;
+			context = servletConfig.getServletContext();
+			resourceBase = RESOURCE_BASE + ECLIPSE;
+		}
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("servletbridge").toFile();
+		eclipse = new File(root, "webapp/WEB-INF/eclipse");
+		tempDir = new File(root, "temp");
+		tempDir.mkdirs();
+		File plugins = new File(eclipse, "plugins");
+		plugins.mkdirs();
+		new File(eclipse, "configuration").mkdirs();
+		Files.write(new File(eclipse, "launch.ini").toPath(), new byte[0]);
+		writeJar(new File(plugins, "a_1.0.0.jar"), "a");
+		writeJar(new File(plugins, "b_1.0.0.jar"), "b");
+		writeJar(new File(plugins, "c_1.0.0.jar"), "c");
+		initParameters.put("deployThreads", "2");
+	}
+
+	@After
+	public void tearDown() {
+		delete(root);
+	}
+
+	@Test
+	public void testDeployInPlaceGeneratesExtensionBundleOutsideWebapp() throws IOException {
+		initParameters.put("deployInPlace", "true");
+		Set<String> webappPlugins = list(new File(eclipse, "plugins"));
+
+		createLauncher().deploy();
+
+		Assert.assertEquals("Wrong webapp plugins", webappPlugins, list(new File(eclipse, "plugins")));
+		File extensionBundle = new File(tempDir, "eclipse/plugins/" + EXTENSION_BUNDLE + "_1.3.0.jar");
+		Assert.assertTrue("No extension bundle deployed", extensionBundle.isFile());
+		Assert.assertFalse("Plugins deployed", new File(tempDir, "eclipse/plugins/a_1.0.0.jar").exists());
+	}
+
+	@Test
+	public void testDeployInPlaceUpdatesCopyOfExtensionBundle() throws IOException {
+		initParameters.put("deployInPlace", "true");
+		File webappExtensionBundle = new File(eclipse, "plugins/" + EXTENSION_BUNDLE + "_1.2.0.jar");
+		Manifest mf = new Manifest();
+		mf.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		mf.getMainAttributes().putValue("X-Deploy-Export-Package", "org.example");
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(webappExtensionBundle), mf)) {
+			jos.finish();
+		}
+		byte[] content = Files.readAllBytes(webappExtensionBundle.toPath());
+
+		createLauncher().deploy();
+
+		Assert.assertArrayEquals("Webapp extension bundle modified", content, Files.readAllBytes(webappExtensionBundle.toPath()));
+		File extensionBundle = new File(tempDir, "eclipse/plugins/" + webappExtensionBundle.getName());
+		try (JarFile jar = new JarFile(extensionBundle)) {
+			Assert.assertEquals("Wrong exports", "org.example", jar.getManifest().getMainAttributes().getValue("Export-Package"));
+		}
+	}
+
+	@Test
+	public void testFailedCopyKeepsPreviousDeployment() throws IOException {
+		createLauncher().deploy();
+		File plugins = new File(tempDir, "eclipse/plugins");
+		File manifest = new File(tempDir, "eclipse/.deployment");
+		Assert.assertTrue("Plugin not deployed", new File(plugins, "b_1.0.0.jar").isFile());
+		byte[] deployment = Files.readAllBytes(manifest.toPath());
+
+		// b is removed from the webapp while a cannot be copied
+		new File(eclipse, "plugins/b_1.0.0.jar").delete();
+		missingResources.add("/WEB-INF/eclipse/plugins/a_1.0.0.jar");
+		createLauncher().deploy();
+		Assert.assertTrue("Previously deployed plugin removed", new File(plugins, "b_1.0.0.jar").isFile());
+		Assert.assertArrayEquals("Deployment manifest modified", deployment, Files.readAllBytes(manifest.toPath()));
+
+		missingResources.clear();
+		createLauncher().deploy();
+		Assert.assertFalse("Stale plugin not removed", new File(plugins, "b_1.0.0.jar").exists());
+		Assert.assertTrue("Plugin not deployed", new File(plugins, "a_1.0.0.jar").isFile());
+	}
+
+	@Test
+	public void testInterruptedDeployKeepsPreviousDeployment() throws IOException {
+		createLauncher().deploy();
+		File plugins = new File(tempDir, "eclipse/plugins");
+		new File(eclipse, "plugins/b_1.0.0.jar").delete();
+
+		Thread.currentThread().interrupt();
+		try {
+			createLauncher().deploy();
+		} finally {
+			Assert.assertTrue("Interrupt not preserved", Thread.interrupted());
+		}
+		Assert.assertTrue("Previously deployed plugin removed", new File(plugins, "b_1.0.0.jar").isFile());
+	}
+
+	@Test
+	public void testDeletedEmptyFileRestored() throws IOException {
+		Files.write(new File(eclipse, "plugins/empty.txt").toPath(), new byte[0]);
+		createLauncher().deploy();
+		File empty = new File(tempDir, "eclipse/plugins/empty.txt");
+		Assert.assertTrue("Empty file not deployed", empty.isFile());
+
+		// a missing file has a length of 0 just like the empty resource
+		empty.delete();
+		createLauncher().deploy();
+		Assert.assertTrue("Deleted empty file not restored", empty.isFile());
+	}
+
+	private FrameworkLauncher createLauncher() {
+		ServletContext context = (ServletContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ServletContext.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getAttribute" :
+					return "javax.servlet.context.tempdir".equals(args[0]) ? tempDir : null;
+				case "getResource" : {
+					File file = toFile((String) args[0]);
+					return file.exists() && !missingResources.contains(args[0]) ? file.toURI().toURL() : null;
+				}
+				case "getResourcePaths" :
+					return getResourcePaths((String) args[0]);
+				case "getResourceAsStream" : {
+					File file = toFile((String) args[0]);
+					return file.isFile() ? Files.newInputStream(file.toPath()) : null;
+				}
+				case "getRealPath" :
+					return toFile((String) args[0]).getAbsolutePath();
+				case "getMajorVersion" :
+					return Integer.valueOf(3);
+				case "getMinorVersion" :
+					return Integer.valueOf(1);
+				default :
+					return null;
+			}
+		});
+		ServletConfig config = (ServletConfig) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ServletConfig.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getServletContext" :
+					return context;
+				case "getInitParameter" :
+					return initParameters.get(args[0]);
+				default :
+					return null;
+			}
+		});
+		return new TestFrameworkLauncher(config);
+	}
+
+	File toFile(String path) {
+		return new File(new File(root, "webapp"), path);
+	}
+
+	Set<String> getResourcePaths(String path) {
+		File[] files = toFile(path).listFiles();
+		if (files == null) {
+			return null;
+		}
+		Set<String> result = new HashSet<>();
+		for (File file : files) {
+			result.add(path + file.getName() + (file.isDirectory() ? "/" : ""));
+		}
+		return result;
+	}
+
+	private static Set<String> list(File dir) {
+		return new HashSet<>(Arrays.asList(dir.list()));
+	}
+
+	private static void writeJar(File file, String name) throws IOException {
+		Manifest mf = new Manifest();
+		mf.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		mf.getMainAttributes().putValue("Bundle-SymbolicName", name);
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(file), mf)) {
+			jos.finish();
+		}
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
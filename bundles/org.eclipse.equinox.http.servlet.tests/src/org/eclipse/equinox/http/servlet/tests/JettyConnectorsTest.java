@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.servlet.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.HttpURLConnection;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.equinox.http.jetty.JettyConstants;
+import org.eclipse.equinox.http.servlet.testbase.BaseTest;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleException;
+import org.osgi.service.http.runtime.HttpServiceRuntimeConstants;
+import org.osgi.service.http.whiteboard.HttpWhiteboardConstants;
+
+/*
+ * Tests the optional connection factories, connectors and handlers of the
+ * Jetty-based Http Service with a local client.
+ */
+public class JettyConnectorsTest extends BaseTest {
+	private static final String CONTENT = String.join("", Collections.nCopies(100, "compressible content "));
+
+	@Test
+	public void test_Gzip() throws Exception {
+		stopJetty();
+		setJettyProperty(JettyConstants.GZIP_ENABLED, "true");
+		setJettyProperty(JettyConstants.GZIP_MINGZIPSIZE, "16");
+		try {
+			startJetty();
+			registerServlet("/gzip/*");
+
+			Map<String, List<String>> response = requestAdvisor.request("gzip", null);
+			Assert.assertEquals("200", response.get("responseCode").get(0));
+			Assert.assertNull(response.get("Content-Encoding"));
+			Assert.assertEquals(CONTENT, response.get("responseBody").get(0));
+
+			URL url = new URL("http://localhost:" + getHttpPort() + getContextPath() + "/gzip");
+			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+			connection.setRequestProperty("Accept-Encoding", "gzip");
+			Assert.assertEquals(200, connection.getResponseCode());
+			Assert.assertEquals("gzip", connection.getContentEncoding());
+			try (InputStream in = new GZIPInputStream(connection.getInputStream())) {
+				Assert.assertEquals(CONTENT, new String(readAll(in), StandardCharsets.UTF_8));
+			}
+		} finally {
+			stopJetty();
+			clearJettyProperty(JettyConstants.GZIP_ENABLED);
+			clearJettyProperty(JettyConstants.GZIP_MINGZIPSIZE);
+		}
+	}
+
+	@Test
+	public void test_H2C() throws Exception {
+		requireBundle("org.eclipse.jetty.http2.server");
+		stopJetty();
+		setJettyProperty(JettyConstants.HTTP_HTTP2_ENABLED, "true");
+		try {
+			startJetty();
+			registerServlet("/h2c/*");
+
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+			URI uri = URI.create("http://localhost:" + getHttpPort() + getContextPath() + "/h2c");
+			// the first request is upgraded from HTTP/1.1, the second one reuses the HTTP/2 connection
+			for (int i = 0; i < 2; i++) {
+				HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+				Assert.assertEquals(200, response.statusCode());
+				Assert.assertEquals(HttpClient.Version.HTTP_2, response.version());
+				Assert.assertEquals(CONTENT, response.body());
+			}
+
+			// HTTP/1.1 clients are still served
+			Assert.assertEquals(CONTENT, requestAdvisor.request("h2c"));
+		} finally {
+			stopJetty();
+			clearJettyProperty(JettyConstants.HTTP_HTTP2_ENABLED);
+		}
+	}
+
+	@Test
+	public void test_UnixSocket() throws Exception {
+		requireBundle("org.eclipse.jetty.unixdomain.server");
+		assumeUnixDomainSockets();
+		Path directory = Files.createTempDirectory("jetty");
+		Path path = directory.resolve("http.sock");
+		stopJetty();
+		setJettyProperty(JettyConstants.UNIXSOCKET_PATH, path.toString());
+		try {
+			startJetty();
+			registerServlet("/unix/*");
+
+			try (SocketChannel channel = openUnixChannel(SocketChannel.class)) {
+				channel.connect(unixAddress(path));
+				String request = "GET " + getContextPath() + "/unix HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+				channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)));
+				ByteArrayOutputStream response = new ByteArrayOutputStream();
+				ByteBuffer buffer = ByteBuffer.allocate(4096);
+				while (channel.read(buffer) != -1) {
+					response.write(buffer.array(), 0, buffer.position());
+					buffer.clear();
+				}
+				String result = new String(response.toByteArray(), StandardCharsets.UTF_8);
+				Assert.assertTrue(result, result.startsWith("HTTP/1.1 200"));
+				Assert.assertTrue(result, result.endsWith(CONTENT));
+			}
+
+			// the network connector is still available
+			Assert.assertEquals(CONTENT, requestAdvisor.request("unix"));
+		} finally {
+			stopJetty();
+			clearJettyProperty(JettyConstants.UNIXSOCKET_PATH);
+			Files.deleteIfExists(path);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	@Test
+	public void test_UnixSocketStale() throws Exception {
+		requireBundle("org.eclipse.jetty.unixdomain.server");
+		assumeUnixDomainSockets();
+		Path directory = Files.createTempDirectory("jetty");
+		Path path = directory.resolve("http.sock");
+		// a socket file nobody listens on any more, as left behind by a crashed process
+		try (ServerSocketChannel stale = openUnixChannel(ServerSocketChannel.class)) {
+			stale.bind(unixAddress(path));
+		}
+		Assert.assertTrue("Missing socket file.", Files.exists(path));
+		stopJetty();
+		setJettyProperty(JettyConstants.UNIXSOCKET_PATH, path.toString());
+		try {
+			startJetty();
+
+			try (SocketChannel channel = openUnixChannel(SocketChannel.class)) {
+				channel.connect(unixAddress(path));
+			}
+		} finally {
+			stopJetty();
+			clearJettyProperty(JettyConstants.UNIXSOCKET_PATH);
+			Files.deleteIfExists(path);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	@Test
+	public void test_UnixSocketInUse() throws Exception {
+		requireBundle("org.eclipse.jetty.unixdomain.server");
+		assumeUnixDomainSockets();
+		Path directory = Files.createTempDirectory("jetty");
+		Path path = directory.resolve("http.sock");
+		stopJetty();
+		setJettyProperty(JettyConstants.UNIXSOCKET_PATH, path.toString());
+		try (ServerSocketChannel other = openUnixChannel(ServerSocketChannel.class)) {
+			other.bind(unixAddress(path));
+			try {
+				startJetty();
+				Assert.fail("Started on a socket in use.");
+			} catch (BundleException e) {
+				// expected
+			}
+
+			// the socket of the other process is left alone
+			try (SocketChannel channel = openUnixChannel(SocketChannel.class)) {
+				channel.connect(unixAddress(path));
+				try (SocketChannel accepted = other.accept()) {
+					Assert.assertNotNull("Connection not accepted.", accepted);
+				}
+			}
+		} finally {
+			stopJetty();
+			clearJettyProperty(JettyConstants.UNIXSOCKET_PATH);
+			Files.deleteIfExists(path);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	private void registerServlet(String pattern) {
+		Servlet servlet = new HttpServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.setContentType("text/plain");
+				resp.setCharacterEncoding("UTF-8");
+				PrintWriter writer = resp.getWriter();
+				writer.write(CONTENT);
+			}
+		};
+		Dictionary<String, Object> props = new Hashtable<>();
+		props.put(HttpWhiteboardConstants.HTTP_WHITEBOARD_SERVLET_PATTERN, pattern);
+		registrations.add(getBundleContext().registerService(Servlet.class, servlet, props));
+	}
+
+	private int getHttpPort() throws IOException {
+		for (String endpoint : getStringPlus(HttpServiceRuntimeConstants.HTTP_SERVICE_ENDPOINT, runtimeTracker.getServiceReference())) {
+			if (endpoint.startsWith("http://")) {
+				return new URL(endpoint).getPort();
+			}
+		}
+		Assert.fail("No http endpoint found.");
+		return -1;
+	}
+
+	private void clearJettyProperty(String key) {
+		System.clearProperty(JETTY_PROPERTY_PREFIX + key);
+	}
+
+	private void requireBundle(String symbolicName) {
+		for (Bundle bundle : getBundleContext().getBundles()) {
+			if (symbolicName.equals(bundle.getSymbolicName())) {
+				return;
+			}
+		}
+		Assert.fail(symbolicName + " is not installed");
+	}
+
+	private static void assumeUnixDomainSockets() {
+		try {
+			Class.forName("java.net.UnixDomainSocketAddress");
+		} catch (ClassNotFoundException e) {
+			Assume.assumeNoException("Unix-domain sockets require Java 16", e);
+		}
+	}
+
+	// the Unix-domain socket API is only available since Java 16
+	private static SocketAddress unixAddress(Path path) throws Exception {
+		return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class).invoke(null, path);
+	}
+
+	private static <C> C openUnixChannel(Class<C> channelType) throws Exception {
+		ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+		return channelType.cast(channelType.getMethod("open", ProtocolFamily.class).invoke(null, unix));
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
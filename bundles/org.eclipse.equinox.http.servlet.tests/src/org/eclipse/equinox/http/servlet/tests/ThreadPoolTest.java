@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.http.servlet.tests;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+
+import org.eclipse.equinox.http.jetty.JettyConfigurator;
+import org.eclipse.equinox.http.jetty.JettyConstants;
+import org.eclipse.equinox.http.jetty.ThreadPoolDTO;
+import org.eclipse.equinox.http.servlet.testbase.BaseTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThreadPoolTest extends BaseTest {
+
+	@Test
+	public void test_ThreadPoolDTOs() throws Exception {
+		Dictionary<String, Object> settings = new Hashtable<>();
+		settings.put(JettyConstants.HTTP_PORT, Integer.valueOf(0));
+		settings.put(JettyConstants.HTTP_MINTHREADS, Integer.valueOf(4));
+		settings.put(JettyConstants.HTTP_MAXTHREADS, Integer.valueOf(16));
+		settings.put(JettyConstants.HTTP_RESERVEDTHREADS, Integer.valueOf(0));
+		settings.put(JettyConstants.HTTP_MAXQUEUESIZE, Integer.valueOf(100));
+		settings.put(JettyConstants.HTTP_ACCEPTORS, Integer.valueOf(1));
+		settings.put(JettyConstants.HTTP_SELECTORS, Integer.valueOf(1));
+		JettyConfigurator.startServer("threadPoolTest", settings);
+		try {
+			ThreadPoolDTO threadPool = getThreadPoolDTO("org.eclipse.equinox.http.jetty.JettyConfigurator.threadPoolTest");
+			Assert.assertNotNull("No thread pool found.", threadPool);
+			Assert.assertEquals(4, threadPool.minThreads);
+			Assert.assertEquals(16, threadPool.maxThreads);
+			Assert.assertEquals(0, threadPool.reservedThreads);
+			Assert.assertEquals(100, threadPool.maxQueueSize);
+			Assert.assertFalse(threadPool.virtualThreads);
+			Assert.assertTrue(threadPool.threads > 0);
+			Assert.assertTrue(threadPool.busyThreads <= threadPool.threads);
+		} finally {
+			JettyConfigurator.stopServer("threadPoolTest");
+		}
+		Assert.assertNull(getThreadPoolDTO("org.eclipse.equinox.http.jetty.JettyConfigurator.threadPoolTest"));
+
+		ThreadPoolDTO threadPool = getThreadPoolDTO("default");
+		Assert.assertNotNull("No thread pool found.", threadPool);
+		Assert.assertEquals(-1, threadPool.maxQueueSize);
+	}
+
+	private ThreadPoolDTO getThreadPoolDTO(String pid) {
+		for (ThreadPoolDTO threadPool : JettyConfigurator.getThreadPoolDTOs()) {
+			if (pid.equals(threadPool.pid)) {
+				return threadPool;
+			}
+		}
+		return null;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,8 +23,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.file.*;
 import java.security.*;
 import java.util.*;
 import java.util.zip.ZipEntry;
@@ -131,6 +130,12 @@ public class Main {
 
 	private final Thread splashHandler = new SplashHandler();
 
+	// the results of previous file system searches; null if not loaded yet
+	private Properties searchCache;
+	private boolean searchCacheChanged = false;
+	private int searchCacheHits = 0;
+	private int searchCacheMisses = 0;
+
 	//splash screen system properties
 	public static final String SPLASH_HANDLE = "org.eclipse.equinox.launcher.splash.handle"; //$NON-NLS-1$
 	public static final String SPLASH_LOCATION = "org.eclipse.equinox.launcher.splash.location"; //$NON-NLS-1$
@@ -200,6 +205,7 @@ public class Main {
 	private static final String PROP_BASE_CONFIG_AREA = "osgi.baseConfiguration.area"; //$NON-NLS-1$
 	private static final String PROP_SHARED_CONFIG_AREA = "osgi.sharedConfiguration.area"; //$NON-NLS-1$
 	private static final String PROP_CONFIG_CASCADED = "osgi.configuration.cascaded"; //$NON-NLS-1$
+	private static final String PROP_CLEAN = "osgi.clean"; //$NON-NLS-1$
 	protected static final String PROP_FRAMEWORK = "osgi.framework"; //$NON-NLS-1$
 	private static final String PROP_SPLASHPATH = "osgi.splashPath"; //$NON-NLS-1$
 	private static final String PROP_SPLASHLOCATION = "osgi.splashLocation"; //$NON-NLS-1$
@@ -268,6 +274,10 @@ public class Main {
 	private static final String BASE_TIMESTAMP_FILE_CONFIGINI = ".baseConfigIniTimestamp"; //$NON-NLS-1$
 	private static final String KEY_CONFIGINI_TIMESTAMP = "configIniTimestamp"; //$NON-NLS-1$
 	private static final String PROP_IGNORE_USER_CONFIGURATION = "eclipse.ignoreUserConfiguration"; //$NON-NLS-1$
+	// set to false to always search the file system for the framework, libraries and splash screen
+	private static final String PROP_SEARCH_CACHE = "eclipse.launcher.searchCache"; //$NON-NLS-1$
+	private static final String SEARCH_CACHE_FILE = "searchCache.properties"; //$NON-NLS-1$
+	private static final String KEY_SEARCH_CACHE_INSTALL = "install.area"; //$NON-NLS-1$
 
 	/**
 	 * A structured form for a version identifier.
@@ -508,6 +518,14 @@ public class Main {
 		if (frag.isDirectory())
 			return searchFor("eclipse", fragment); //$NON-NLS-1$;
 
+		String key = "library:" + frag.getAbsolutePath(); //$NON-NLS-1$
+		String cached = getCachedSearchResult(key, frag);
+		if (cached != null)
+			return cached.isEmpty() ? null : cached;
+		return putCachedSearchResult(key, frag, getLibraryFromFragmentJar(fragment, frag));
+	}
+
+	private String getLibraryFromFragmentJar(String fragment, File frag) {
 		ZipFile fragmentJar = null;
 		try {
 			fragmentJar = new ZipFile(frag);
@@ -552,7 +570,8 @@ public class Main {
 	 * @exception Exception thrown if a problem occurs during the launch
 	 */
 	protected void basicRun(String[] args) throws Exception {
-		System.setProperty("eclipse.startTime", Long.toString(System.currentTimeMillis())); //$NON-NLS-1$
+		long startTime = System.currentTimeMillis();
+		System.setProperty("eclipse.startTime", Long.toString(startTime)); //$NON-NLS-1$
 		commands = args;
 		String[] passThruArgs = processCommandLine(args);
 
@@ -561,6 +580,7 @@ public class Main {
 			debug = System.getProperty(PROP_DEBUG) != null;
 		setupVMProperties();
 		processConfiguration();
+		long configurationTime = System.currentTimeMillis();
 
 		if (protectBase && (System.getProperty(PROP_SHARED_CONFIG_AREA) == null)) {
 			System.err.println("This application is configured to run in a cascaded mode only."); //$NON-NLS-1$
@@ -574,9 +594,11 @@ public class Main {
 
 		// locate boot plugin (may return -dev mode variations)
 		URL[] bootPath = getBootPath(bootLocation);
+		long bootPathTime = System.currentTimeMillis();
 
 		//Set up the JNI bridge.  We need to know the install location to find the shared library
 		setupJNI(bootPath);
+		long jniTime = System.currentTimeMillis();
 
 		//ensure minimum Java version, do this after JNI is set up so that we can write an error message
 		//with exitdata if we fail.
@@ -591,6 +613,17 @@ public class Main {
 		// splash handling is done here, because the default case needs to know
 		// the location of the boot plugin we are going to use
 		handleSplash(bootPath);
+		long splashTime = System.currentTimeMillis();
+		saveSearchCache();
+
+		if (debug) {
+			log("Launch times (ms): configuration=" + (configurationTime - startTime) //$NON-NLS-1$
+					+ ", boot path=" + (bootPathTime - configurationTime) //$NON-NLS-1$
+					+ ", JNI library=" + (jniTime - bootPathTime) //$NON-NLS-1$
+					+ ", splash=" + (splashTime - jniTime) //$NON-NLS-1$
+					+ ", total=" + (System.currentTimeMillis() - startTime) //$NON-NLS-1$
+					+ "; search cache hits=" + searchCacheHits + ", misses=" + searchCacheMisses); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 
 		beforeFwkInvocation();
 		invokeFramework(passThruArgs, bootPath);
@@ -961,6 +994,118 @@ public class Main {
 		}
 	}
 
+	/*
+	 * Returns the persisted result of a previous search, an empty string if the previous
+	 * search found nothing, or null if there is no result or the searched location has
+	 * been modified since.
+	 */
+	private String getCachedSearchResult(String key, File searched) {
+		Properties cache = getSearchCache();
+		if (cache == null)
+			return null;
+		String entry = cache.getProperty(key);
+		int separator = entry == null ? -1 : entry.indexOf('|');
+		if (separator > 0) {
+			String result = entry.substring(separator + 1);
+			try {
+				if (Long.parseLong(entry.substring(0, separator)) == searched.lastModified() && (result.isEmpty() || new File(result).exists())) {
+					searchCacheHits++;
+					return result;
+				}
+			} catch (NumberFormatException e) {
+				// fall through and search again
+			}
+		}
+		searchCacheMisses++;
+		return null;
+	}
+
+	private String putCachedSearchResult(String key, File searched, String result) {
+		Properties cache = getSearchCache();
+		if (cache != null) {
+			cache.setProperty(key, searched.lastModified() + "|" + (result == null ? "" : result)); //$NON-NLS-1$ //$NON-NLS-2$
+			searchCacheChanged = true;
+		}
+		return result;
+	}
+
+	/*
+	 * Loads the results of the searches done by previous launches of the same install
+	 * location. The results are discarded when running with -clean or when osgi.clean
+	 * is set, either on the command line or in the configuration.
+	 */
+	private Properties getSearchCache() {
+		if (searchCache != null)
+			return searchCache;
+		if (installLocation == null || "false".equalsIgnoreCase(System.getProperty(PROP_SEARCH_CACHE))) //$NON-NLS-1$
+			return null;
+		File cacheFile = getSearchCacheFile();
+		if (cacheFile == null)
+			return null;
+		searchCache = new Properties();
+		boolean clean = Boolean.parseBoolean(System.getProperty(PROP_CLEAN));
+		for (String command : commands) {
+			if (CLEAN.equalsIgnoreCase(command)) {
+				clean = true;
+				break;
+			}
+		}
+		if (!clean && cacheFile.isFile()) {
+			try (InputStream in = new FileInputStream(cacheFile)) {
+				searchCache.load(in);
+			} catch (IOException | IllegalArgumentException e) {
+				searchCache.clear();
+			}
+		}
+		String install = installLocation.toExternalForm();
+		if (!install.equals(searchCache.getProperty(KEY_SEARCH_CACHE_INSTALL))) {
+			searchCache.clear();
+			searchCache.setProperty(KEY_SEARCH_CACHE_INSTALL, install);
+			searchCacheChanged = true;
+		}
+		return searchCache;
+	}
+
+	private File getSearchCacheFile() {
+		String configLocation = System.getProperty(PROP_CONFIG_AREA);
+		if (configLocation == null)
+			return null;
+		URL configURL = buildURL(configLocation, false);
+		if (configURL == null || !"file".equals(configURL.getProtocol())) //$NON-NLS-1$
+			return null;
+		return new File(new File(configURL.getPath(), PLUGIN_ID), SEARCH_CACHE_FILE);
+	}
+
+	private void saveSearchCache() {
+		if (searchCache == null || !searchCacheChanged)
+			return;
+		File cacheFile = getSearchCacheFile();
+		if (cacheFile == null)
+			return;
+		File tempFile = null;
+		try {
+			cacheFile.getParentFile().mkdirs();
+			// a concurrent launch must never read a partially written cache
+			tempFile = File.createTempFile(SEARCH_CACHE_FILE, ".tmp", cacheFile.getParentFile()); //$NON-NLS-1$
+			try (OutputStream out = new FileOutputStream(tempFile)) {
+				searchCache.store(out, null);
+			}
+			try {
+				Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			searchCacheChanged = false;
+		} catch (IOException e) {
+			// the configuration area may be read-only; search again next time
+			if (debug)
+				System.out.println("Unable to save the launcher search cache: " + e.getMessage()); //$NON-NLS-1$
+		} finally {
+			if (tempFile != null)
+				tempFile.delete();
+		}
+	}
+
 	/**
 	 * Returns the <code>URL</code>-based class path describing where the boot classes are located.
 	 *
@@ -1008,7 +1153,14 @@ public class Main {
 	 */
 	protected String searchFor(final String target, String start) {
 		File root = resolveFile(new File(start));
+		String key = "search:" + target + '|' + root.getAbsolutePath(); //$NON-NLS-1$
+		String cached = getCachedSearchResult(key, root);
+		if (cached != null)
+			return cached.isEmpty() ? null : cached;
+		return putCachedSearchResult(key, root, searchFor(target, start, root));
+	}
 
+	private String searchFor(final String target, String start, File root) {
 		// Note that File.list only gives you file names not the complete path from start
 		String[] candidates = root.list();
 		if (candidates == null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -215,7 +215,9 @@ public class AttributeDefinitionImpl extends LocalizationElement implements Equi
 	 * @see org.osgi.service.metatype.AttributeDefinition#getDefaultValue()
 	 */
 	public String[] getDefaultValue() {
-		return _defaults;
+		// Copy the defaults; the same localized definition is handed out to all callers.
+		String[] curDefaults = _defaults;
+		return curDefaults == null ? null : curDefaults.clone();
 	}
 
 	/**
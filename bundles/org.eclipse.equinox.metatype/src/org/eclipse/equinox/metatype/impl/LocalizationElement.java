@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -122,6 +122,10 @@ public abstract class LocalizationElement {
 	private String locale;
 	// @GuardedBy("this")
 	private Map<String, ResourceBundle> resourceBundleCache;
+	// Set once the resource bundle has been looked up for good; the element can then be shared without locking.
+	private volatile boolean localized;
+	// @GuardedBy("this") until localized is set
+	private ResourceBundle localizedBundle;
 
 	public LocalizationElement(String localization) {
 		this.localization = localization;
@@ -161,7 +165,17 @@ public abstract class LocalizationElement {
 	 * This method must be (and currently is) called after setLocaleAndBundle(String, Bundle).
 	 * If the bundle is not set, an NPE will be generated by getResourceBundle(String, String, Bundle).
 	 */
-	protected synchronized ResourceBundle getResourceBundle() {
+	protected ResourceBundle getResourceBundle() {
+		if (localized) {
+			return localizedBundle;
+		}
+		synchronized (this) {
+			return lookupResourceBundle();
+		}
+	}
+
+	// @GuardedBy("this")
+	private ResourceBundle lookupResourceBundle() {
 		// Determine the base name of the bundle localization property files.
 		// If the <MetaData> 'localization' attribute was not specified,
 		// use the Bundle-Localization manifest header value instead if it exists.
@@ -189,4 +203,15 @@ public abstract class LocalizationElement {
 		this.bundle = bundle;
 		this.resourceBundleCache = resourceBundleCache;
 	}
+
+	/*
+	 * Looks up the resource bundle for the locale and bundle set by setLocaleAndBundle(String, Bundle, Map)
+	 * once and for all. Afterwards the element no longer changes and localized text is read without locking.
+	 */
+	protected synchronized void localize() {
+		if (!localized) {
+			localizedBundle = lookupResourceBundle();
+			localized = true;
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,6 +51,9 @@ public class MetaTypeProviderImpl implements MetaTypeProvider {
 	protected final LogTracker logger;
 
 	private final Map<String, ResourceBundle> resourceBundleCache = new ConcurrentHashMap<>();
+	// Localized OCDs keyed by locale and pid. A provider is replaced when its bundle is updated,
+	// so the cached definitions never outlive the metadata they were localized from.
+	private final Map<String, ObjectClassDefinitionImpl> localizedOCDCache = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructor of class MetaTypeProviderImpl.
@@ -137,18 +140,25 @@ public class MetaTypeProviderImpl implements MetaTypeProvider {
 			throw new IllegalArgumentException(NLS.bind(MetaTypeMsg.ASK_INVALID_LOCALE, pid, locale));
 		}
 
-		ObjectClassDefinitionImpl ocd;
-		if (_allPidOCDs.containsKey(pid)) {
-			ocd = (ObjectClassDefinitionImpl) (_allPidOCDs.get(pid)).clone();
-			ocd.setResourceBundle(locale, _bundle, resourceBundleCache);
+		// A valid locale never contains a '/' so the key is unambiguous.
+		String key = (locale == null ? "" : locale) + DIRECTORY_SEP + pid; //$NON-NLS-1$
+		ObjectClassDefinitionImpl ocd = localizedOCDCache.get(key);
+		if (ocd != null) {
 			return ocd;
+		}
+		ObjectClassDefinitionImpl template;
+		if (_allPidOCDs.containsKey(pid)) {
+			template = _allPidOCDs.get(pid);
 		} else if (_allFPidOCDs.containsKey(pid)) {
-			ocd = (ObjectClassDefinitionImpl) (_allFPidOCDs.get(pid)).clone();
-			ocd.setResourceBundle(locale, _bundle, resourceBundleCache);
-			return ocd;
+			template = _allFPidOCDs.get(pid);
 		} else {
 			throw new IllegalArgumentException(NLS.bind(MetaTypeMsg.OCD_PID_NOT_FOUND, pid));
 		}
+		// Clone once per locale; the localized OCD is not modified afterwards and is shared by all callers.
+		ocd = (ObjectClassDefinitionImpl) template.clone();
+		ocd.setResourceBundle(locale, _bundle, resourceBundleCache);
+		ObjectClassDefinitionImpl existing = localizedOCDCache.putIfAbsent(key, ocd);
+		return existing != null ? existing : ocd;
 	}
 
 	/**
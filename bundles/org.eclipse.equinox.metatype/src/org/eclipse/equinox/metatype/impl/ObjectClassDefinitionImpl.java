@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -219,15 +219,20 @@ public class ObjectClassDefinitionImpl extends LocalizationElement implements Eq
 
 	/**
 	 * Method to set the resource bundle for this OCD and all its ADs.
+	 * The resource bundle is looked up right away; afterwards the OCD
+	 * does not change and may be shared between threads.
 	 * @param resourceBundleCache 
 	 */
 	void setResourceBundle(String assignedLocale, Bundle bundle, Map<String, ResourceBundle> resourceBundleCache) {
 		setLocaleAndBundle(assignedLocale, bundle, resourceBundleCache);
+		localize();
 		for (AttributeDefinitionImpl ad : _required) {
 			ad.setLocaleAndBundle(assignedLocale, bundle, resourceBundleCache);
+			ad.localize();
 		}
 		for (AttributeDefinitionImpl ad : _optional) {
 			ad.setLocaleAndBundle(assignedLocale, bundle, resourceBundleCache);
+			ad.localize();
 		}
 	}
 
@@ -23,6 +23,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.equinox.region.*;
 import org.eclipse.equinox.region.RegionDigraph.FilteredRegion;
 import org.eclipse.virgo.teststubs.osgi.framework.StubBundle;
@@ -413,6 +415,41 @@ public class StandardRegionDigraphTests {
 		}
 	}
 
+	@Test
+	public void testReplaceWithConcurrentReaders() throws Exception {
+		RegionDigraph testDigraph = RegionReflectionUtils.newStandardRegionDigraph();
+		Region a = testDigraph.createRegion(REGION_A);
+		a.addBundle(1);
+		Region b = testDigraph.createRegion(REGION_B);
+		b.addBundle(2);
+		testDigraph.connect(a, testDigraph.createRegionFilterBuilder().allow("a", "(a=x)").build(), b);
+
+		// readers must always see either the previous or the replacement digraph, never a partially replaced one
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicReference<String> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			while (!done.get() && failure.get() == null) {
+				if (testDigraph.getRegion(1) != a) {
+					failure.set("Bundle 1 is not in region A");
+				} else if (!b.contains(2)) {
+					failure.set("Bundle 2 is not in region B");
+				} else if (testDigraph.getEdges(a).size() != 1) {
+					failure.set("Wrong number of edges of region A");
+				}
+			}
+		});
+		reader.start();
+		try {
+			for (int i = 0; i < 500 && failure.get() == null; i++) {
+				testDigraph.replace(testDigraph.copy());
+			}
+		} finally {
+			done.set(true);
+			reader.join();
+		}
+		assertNull(failure.get(), failure.get());
+	}
+
 	@Test
 	public void testGetHooks() throws BundleException {
 		setDefaultFilters();
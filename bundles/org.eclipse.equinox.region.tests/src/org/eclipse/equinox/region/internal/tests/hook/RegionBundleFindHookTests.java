@@ -227,6 +227,38 @@ public class RegionBundleFindHookTests {
 		assertTrue(this.candidates.contains(bundle(BUNDLE_X)));
 	}
 
+	@Test
+	public void testFindAfterReplaceConnection() throws BundleException, InvalidSyntaxException {
+		region(REGION_A).connectRegion(region(REGION_B), createFilter(false, BUNDLE_C));
+
+		this.candidates.add(bundle(BUNDLE_B));
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), this.candidates);
+		assertFalse(this.candidates.contains(bundle(BUNDLE_B)));
+
+		// the cached decision must not survive the new connection
+		this.digraph.replaceConnection(region(REGION_A), createFilter(false, BUNDLE_B), region(REGION_B));
+		this.candidates.add(bundle(BUNDLE_B));
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), this.candidates);
+		assertTrue(this.candidates.contains(bundle(BUNDLE_B)));
+
+		// find again using the cached decision
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), this.candidates);
+		assertTrue(this.candidates.contains(bundle(BUNDLE_B)));
+	}
+
+	@Test
+	public void testFindAfterRemoveRegion() throws BundleException, InvalidSyntaxException {
+		region(REGION_A).connectRegion(region(REGION_B), createFilter(false, BUNDLE_B));
+
+		this.candidates.add(bundle(BUNDLE_B));
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), this.candidates);
+		assertTrue(this.candidates.contains(bundle(BUNDLE_B)));
+
+		this.digraph.removeRegion(region(REGION_B));
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), this.candidates);
+		assertFalse(this.candidates.contains(bundle(BUNDLE_B)));
+	}
+
 	@Test
 	public void testFindFromSystemBundle() {
 		this.candidates.add(bundle(BUNDLE_A));
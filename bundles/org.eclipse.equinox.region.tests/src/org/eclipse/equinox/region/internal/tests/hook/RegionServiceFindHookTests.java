@@ -190,6 +190,32 @@ public class RegionServiceFindHookTests {
 		assertFalse(this.candidates.contains(serviceReference(BUNDLE_X)));
 	}
 
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testFindAfterServicePropertiesModified() throws BundleException, InvalidSyntaxException {
+		RegionFilterBuilder builder = digraph.createRegionFilterBuilder();
+		builder.allow(RegionFilter.VISIBLE_SERVICE_NAMESPACE, "(visible=true)");
+		region(REGION_A).connectRegion(region(REGION_B), builder.build());
+
+		StubServiceRegistration<Object> registration = new StubServiceRegistration<>((StubBundleContext) bundleContext(BUNDLE_B), BUNDLE_B);
+		StubServiceReference<Object> reference = new StubServiceReference<>(registration);
+		this.candidates.add(reference);
+		this.candidates.add(serviceReference(BUNDLE_B));
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), "", "", false, this.candidates);
+		assertTrue(this.candidates.isEmpty());
+
+		// the cached decision must not survive the modification of the service properties
+		Dictionary<String, Object> properties = new Hashtable<>();
+		properties.put("visible", "true");
+		registration.setProperties(properties);
+		this.digraph.getServiceEventHook().event(new ServiceEvent(ServiceEvent.MODIFIED, reference), new ArrayList<BundleContext>());
+		this.candidates.add(reference);
+		this.candidates.add(serviceReference(BUNDLE_B));
+		this.bundleFindHook.find(bundleContext(BUNDLE_A), "", "", false, this.candidates);
+		assertTrue(this.candidates.contains(reference));
+		assertFalse(this.candidates.contains(serviceReference(BUNDLE_B)));
+	}
+
 	@Test
 	public void testFindTransitive() throws BundleException, InvalidSyntaxException {
 		region(REGION_A).connectRegion(region(REGION_B), createFilter(BUNDLE_C));
@@ -16,6 +16,7 @@ package org.eclipse.equinox.internal.region;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.equinox.region.Region;
 import org.osgi.framework.BundleException;
 
@@ -25,9 +26,10 @@ public final class StandardBundleIdToRegionMapping implements BundleIdToRegionMa
 
 	/*
 	 * bundleToRegion maps a given bundle id to the region for which it belongs.
-	 * this is a global map for all regions in the digraph
+	 * this is a global map for all regions in the digraph. Modifications are guarded by the monitor,
+	 * lookups are lock free.
 	 */
-	private final Map<Long, Region> bundleToRegion = new HashMap<>();
+	private final Map<Long, Region> bundleToRegion = new ConcurrentHashMap<>();
 
 	/**
 	 * {@inheritDoc} 
@@ -58,9 +60,7 @@ public final class StandardBundleIdToRegionMapping implements BundleIdToRegionMa
 	 */
 	@Override
 	public boolean isBundleAssociatedWithRegion(long bundleId, Region region) {
-		synchronized (this.monitor) {
-			return this.bundleToRegion.get(bundleId) == region;
-		}
+		return this.bundleToRegion.get(bundleId) == region;
 	}
 
 	/**
@@ -94,9 +94,7 @@ public final class StandardBundleIdToRegionMapping implements BundleIdToRegionMa
 	 */
 	@Override
 	public Region getRegion(long bundleId) {
-		synchronized (this.monitor) {
-			return this.bundleToRegion.get(bundleId);
-		}
+		return this.bundleToRegion.get(bundleId);
 	}
 
 	/** 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 VMware Inc. and others
+ * Copyright (c) 2011, 2026 VMware Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,12 +44,20 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 
 	// Alien calls may be made to the following object while this.monitor is locked
 	// as this.monitor is higher in the lock hierarchy than this object's own monitor.
-	private final BundleIdToRegionMapping bundleIdToRegionMapping;
+	// Only replaced while this.monitor is locked.
+	private BundleIdToRegionMapping bundleIdToRegionMapping;
 
 	/* edges maps a given region to an immutable set of edges with their tail at the given region. To update
 	 * the edges for a region, the corresponding immutable set is replaced atomically. */
 	private final Map<Region, Set<FilteredRegion>> edges = new HashMap<>();
 
+	/* snapshot holds an immutable copy of edges and the current bundle id mapping. It is republished with a single
+	 * volatile write after each modification so that traversals of the digraph do not need to hold the monitor and
+	 * never observe a partially replaced digraph. */
+	private volatile Snapshot snapshot;
+
+	private final RegionVisibilityCache visibilityCache = new RegionVisibilityCache();
+
 	private final BundleContext bundleContext;
 
 	private final ThreadLocal<Region> threadLocal;
@@ -82,6 +90,7 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 	private StandardRegionDigraph(BundleContext bundleContext, ThreadLocal<Region> threadLocal, StandardRegionDigraph origin) throws BundleException {
 		this.subgraphTraverser = new SubgraphTraverser();
 		this.bundleIdToRegionMapping = new StandardBundleIdToRegionMapping();
+		this.snapshot = new Snapshot(Collections.<Region, Set<FilteredRegion>> emptyMap(), this.bundleIdToRegionMapping);
 		this.bundleContext = bundleContext;
 		this.threadLocal = threadLocal;
 
@@ -228,11 +237,9 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 	 */
 	@Override
 	public Set<FilteredRegion> getEdges(Region tailRegion) {
-		synchronized (this.monitor) {
-			// Cope with the case where tailRegion is not in the digraph
-			Set<FilteredRegion> edgeSet = this.edges.get(tailRegion);
-			return edgeSet == null ? EMPTY_EDGE_SET : edgeSet;
-		}
+		// Cope with the case where tailRegion is not in the digraph
+		Set<FilteredRegion> edgeSet = this.snapshot.edges.get(tailRegion);
+		return edgeSet == null ? EMPTY_EDGE_SET : edgeSet;
 	}
 
 	static class StandardFilteredRegion implements FilteredRegion {
@@ -281,9 +288,8 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 	 */
 	@Override
 	public Region getRegion(long bundleId) {
-		synchronized (this.monitor) {
-			return this.bundleIdToRegionMapping.getRegion(bundleId);
-		}
+		// the published mapping is thread safe; lookups do not need the monitor
+		return this.snapshot.bundleIdToRegionMapping.getRegion(bundleId);
 	}
 
 	/**
@@ -463,33 +469,42 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 			if (check && this.updateCount.get() != replacement.originUpdateCount) {
 				throw new BundleException("The origin update count has changed since the replacement copy was created.", BundleException.INVALID_OPERATION); //$NON-NLS-1$
 			}
-			Map<String, Region> nameToRegion = new HashMap<>(regions);
-			this.regions.clear();
-			this.edges.clear();
-			this.bundleIdToRegionMapping.clear();
+			// build the new state off to the side; lock free readers keep using the
+			// published snapshot until the new one is published by incrementUpdateCount
+			Map<String, Region> newRegions = new HashMap<>();
+			Map<Region, Set<FilteredRegion>> newEdges = new HashMap<>();
+			BundleIdToRegionMapping newMapping = new StandardBundleIdToRegionMapping();
 			for (Region original : filteredRegions.keySet()) {
-				Region copy = nameToRegion.get(original.getName());
-				if (copy != null) {
-					// reuse the previous region object
-					regions.put(copy.getName(), copy);
-					edges.put(copy, EMPTY_EDGE_SET);
-				} else {
+				Region copy = this.regions.get(original.getName());
+				if (copy == null) {
 					// create a new one
-					copy = this.createRegion(original.getName(), false);
+					copy = new BundleIdBasedRegion(original.getName(), this, this, this.bundleContext, this.threadLocal);
 					// collect added for notifying later ouside the lock
 					added.add(copy);
 				}
+				// otherwise reuse the previous region object
+				newRegions.put(copy.getName(), copy);
+				newEdges.put(copy, EMPTY_EDGE_SET);
 				for (Long id : original.getBundleIds()) {
-					copy.addBundle(id);
+					newMapping.associateBundleWithRegion(id, copy);
 				}
 			}
 			for (Map.Entry<Region, Set<FilteredRegion>> connection : filteredRegions.entrySet()) {
-				Region tailRegion = this.getRegion(connection.getKey().getName());
+				Region tailRegion = newRegions.get(connection.getKey().getName());
+				Set<FilteredRegion> connections = new HashSet<>();
 				for (FilteredRegion headFilter : connection.getValue()) {
-					Region headRegion = this.getRegion(headFilter.getRegion().getName());
-					this.connect(tailRegion, headFilter.getFilter(), headRegion);
+					Region headRegion = newRegions.get(headFilter.getRegion().getName());
+					connections.add(new StandardFilteredRegion(headRegion, headFilter.getFilter()));
+				}
+				if (!connections.isEmpty()) {
+					newEdges.put(tailRegion, Collections.unmodifiableSet(connections));
 				}
 			}
+			this.regions.clear();
+			this.regions.putAll(newRegions);
+			this.edges.clear();
+			this.edges.putAll(newEdges);
+			this.bundleIdToRegionMapping = newMapping;
 			incrementUpdateCount();
 			if (check) {
 				replacement.originUpdateCount = this.updateCount.get();
@@ -588,10 +603,36 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 	private void incrementUpdateCount() {
 		synchronized (this.monitor) {
 			this.updateCount.incrementAndGet();
+			this.snapshot = new Snapshot(Collections.unmodifiableMap(new HashMap<>(this.edges)), this.bundleIdToRegionMapping);
+			// must come last so that no decision based on the previous state survives
+			this.visibilityCache.invalidate();
 		}
 
 	}
 
+	/**
+	 * An immutable view of the digraph state used by lock free readers.
+	 */
+	private static final class Snapshot {
+		final Map<Region, Set<FilteredRegion>> edges;
+		final BundleIdToRegionMapping bundleIdToRegionMapping;
+
+		Snapshot(Map<Region, Set<FilteredRegion>> edges, BundleIdToRegionMapping bundleIdToRegionMapping) {
+			this.edges = edges;
+			this.bundleIdToRegionMapping = bundleIdToRegionMapping;
+		}
+	}
+
+	/**
+	 * Returns the cache of visibility decisions made by the hooks of this digraph. The cache is invalidated whenever
+	 * the regions, their connections or their bundles change.
+	 * 
+	 * @return the visibility cache
+	 */
+	public RegionVisibilityCache getVisibilityCache() {
+		return this.visibilityCache;
+	}
+
 	/** 
 	 * {@inheritDoc}
 	 */
@@ -609,9 +650,7 @@ public final class StandardRegionDigraph implements BundleIdToRegionMapping, Reg
 	 */
 	@Override
 	public boolean isBundleAssociatedWithRegion(long bundleId, Region region) {
-		synchronized (this.monitor) {
-			return this.bundleIdToRegionMapping.isBundleAssociatedWithRegion(bundleId, region);
-		}
+		return this.snapshot.bundleIdToRegionMapping.isBundleAssociatedWithRegion(bundleId, region);
 	}
 
 	/** 
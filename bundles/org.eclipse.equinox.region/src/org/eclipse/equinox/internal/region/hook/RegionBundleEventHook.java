@@ -53,6 +53,12 @@ public final class RegionBundleEventHook implements EventHook {
 		Bundle eventBundle = event.getBundle();
 		if (event.getType() == BundleEvent.INSTALLED) {
 			bundleInstalled(eventBundle, event.getOrigin());
+		} else if (event.getType() == BundleEvent.UPDATED) {
+			// the symbolic name and version seen by the region filters may have changed
+			RegionVisibilityCache cache = RegionVisibilityCache.getCache(regionDigraph);
+			if (cache != null) {
+				cache.invalidate();
+			}
 		}
 		Map<Region, Boolean> regionAccess = new HashMap<>();
 		Iterator<BundleContext> i = contexts.iterator();
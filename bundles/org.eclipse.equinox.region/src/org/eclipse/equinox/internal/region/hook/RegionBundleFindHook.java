@@ -65,11 +65,7 @@ public final class RegionBundleFindHook implements FindHook {
 			return;
 		}
 
-		Visitor visitor = new Visitor(bundles);
-		finderRegion.visitSubgraph(visitor);
-		Collection<Bundle> allowed = visitor.getAllowed();
-
-		bundles.retainAll(allowed);
+		RegionVisibilityCache.retainVisible(finderRegion.getRegionDigraph(), finderRegion, bundles, Visitor::new);
 	}
 
 	static class Visitor extends RegionDigraphVisitorBase<Bundle> {
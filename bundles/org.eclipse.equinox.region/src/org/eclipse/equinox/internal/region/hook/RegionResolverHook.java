@@ -63,11 +63,7 @@ public final class RegionResolverHook implements ResolverHook {
 				return;
 			}
 
-			Visitor visitor = new Visitor(candidates);
-			requirerRegion.visitSubgraph(visitor);
-			Collection<BundleCapability> allowed = visitor.getAllowed();
-
-			candidates.retainAll(allowed);
+			RegionVisibilityCache.retainVisible(this.regionDigraph, requirerRegion, candidates, Visitor::new);
 		} finally {
 			if (DEBUG) {
 				debugExit(requirer, candidates);
@@ -46,6 +46,7 @@ public final class RegionServiceEventHook implements EventHook {
 	 */
 	public void event(ServiceEvent event, Collection<BundleContext> contexts) {
 		ServiceReference<?> eventService = event.getServiceReference();
+		updateVisibilityCache(event);
 		Map<Region, Boolean> regionAccess = new HashMap<>();
 		Iterator<BundleContext> i = contexts.iterator();
 		while (i.hasNext()) {
@@ -77,6 +78,24 @@ public final class RegionServiceEventHook implements EventHook {
 		}
 	}
 
+	private void updateVisibilityCache(ServiceEvent event) {
+		RegionVisibilityCache cache = RegionVisibilityCache.getCache(regionDigraph);
+		if (cache == null) {
+			return;
+		}
+		switch (event.getType()) {
+			case ServiceEvent.MODIFIED :
+			case ServiceEvent.MODIFIED_ENDMATCH :
+			case ServiceEvent.UNREGISTERING :
+				// the service properties may no longer match the region filters or the service is going away;
+				// decisions about other services are not affected
+				cache.forget(event.getServiceReference());
+				break;
+			default :
+				break;
+		}
+	}
+
 	private Boolean isAccessible(Region region, ServiceReference<?> candidateServiceReference) {
 		Collection<ServiceReference<?>> candidates = new ArrayList<>(1);
 		candidates.add(candidateServiceReference);
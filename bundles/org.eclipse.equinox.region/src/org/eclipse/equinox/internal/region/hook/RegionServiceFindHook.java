@@ -59,11 +59,7 @@ public final class RegionServiceFindHook implements FindHook {
 			return;
 		}
 
-		Visitor visitor = new Visitor(references);
-		finderRegion.visitSubgraph(visitor);
-		Collection<ServiceReference<?>> allowed = visitor.getAllowed();
-
-		references.retainAll(allowed);
+		RegionVisibilityCache.retainVisible(finderRegion.getRegionDigraph(), finderRegion, references, Visitor::new);
 	}
 
 	static class Visitor extends RegionDigraphVisitorBase<ServiceReference<?>> {
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.equinox.internal.region.hook;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.eclipse.equinox.internal.region.StandardRegionDigraph;
+import org.eclipse.equinox.region.Region;
+import org.eclipse.equinox.region.RegionDigraph;
+
+/**
+ * {@link RegionVisibilityCache} remembers whether a candidate (a bundle, service reference or capability) is visible
+ * from a finder region. All decisions belong to a generation which is tied to a version of the digraph; any change to
+ * the regions, their connections or their bundles bumps the version and discards all previous decisions.
+ * <p />
+ *
+ * <strong>Concurrent Semantics</strong><br />
+ * Thread safe. Lookups take no locks; decisions computed against a stale version are never recorded.
+ */
+public final class RegionVisibilityCache {
+
+	// the maximum number of decisions kept for a single finder region before they are dropped
+	private static final int MAX_DECISIONS = 10000;
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final AtomicReference<Generation> current = new AtomicReference<>(new Generation(0));
+
+	// incremented before each candidate is forgotten so that concurrent lookups do not record stale decisions
+	private final AtomicLong forgetCount = new AtomicLong();
+
+	/**
+	 * Discards all cached decisions. Must be called after the change which makes the decisions invalid has been made.
+	 */
+	public void invalidate() {
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Forgets any decisions recorded for the given candidate, for example when a service is unregistered or its
+	 * properties are modified. Decisions for all other candidates are kept.
+	 *
+	 * @param candidate the candidate to forget
+	 */
+	void forget(Object candidate) {
+		this.forgetCount.incrementAndGet();
+		for (Map<Object, Boolean> decisions : this.current.get().decisions.values()) {
+			decisions.remove(candidate);
+		}
+	}
+
+	/**
+	 * Removes the candidates which are not visible from the given finder region. Candidates without a cached decision
+	 * are checked with a single traversal of the subgraph starting at the finder region and the results are cached.
+	 *
+	 * @param finderRegion the region the candidates are viewed from
+	 * @param candidates the candidates to filter
+	 * @param visitorFactory creates the visitor used to check the candidates with no cached decision
+	 */
+	<C> void retainVisible(Region finderRegion, Collection<C> candidates, Function<Collection<C>, RegionDigraphVisitorBase<C>> visitorFactory) {
+		long currentVersion = this.version.get();
+		long currentForgetCount = this.forgetCount.get();
+		Map<Object, Boolean> decisions = getDecisions(finderRegion, currentVersion);
+		Collection<C> unknown = new ArrayList<>();
+		for (Iterator<C> iCandidates = candidates.iterator(); iCandidates.hasNext();) {
+			C candidate = iCandidates.next();
+			Boolean visible = decisions == null ? null : decisions.get(candidate);
+			if (visible == null) {
+				unknown.add(candidate);
+			} else if (!visible) {
+				iCandidates.remove();
+			}
+		}
+		if (unknown.isEmpty()) {
+			return;
+		}
+
+		RegionDigraphVisitorBase<C> visitor = visitorFactory.apply(unknown);
+		finderRegion.visitSubgraph(visitor);
+		Collection<C> allowed = visitor.getAllowed();
+
+		Set<C> hidden = new HashSet<>();
+		for (C candidate : unknown) {
+			boolean visible = allowed.contains(candidate);
+			if (!visible) {
+				hidden.add(candidate);
+			}
+			if (decisions != null) {
+				decisions.put(candidate, visible);
+			}
+		}
+		if (decisions != null && this.forgetCount.get() != currentForgetCount) {
+			// a candidate may have been forgotten while it was checked; drop what was just recorded
+			for (C candidate : unknown) {
+				decisions.remove(candidate);
+			}
+		}
+		if (!hidden.isEmpty()) {
+			candidates.removeAll(hidden);
+		}
+	}
+
+	private Map<Object, Boolean> getDecisions(Region finderRegion, long currentVersion) {
+		Generation generation = this.current.get();
+		while (generation.version != currentVersion) {
+			if (generation.version > currentVersion || this.version.get() != currentVersion) {
+				// the digraph changed while we were looking; do not cache anything
+				return null;
+			}
+			Generation next = new Generation(currentVersion);
+			if (this.current.compareAndSet(generation, next)) {
+				generation = next;
+			} else {
+				generation = this.current.get();
+			}
+		}
+		Map<Object, Boolean> decisions = generation.decisions.computeIfAbsent(finderRegion, r -> new ConcurrentHashMap<>());
+		if (decisions.size() > MAX_DECISIONS) {
+			decisions.clear();
+		}
+		return decisions;
+	}
+
+	/**
+	 * Filters the candidates visible from the given region using the visibility cache of the region's digraph, if it has
+	 * one.
+	 */
+	static <C> void retainVisible(RegionDigraph regionDigraph, Region finderRegion, Collection<C> candidates, Function<Collection<C>, RegionDigraphVisitorBase<C>> visitorFactory) {
+		RegionVisibilityCache cache = getCache(regionDigraph);
+		if (cache != null) {
+			cache.retainVisible(finderRegion, candidates, visitorFactory);
+		} else {
+			RegionDigraphVisitorBase<C> visitor = visitorFactory.apply(candidates);
+			finderRegion.visitSubgraph(visitor);
+			candidates.retainAll(visitor.getAllowed());
+		}
+	}
+
+	static RegionVisibilityCache getCache(RegionDigraph regionDigraph) {
+		return regionDigraph instanceof StandardRegionDigraph ? ((StandardRegionDigraph) regionDigraph).getVisibilityCache() : null;
+	}
+
+	private static final class Generation {
+		final long version;
+		final Map<Region, Map<Object, Boolean>> decisions = new ConcurrentHashMap<>();
+
+		Generation(long version) {
+			this.version = version;
+		}
+	}
+}
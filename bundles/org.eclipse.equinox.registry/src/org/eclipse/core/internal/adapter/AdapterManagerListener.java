@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.core.internal.adapter;
 
-import java.util.List;
 import org.eclipse.core.internal.runtime.AdapterManager;
 import org.eclipse.core.internal.runtime.IAdapterManagerProvider;
 import org.eclipse.core.runtime.*;
@@ -76,16 +75,12 @@ public final class AdapterManagerListener implements IRegistryEventListener, IAd
 		for (IExtension extension : extensions) {
 			registerExtension(extension);
 		}
-		theAdapterManager.flushLookup();
 	}
 
 	@Override
 	public synchronized void removed(IExtension[] extensions) {
-		theAdapterManager.flushLookup();
 		for (IExtension extension : extensions) {
-			for (List<IAdapterFactory> adapterFactories : theAdapterManager.getFactories().values()) {
-				adapterFactories.removeIf(factory -> factory instanceof AdapterFactoryProxy && ((AdapterFactoryProxy) factory).originatesFrom(extension));
-			}
+			theAdapterManager.removeFactories(factory -> factory instanceof AdapterFactoryProxy && ((AdapterFactoryProxy) factory).originatesFrom(extension));
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2006 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.core.internal.registry;
 
+import java.util.Set;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.InvalidRegistryObjectException;
 
@@ -83,6 +84,19 @@ public class Contribution implements KeyedElement {
 		this.children = children;
 	}
 
+	void removeExtensionPoints(Set<Integer> extensionPoints) {
+		int[] remaining = new int[children.length - extensionPoints.size()];
+		remaining[EXTENSION_POINT] = children[EXTENSION_POINT] - extensionPoints.size();
+		remaining[EXTENSION] = children[EXTENSION];
+		int position = 2;
+		for (int i = 2; i < children.length; i++) {
+			if (i < 2 + children[EXTENSION_POINT] && extensionPoints.contains(Integer.valueOf(children[i])))
+				continue;
+			remaining[position++] = children[i];
+		}
+		children = remaining;
+	}
+
 	protected String getContributorId() {
 		return contributorId;
 	}
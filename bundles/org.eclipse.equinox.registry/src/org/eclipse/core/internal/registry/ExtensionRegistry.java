@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1063,6 +1063,47 @@ public class ExtensionRegistry implements IExtensionRegistry, IDynamicExtensionR
 
 	@Override
 	public boolean addContribution(InputStream is, IContributor contributor, boolean persist, String contributionName, ResourceBundle translationBundle, Object key) {
+		ParsedContribution parsed = parseContribution(is, contributor, persist, contributionName, translationBundle, key, 0);
+		if (!parsed.isValid())
+			return false;
+		addContributions(Collections.singletonList(parsed), key, false); // the addContributions() method does synchronization
+		return true;
+	}
+
+	/**
+	 * A contribution which has been parsed by {@link ExtensionRegistry#parseContribution(InputStream, IContributor, boolean, String, ResourceBundle, Object, long)}
+	 * but not yet added to the registry.
+	 */
+	public static final class ParsedContribution {
+		final Contribution contribution; // null if a problem was encountered
+		final List<RegistryObject> objects;
+		final long timestamp;
+
+		ParsedContribution(Contribution contribution, List<RegistryObject> objects, long timestamp) {
+			this.contribution = contribution;
+			this.objects = objects;
+			this.timestamp = timestamp;
+		}
+
+		/**
+		 * Returns <code>false</code> if a problem was encountered while parsing the contribution.
+		 * Only the timestamp of such a contribution is added to the registry.
+		 */
+		public boolean isValid() {
+			return contribution != null;
+		}
+	}
+
+	/**
+	 * Parses a contribution without adding it to the registry. The registry is not
+	 * locked while parsing, so several contributions may be parsed concurrently.
+	 * The parsed contributions are added to the registry with
+	 * {@link #addContributions(List, Object)}.
+	 *
+	 * @return the parsed contribution; it is not valid if a problem was encountered
+	 * @see #addContribution(InputStream, IContributor, boolean, String, ResourceBundle, Object, long)
+	 */
+	public ParsedContribution parseContribution(InputStream is, IContributor contributor, boolean persist, String contributionName, ResourceBundle translationBundle, Object key, long timestamp) {
 		if (!checkReadWriteAccess(key, persist))
 			throw new IllegalArgumentException("Unauthorized access to the ExtensionRegistry.addContribution() method. Check if proper access token is supplied."); //$NON-NLS-1$
 		if (contributionName == null)
@@ -1078,16 +1119,16 @@ public class ExtensionRegistry implements IExtensionRegistry, IDynamicExtensionR
 		Contribution contribution = getElementFactory().createContribution(internalContributor.getActualId(), persist);
 
 		try {
-			parser.parseManifest(strategy.getXMLParser(), new InputSource(is), contributionName, getObjectManager(), contribution, translationBundle);
+			parser.parseDetachedManifest(strategy.getXMLParser(), new InputSource(is), contributionName, getObjectManager(), contribution, translationBundle);
 			int status = problems.getSeverity();
 			if (status != IStatus.OK) {
 				log(problems);
 				if (status == IStatus.ERROR || status == IStatus.CANCEL)
-					return false;
+					return new ParsedContribution(null, null, timestamp);
 			}
 		} catch (ParserConfigurationException | SAXException | IOException e) {
 			logError(ownerName, contributionName, e);
-			return false;
+			return new ParsedContribution(null, null, timestamp);
 		} finally {
 			try {
 				is.close();
@@ -1095,8 +1136,82 @@ public class ExtensionRegistry implements IExtensionRegistry, IDynamicExtensionR
 				// nothing to do
 			}
 		}
-		add(contribution); // the add() method does synchronization
-		return true;
+		return new ParsedContribution(contribution, parser.getParsedObjects(), timestamp);
+	}
+
+	/**
+	 * Adds the parsed contributions to the registry in the given order. The registry
+	 * is locked once for all the contributions and a single IRegistryChangeEvent is
+	 * broadcast for all of them.
+	 * <p>
+	 * A contribution whose contributor is already present in the registry when the
+	 * write lock is held is skipped. This happens when the same contribution has been
+	 * parsed by two threads, for example by the initial processing of all bundles and
+	 * by a concurrent bundle event.
+	 * </p>
+	 * @param parsedContributions contributions returned by {@link #parseContribution(InputStream, IContributor, boolean, String, ResourceBundle, Object, long)}
+	 * @param key the key used to check permissions
+	 */
+	public void addContributions(List<ParsedContribution> parsedContributions, Object key) {
+		addContributions(parsedContributions, key, true);
+	}
+
+	private void addContributions(List<ParsedContribution> parsedContributions, Object key, boolean skipExisting) {
+		for (ParsedContribution parsed : parsedContributions) {
+			if (parsed.isValid() && !checkReadWriteAccess(key, parsed.contribution.shouldPersist()))
+				throw new IllegalArgumentException("Unauthorized access to the ExtensionRegistry.addContribution() method. Check if proper access token is supplied."); //$NON-NLS-1$
+		}
+		if (parsedContributions.isEmpty())
+			return;
+		access.enterWrite();
+		try {
+			eventDelta = CombinedEventDelta.recordAddition();
+			Set<String> affectedNamespaces = new HashSet<>();
+			Map<Integer, RegistryObject> addedObjects = new HashMap<>();
+			for (ParsedContribution parsed : parsedContributions) {
+				if (skipExisting && parsed.isValid() && registryObjects.hasContribution(parsed.contribution.getContributorId()))
+					continue; // already added, including its timestamp
+				if (parsed.timestamp != 0)
+					aggregatedTimestamp.add(parsed.timestamp);
+				if (!parsed.isValid())
+					continue;
+				addParsedObjects(parsed);
+				registryObjects.addContribution(parsed.contribution);
+				affectedNamespaces.addAll(addExtensionsAndExtensionPoints(parsed.contribution));
+				addedObjects.putAll(registryObjects.getAssociatedObjects(parsed.contribution.getContributorId()));
+			}
+			setObjectManagers(affectedNamespaces, registryObjects.createDelegatingObjectManager(addedObjects));
+			fireRegistryChangeEvent();
+			eventDelta = null;
+		} finally {
+			access.exitWrite();
+		}
+	}
+
+	// Must be called while holding the write lock
+	private void addParsedObjects(ParsedContribution parsed) {
+		Set<Integer> duplicates = null;
+		for (RegistryObject object : parsed.objects) {
+			if (!(object instanceof ExtensionPoint)) {
+				registryObjects.add(object, true);
+				continue;
+			}
+			ExtensionPoint extPoint = (ExtensionPoint) object;
+			if (registryObjects.addExtensionPoint(extPoint, true))
+				continue;
+			// avoid adding extension point second time as it might cause
+			// extensions associated with the existing extension point to
+			// become inaccessible.
+			if (debug()) {
+				String msg = NLS.bind(RegistryMessages.parse_duplicateExtensionPoint, extPoint.getUniqueIdentifier(), parsed.contribution.getDefaultNamespace());
+				log(new Status(IStatus.ERROR, RegistryMessages.OWNER_NAME, 0, msg, null));
+			}
+			if (duplicates == null)
+				duplicates = new HashSet<>();
+			duplicates.add(Integer.valueOf(extPoint.getObjectId()));
+		}
+		if (duplicates != null)
+			parsed.contribution.removeExtensionPoints(duplicates);
 	}
 
 	private void logError(String owner, String contributionName, Exception e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.core.internal.registry;
 import java.io.IOException;
 import java.util.*;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import org.eclipse.core.runtime.*;
 import org.eclipse.osgi.util.NLS;
@@ -149,6 +150,10 @@ public class ExtensionsParser extends DefaultHandler {
 	// and need to rollback
 	private final ArrayList<RegistryObject> addedRegistryObjects = new ArrayList<>(5);
 
+	// when true the parsed objects only get their ids; they are added to the registry manager later by the caller
+	private boolean detached = false;
+	private final Set<String> parsedExtensionPointIds = new HashSet<>();
+
 	public ExtensionsParser(MultiStatus status, ExtensionRegistry registry) {
 		super();
 		this.status = status;
@@ -302,6 +307,8 @@ public class ExtensionsParser extends DefaultHandler {
 	 * Remove all elements that we have added so far into registry manager
 	 */
 	private void cleanup() {
+		if (detached)
+			return; // nothing was added
 		for (RegistryObject object : addedRegistryObjects) {
 			if (object instanceof ExtensionPoint) {
 				String id = ((ExtensionPoint) object).getUniqueIdentifier();
@@ -340,8 +347,7 @@ public class ExtensionsParser extends DefaultHandler {
 		// property with the name/value pair of the attribute.  Note there will be one
 		// configuration property for each attribute
 		parseConfigurationElementAttributes(attributes);
-		objectManager.add(currentConfigurationElement, true);
-		addedRegistryObjects.add(currentConfigurationElement);
+		addObject(currentConfigurationElement);
 	}
 
 	private void handleInitialState(String elementName, Attributes attributes) {
@@ -388,6 +394,25 @@ public class ExtensionsParser extends DefaultHandler {
 		error(new Status(IStatus.WARNING, RegistryMessages.OWNER_NAME, PARSE_PROBLEM, msg, ex));
 	}
 
+	/**
+	 * Parses the manifest like {@link #parseManifest(SAXParserFactory, InputSource, String, RegistryObjectManager, Contribution, ResourceBundle)}
+	 * without adding the parsed objects into the registry manager. The parsed objects are only given
+	 * their ids, so manifests can be parsed concurrently; the caller is responsible for adding the
+	 * objects returned by {@link #getParsedObjects()} into the registry manager.
+	 */
+	public Contribution parseDetachedManifest(SAXParserFactory factory, InputSource in, String manifestName, RegistryObjectManager registryObjects, Contribution currentNamespace, ResourceBundle bundle) throws ParserConfigurationException, SAXException, IOException {
+		detached = true;
+		return parseManifest(factory, in, manifestName, registryObjects, currentNamespace, bundle);
+	}
+
+	/**
+	 * Returns the extension points, extensions and configuration elements parsed so far
+	 * in the order they were parsed.
+	 */
+	List<RegistryObject> getParsedObjects() {
+		return addedRegistryObjects;
+	}
+
 	public Contribution parseManifest(SAXParserFactory factory, InputSource in, String manifestName, RegistryObjectManager registryObjects, Contribution currentNamespace, ResourceBundle bundle) throws ParserConfigurationException, SAXException, IOException {
 		long start = 0;
 		this.resources = bundle;
@@ -404,14 +429,19 @@ public class ExtensionsParser extends DefaultHandler {
 			locationName = in.getSystemId();
 			if (locationName == null)
 				locationName = manifestName;
-			factory.setNamespaceAware(true);
-			try {
-				factory.setFeature("http://xml.org/sax/features/string-interning", true); //$NON-NLS-1$
-			} catch (SAXException se) {
-				// ignore; we can still operate without string-interning
+			SAXParser parser;
+			// the factory is shared by the parsers of contributions parsed concurrently
+			synchronized (factory) {
+				factory.setNamespaceAware(true);
+				try {
+					factory.setFeature("http://xml.org/sax/features/string-interning", true); //$NON-NLS-1$
+				} catch (SAXException se) {
+					// ignore; we can still operate without string-interning
+				}
+				factory.setValidating(false);
+				parser = factory.newSAXParser();
 			}
-			factory.setValidating(false);
-			factory.newSAXParser().parse(in, this);
+			parser.parse(in, this);
 			return (Contribution) objectStack.pop();
 		} finally {
 			if (registry.debug()) {
@@ -509,8 +539,15 @@ public class ExtensionsParser extends DefaultHandler {
 			processedExtensionIds.add(uniqueId);
 		}
 
-		objectManager.add(currentExtension, true);
-		addedRegistryObjects.add(currentExtension);
+		addObject(currentExtension);
+	}
+
+	private void addObject(RegistryObject object) {
+		if (detached)
+			objectManager.assignId(object);
+		else
+			objectManager.add(object, true);
+		addedRegistryObjects.add(object);
 	}
 
 	//todo: Are all three methods needed??
@@ -572,7 +609,15 @@ public class ExtensionsParser extends DefaultHandler {
 			stateStack.push(Integer.valueOf(IGNORED_ELEMENT_STATE));
 			return;
 		}
-		if (!objectManager.addExtensionPoint(currentExtPoint, true)) {
+		boolean added;
+		if (detached) {
+			// duplicates of extension points parsed concurrently are detected when the parsed objects are added to the registry manager
+			added = !objectManager.hasExtensionPoint(currentExtPoint.getUniqueIdentifier()) && parsedExtensionPointIds.add(currentExtPoint.getUniqueIdentifier());
+			if (added)
+				objectManager.assignId(currentExtPoint);
+		} else
+			added = objectManager.addExtensionPoint(currentExtPoint, true);
+		if (!added) {
 			// avoid adding extension point second time as it might cause
 			// extensions associated with the existing extension point to
 			// become inaccessible.
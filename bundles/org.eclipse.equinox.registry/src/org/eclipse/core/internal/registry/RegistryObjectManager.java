@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2018 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -239,6 +239,14 @@ public class RegistryObjectManager implements IObjectManager {
 			hold(registryObject);
 	}
 
+	/**
+	 * Gives the object an id without adding it to the manager.
+	 */
+	synchronized void assignId(RegistryObject registryObject) {
+		if (registryObject.getObjectId() == UNKNOWN)
+			registryObject.setObjectId(nextId++);
+	}
+
 	private void remove(RegistryObject registryObject, boolean release) {
 		cache.remove(registryObject.getObjectId());
 		if (release)
@@ -447,6 +455,10 @@ public class RegistryObjectManager implements IObjectManager {
 		return true;
 	}
 
+	synchronized boolean hasExtensionPoint(String extensionPointId) {
+		return extensionPoints.get(extensionPointId) != HashtableOfStringAndInt.MISSING_ELEMENT;
+	}
+
 	synchronized void removeExtensionPoint(String extensionPointId) {
 		int pointId = extensionPoints.removeKey(extensionPointId);
 		if (pointId == HashtableOfStringAndInt.MISSING_ELEMENT)
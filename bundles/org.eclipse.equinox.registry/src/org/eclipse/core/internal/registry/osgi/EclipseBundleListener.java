@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2018 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,9 @@ package org.eclipse.core.internal.registry.osgi;
 import java.io.*;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.*;
 import org.eclipse.core.internal.registry.ExtensionRegistry;
+import org.eclipse.core.internal.registry.ExtensionRegistry.ParsedContribution;
 import org.eclipse.core.internal.registry.RegistryMessages;
 import org.eclipse.core.internal.runtime.ResourceTranslator;
 import org.eclipse.core.internal.runtime.RuntimeLog;
@@ -37,6 +39,7 @@ import org.osgi.framework.*;
 public class EclipseBundleListener implements SynchronousBundleListener {
 	private static final String PLUGIN_MANIFEST = "plugin.xml"; //$NON-NLS-1$
 	private static final String FRAGMENT_MANIFEST = "fragment.xml"; //$NON-NLS-1$
+	private static final String PARSER_THREAD_NAME = "Extension registry parser"; //$NON-NLS-1$
 
 	private final ExtensionRegistry registry;
 	private final RegistryStrategyOSGI strategy;
@@ -89,13 +92,64 @@ public class EclipseBundleListener implements SynchronousBundleListener {
 	}
 
 	public void processBundles(Bundle[] bundles) {
+		List<Bundle> resolved = new ArrayList<>(bundles.length);
 		for (Bundle bundle : bundles) {
 			if (isBundleResolved(bundle)) {
-				addBundle(bundle, false);
+				resolved.add(bundle);
 			} else {
 				removeBundle(bundle);
 			}
 		}
+		addBundles(resolved);
+	}
+
+	/*
+	 * Parses the extension manifests of the bundles in parallel and then adds
+	 * all of them to the registry at once, in the order of the bundles.
+	 */
+	private void addBundles(List<Bundle> bundles) {
+		int numThreads = Math.min(Runtime.getRuntime().availableProcessors(), bundles.size());
+		if (numThreads <= 1) {
+			for (Bundle bundle : bundles) {
+				addBundle(bundle, false);
+			}
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads, r -> {
+			Thread t = new Thread(r, PARSER_THREAD_NAME);
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			List<Future<ParsedContribution>> results = new ArrayList<>(bundles.size());
+			for (Bundle bundle : bundles) {
+				results.add(executor.submit(() -> parseBundle(bundle)));
+			}
+			List<ParsedContribution> parsed = new ArrayList<>(bundles.size());
+			for (int i = 0; i < results.size(); i++) {
+				ParsedContribution contribution = getParsedContribution(results.get(i), bundles.get(i));
+				if (contribution != null)
+					parsed.add(contribution);
+			}
+			registry.addContributions(parsed, token);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private ParsedContribution getParsedContribution(Future<ParsedContribution> result, Bundle bundle) {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			// do not wait for the parser threads any longer
+			result.cancel(false);
+			return parseBundle(bundle);
+		} catch (ExecutionException e) {
+			String message = NLS.bind(RegistryMessages.parse_failedParsingManifest, bundle.getSymbolicName());
+			RuntimeLog.log(new Status(IStatus.ERROR, RegistryMessages.OWNER_NAME, 0, message, e.getCause()));
+			return null;
+		}
 	}
 
 	private boolean isBundleResolved(Bundle bundle) {
@@ -157,14 +211,20 @@ public class EclipseBundleListener implements SynchronousBundleListener {
 	private void addBundle(Bundle bundle, boolean checkNLSFragments) {
 		if (checkNLSFragments)
 			checkForNLSFragment(bundle);
+		ParsedContribution contribution = parseBundle(bundle);
+		if (contribution != null)
+			registry.addContributions(Collections.singletonList(contribution), token);
+	}
+
+	private ParsedContribution parseBundle(Bundle bundle) {
 		// if the given bundle already exists in the registry then return.
 		// note that this does not work for update cases.
 		IContributor contributor = ContributorFactoryOSGi.createContributor(bundle);
 		if (registry.hasContributor(contributor))
-			return;
+			return null;
 		URL pluginManifest = getExtensionURL(bundle, true);
 		if (pluginManifest == null)
-			return;
+			return null;
 		InputStream is;
 		try {
 			is = new BufferedInputStream(pluginManifest.openStream());
@@ -172,7 +232,7 @@ public class EclipseBundleListener implements SynchronousBundleListener {
 			is = null;
 		}
 		if (is == null)
-			return;
+			return null;
 
 		ResourceBundle translationBundle = null;
 		try {
@@ -183,7 +243,7 @@ public class EclipseBundleListener implements SynchronousBundleListener {
 		long timestamp = 0;
 		if (strategy.checkContributionsTimestamp())
 			timestamp = strategy.getExtendedTimestamp(bundle, pluginManifest);
-		registry.addContribution(is, contributor, true, pluginManifest.getPath(), translationBundle, token, timestamp);
+		return registry.parseContribution(is, contributor, true, pluginManifest.getPath(), translationBundle, token, timestamp);
 	}
 
 	private void checkForNLSFragment(Bundle bundle) {
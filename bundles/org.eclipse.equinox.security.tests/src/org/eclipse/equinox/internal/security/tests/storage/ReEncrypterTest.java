@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,8 +21,10 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.Map;
 import org.eclipse.core.tests.harness.BundleTestingHelper;
+import org.eclipse.equinox.internal.security.storage.SecurePreferencesWrapper;
 import org.eclipse.equinox.internal.security.storage.friends.InternalExchangeUtils;
 import org.eclipse.equinox.internal.security.storage.friends.ReEncrypter;
 import org.eclipse.equinox.internal.security.tests.SecurityTestsActivator;
@@ -44,6 +46,9 @@ public class ReEncrypterTest extends StorageAbstractTest {
 
 	final private static String defaultValue = "default";
 
+	final private static int NODES = 5;
+	final private static int VALUES_PER_NODE = 50;
+
 	@Test
 	public void testFlushAfterEncrypt() throws IOException, StorageException, BundleException {
 		URL location = getStorageLocation();
@@ -84,6 +89,60 @@ public class ReEncrypterTest extends StorageAbstractTest {
 		}
 	}
 
+	@Test
+	public void testReEncryptManyValues() throws IOException, StorageException, BundleException {
+		URL location = getStorageLocation();
+		assertNotNull(location);
+
+		Bundle bundle = null;
+		try {
+			bundle = installBundle("controlled_provider");
+
+			{ // block1: fill and save
+				ISecurePreferences preferences = newPreferences(location, getOptions());
+				fill(preferences);
+				for (int i = 0; i < NODES; i++) {
+					ISecurePreferences node = preferences.node("node" + i);
+					for (int j = 0; j < VALUES_PER_NODE; j++) {
+						node.put(key + j, value + i + '/' + j, true);
+					}
+					node.put(clearTextKey, clearTextValue, false);
+				}
+				preferences.flush();
+				closePreferences(preferences);
+			}
+
+			{ // block2: re-encrypt
+				ISecurePreferences preferences = newPreferences(location, getOptions());
+				ReEncrypter reEncrypter = new ReEncrypter(preferences, getModuleID());
+				assertTrue(reEncrypter.decrypt());
+				assertTrue(reEncrypter.switchToNewPassword());
+				assertTrue(reEncrypter.encrypt());
+				closePreferences(preferences);
+			}
+
+			{ // block3: re-load and check the values one by one and in bulk
+				ISecurePreferences preferences = newPreferences(location, getOptions());
+				check(preferences);
+				for (int i = 0; i < NODES; i++) {
+					ISecurePreferences node = preferences.node("node" + i);
+					Map<String, String> expected = new HashMap<>();
+					for (int j = 0; j < VALUES_PER_NODE; j++) {
+						assertTrue(node.isEncrypted(key + j));
+						assertEquals(value + i + '/' + j, node.get(key + j, defaultValue));
+						expected.put(key + j, value + i + '/' + j);
+					}
+					assertFalse(node.isEncrypted(clearTextKey));
+					expected.put(clearTextKey, clearTextValue);
+					assertEquals(expected, ((SecurePreferencesWrapper) node).get(node.keys()));
+				}
+			}
+		} finally {
+			if (bundle != null)
+				bundle.uninstall();
+		}
+	}
+
 	@Override
 	protected String getModuleID() {
 		return ControlledPasswordProvider.MODULE_ID;
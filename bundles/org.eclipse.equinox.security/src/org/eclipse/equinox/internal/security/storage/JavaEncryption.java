@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -53,7 +53,8 @@ public class JavaEncryption {
 	private String keyFactoryAlgorithm = null;
 	private String cipherAlgorithm = null;
 
-	private boolean initialized = false;
+	// set once the algorithms are known; values may be encrypted and decrypted on several threads
+	private volatile boolean initialized = false;
 
 	private HashMap<String, String> availableCiphers;
 
@@ -82,16 +83,19 @@ public class JavaEncryption {
 	private void init() throws StorageException {
 		if (initialized)
 			return;
-		initialized = true;
 
 		try {
 			lock.acquire(); // avoid multiple simultaneous initializations
+			if (initialized)
+				return;
 			IUICallbacks callback = CallbacksProvider.getDefault().getCallback();
 			if (callback == null)
 				internalInitialize();
 			else {
 				callback.execute(() -> internalInitialize());
 			}
+			// only publish once the algorithms are set up
+			initialized = true;
 		} finally {
 			lock.release();
 		}
@@ -277,10 +281,8 @@ public class JavaEncryption {
 	}
 
 	private boolean roundtrip(String testCipher, String testKeyFactory) {
-		boolean storeInitState = initialized;
 		String storedCipherAlgorithm = cipherAlgorithm;
 		String storedKeyAlgorithm = keyFactoryAlgorithm;
-		initialized = true;
 		try {
 			cipherAlgorithm = testCipher;
 			keyFactoryAlgorithm = testKeyFactory;
@@ -295,7 +297,6 @@ public class JavaEncryption {
 		} finally { // reset back
 			cipherAlgorithm = storedCipherAlgorithm;
 			keyFactoryAlgorithm = storedKeyAlgorithm;
-			initialized = storeInitState;
 		}
 	}
 
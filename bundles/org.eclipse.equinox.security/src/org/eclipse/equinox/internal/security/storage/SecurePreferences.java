@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,10 @@ package org.eclipse.equinox.internal.security.storage;
 import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import org.eclipse.core.runtime.IPath;
@@ -36,6 +40,16 @@ public class SecurePreferences {
 
 	private static final String PATH_SEPARATOR = String.valueOf(IPath.SEPARATOR);
 
+	/**
+	 * The maximum number of threads used to encrypt or decrypt the values of a bulk operation.
+	 */
+	private static final int CRYPTO_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * Executor for bulk operations, created on first use; its threads end when idle.
+	 */
+	private static ExecutorService cryptoExecutor;
+
 	private static final String[] EMPTY_STRING_ARRAY = new String[0];
 
 	private static final String FALSE = "false"; //$NON-NLS-1$
@@ -228,18 +242,8 @@ public class SecurePreferences {
 
 		PasswordExt passwordExt = getRoot().getPassword(null, container, true);
 		if (passwordExt == null) {
-			boolean storeDecrypted = !CallbacksProvider.getDefault().runningUI() || InternalExchangeUtils.isJUnitApp();
-			if (storeDecrypted) { // for JUnits and headless runs we store value as clear text and log a error
-				CryptoData clearValue = new CryptoData(null, null, StorageUtils.getBytes(value), null);
-				internalPut(key, clearValue.toString());
-				markModified();
-				// Make this as visible as possible. Both print out the output and log a error
-				String msg = NLS.bind(SecAuthMessages.storedClearText, key, absolutePath());
-				System.out.println(msg);
-				AuthPlugin.getDefault().logError(msg, new StorageException(StorageException.NO_PASSWORD, msg));
-				return;
-			}
-			throw new StorageException(StorageException.NO_PASSWORD, SecAuthMessages.loginNoPassword);
+			putWithoutPassword(key, value);
+			return;
 		}
 
 		// value must not be null at this point
@@ -248,6 +252,21 @@ public class SecurePreferences {
 		markModified();
 	}
 
+	private void putWithoutPassword(String key, String value) throws StorageException {
+		boolean storeDecrypted = !CallbacksProvider.getDefault().runningUI() || InternalExchangeUtils.isJUnitApp();
+		if (storeDecrypted) { // for JUnits and headless runs we store value as clear text and log a error
+			CryptoData clearValue = new CryptoData(null, null, StorageUtils.getBytes(value), null);
+			internalPut(key, clearValue.toString());
+			markModified();
+			// Make this as visible as possible. Both print out the output and log a error
+			String msg = NLS.bind(SecAuthMessages.storedClearText, key, absolutePath());
+			System.out.println(msg);
+			AuthPlugin.getDefault().logError(msg, new StorageException(StorageException.NO_PASSWORD, msg));
+			return;
+		}
+		throw new StorageException(StorageException.NO_PASSWORD, SecAuthMessages.loginNoPassword);
+	}
+
 	public String get(String key, String def, SecurePreferencesContainer container) throws StorageException {
 		checkRemoved();
 		if (!hasKey(key))
@@ -268,6 +287,10 @@ public class SecurePreferences {
 		if (passwordExt == null)
 			throw new StorageException(StorageException.NO_PASSWORD, SecAuthMessages.loginNoPassword);
 
+		return decrypt(passwordExt, data);
+	}
+
+	private String decrypt(PasswordExt passwordExt, CryptoData data) throws StorageException {
 		try {
 			byte[] clearText = getRoot().getCipher().decrypt(passwordExt, data);
 			return StorageUtils.getString(clearText);
@@ -276,6 +299,165 @@ public class SecurePreferences {
 		}
 	}
 
+	///////////////////////////////////////////////////////////////////////////////////////////////////////
+	// Bulk put() and get()
+
+	/**
+	 * Stores several values at once. The password is obtained once on the calling thread, then
+	 * the values are encrypted in parallel. The node is only updated, on the calling thread,
+	 * once all values have been encrypted, so either all or none of the values are stored.
+	 */
+	public void put(Map<String, String> values, boolean encrypt, SecurePreferencesContainer container) throws StorageException {
+		checkRemoved();
+		if (!encrypt) {
+			for (Entry<String, String> entry : values.entrySet()) {
+				put(entry.getKey(), entry.getValue(), false, container);
+			}
+			return;
+		}
+		PasswordExt passwordExt = getRoot().getPassword(null, container, true);
+		if (passwordExt == null) {
+			for (Entry<String, String> entry : values.entrySet()) {
+				putWithoutPassword(entry.getKey(), entry.getValue());
+			}
+			return;
+		}
+
+		List<Entry<String, String>> entries = new ArrayList<>(values.entrySet());
+		String[] encryptedValues = new String[entries.size()];
+		AtomicReference<StorageException> failure = new AtomicReference<>();
+		forEachParallel(encryptedValues.length, i -> {
+			String value = entries.get(i).getValue();
+			if (value == null)
+				return; // stored as clear text
+			try {
+				encryptedValues[i] = getRoot().getCipher().encrypt(passwordExt, StorageUtils.getBytes(value)).toString();
+			} catch (StorageException e) {
+				failure.compareAndSet(null, e);
+			}
+		});
+		if (failure.get() != null)
+			throw failure.get();
+
+		synchronized (this) {
+			for (int i = 0; i < encryptedValues.length; i++) {
+				String encryptedValue = encryptedValues[i];
+				if (encryptedValue == null)
+					encryptedValue = new CryptoData(null, null, null, null).toString();
+				internalPut(entries.get(i).getKey(), encryptedValue);
+			}
+		}
+		markModified();
+	}
+
+	/**
+	 * Retrieves several values at once. The values are read from the node on the calling thread
+	 * and the passwords are obtained there as well, so the user is asked at most once per module;
+	 * only the decryption runs in parallel. Keys which do not exist are not included in the result.
+	 */
+	public Map<String, String> get(String[] keys, SecurePreferencesContainer container) throws StorageException {
+		checkRemoved();
+		Map<String, String> result = new HashMap<>(keys.length);
+		List<String> encryptedKeys = new ArrayList<>(keys.length);
+		List<CryptoData> encryptedData = new ArrayList<>(keys.length);
+		synchronized (this) {
+			for (String key : keys) {
+				String encryptedValue = internalGet(key);
+				if (encryptedValue == null)
+					continue;
+				CryptoData data = new CryptoData(encryptedValue);
+				if (data.getModuleID() == null) { // clear-text value, not encrypted
+					result.put(key, data.getData() == null ? null : StorageUtils.getString(data.getData()));
+				} else {
+					encryptedKeys.add(key);
+					encryptedData.add(data);
+				}
+			}
+		}
+
+		Map<String, PasswordExt> passwords = new HashMap<>(2);
+		for (CryptoData data : encryptedData) {
+			String moduleID = data.getModuleID();
+			if (passwords.containsKey(moduleID))
+				continue;
+			PasswordExt passwordExt = getRoot().getPassword(moduleID, container, false);
+			if (passwordExt == null)
+				throw new StorageException(StorageException.NO_PASSWORD, SecAuthMessages.loginNoPassword);
+			passwords.put(moduleID, passwordExt);
+		}
+
+		String[] clearTexts = new String[encryptedData.size()];
+		AtomicReference<StorageException> failure = new AtomicReference<>();
+		forEachParallel(clearTexts.length, i -> {
+			CryptoData data = encryptedData.get(i);
+			try {
+				clearTexts[i] = decrypt(passwords.get(data.getModuleID()), data);
+			} catch (StorageException e) {
+				failure.compareAndSet(null, e);
+			}
+		});
+		if (failure.get() != null)
+			throw failure.get();
+		for (int i = 0; i < clearTexts.length; i++) {
+			result.put(encryptedKeys.get(i), clearTexts[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Runs the action for the indexes from 0 to size - 1 on the calling thread and, if there
+	 * is more than one index, on up to {@link #CRYPTO_THREADS} - 1 threads of the crypto executor.
+	 * The calling thread always takes part so the work completes even if the executor is busy.
+	 */
+	private static void forEachParallel(int size, IntConsumer action) {
+		AtomicInteger next = new AtomicInteger();
+		Runnable worker = () -> {
+			for (int i = next.getAndIncrement(); i < size; i = next.getAndIncrement())
+				action.accept(i);
+		};
+		int helpers = Math.min(size, CRYPTO_THREADS) - 1;
+		List<Future<?>> futures = new ArrayList<>(Math.max(helpers, 0));
+		for (int i = 0; i < helpers; i++)
+			futures.add(getCryptoExecutor().submit(worker));
+		worker.run();
+		boolean interrupted = false;
+		try {
+			for (Future<?> future : futures) {
+				while (true) {
+					try {
+						future.get();
+						break;
+					} catch (InterruptedException e) {
+						interrupted = true;
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof RuntimeException)
+							throw (RuntimeException) cause;
+						if (cause instanceof Error)
+							throw (Error) cause;
+						throw new IllegalStateException(cause);
+					}
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	private static synchronized ExecutorService getCryptoExecutor() {
+		if (cryptoExecutor == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(CRYPTO_THREADS, CRYPTO_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread t = new Thread(r, "Secure Storage Crypto"); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			cryptoExecutor = executor;
+		}
+		return cryptoExecutor;
+	}
+
 	/**
 	 * For internal use - retrieve moduleID used to encrypt this value
 	 */
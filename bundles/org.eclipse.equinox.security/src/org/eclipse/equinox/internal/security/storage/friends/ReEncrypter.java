@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,7 +27,10 @@ import org.eclipse.osgi.util.NLS;
 
 /**
  * The class will re-encrypt the whole preferences tree (any node on the tree 
- * can be passed in as a starting point).
+ * can be passed in as a starting point). The values of a node are decrypted 
+ * and encrypted as one batch, see {@link SecurePreferencesWrapper#get(String[])} 
+ * and {@link SecurePreferencesWrapper#put(Map, boolean)}; the tree is persisted 
+ * with a single flush at the end.
  */
 public class ReEncrypter {
 
@@ -71,28 +74,25 @@ public class ReEncrypter {
 
 	private void decrypt(ISecurePreferences node) {
 		String[] keys = node.keys();
-		if (keys.length > 0) {
-			Map<String, String> map = new HashMap<>(keys.length); // could be less than that
+		if (keys.length > 0 && node instanceof SecurePreferencesWrapper) {
+			List<String> moduleKeys = new ArrayList<>(keys.length); // could be less than that
 			for (String key : keys) {
 				try {
 					if (!node.isEncrypted(key)) {
 						continue;
 					}
-					if (!(node instanceof SecurePreferencesWrapper))
-						continue;
 					String encryptionModule = ((SecurePreferencesWrapper) node).getModule(key);
 					if (encryptionModule == null)
 						continue;
 					if (!encryptionModule.equals(moduleID))
 						continue;
-					map.put(key, node.get(key, null));
+					moduleKeys.add(key);
 				} catch (StorageException e) {
 					// this value will not be re-coded
-					String msg = NLS.bind(SecAuthMessages.decryptingError, key, node.absolutePath());
-					AuthPlugin.getDefault().logError(msg, e);
-					processedOK = false;
+					logDecryptingError(node, key, e);
 				}
 			}
+			Map<String, String> map = decrypt((SecurePreferencesWrapper) node, moduleKeys);
 			if (map.size() != 0)
 				elements.add(new TmpElement(node.absolutePath(), map));
 		}
@@ -102,6 +102,39 @@ public class ReEncrypter {
 		}
 	}
 
+	private Map<String, String> decrypt(SecurePreferencesWrapper node, List<String> keys) {
+		if (keys.isEmpty())
+			return Collections.emptyMap();
+		try {
+			return node.get(keys.toArray(new String[keys.size()]));
+		} catch (StorageException e) {
+			if (e.getErrorCode() == StorageException.NO_PASSWORD) {
+				// none of the values can be re-coded; do not ask for the password again
+				for (String key : keys) {
+					logDecryptingError(node, key, e);
+				}
+				return Collections.emptyMap();
+			}
+			// decrypt the values one by one to find out which ones can not be re-coded
+		}
+		Map<String, String> map = new HashMap<>(keys.size());
+		for (String key : keys) {
+			try {
+				map.put(key, node.get(key, null));
+			} catch (StorageException e) {
+				// this value will not be re-coded
+				logDecryptingError(node, key, e);
+			}
+		}
+		return map;
+	}
+
+	private void logDecryptingError(ISecurePreferences node, String key, StorageException e) {
+		String msg = NLS.bind(SecAuthMessages.decryptingError, key, node.absolutePath());
+		AuthPlugin.getDefault().logError(msg, e);
+		processedOK = false;
+	}
+
 	/**
 	 * The method try to create new password. 
 	 * <p>
@@ -126,16 +159,29 @@ public class ReEncrypter {
 		Object originalProperty = container.getOption(IProviderHints.REQUIRED_MODULE_ID);
 		container.setOption(IProviderHints.REQUIRED_MODULE_ID, moduleID);
 		for (TmpElement element : elements) {
-			ISecurePreferences node = root.node(element.getPath());
+			SecurePreferencesWrapper node = (SecurePreferencesWrapper) root.node(element.getPath());
 			Map<String, String> values = element.getValues();
+			try {
+				node.put(values, true);
+				continue;
+			} catch (StorageException e) {
+				if (e.getErrorCode() == StorageException.NO_PASSWORD) {
+					// none of the values can be re-coded; do not ask for the password again
+					for (String key : values.keySet()) {
+						logEncryptingError(node, key, e);
+					}
+					result = false;
+					continue;
+				}
+				// encrypt the values one by one to find out which ones can not be re-coded
+			}
 			for (Entry<String, String> entry : values.entrySet()) {
 				String key = entry.getKey();
 				try {
 					node.put(key, entry.getValue(), true);
 				} catch (StorageException e) {
 					// this value will not be re-coded
-					String msg = NLS.bind(SecAuthMessages.encryptingError, key, node.absolutePath());
-					AuthPlugin.getDefault().logError(msg, e);
+					logEncryptingError(node, key, e);
 					result = false;
 				}
 			}
@@ -157,4 +203,9 @@ public class ReEncrypter {
 		return result;
 	}
 
+	private void logEncryptingError(ISecurePreferences node, String key, StorageException e) {
+		String msg = NLS.bind(SecAuthMessages.encryptingError, key, node.absolutePath());
+		AuthPlugin.getDefault().logError(msg, e);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2019 Cognos Incorporated, IBM Corporation and others.
+ * Copyright (c) 2005, 2026 Cognos Incorporated, IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,8 +20,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.jar.*;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
@@ -72,6 +76,11 @@ public class FrameworkLauncher {
 	private static final String CONFIG_COMMANDLINE = "commandline"; //$NON-NLS-1$
 	private static final String CONFIG_EXTENDED_FRAMEWORK_EXPORTS = "extendedFrameworkExports"; //$NON-NLS-1$
 	private static final String CONFIG_OVERRIDE_AND_REPLACE_EXTENSION_BUNDLE = "overrideAndReplaceExtensionBundle"; //$NON-NLS-1$
+	private static final String CONFIG_DEPLOY_IN_PLACE = "deployInPlace"; //$NON-NLS-1$
+	private static final String CONFIG_DEPLOY_THREADS = "deployThreads"; //$NON-NLS-1$
+
+	private static final String DEPLOYMENT_MANIFEST = ".deployment"; //$NON-NLS-1$
+	private static final String DEPLOYMENT_DIGEST = "SHA-256"; //$NON-NLS-1$
 
 	static final PermissionCollection allPermissions = new PermissionCollection() {
 		private static final long serialVersionUID = 482874725021998286L;
@@ -105,6 +114,8 @@ public class FrameworkLauncher {
 	protected ServletContext context;
 	protected String resourceBase;
 	private File platformDirectory;
+	private File installDirectory;
+	private DeploymentManifest deploymentManifest;
 	private ClassLoader frameworkContextClassLoader;
 	private CloseableURLClassLoader frameworkClassLoader;
 
@@ -154,7 +165,15 @@ public class FrameworkLauncher {
 	/**
 	 * deploy is used to move the OSGi framework libraries into a location suitable for execution.
 	 * The default behavior is to copy the contents of the webapp's WEB-INF/eclipse directory
-	 * to the webapp's temp directory.
+	 * to the webapp's temp directory. Files which have not changed since they were last deployed
+	 * to the temp directory are not copied again.
+	 * <p>
+	 * If the "deployInPlace" initial-param is true and the webapp is exploded, only the configuration
+	 * is copied and the features and plugins are run from the webapp's WEB-INF/eclipse directory.
+	 * The webapp itself is never modified; the extension bundle is deployed to the temp directory.
+	 * <p>
+	 * If any resource could not be copied, the files of the previous deployment are kept and
+	 * all files are verified again by the next deploy.
 	 */
 	public synchronized void deploy() {
 		if (platformDirectory != null) {
@@ -168,13 +187,61 @@ public class FrameworkLauncher {
 			platformDirectory.mkdirs();
 		}
 
-		copyResource(resourceBase + "configuration/", new File(platformDirectory, "configuration")); //$NON-NLS-1$ //$NON-NLS-2$
-		copyResource(resourceBase + "features/", new File(platformDirectory, "features")); //$NON-NLS-1$ //$NON-NLS-2$
+		deploymentManifest = new DeploymentManifest(new File(platformDirectory, DEPLOYMENT_MANIFEST));
+		try {
+			copyResource(resourceBase + "configuration/", new File(platformDirectory, "configuration")); //$NON-NLS-1$ //$NON-NLS-2$
+			installDirectory = Boolean.valueOf(config.getInitParameter(CONFIG_DEPLOY_IN_PLACE)).booleanValue() ? findInPlaceDirectory() : null;
+			if (installDirectory == null) {
+				installDirectory = platformDirectory;
+				copyResource(resourceBase + "features/", new File(platformDirectory, "features")); //$NON-NLS-1$ //$NON-NLS-2$
+				copyResource(resourceBase + "plugins/", new File(platformDirectory, "plugins")); //$NON-NLS-1$ //$NON-NLS-2$
+				copyResource(resourceBase + "p2/", new File(platformDirectory, "p2")); //$NON-NLS-1$ //$NON-NLS-2$
+				copyResource(resourceBase + ".eclipseproduct", new File(platformDirectory, ".eclipseproduct")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (deploymentManifest.isComplete()) {
+				deploymentManifest.removeStaleFiles(platformDirectory);
+				deploymentManifest.save();
+			} else {
+				context.log("Not all resources could be deployed, the previous deployment is kept"); //$NON-NLS-1$
+			}
+		} finally {
+			deploymentManifest = null;
+		}
 		File plugins = new File(platformDirectory, "plugins"); //$NON-NLS-1$
-		copyResource(resourceBase + "plugins/", plugins); //$NON-NLS-1$
-		copyResource(resourceBase + "p2/", new File(platformDirectory, "p2")); //$NON-NLS-1$ //$NON-NLS-2$
+		if (installDirectory != platformDirectory)
+			copyInPlaceExtensionBundle(plugins);
 		deployExtensionBundle(plugins);
-		copyResource(resourceBase + ".eclipseproduct", new File(platformDirectory, ".eclipseproduct")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the webapp's directory which contains the plugins, or null if the webapp is not exploded.
+	 */
+	private File findInPlaceDirectory() {
+		String realPath = context.getRealPath(resourceBase);
+		if (realPath != null && new File(realPath, "plugins").isDirectory()) //$NON-NLS-1$
+			return new File(realPath);
+		context.log("Could not deploy in place, the webapp is not exploded"); //$NON-NLS-1$
+		return null;
+	}
+
+	/**
+	 * Copies the extension bundle of an in-place deployment from the webapp to the plugins directory of the
+	 * temp directory so that it can be generated or updated without modifying the webapp.
+	 */
+	private void copyInPlaceExtensionBundle(File plugins) {
+		plugins.mkdirs();
+		File[] extensionBundles = listExtensionBundles(new File(installDirectory, "plugins"), EXTENSIONBUNDLE_DEFAULT_BSN); //$NON-NLS-1$
+		if (extensionBundles.length == 0)
+			return;
+		for (File deployed : listExtensionBundles(plugins, EXTENSIONBUNDLE_DEFAULT_BSN)) {
+			if (deployed.isDirectory()) {
+				deleteDirectory(deployed);
+			} else {
+				deployed.delete();
+			}
+		}
+		String name = extensionBundles[0].getName();
+		copyResource(resourceBase + "plugins/" + name + (extensionBundles[0].isDirectory() ? "/" : ""), new File(plugins, name)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	}
 
 	/**
@@ -202,7 +269,7 @@ public class FrameworkLauncher {
 		}
 	}
 
-	private File findExtensionBundleFile(File plugins, final String extensionBundleBSN) {
+	private File[] listExtensionBundles(File plugins, final String extensionBundleBSN) {
 		FileFilter extensionBundleFilter = new FileFilter() {
 			@Override
 			public boolean accept(File candidate) {
@@ -210,6 +277,11 @@ public class FrameworkLauncher {
 			}
 		};
 		File[] extensionBundles = plugins.listFiles(extensionBundleFilter);
+		return extensionBundles == null ? new File[0] : extensionBundles;
+	}
+
+	private File findExtensionBundleFile(File plugins, final String extensionBundleBSN) {
+		File[] extensionBundles = listExtensionBundles(plugins, extensionBundleBSN);
 		if (extensionBundles.length == 0)
 			return null;
 
@@ -344,7 +416,9 @@ public class FrameworkLauncher {
 		deleteDirectory(new File(platformDirectory, "p2")); //$NON-NLS-1$
 
 		new File(platformDirectory, ".eclipseproduct").delete(); //$NON-NLS-1$
+		new File(platformDirectory, DEPLOYMENT_MANIFEST).delete();
 		platformDirectory = null;
+		installDirectory = null;
 	}
 
 	/** start is used to "start" a previously deployed OSGi framework
@@ -384,6 +458,8 @@ public class FrameworkLauncher {
 		try {
 			System.setProperty("osgi.framework.useSystemProperties", "false"); //$NON-NLS-1$ //$NON-NLS-2$
 
+			if (installDirectory != platformDirectory)
+				referenceDeployedExtensionBundle(initialPropertyMap);
 			URL[] frameworkURLs = findFrameworkURLs(initialPropertyMap);
 			frameworkClassLoader = new ChildFirstURLClassLoader(frameworkURLs, this.getClass().getClassLoader());
 			Class<?> clazz = frameworkClassLoader.loadClass(STARTER);
@@ -413,6 +489,30 @@ public class FrameworkLauncher {
 		}
 	}
 
+	/**
+	 * The extension bundle of an in-place deployment is not in the webapp's plugins directory; replace
+	 * the framework extension naming it with a reference to the deployed extension bundle.
+	 */
+	private void referenceDeployedExtensionBundle(Map<String, String> initialPropertyMap) {
+		String osgiFrameworkExtensions = initialPropertyMap.get(OSGI_FRAMEWORK_EXTENSIONS);
+		File[] extensionBundles = listExtensionBundles(new File(platformDirectory, "plugins"), EXTENSIONBUNDLE_DEFAULT_BSN); //$NON-NLS-1$
+		if (osgiFrameworkExtensions == null || extensionBundles.length == 0)
+			return;
+		StringBuilder result = new StringBuilder();
+		StringTokenizer tokenizer = new StringTokenizer(osgiFrameworkExtensions, ","); //$NON-NLS-1$
+		while (tokenizer.hasMoreTokens()) {
+			String extension = tokenizer.nextToken().trim();
+			if (extension.length() == 0)
+				continue;
+			if (extension.substring(extension.lastIndexOf('/') + 1).startsWith(EXTENSIONBUNDLE_DEFAULT_BSN))
+				extension = REFERENCE_SCHEME + FILE_SCHEME + extensionBundles[0].getAbsolutePath().replace(File.separatorChar, '/');
+			if (result.length() > 0)
+				result.append(',');
+			result.append(extension);
+		}
+		initialPropertyMap.put(OSGI_FRAMEWORK_EXTENSIONS, result.toString());
+	}
+
 	private URL[] findFrameworkURLs(Map<String, String> initialPropertyMap) {
 		List<URL> frameworkURLs = new ArrayList<>();
 		String installArea = initialPropertyMap.get(OSGI_INSTALL_AREA);
@@ -554,7 +654,7 @@ public class FrameworkLauncher {
 		try {
 			// install.area if not specified
 			if (initialPropertyMap.get(OSGI_INSTALL_AREA) == null)
-				initialPropertyMap.put(OSGI_INSTALL_AREA, platformDirectory.toURL().toExternalForm());
+				initialPropertyMap.put(OSGI_INSTALL_AREA, installDirectory.toURL().toExternalForm());
 
 			// configuration.area if not specified
 			if (initialPropertyMap.get(OSGI_CONFIGURATION_AREA) == null) {
@@ -759,11 +859,25 @@ public class FrameworkLauncher {
 	/**
 	 * copyResource is a convenience method to recursively copy resources from the ServletContext to
 	 * an installation target. The default behavior will create a directory if the resourcepath ends
-	 * in '/' and a file otherwise.
+	 * in '/' and a file otherwise. The files are copied in parallel and, while deploying, files which
+	 * have not changed since they were last deployed are skipped.
 	 * @param resourcePath - The resource root path
 	 * @param target - The root location where resources are to be copied
 	 */
 	protected void copyResource(String resourcePath, File target) {
+		try {
+			// a missing resource is only an error if it has been listed by the ServletContext
+			if (!resourcePath.endsWith("/") && context.getResource(resourcePath) == null) //$NON-NLS-1$
+				return;
+		} catch (MalformedURLException e) {
+			// reported when the resource is copied
+		}
+		Map<String, File> files = new LinkedHashMap<>();
+		collectResources(resourcePath, target, files);
+		copyFiles(files);
+	}
+
+	private void collectResources(String resourcePath, File target, Map<String, File> files) {
 		if (resourcePath.endsWith("/")) { //$NON-NLS-1$
 			target.mkdir();
 			Set<String> paths = context.getResourcePaths(resourcePath);
@@ -771,34 +885,260 @@ public class FrameworkLauncher {
 				return;
 			for (String path : paths) {
 				File newFile = new File(target, path.substring(resourcePath.length()));
-				copyResource(path, newFile);
+				collectResources(path, newFile, files);
 			}
 		} else {
+			files.put(resourcePath, target);
+		}
+	}
+
+	private void copyFiles(Map<String, File> files) {
+		int numThreads = Math.min(getDeployThreads(), files.size());
+		if (numThreads <= 1) {
+			for (Map.Entry<String, File> file : files.entrySet()) {
+				copyFile(file.getKey(), file.getValue());
+			}
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<?>> results = new ArrayList<>(files.size());
+			for (Map.Entry<String, File> file : files.entrySet()) {
+				results.add(executor.submit(() -> copyFile(file.getKey(), file.getValue())));
+			}
+			for (Future<?> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					copyFailed();
+					context.log("Error copying resources", e.getCause()); //$NON-NLS-1$
+				}
+			}
+		} catch (InterruptedException e) {
+			copyFailed();
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdown();
+			awaitTermination(executor);
+		}
+	}
+
+	/**
+	 * Waits until the copies still running have finished so that no file is written after the deploy.
+	 */
+	private void awaitTermination(ExecutorService executor) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					if (executor.awaitTermination(1, TimeUnit.SECONDS))
+						return;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	private void copyFailed() {
+		DeploymentManifest manifest = deploymentManifest;
+		if (manifest != null)
+			manifest.copyFailed();
+	}
+
+	private int getDeployThreads() {
+		String deployThreads = config.getInitParameter(CONFIG_DEPLOY_THREADS);
+		if (deployThreads != null) {
+			try {
+				return Integer.parseInt(deployThreads.trim());
+			} catch (NumberFormatException e) {
+				context.log("Invalid " + CONFIG_DEPLOY_THREADS + " -- " + deployThreads); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	private void copyFile(String resourcePath, File target) {
+		try {
+			URL resource = context.getResource(resourcePath);
+			if (resource == null) {
+				copyFailed();
+				context.log("Could not find resource -- " + resourcePath); //$NON-NLS-1$
+				return;
+			}
+			DeploymentManifest manifest = deploymentManifest;
+			if (manifest == null) {
+				copyFile(resource, target, null);
+				return;
+			}
+			// exploded webapps provide the file itself, so it does not have to be opened
+			String realPath = context.getRealPath(resourcePath);
+			File source = realPath == null ? null : new File(realPath);
+			URLConnection connection = null;
+			long length;
+			long lastModified;
+			if (source != null && source.isFile()) {
+				length = source.length();
+				lastModified = source.lastModified();
+			} else {
+				source = null;
+				connection = resource.openConnection();
+				length = connection.getContentLengthLong();
+				lastModified = connection.getLastModified();
+			}
 			try {
-				if (target.createNewFile()) {
-					InputStream is = null;
-					OutputStream os = null;
-					try {
-						is = context.getResourceAsStream(resourcePath);
-						if (is == null)
-							return;
-						os = new FileOutputStream(target);
+				String key = manifest.getKey(platformDirectory, target);
+				DeployedFile deployed = manifest.getDeployed(key);
+				// a missing target has a length of 0, an empty resource must still be copied again
+				if (deployed != null && length >= 0 && deployed.length == length && target.isFile() && target.length() == length) {
+					if (lastModified != 0 && deployed.lastModified == lastModified) {
+						manifest.putDeployed(key, deployed);
+						return;
+					}
+					// the modification time is unknown or changed, e.g. the webapp was unpacked again; compare the content
+					MessageDigest digest = MessageDigest.getInstance(DEPLOYMENT_DIGEST);
+					try (InputStream is = new DigestInputStream(source != null ? new FileInputStream(source) : connection.getInputStream(), digest)) {
 						byte[] buffer = new byte[8192];
-						int bytesRead = is.read(buffer);
-						while (bytesRead != -1) {
-							os.write(buffer, 0, bytesRead);
-							bytesRead = is.read(buffer);
+						while (is.read(buffer) != -1) {
+							// just compute the digest
 						}
-					} finally {
-						if (is != null)
-							is.close();
-
-						if (os != null)
-							os.close();
+					}
+					String hash = toHexString(digest.digest());
+					if (hash.equals(deployed.hash)) {
+						manifest.putDeployed(key, new DeployedFile(length, lastModified, hash));
+						return;
 					}
 				}
+				MessageDigest digest = MessageDigest.getInstance(DEPLOYMENT_DIGEST);
+				copyFile(resource, target, digest);
+				manifest.putDeployed(key, new DeployedFile(target.length(), lastModified, toHexString(digest.digest())));
+			} finally {
+				if (connection != null)
+					close(connection);
+			}
+		} catch (IOException | NoSuchAlgorithmException e) {
+			copyFailed();
+			context.log("Error copying resources", e); //$NON-NLS-1$
+		}
+	}
+
+	private static void copyFile(URL resource, File target, MessageDigest digest) throws IOException {
+		try (InputStream is = digest == null ? resource.openStream() : new DigestInputStream(resource.openStream(), digest)) {
+			Files.copy(is, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Closes the stream a connection opened to determine the length or modification time,
+	 * e.g. a connection to a file: URL opens the file when connecting.
+	 */
+	private static void close(URLConnection connection) {
+		try {
+			connection.getInputStream().close();
+		} catch (IOException e) {
+			// nothing to close
+		}
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	private static final class DeployedFile {
+		final long length;
+		final long lastModified;
+		final String hash;
+
+		DeployedFile(long length, long lastModified, String hash) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+	}
+
+	/**
+	 * Records the length, modification time and content hash of each file copied into the platform
+	 * directory so that unchanged files are not copied again by the next deploy.
+	 */
+	private final class DeploymentManifest {
+		private final File file;
+		private final Map<String, DeployedFile> previous = new HashMap<>();
+		private final Map<String, DeployedFile> current = new ConcurrentHashMap<>();
+		/** Set if any resource could not be copied */
+		private volatile boolean failed;
+
+		DeploymentManifest(File file) {
+			this.file = file;
+			Properties properties = new Properties();
+			if (file.isFile()) {
+				try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+					properties.load(in);
+				} catch (IOException e) {
+					context.log("Error reading deployment manifest", e); //$NON-NLS-1$
+				}
+			}
+			for (String key : properties.stringPropertyNames()) {
+				String[] values = properties.getProperty(key).split(","); //$NON-NLS-1$
+				try {
+					if (values.length == 3)
+						previous.put(key, new DeployedFile(Long.parseLong(values[0]), Long.parseLong(values[1]), values[2]));
+				} catch (NumberFormatException e) {
+					// ignore the entry; the file will be copied again
+				}
+			}
+		}
+
+		String getKey(File base, File target) {
+			return base.toPath().relativize(target.toPath()).toString().replace(File.separatorChar, '/');
+		}
+
+		DeployedFile getDeployed(String key) {
+			return previous.get(key);
+		}
+
+		void putDeployed(String key, DeployedFile deployed) {
+			current.put(key, deployed);
+		}
+
+		void copyFailed() {
+			failed = true;
+		}
+
+		/**
+		 * Returns true if all resources have been copied.
+		 */
+		boolean isComplete() {
+			return !failed;
+		}
+
+		/**
+		 * Deletes the previously deployed files which are no longer part of the webapp.
+		 */
+		void removeStaleFiles(File base) {
+			for (String key : previous.keySet()) {
+				if (!current.containsKey(key))
+					new File(base, key).delete();
+			}
+		}
+
+		void save() {
+			Properties properties = new Properties();
+			for (Map.Entry<String, DeployedFile> entry : current.entrySet()) {
+				DeployedFile deployed = entry.getValue();
+				properties.setProperty(entry.getKey(), deployed.length + "," + deployed.lastModified + "," + deployed.hash); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+				properties.store(out, null);
 			} catch (IOException e) {
-				context.log("Error copying resources", e); //$NON-NLS-1$
+				context.log("Error writing deployment manifest", e); //$NON-NLS-1$
 			}
 		}
 	}
@@ -16,6 +16,7 @@ package org.eclipse.equinox.internal.transforms;
 
 import java.io.*;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.*;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -59,11 +60,13 @@ public class CSVParser {
 					Pattern pathPattern = Pattern.compile(pathPatternString);
 					URL transformerURL = new URL(transformMapURL, transformPath);
 					try {
-						transformerURL.openStream();
+						URLConnection connection = transformerURL.openConnection();
+						connection.getInputStream().close();
 						TransformTuple tuple = new TransformTuple();
 						tuple.bundlePattern = bundlePattern;
 						tuple.pathPattern = pathPattern;
 						tuple.transformerUrl = transformerURL;
+						tuple.transformerTimestamp = connection.getLastModified();
 						list.add(tuple);
 					} catch (IOException e) {
 						logServices.log(EquinoxContainer.NAME, FrameworkLogEntry.ERROR, "Could not add transform :" + transformerURL.toString(), e); //$NON-NLS-1$
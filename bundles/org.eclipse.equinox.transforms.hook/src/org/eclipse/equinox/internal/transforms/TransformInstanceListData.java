@@ -17,6 +17,7 @@ package org.eclipse.equinox.internal.transforms;
 import java.io.IOException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.osgi.internal.log.EquinoxLogServices;
 import org.osgi.framework.*;
 import org.osgi.util.tracker.ServiceTracker;
@@ -49,18 +50,24 @@ public class TransformInstanceListData extends ServiceTracker<URL, URL> {
 	 */
 	private Map<String, Boolean> bundleIdToTransformPresence = new HashMap<>();
 	private final EquinoxLogServices logServices;
+	/**
+	 * Incremented whenever this list becomes stale.
+	 */
+	private final AtomicLong changeCount;
 
 	/**
 	 * Create a new transform list bound to the given context. If new transforms are registered against the given context the contents of this list will change.
 	 * @param context the bundle context
 	 * @param logServices
+	 * @param changeCount the counter to increment whenever this list changes
 	 * @throws InvalidSyntaxException thrown if there's an issue listening for changes to the given transformer type
 	 */
-	public TransformInstanceListData(BundleContext context, EquinoxLogServices logServices) throws InvalidSyntaxException {
+	public TransformInstanceListData(BundleContext context, EquinoxLogServices logServices, AtomicLong changeCount) throws InvalidSyntaxException {
 		super(context, context.createFilter("(&(objectClass=" //$NON-NLS-1$
 				+ URL.class.getName() + ")(" + TransformTuple.TRANSFORMER_TYPE //$NON-NLS-1$
 				+ "=*))"), null); //$NON-NLS-1$
 		this.logServices = logServices;
+		this.changeCount = changeCount;
 		open();
 	}
 
@@ -155,16 +162,19 @@ public class TransformInstanceListData extends ServiceTracker<URL, URL> {
 			return super.addingService(reference);
 		} finally {
 			stale = true;
+			changeCount.incrementAndGet();
 		}
 	}
 
 	public void modifiedService(ServiceReference<URL> reference, URL service) {
 		super.modifiedService(reference, service);
 		stale = true;
+		changeCount.incrementAndGet();
 	}
 
 	public void removedService(ServiceReference<URL> reference, URL service) {
 		super.removedService(reference, service);
 		stale = true;
+		changeCount.incrementAndGet();
 	}
 }
\ No newline at end of file
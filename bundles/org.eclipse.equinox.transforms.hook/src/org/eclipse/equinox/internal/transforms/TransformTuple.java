@@ -29,4 +29,8 @@ public class TransformTuple {
 	public Pattern bundlePattern;
 	public Pattern pathPattern;
 	public URL transformerUrl;
+	/**
+	 * The last modified time of the transformer resource at the time the tuple was created.
+	 */
+	public long transformerTimestamp;
 }
\ No newline at end of file
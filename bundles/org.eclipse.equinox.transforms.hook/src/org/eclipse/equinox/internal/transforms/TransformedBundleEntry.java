@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,22 @@ public class TransformedBundleEntry extends BundleEntry {
 	private InputStream stream;
 	private BundleEntry original;
 	private TransformedBundleFile bundleFile;
+	/**
+	 * The file in the persistent cache holding the transformed content, may be <code>null</code>.
+	 */
+	private final File cacheFile;
+	/**
+	 * Whether the content is read from the cache file rather than the transformed stream.
+	 */
+	private final boolean cached;
+	/**
+	 * The file holding the transformed content once it has been read from the transformed stream for caching.
+	 */
+	private File content;
+	/**
+	 * The failure to read the transformed stream for caching, if any.
+	 */
+	private IOException failure;
 
 	/**
 	 * Create a wrapped bundle entry.  Calls to obtain the content of this entry will be resolved via the provided input stream rather than the original. 
@@ -38,12 +54,39 @@ public class TransformedBundleEntry extends BundleEntry {
 	 * @param wrappedStream the override stream
 	 */
 	public TransformedBundleEntry(TransformedBundleFile bundleFile, BundleEntry original, InputStream wrappedStream) {
+		this(bundleFile, original, wrappedStream, null);
+	}
+
+	/**
+	 * Create a wrapped bundle entry whose transformed content is stored in the given cache file once it has been read.
+	 * @param bundleFile the host bundle file
+	 * @param original the original entry
+	 * @param wrappedStream the override stream
+	 * @param cacheFile the file to store the transformed content in, may be <code>null</code>
+	 */
+	public TransformedBundleEntry(TransformedBundleFile bundleFile, BundleEntry original, InputStream wrappedStream, File cacheFile) {
 		this.stream = wrappedStream;
 		this.bundleFile = bundleFile;
 		this.original = original;
+		this.cacheFile = cacheFile;
+		this.cached = false;
 		timestamp = System.currentTimeMillis();
 	}
 
+	/**
+	 * Create a wrapped bundle entry whose content was transformed previously and stored in the given cache file.
+	 * @param bundleFile the host bundle file
+	 * @param original the original entry
+	 * @param cacheFile the file holding the transformed content
+	 */
+	public TransformedBundleEntry(TransformedBundleFile bundleFile, BundleEntry original, File cacheFile) {
+		this.bundleFile = bundleFile;
+		this.original = original;
+		this.cacheFile = cacheFile;
+		this.cached = true;
+		timestamp = cacheFile.lastModified();
+	}
+
 	@SuppressWarnings("deprecation")
 	public URL getFileURL() {
 		try {
@@ -56,7 +99,27 @@ public class TransformedBundleEntry extends BundleEntry {
 		return null;
 	}
 
-	public InputStream getInputStream() {
+	public InputStream getInputStream() throws IOException {
+		if (cached) {
+			try {
+				return new FileInputStream(cacheFile);
+			} catch (FileNotFoundException e) {
+				// the cached content has been evicted; transform the original again
+				return getUncachedEntry().getInputStream();
+			}
+		}
+		if (cacheFile != null) {
+			File file = getContent();
+			if (file != null) {
+				try {
+					return new FileInputStream(file);
+				} catch (FileNotFoundException e) {
+					// the cached content has been evicted
+				}
+			}
+			// transform the original again
+			return getUncachedEntry().getInputStream();
+		}
 		return stream;
 	}
 
@@ -73,6 +136,29 @@ public class TransformedBundleEntry extends BundleEntry {
 	 * If this stream does not support marks the stream is drained and a copy is retained for later use.
 	 */
 	public long getSize() {
+		if (cached) {
+			if (cacheFile.isFile())
+				return cacheFile.length();
+			// the cached content has been evicted; transform the original again
+			try {
+				return getUncachedEntry().getSize();
+			} catch (IOException e) {
+				logSizeProblem(e);
+				return 0;
+			}
+		}
+		if (cacheFile != null) {
+			try {
+				File file = getContent();
+				if (file != null && file.isFile())
+					return file.length();
+				// the content was not cached or has been evicted; transform the original again
+				return getUncachedEntry().getSize();
+			} catch (IOException e) {
+				logSizeProblem(e);
+				return 0;
+			}
+		}
 		ByteArrayOutputStream tempBuffer = new ByteArrayOutputStream(1024);
 		byte[] buffer = new byte[1024];
 		int i = 0;
@@ -90,13 +176,47 @@ public class TransformedBundleEntry extends BundleEntry {
 				stream = new ByteArrayInputStream(tempBuffer.toByteArray());
 			}
 		} catch (IOException e) {
-			bundleFile.getGeneration().getBundleInfo().getStorage().getLogServices().log(EquinoxContainer.NAME, FrameworkLogEntry.ERROR, "Problem calculating size of stream for file.  Stream may now be corrupted : " //$NON-NLS-1$
-					+ getName(), e);
+			logSizeProblem(e);
 		}
 		return tempBuffer.size();
 
 	}
 
+	private void logSizeProblem(IOException e) {
+		bundleFile.getGeneration().getBundleInfo().getStorage().getLogServices().log(EquinoxContainer.NAME, FrameworkLogEntry.ERROR, "Problem calculating size of stream for file.  Stream may now be corrupted : " //$NON-NLS-1$
+				+ getName(), e);
+	}
+
+	/**
+	 * Returns the entry for the same path looked up again from the bundle file.
+	 * @throws IOException if the entry no longer exists
+	 */
+	private BundleEntry getUncachedEntry() throws IOException {
+		BundleEntry entry = bundleFile.getEntry(getName());
+		if (entry == null)
+			throw new FileNotFoundException(getName());
+		return entry;
+	}
+
+	/**
+	 * Streams the transformed content once into the persistent cache.
+	 * @return the file holding the transformed content, or <code>null</code> if the content was not cached
+	 * @throws IOException if the transformed stream could not be read, now or on an earlier attempt
+	 */
+	private synchronized File getContent() throws IOException {
+		if (stream != null) {
+			try (InputStream in = stream) {
+				content = bundleFile.storeTransformedContent(cacheFile, in);
+			} catch (IOException e) {
+				failure = e;
+			}
+			stream = null;
+		}
+		if (failure != null)
+			throw new IOException("Problem reading transformed stream for file : " + getName(), failure); //$NON-NLS-1$
+		return content;
+	}
+
 	public long getTime() {
 		return timestamp;
 	}
@@ -15,7 +15,12 @@
 package org.eclipse.equinox.internal.transforms;
 
 import java.io.*;
-import java.util.Enumeration;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.eclipse.equinox.internal.transforms.LazyInputStream.InputStreamProvider;
@@ -25,7 +30,6 @@ import org.eclipse.osgi.internal.framework.EquinoxContainer;
 import org.eclipse.osgi.storage.BundleInfo.Generation;
 import org.eclipse.osgi.storage.StorageUtil;
 import org.eclipse.osgi.storage.bundlefile.*;
-import org.osgi.framework.Bundle;
 
 /**
  * This class is capable of providing transformed versions of entries contained within a base bundle file.
@@ -33,10 +37,34 @@ import org.osgi.framework.Bundle;
  */
 public class TransformedBundleFile extends BundleFileWrapper {
 
+	private static final TransformMatch[] NO_MATCHES = new TransformMatch[0];
+	private static final String CACHE_DIR = ".tfcache"; //$NON-NLS-1$
+	private static final String TMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+
 	private final TransformerHook transformerHook;
 	private final BundleFile delegate;
 	private final Generation generation;
 	private final Debug debug;
+	/**
+	 * The transforms which apply to the paths of this bundle file; rebuilt whenever the transformers change.
+	 */
+	private volatile TransformDecisions decisions = new TransformDecisions(-1);
+	/**
+	 * The number of bytes in the persistent cache of transformed content; -1 until computed. Guarded by cacheLock.
+	 */
+	private long cachedContentSize = -1;
+	private final Object cacheLock = new Object();
+	private volatile File cacheDirectory;
+	/**
+	 * The time cache files were last used in this session by name. Kept in memory rather than
+	 * touching the files so that a read-only cache stays untouched.
+	 */
+	private final Map<String, Long> lastUsed = new ConcurrentHashMap<>();
+	/**
+	 * The names of cache files whose content could not be cached in this session, for example
+	 * because it is larger than the cache. Such content is transformed on every request.
+	 */
+	private final Set<String> uncacheable = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Create a wrapped bundle file.  
@@ -67,6 +95,10 @@ public class TransformedBundleFile extends BundleFileWrapper {
 		if (generation.getRevision() == null || path == null || original == null)
 			return original;
 
+		TransformMatch[] matches = getMatches(path);
+		if (matches.length == 0)
+			return original;
+
 		LazyInputStream stream = new LazyInputStream(new InputStreamProvider() {
 
 			@Override
@@ -74,51 +106,205 @@ public class TransformedBundleFile extends BundleFileWrapper {
 				return original.getInputStream();
 			}
 		});
-		InputStream wrappedStream = getInputStream(stream, generation.getRevision().getBundle(), path);
-		if (wrappedStream == null)
-			return original;
-		return new TransformedBundleEntry(this, original, wrappedStream);
+		for (TransformMatch match : matches) {
+			StreamTransformer transformer = transformerHook.getTransformer(match.type);
+			if (transformer == null)
+				continue;
+			File cacheFile = getCacheFile(path, match);
+			if (cacheFile != null && cacheFile.isFile()) {
+				// transformed by a previous request or launch; mark it as recently used
+				lastUsed.put(cacheFile.getName(), System.currentTimeMillis());
+				return new TransformedBundleEntry(this, original, cacheFile);
+			}
+			try {
+				InputStream wrappedStream = transformer.getInputStream(stream, match.tuple.transformerUrl);
+				if (wrappedStream == null)
+					return original;
+				return new TransformedBundleEntry(this, original, wrappedStream, cacheFile);
+			} catch (IOException e) {
+				generation.getBundleInfo().getStorage().getLogServices().log(EquinoxContainer.NAME, FrameworkLogEntry.ERROR, "Problem obtaining transformed stream from transformer : " //$NON-NLS-1$
+						+ transformer.getClass().getName(), e);
+			}
+		}
+		return original;
 	}
 
 	/**
-	 * Return the input stream that results from applying the given transformer
-	 * URL to the provided input stream.
-	 * 
-	 * @param inputStream
-	 *            the stream to transform
-	 * @param bundle
-	 *            the resource representing the transformer
-	 * @return the transformed stream
+	 * Returns the transforms which apply to the given path in the order they should be tried.
+	 * The result is computed once per path and reused until the transformers or transforms change.
+	 * @param path the path of the entry
+	 * @return the matching transforms, an empty array if the path is not transformed
 	 */
-	protected InputStream getInputStream(InputStream inputStream, Bundle bundle, String path) {
-		String namespace = bundle.getSymbolicName();
+	private TransformMatch[] getMatches(String path) {
+		long changeCount = transformerHook.getChangeCount();
+		TransformDecisions current = decisions;
+		if (current.changeCount != changeCount) {
+			current = new TransformDecisions(changeCount);
+			decisions = current;
+		}
+		if (current.bundleHasTransforms == null) {
+			current.bundleHasTransforms = transformerHook.hasTransformers() && transformerHook.hasTransformsFor(generation.getRevision().getBundle());
+		}
+		if (!current.bundleHasTransforms)
+			return NO_MATCHES;
+		TransformMatch[] matches = current.matches.get(path);
+		if (matches == null) {
+			matches = computeMatches(path);
+			current.matches.put(path, matches);
+		}
+		return matches;
+	}
 
-		String[] transformTypes = transformerHook.getTransformTypes();
-		if (transformTypes.length == 0)
-			return null;
-		for (String transformType : transformTypes) {
-			StreamTransformer transformer = transformerHook.getTransformer(transformType);
-			if (transformer == null)
+	private TransformMatch[] computeMatches(String path) {
+		String namespace = generation.getRevision().getSymbolicName();
+		List<TransformMatch> result = null;
+		for (String transformType : transformerHook.getTransformTypes()) {
+			if (transformerHook.getTransformer(transformType) == null)
 				continue;
 			TransformTuple[] transformTuples = transformerHook.getTransformsFor(transformType);
 			if (transformTuples == null)
 				continue;
 			for (TransformTuple transformTuple : transformTuples) {
 				if (match(transformTuple.bundlePattern, namespace) && match(transformTuple.pathPattern, path)) {
-					try {
-						return transformer.getInputStream(inputStream, transformTuple.transformerUrl);
-					} catch (IOException e) {
-						generation.getBundleInfo().getStorage().getLogServices().log(EquinoxContainer.NAME, FrameworkLogEntry.ERROR, "Problem obtaining transformed stream from transformer : " //$NON-NLS-1$
-								+ transformer.getClass().getName(), e);
+					if (result == null)
+						result = new ArrayList<>(1);
+					result.add(new TransformMatch(transformType, transformTuple));
+				}
+			}
+		}
+		return result == null ? NO_MATCHES : result.toArray(new TransformMatch[result.size()]);
+	}
+
+	/**
+	 * Returns the file in the persistent cache which holds the content of the given path
+	 * transformed by the given transform, or <code>null</code> if transformed content is not cached.
+	 * The cache belongs to the generation and is discarded with it.
+	 */
+	private File getCacheFile(String path, TransformMatch match) {
+		if (transformerHook.getCacheSize() <= 0 || generation.getBundleInfo().getStorage().isReadOnly())
+			return null;
+		File dir = cacheDirectory;
+		if (dir == null) {
+			File baseFile = delegate.getBaseFile();
+			dir = generation.getExtractFile(CACHE_DIR, hash(baseFile == null ? "" : baseFile.getAbsolutePath())); //$NON-NLS-1$
+			cacheDirectory = dir;
+		}
+		// the content must be transformed again when the transformer changes
+		String transformerId = transformerHook.getTransformerId(match.type);
+		if (transformerId == null)
+			return null;
+		String key = path + '\n' + match.type + '\n' + transformerId + '\n' + match.tuple.transformerUrl.toExternalForm() + '\n' + match.tuple.transformerTimestamp;
+		String name = hash(key);
+		if (uncacheable.contains(name))
+			return null;
+		return new File(dir, name);
+	}
 
+	/**
+	 * Persists transformed content. The content is streamed to a temporary file which is then moved
+	 * into the cache. If the cache would grow beyond its maximum size the least recently used content
+	 * is evicted first. Content which does not fit into the cache, or cannot be moved into it, is
+	 * discarded and no longer cached in this session.
+	 * @param cacheFile the cache file obtained from {@link #getCacheFile(String, TransformMatch)}
+	 * @param content the transformed content
+	 * @return the file holding the transformed content, or <code>null</code> if the content was not cached
+	 * @throws IOException if the transformed content could not be read or written
+	 */
+	File storeTransformedContent(File cacheFile, InputStream content) throws IOException {
+		File dir = cacheFile.getParentFile();
+		if (!dir.mkdirs() && !dir.isDirectory())
+			throw new IOException("Unable to create directory: " + dir.getAbsolutePath()); //$NON-NLS-1$
+		// write to a temporary file first so that readers never see partial content
+		File tmp = File.createTempFile(cacheFile.getName(), TMP_SUFFIX, dir);
+		try {
+			Files.copy(content, tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmp.delete();
+			throw e;
+		}
+		long length = tmp.length();
+		long maxSize = transformerHook.getCacheSize();
+		if (length <= maxSize) {
+			synchronized (cacheLock) {
+				if (cachedContentSize < 0) {
+					cachedContentSize = 0;
+					for (File file : listCacheFiles(dir)) {
+						cachedContentSize += file.length();
 					}
 				}
+				// the content may replace an earlier version of the same file
+				cachedContentSize -= cacheFile.length();
+				if (cachedContentSize + length > maxSize)
+					evict(dir, cacheFile, cachedContentSize + length - maxSize);
+				try {
+					try {
+						Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+					} catch (AtomicMoveNotSupportedException e) {
+						Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+					}
+					lastUsed.put(cacheFile.getName(), System.currentTimeMillis());
+					return cacheFile;
+				} catch (IOException e) {
+					if (debug.DEBUG_GENERAL)
+						Debug.printStackTrace(e);
+				} finally {
+					cachedContentSize += cacheFile.length();
+				}
 			}
 		}
-
+		// the entry is transformed again without the cache from now on
+		tmp.delete();
+		uncacheable.add(cacheFile.getName());
 		return null;
 	}
 
+	/**
+	 * Deletes the least recently used cache files other than the file about to be written until at
+	 * least the given number of bytes is freed. Files which cannot be deleted, for example because
+	 * they are still being read, are skipped.
+	 */
+	private void evict(File dir, File cacheFile, long bytes) {
+		File[] files = listCacheFiles(dir);
+		long[] lastModified = new long[files.length];
+		Integer[] order = new Integer[files.length];
+		for (int i = 0; i < files.length; i++) {
+			// files not used in this session count as used when they were written
+			Long used = lastUsed.get(files[i].getName());
+			lastModified[i] = used != null ? used.longValue() : files[i].lastModified();
+			order[i] = i;
+		}
+		Arrays.sort(order, (i1, i2) -> Long.compare(lastModified[i1], lastModified[i2]));
+		long freed = 0;
+		for (int i = 0; i < order.length && freed < bytes; i++) {
+			File file = files[order[i]];
+			long length = file.length();
+			if (!file.equals(cacheFile) && file.delete()) {
+				freed += length;
+				cachedContentSize -= length;
+				lastUsed.remove(file.getName());
+			}
+		}
+	}
+
+	private static File[] listCacheFiles(File dir) {
+		File[] files = dir.listFiles((d, name) -> !name.endsWith(TMP_SUFFIX));
+		return files == null ? new File[0] : files;
+	}
+
+	private static String hash(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			StringBuilder result = new StringBuilder();
+			for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+				result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return result.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is required to be supported by all JVMs
+			throw new IllegalStateException(e);
+		}
+	}
+
 	/**
 	 * Return whether the given string matches the given pattern.
 	 * 
@@ -245,4 +431,30 @@ public class TransformedBundleFile extends BundleFileWrapper {
 	public String toString() {
 		return delegate.toString();
 	}
+
+	/**
+	 * A transform tuple together with the type of transformer it applies to.
+	 */
+	private static final class TransformMatch {
+		final String type;
+		final TransformTuple tuple;
+
+		TransformMatch(String type, TransformTuple tuple) {
+			this.type = type;
+			this.tuple = tuple;
+		}
+	}
+
+	/**
+	 * The transforms which apply to this bundle file for a given change count of the transformer hook.
+	 */
+	private static final class TransformDecisions {
+		final long changeCount;
+		volatile Boolean bundleHasTransforms;
+		final Map<String, TransformMatch[]> matches = new ConcurrentHashMap<>();
+
+		TransformDecisions(long changeCount) {
+			this.changeCount = changeCount;
+		}
+	}
 }
@@ -14,6 +14,8 @@
 
 package org.eclipse.equinox.internal.transforms;
 
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.osgi.framework.log.FrameworkLogEntry;
 import org.eclipse.osgi.internal.framework.EquinoxContainer;
 import org.eclipse.osgi.internal.hookregistry.*;
 import org.eclipse.osgi.internal.log.EquinoxLogServices;
@@ -26,9 +28,21 @@ import org.osgi.framework.*;
  * The framework extension that is capable of applying transforms to bundle content.
  */
 public class TransformerHook implements BundleFileWrapperFactoryHook, HookConfigurator, ActivatorHookFactory, BundleActivator {
+	/**
+	 * The maximum number of bytes of transformed content persisted for each bundle file.
+	 * A value of 0 disables the persistent cache of transformed content.
+	 */
+	public static final String PROP_CACHE_SIZE = "equinox.transforms.cache.size"; //$NON-NLS-1$
+	private static final long DEFAULT_CACHE_SIZE = 16 * 1024 * 1024;
+
 	private volatile TransformerList transformers;
 	private volatile TransformInstanceListData templates;
 	private EquinoxLogServices logServices;
+	private long cacheSize = DEFAULT_CACHE_SIZE;
+	/**
+	 * Incremented whenever the available transformers or transforms change.
+	 */
+	private final AtomicLong changeCount = new AtomicLong();
 
 	public BundleFileWrapper wrapBundleFile(BundleFile bundleFile, Generation generation, boolean base) {
 		if (transformers == null || templates == null)
@@ -40,27 +54,36 @@ public class TransformerHook implements BundleFileWrapperFactoryHook, HookConfig
 		hookRegistry.addActivatorHookFactory(this);
 		hookRegistry.addBundleFileWrapperFactoryHook(this);
 		logServices = hookRegistry.getContainer().getLogServices();
+		String size = hookRegistry.getConfiguration().getConfiguration(PROP_CACHE_SIZE);
+		if (size != null) {
+			try {
+				cacheSize = Long.parseLong(size);
+			} catch (NumberFormatException e) {
+				log(FrameworkLogEntry.WARNING, "Invalid value for " + PROP_CACHE_SIZE + ": " + size, e); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
 	}
 
 	public void start(BundleContext context) throws BundleException {
 		try {
-			this.transformers = new TransformerList(context, logServices);
+			this.transformers = new TransformerList(context, logServices, changeCount);
 		} catch (InvalidSyntaxException e) {
 			throw new BundleException("Problem registering service tracker: transformers", e); //$NON-NLS-1$
 		}
 		try {
-			this.templates = new TransformInstanceListData(context, logServices);
+			this.templates = new TransformInstanceListData(context, logServices, changeCount);
 		} catch (InvalidSyntaxException e) {
 			transformers.close();
 			transformers = null;
 			throw new BundleException("Problem registering service tracker: templates", e); //$NON-NLS-1$
 		}
-
+		changeCount.incrementAndGet();
 	}
 
 	public void stop(BundleContext context) {
 		transformers.close();
 		templates.close();
+		changeCount.incrementAndGet();
 	}
 
 	void log(int severity, String msg, Throwable t) {
@@ -91,11 +114,38 @@ public class TransformerHook implements BundleFileWrapperFactoryHook, HookConfig
 		return current == null ? null : current.getTransformsFor(type);
 	}
 
+	/**
+	 * Returns an identity of the transformer of the given type which changes whenever
+	 * the transformer implementation or the bundle providing it changes.
+	 * @param type the type of transformer
+	 * @return the identity or null if no transformer of the given type is available
+	 */
+	public String getTransformerId(String type) {
+		TransformerList current = transformers;
+		return current == null ? null : current.getTransformerId(type);
+	}
+
 	public boolean hasTransformers() {
 		TransformerList current = transformers;
 		return current == null ? false : current.hasTransformers();
 	}
 
+	/**
+	 * Returns a counter which changes whenever the available transformers or transforms change.
+	 * @return the change count
+	 */
+	public long getChangeCount() {
+		return changeCount.get();
+	}
+
+	/**
+	 * Returns the maximum number of bytes of transformed content persisted for each bundle file.
+	 * @return the maximum cache size, 0 if transformed content must not be persisted
+	 */
+	public long getCacheSize() {
+		return cacheSize;
+	}
+
 	public boolean hasTransformsFor(Bundle bundle) {
 		TransformInstanceListData current = templates;
 		return current == null ? false : current.hasTransformsFor(bundle);
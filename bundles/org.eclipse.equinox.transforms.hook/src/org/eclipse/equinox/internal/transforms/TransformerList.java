@@ -15,6 +15,7 @@
 package org.eclipse.equinox.internal.transforms;
 
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.osgi.framework.log.FrameworkLogEntry;
 import org.eclipse.osgi.internal.framework.EquinoxContainer;
 import org.eclipse.osgi.internal.log.EquinoxLogServices;
@@ -35,18 +36,28 @@ public class TransformerList extends ServiceTracker<Object, Object> {
 	 * Local cache of transformers.
 	 */
 	private HashMap<String, StreamTransformer> transformers = new HashMap<>();
+	/**
+	 * Local cache of the identities of the transformers.
+	 */
+	private HashMap<String, String> transformerIds = new HashMap<>();
 	private final EquinoxLogServices logServices;
+	/**
+	 * Incremented whenever this list becomes stale.
+	 */
+	private final AtomicLong changeCount;
 
 	/**
 	 * Create a new instance of this list.
 	 * @param context the context to track
+	 * @param changeCount the counter to increment whenever this list changes
 	 * @throws InvalidSyntaxException thrown if there's an issue listening for changes to the given transformer type
 	 */
-	public TransformerList(BundleContext context, EquinoxLogServices logServices) throws InvalidSyntaxException {
+	public TransformerList(BundleContext context, EquinoxLogServices logServices, AtomicLong changeCount) throws InvalidSyntaxException {
 		super(context, context.createFilter("(&(objectClass=" //$NON-NLS-1$
 				+ Object.class.getName() + ")(" + TransformTuple.TRANSFORMER_TYPE //$NON-NLS-1$
 				+ "=*))"), null); //$NON-NLS-1$
 		this.logServices = logServices;
+		this.changeCount = changeCount;
 		open();
 	}
 
@@ -63,6 +74,20 @@ public class TransformerList extends ServiceTracker<Object, Object> {
 		return transformers.get(type);
 	}
 
+	/**
+	 * Return an identity of the transformer of the given type which changes whenever
+	 * the transformer implementation or the bundle providing it changes.
+	 * If the list is stale it will first be rebuilt.
+	 * @param type the type of transformer
+	 * @return the identity or null if no transformer of the given type is available.
+	 */
+	public synchronized String getTransformerId(String type) {
+		if (stale) {
+			rebuildTransformersMap();
+		}
+		return transformerIds.get(type);
+	}
+
 	public synchronized boolean hasTransformers() {
 		if (stale) {
 			rebuildTransformersMap();
@@ -75,6 +100,7 @@ public class TransformerList extends ServiceTracker<Object, Object> {
 	 */
 	private void rebuildTransformersMap() {
 		transformers.clear();
+		transformerIds.clear();
 		ServiceReference<Object>[] serviceReferences = getServiceReferences();
 		stale = false;
 		if (serviceReferences == null)
@@ -96,24 +122,36 @@ public class TransformerList extends ServiceTracker<Object, Object> {
 					logServices.log(EquinoxContainer.NAME, FrameworkLogEntry.ERROR, "Problem creating transformer", e); //$NON-NLS-1$
 				}
 			}
+			if (object != null && transformers.get(type) != null)
+				transformerIds.put(type, getTransformerId(serviceReference.getBundle(), object));
 		}
 	}
 
+	private static String getTransformerId(Bundle bundle, Object transformer) {
+		StringBuilder id = new StringBuilder(transformer.getClass().getName());
+		if (bundle != null)
+			id.append('@').append(bundle.getSymbolicName()).append('_').append(bundle.getVersion()).append('_').append(bundle.getLastModified());
+		return id.toString();
+	}
+
 	public Object addingService(ServiceReference<Object> reference) {
 		try {
 			return super.addingService(reference);
 		} finally {
 			stale = true;
+			changeCount.incrementAndGet();
 		}
 	}
 
 	public void modifiedService(ServiceReference<Object> reference, Object service) {
 		super.modifiedService(reference, service);
 		stale = true;
+		changeCount.incrementAndGet();
 	}
 
 	public void removedService(ServiceReference<Object> reference, Object service) {
 		super.removedService(reference, service);
 		stale = true;
+		changeCount.incrementAndGet();
 	}
 }
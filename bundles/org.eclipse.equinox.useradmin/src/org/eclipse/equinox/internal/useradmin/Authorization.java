@@ -13,8 +13,6 @@
  *******************************************************************************/
 package org.eclipse.equinox.internal.useradmin;
 
-import java.util.Vector;
-
 /**
  * This interface encapsulates an authorization context on which bundles
  * can base authorization decisions where appropriate.
@@ -106,13 +104,10 @@ public class Authorization implements org.osgi.service.useradmin.Authorization {
 	@Override
 	public boolean hasRole(String name_) {
 		useradmin.checkAlive();
-		synchronized (useradmin) {
-			Role checkRole = (org.eclipse.equinox.internal.useradmin.Role) useradmin.getRole(name_);
-			if (checkRole == null) {
-				return (false);
-			}
-			return checkRole.isImpliedBy(user, new Vector<>());
+		if (name_ == null) {
+			return (false);
 		}
+		return useradmin.roleClosures.getClosure(user).implies(name_);
 	}
 
 	/**
@@ -124,30 +119,8 @@ public class Authorization implements org.osgi.service.useradmin.Authorization {
 	@Override
 	public String[] getRoles() {
 		useradmin.checkAlive();
-
-		// go through all of the roles and find out which ones are implied by this 
-		// authorization context.
-		synchronized (useradmin) //we don't want anything changing while we get the list
-		{
-			int length = useradmin.roles.size();
-			Vector<String> result = new Vector<>(length);
-			for (int i = 0; i < length; i++) {
-				Role role = useradmin.roles.elementAt(i);
-				if (role.isImpliedBy(user, new Vector<>())) {
-					String roleName = role.getName();
-					//exclude user.anyone from the list
-					if (!roleName.equals(Role.anyoneString)) {
-						result.addElement(roleName);
-					}
-				}
-			}
-			int size = result.size();
-			if (size == 0) {
-				return (null);
-			}
-			String[] copyrole = new String[size];
-			result.copyInto(copyrole);
-			return copyrole;
-		}
+		// the roles implied by this authorization context are computed once per
+		// user and kept until a change to the roles or their members affects them
+		return useradmin.roleClosures.getClosure(user).getRoleNames();
 	}
 }
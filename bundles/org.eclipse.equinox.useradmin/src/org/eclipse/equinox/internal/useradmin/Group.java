@@ -138,6 +138,7 @@ public class Group extends User implements org.osgi.service.useradmin.Group {
 			}
 		}
 		basicMembers.addElement(role);
+		useradmin.roleClosures.memberAdded((org.eclipse.equinox.internal.useradmin.Role) role);
 		return (true);
 	}
 
@@ -178,6 +179,7 @@ public class Group extends User implements org.osgi.service.useradmin.Group {
 			}
 		}
 		requiredMembers.addElement(role);
+		useradmin.roleClosures.invalidate();
 		return (true);
 	}
 
@@ -214,6 +216,9 @@ public class Group extends User implements org.osgi.service.useradmin.Group {
 			// simply try to remove it from both.
 			boolean removeRequired = requiredMembers.removeElement(role);
 			boolean removeBasic = basicMembers.removeElement(role);
+			if (removeRequired || removeBasic) {
+				useradmin.roleClosures.invalidate();
+			}
 			return (removeRequired || removeBasic);
 		}
 	}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.equinox.internal.useradmin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps, for each user an Authorization has been asked about, the names of all
+ * roles implied by that user. Whether a role is implied only depends on the name
+ * of the user, so the closures are keyed by user name.
+ * <p>
+ * Lookups take no locks. Closures are computed under the UserAdmin monitor and
+ * all changes to group membership and to the set of roles are made under that
+ * monitor as well, so a closure never mixes two states of the role database.
+ * <p>
+ * Adding a basic member only changes the closures of the users the member is
+ * implied by, so only those closures are discarded. Any other change discards all
+ * closures.
+ */
+class RoleClosureIndex {
+
+	private final UserAdmin useradmin;
+	private final Map<String, Closure> closures = new ConcurrentHashMap<>();
+	private volatile long version;
+
+	RoleClosureIndex(UserAdmin useradmin) {
+		this.useradmin = useradmin;
+	}
+
+	/**
+	 * Returns the closure of the given user, computing it if necessary.
+	 */
+	Closure getClosure(Role user) {
+		String userName = user.name;
+		Closure closure = closures.get(userName);
+		if (closure != null && closure.version == version) {
+			return closure;
+		}
+		synchronized (useradmin) {
+			closure = closures.get(userName);
+			if (closure != null && closure.version == version) {
+				return closure;
+			}
+			closure = compute(user);
+			closures.put(userName, closure);
+			return closure;
+		}
+	}
+
+	private Closure compute(Role user) {
+		int length = useradmin.roles.size();
+		Set<String> implied = new HashSet<>();
+		List<String> result = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			Role role = useradmin.roles.elementAt(i);
+			if (role.isImpliedBy(user, new Vector<>())) {
+				String roleName = role.getName();
+				implied.add(roleName);
+				//exclude user.anyone from the list
+				if (!roleName.equals(Role.anyoneString)) {
+					result.add(roleName);
+				}
+			}
+		}
+		String[] roleNames = result.isEmpty() ? null : result.toArray(new String[result.size()]);
+		return new Closure(implied, roleNames, version);
+	}
+
+	/**
+	 * Called after the given role has been added as a basic member of a group.
+	 * Must be called while holding the UserAdmin monitor.
+	 */
+	void memberAdded(Role member) {
+		if (member.name.equals(Role.anyoneString)) {
+			invalidate();
+			return;
+		}
+		for (Iterator<Closure> iClosures = closures.values().iterator(); iClosures.hasNext();) {
+			if (iClosures.next().implied.contains(member.name)) {
+				iClosures.remove();
+			}
+		}
+	}
+
+	/**
+	 * Called after a role with the given name has been created.
+	 * Must be called while holding the UserAdmin monitor.
+	 */
+	void roleCreated(Role role) {
+		if (role.getClass() == Role.class) {
+			// predefined roles are implied by everybody
+			invalidate();
+		} else {
+			// a new user or group is only implied by itself
+			closures.remove(role.name);
+		}
+	}
+
+	/**
+	 * Discards all closures. Must be called while holding the UserAdmin monitor.
+	 */
+	void invalidate() {
+		version++;
+		closures.clear();
+	}
+
+	static final class Closure {
+		final Set<String> implied;
+		final String[] roleNames;
+		final long version;
+
+		Closure(Set<String> implied, String[] roleNames, long version) {
+			this.implied = implied;
+			this.roleNames = roleNames;
+			this.version = version;
+		}
+
+		boolean implies(String roleName) {
+			return implied.contains(roleName);
+		}
+
+		String[] getRoleNames() {
+			return roleNames == null ? null : roleNames.clone();
+		}
+	}
+}
@@ -55,10 +55,12 @@ public class UserAdmin implements org.osgi.service.useradmin.UserAdmin {
 	protected UserAdminPermission adminPermission;
 	protected ServiceReference reference;
 	protected LogTracker log;
+	protected RoleClosureIndex roleClosures;
 
 	protected UserAdmin(PreferencesService preferencesService, BundleContext context) throws Exception {
 		roles = new Vector<>();
 		users = new Vector<>();
+		roleClosures = new RoleClosureIndex(this);
 		this.context = context;
 
 		log = new LogTracker(context, System.out);
@@ -146,6 +148,7 @@ public class UserAdmin implements org.osgi.service.useradmin.UserAdmin {
 			users.addElement(newRole);
 		}
 		roles.addElement(newRole);
+		roleClosures.roleCreated(newRole);
 		return (newRole);
 	}
 
@@ -183,6 +186,7 @@ public class UserAdmin implements org.osgi.service.useradmin.UserAdmin {
 				roles.removeElement(role);
 				users.removeElement(role);
 				role.destroy();
+				roleClosures.invalidate();
 				eventProducer.generateEvent(UserAdminEvent.ROLE_REMOVED, role);
 				role = null;
 				return (true);
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Martin Lippert and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0.
+ *
+ * Contributors:
+ *     Martin Lippert - packed per-bundle cache archive
+ *******************************************************************************/
+
+package org.eclipse.equinox.weaving.internal.caching;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CacheArchiveTest {
+
+    private File cacheDirectory;
+
+    private File archiveFile;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = new File(Files.createTempDirectory("cacheArchive") //$NON-NLS-1$
+                .toFile(), "1-0"); //$NON-NLS-1$
+        archiveFile = new File(cacheDirectory, CacheArchive.ARCHIVE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        delete(cacheDirectory.getParentFile());
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        Assert.assertNull(archive.read("a.A")); //$NON-NLS-1$
+
+        archive.append(classes("a.A", "a.B")); //$NON-NLS-1$ //$NON-NLS-2$
+        archive.append(Collections.<Entry<String, byte[]>> singletonList(
+                new SimpleEntry<>("a.A", bytes("a.A2")))); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // the archive is mapped again after classes have been appended
+        assertContent(archive, "a.A", "a.A2"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(archive, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertNull(archive.read("a.C")); //$NON-NLS-1$
+
+        final CacheArchive reopened = new CacheArchive(cacheDirectory);
+        assertContent(reopened, "a.A", "a.A2"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(reopened, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testMissDoesNotRemap() throws IOException {
+        new CacheArchive(cacheDirectory).append(classes("a.A")); //$NON-NLS-1$
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        assertContent(archive, "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // appended by another instance, e.g. another process
+        new CacheArchive(cacheDirectory).append(classes("a.B")); //$NON-NLS-1$
+        Assert.assertNull(archive.read("a.B")); //$NON-NLS-1$
+        assertContent(new CacheArchive(cacheDirectory), "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testTornFrameIsSkipped() throws IOException {
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        archive.append(classes("a.A")); //$NON-NLS-1$
+
+        // a crash while appending leaves a frame without a trailer behind
+        archive.append(classes("a.B", "a.C")); //$NON-NLS-1$ //$NON-NLS-2$
+        final byte[] content = Files.readAllBytes(archiveFile.toPath());
+        final byte[] torn = Arrays.copyOf(content, content.length - 9);
+        Files.write(archiveFile.toPath(), torn);
+
+        CacheArchive reader = new CacheArchive(cacheDirectory);
+        assertContent(reader, "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertNull(reader.read("a.B")); //$NON-NLS-1$
+
+        // the next append starts after the torn frame
+        reader.append(classes("a.D")); //$NON-NLS-1$
+        Assert.assertTrue("Archive has been truncated", //$NON-NLS-1$
+                archiveFile.length() > torn.length);
+        Assert.assertArrayEquals("Archive has been overwritten", torn, //$NON-NLS-1$
+                Arrays.copyOf(Files.readAllBytes(archiveFile.toPath()),
+                        torn.length));
+
+        reader = new CacheArchive(cacheDirectory);
+        assertContent(reader, "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(reader, "a.D", "a.D"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertNull(reader.read("a.B")); //$NON-NLS-1$
+        Assert.assertNull(reader.read("a.C")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testTornRecordHeaderIsSkipped() throws IOException {
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        archive.append(classes("a.A")); //$NON-NLS-1$
+        // only part of the next frame header made it to disk
+        try (OutputStream out = new FileOutputStream(archiveFile, true)) {
+            out.write(new byte[] { 0x57, 0x43, 0x46 });
+        }
+        archive.append(classes("a.B")); //$NON-NLS-1$
+
+        final CacheArchive reader = new CacheArchive(cacheDirectory);
+        assertContent(reader, "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(reader, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testInvalidArchiveIsReplaced() throws IOException {
+        cacheDirectory.mkdirs();
+        Files.write(archiveFile.toPath(), bytes("not an archive")); //$NON-NLS-1$
+        Assert.assertNull(new CacheArchive(cacheDirectory).read("a.A")); //$NON-NLS-1$
+
+        new CacheArchive(cacheDirectory).append(classes("a.A")); //$NON-NLS-1$
+        assertContent(new CacheArchive(cacheDirectory), "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testWriterAppendsEachArchive() throws IOException {
+        final File otherDirectory = new File(cacheDirectory.getParentFile(),
+                "2-0"); //$NON-NLS-1$
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        final CacheArchive other = new CacheArchive(otherDirectory);
+        final List<CacheItem> items = new ArrayList<>();
+        items.add(new CacheItem(bytes("a.A"), archive, "a.A")); //$NON-NLS-1$ //$NON-NLS-2$
+        items.add(new CacheItem(bytes("b.A"), other, "b.A", //$NON-NLS-1$ //$NON-NLS-2$
+                Collections.singletonMap("b.A$Generated", //$NON-NLS-1$
+                        bytes("b.A$Generated")))); //$NON-NLS-1$
+        items.add(new CacheItem(bytes("a.B"), archive, "a.B")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        new CacheWriter(new ArrayBlockingQueue<CacheItem>(1)).store(items);
+
+        assertContent(archive, "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(archive, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(other, "b.A", "b.A"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(other, "b.A$Generated", "b.A$Generated"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertNull(other.read("a.A")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCompactDropsSupersededRecords() throws IOException {
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        archive.append(classes("a.A", "a.B")); //$NON-NLS-1$ //$NON-NLS-2$
+        // a class cached in the per-class format
+        final File legacyFile = new File(cacheDirectory, "a.Legacy"); //$NON-NLS-1$
+        Files.write(legacyFile.toPath(), bytes("a.Legacy")); //$NON-NLS-1$
+        Assert.assertTrue("Legacy files not looked for", //$NON-NLS-1$
+                archive.needsCompaction());
+        archive.compact();
+        Assert.assertFalse("Legacy file not deleted", legacyFile.exists()); //$NON-NLS-1$
+        Assert.assertFalse("Nothing superseded", archive.needsCompaction()); //$NON-NLS-1$
+
+        for (int i = 0; i < 3; i++) {
+            archive.append(Collections.<Entry<String, byte[]>> singletonList(
+                    new SimpleEntry<>("a.A", bytes("a.A" + i)))); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        final CacheArchive reader = new CacheArchive(cacheDirectory);
+        assertContent(reader, "a.A", "a.A2"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertTrue("Superseded records not detected", //$NON-NLS-1$
+                archive.needsCompaction());
+        final long length = archiveFile.length();
+        archive.compact();
+        Assert.assertTrue("Archive not compacted", //$NON-NLS-1$
+                archiveFile.length() < length);
+        Assert.assertFalse("Still superseded records", //$NON-NLS-1$
+                archive.needsCompaction());
+        Assert.assertEquals("Temporary archive left behind", 1, //$NON-NLS-1$
+                cacheDirectory.list().length);
+
+        assertContent(archive, "a.A", "a.A2"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(archive, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+        final CacheArchive reopened = new CacheArchive(cacheDirectory);
+        assertContent(reopened, "a.A", "a.A2"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(reopened, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // appends continue after the compacted records
+        archive.append(classes("a.C")); //$NON-NLS-1$
+        assertContent(archive, "a.C", "a.C"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(archive, "a.A", "a.A2"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testWriterCompacts() throws IOException {
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        final CacheWriter writer = new CacheWriter(
+                new ArrayBlockingQueue<CacheItem>(1));
+        for (int i = 0; i < 5; i++) {
+            writer.store(new CacheItem(bytes("a.A" + i), archive, "a.A")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        Assert.assertFalse("Archive not compacted", archive.needsCompaction()); //$NON-NLS-1$
+        assertContent(new CacheArchive(cacheDirectory), "a.A", "a.A4"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testTornFrameResynchronizes() throws IOException {
+        final CacheArchive archive = new CacheArchive(cacheDirectory);
+        archive.append(classes("a.A")); //$NON-NLS-1$
+        // a frame header followed by garbage instead of its records
+        try (OutputStream out = new FileOutputStream(archiveFile, true)) {
+            out.write(new byte[] { 0x57, 0x43, 0x46, 0x2B, 0, 0, 0, 64 });
+            out.write(new byte[100]);
+        }
+        archive.append(classes("a.B")); //$NON-NLS-1$
+
+        final CacheArchive reader = new CacheArchive(cacheDirectory);
+        assertContent(reader, "a.A", "a.A"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertContent(reader, "a.B", "a.B"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static void assertContent(final CacheArchive archive,
+            final String name, final String expected) throws IOException {
+        final byte[] content = archive.read(name);
+        Assert.assertNotNull("Not found: " + name, content); //$NON-NLS-1$
+        Assert.assertEquals(expected, new String(content,
+                StandardCharsets.UTF_8));
+    }
+
+    private static List<Entry<String, byte[]>> classes(final String... names) {
+        final List<Entry<String, byte[]>> result = new ArrayList<>();
+        for (final String name : names) {
+            result.add(new SimpleEntry<>(name, bytes(name)));
+        }
+        return result;
+    }
+
+    private static byte[] bytes(final String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
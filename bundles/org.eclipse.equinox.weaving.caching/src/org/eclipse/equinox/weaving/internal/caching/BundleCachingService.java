@@ -17,9 +17,7 @@
 package org.eclipse.equinox.weaving.internal.caching;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URL;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -44,10 +42,10 @@ import org.osgi.framework.BundleContext;
  */
 public class BundleCachingService implements ICachingService {
 
-    private static final int READ_BUFFER_SIZE = 8 * 1024;
-
     private final Bundle bundle;
 
+    private CacheArchive cacheArchive;
+
     private File cacheDirectory;
 
     private final String cacheKey;
@@ -89,6 +87,8 @@ public class BundleCachingService implements ICachingService {
             final String bundleCacheDir = bundle.getBundleId()
                     + "-" + bundle.getLastModified(); //$NON-NLS-1$
             cacheDirectory = new File(dataFile, bundleCacheDir);
+            cacheArchive = new CacheArchive(cacheDirectory);
+            deleteStaleCaches(dataFile, bundle.getBundleId(), bundleCacheDir);
         } else {
             Log.error("Cannot initialize cache!", null); //$NON-NLS-1$
         }
@@ -116,9 +116,8 @@ public class BundleCachingService implements ICachingService {
         byte[] storedClass = null;
         boolean isCached = false;
 
-        if (cacheDirectory != null) {
-            final File cachedBytecodeFile = new File(cacheDirectory, name);
-            storedClass = read(name, cachedBytecodeFile);
+        if (cacheArchive != null) {
+            storedClass = read(name);
             isCached = storedClass != null;
         }
 
@@ -154,8 +153,8 @@ public class BundleCachingService implements ICachingService {
             return false;
         }
 
-        final CacheItem item = new CacheItem(classbytes, cacheDirectory
-                .getAbsolutePath(), clazz.getName());
+        final CacheItem item = new CacheItem(classbytes, cacheArchive, clazz
+                .getName());
 
         return this.cacheWriterQueue.offer(item);
     }
@@ -168,8 +167,8 @@ public class BundleCachingService implements ICachingService {
             final URL sourceFileUrl, final Class<?> clazz,
             final byte[] classbytes, final Map<String, byte[]> generatedClasses) {
 
-        final CacheItem item = new CacheItem(classbytes, cacheDirectory
-                .getAbsolutePath(), clazz.getName(), generatedClasses);
+        final CacheItem item = new CacheItem(classbytes, cacheArchive, clazz
+                .getName(), generatedClasses);
 
         return this.cacheWriterQueue.offer(item);
     }
@@ -205,63 +204,60 @@ public class BundleCachingService implements ICachingService {
         return new String(result);
     }
 
-    private byte[] read(final String name, final File file) {
-        int length = (int) file.length();
-
-        InputStream in = null;
+    private byte[] read(final String name) {
         try {
-            byte[] classbytes = new byte[length];
-            int bytesread = 0;
-            int readcount;
-
-            in = new FileInputStream(file);
-
-            if (length > 0) {
-                classbytes = new byte[length];
-                for (; bytesread < length; bytesread += readcount) {
-                    readcount = in.read(classbytes, bytesread, length
-                            - bytesread);
-                    if (readcount <= 0) /* if we didn't read anything */
-                    break; /* leave the loop */
-                }
-            } else /* BundleEntry does not know its own length! */{
-                length = READ_BUFFER_SIZE;
-                classbytes = new byte[length];
-                readloop: while (true) {
-                    for (; bytesread < length; bytesread += readcount) {
-                        readcount = in.read(classbytes, bytesread, length
-                                - bytesread);
-                        if (readcount <= 0) /* if we didn't read anything */
-                        break readloop; /* leave the loop */
-                    }
-                    final byte[] oldbytes = classbytes;
-                    length += READ_BUFFER_SIZE;
-                    classbytes = new byte[length];
-                    System.arraycopy(oldbytes, 0, classbytes, 0, bytesread);
-                }
-            }
-            if (classbytes.length > bytesread) {
-                final byte[] oldbytes = classbytes;
-                classbytes = new byte[bytesread];
-                System.arraycopy(oldbytes, 0, classbytes, 0, bytesread);
-            }
-            return classbytes;
+            return cacheArchive.read(name);
         } catch (final IOException e) {
             Log.debug(MessageFormat.format(
                     "for [{0}]: Cannot read [1] from cache!", bundle //$NON-NLS-1$
                             .getSymbolicName(), name));
             return null;
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (final IOException e) {
-                    Log.error(MessageFormat.format(
-                            "for [{0}]: Cannot close cache file for [1]!", //$NON-NLS-1$
-                            bundle.getSymbolicName(), name), e);
+        }
+    }
+
+    /**
+     * Deletes the caches of previous installations or updates of the bundle
+     * with the given id, i.e. all cache directories of the bundle except the
+     * current one.
+     */
+    private void deleteStaleCaches(final File dataFile, final long bundleId,
+            final String currentCacheDir) {
+        final String prefix = bundleId + "-"; //$NON-NLS-1$
+        final File[] cacheDirs = dataFile.listFiles();
+        if (cacheDirs == null) {
+            return;
+        }
+        for (final File cacheDir : cacheDirs) {
+            final String cacheDirName = cacheDir.getName();
+            if (cacheDirName.startsWith(prefix)
+                    && !cacheDirName.equals(currentCacheDir)) {
+                if (Log.isDebugEnabled()) {
+                    Log.debug(MessageFormat.format(
+                            "for [{0}]: Deleting stale cache {1}", bundle //$NON-NLS-1$
+                                    .getSymbolicName(), cacheDirName));
                 }
+                delete(cacheDir);
+            }
+        }
+    }
+
+    /**
+     * Deletes the cache of this bundle, e.g. when the bundle is uninstalled.
+     */
+    void deleteCache() {
+        if (cacheDirectory != null) {
+            delete(cacheDirectory);
+        }
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                delete(child);
             }
         }
+        file.delete();
     }
 
 }
@@ -0,0 +1,500 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Martin Lippert and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0.
+ *
+ * Contributors:
+ *     Martin Lippert - packed per-bundle cache archive
+ *******************************************************************************/
+
+package org.eclipse.equinox.weaving.internal.caching;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A CacheArchive stores all cached classes of a bundle in a single append-only
+ * file inside the cache directory of the bundle. The archive consists of a
+ * header followed by frames, one for each append, of the form
+ * <code>[int FRAME][int length][records][int length][int COMMIT]</code>. Each
+ * record has the form <code>[int nameLength][name (UTF-8)][int length][bytes]</code>.
+ * A record written later wins over an earlier one with the same name.
+ * <p>
+ * The archive is never truncated or overwritten in place, so it can be
+ * appended while it is mapped by readers. The trailer of a frame is only
+ * written once the records are on disk; a frame without a valid trailer (e.g.
+ * after a crash) is skipped when the archive is read, reading resumes at the
+ * next frame header and the next append starts after it.
+ * </p>
+ * <p>
+ * Readers memory-map the archive and build an index of the record offsets by
+ * walking the frame and record headers once, so looking up a class does not
+ * require any file system access. The archive is only mapped again after
+ * classes have been appended through this instance.
+ * </p>
+ * <p>
+ * Once records superseded by later appends take up more space than the live
+ * records, the archive is compacted: the live records are written to a new
+ * archive which then replaces the old one. Readers which still map the old
+ * archive keep reading it. Compacting also deletes the per-class files left
+ * behind in the cache directory by the previous cache format.
+ * </p>
+ *
+ * @author Martin Lippert
+ */
+public class CacheArchive {
+
+    /**
+     * The name of the archive file inside the cache directory of a bundle
+     */
+    public static final String ARCHIVE_NAME = "classes.archive"; //$NON-NLS-1$
+
+    private static final int MAGIC = 0x57434132; // "WCA2"
+
+    private static final int FRAME = 0x5743462B; // "WCF+"
+
+    private static final int COMMIT = 0x5743432E; // "WCC."
+
+    private static final int HEADER_LENGTH = 4;
+
+    private static final int FRAME_HEADER_LENGTH = 8;
+
+    private static final int FRAME_TRAILER_LENGTH = 8;
+
+    // the length of the name length and the bytes length of a record
+    private static final int RECORD_HEADER_LENGTH = 8;
+
+    private static final String COMPACTED_SUFFIX = ".compacted"; //$NON-NLS-1$
+
+    private static final Index EMPTY_INDEX = new Index(null,
+            Collections.<String, long[]> emptyMap(), HEADER_LENGTH, 0, 0, null);
+
+    private final File cacheDirectory;
+
+    private final File archiveFile;
+
+    private volatile Index index;
+
+    // set when classes have been appended since the archive was mapped
+    private volatile boolean appended;
+
+    // set once the files of the per-class cache format have been looked for
+    private boolean legacyFilesChecked;
+
+    // cleared if the archive cannot be replaced, e.g. while it is mapped on
+    // platforms which do not allow this
+    private boolean replaceable = true;
+
+    /**
+     * Create an archive in the given cache directory
+     *
+     * @param cacheDirectory The cache directory of the bundle
+     */
+    public CacheArchive(final File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        this.archiveFile = new File(cacheDirectory, ARCHIVE_NAME);
+    }
+
+    /**
+     * Reads the bytes stored for the given class name.
+     *
+     * @param name The name of the class
+     * @return the stored bytes or null if the archive does not contain the
+     *         class
+     * @throws IOException if the archive cannot be read
+     */
+    public byte[] read(final String name) throws IOException {
+        Index current = index;
+        if (current == null) {
+            current = remap();
+        }
+        long[] location = current.entries.get(name);
+        if (location == null && appended) {
+            // classes have been appended since the archive was mapped
+            current = remap();
+            location = current.entries.get(name);
+        }
+        if (location == null) {
+            return null;
+        }
+        final ByteBuffer buffer = current.buffer.duplicate();
+        buffer.position((int) location[0]);
+        final byte[] bytes = new byte[(int) location[1]];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private synchronized Index remap() throws IOException {
+        final Index current = index;
+        if (current != null && !appended) {
+            return current;
+        }
+        appended = false;
+        if (!archiveFile.isFile()) {
+            index = EMPTY_INDEX;
+            return EMPTY_INDEX;
+        }
+        // identifies the file, the archive is replaced when it is compacted
+        final Object fileKey = Files.readAttributes(archiveFile.toPath(),
+                BasicFileAttributes.class).fileKey();
+        try (RandomAccessFile raf = new RandomAccessFile(archiveFile, "r"); //$NON-NLS-1$
+                FileChannel channel = raf.getChannel()) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Archive too large: " + archiveFile); //$NON-NLS-1$
+            }
+            final MappedByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, size);
+            if (!hasValidHeader(buffer)) {
+                index = EMPTY_INDEX;
+                return EMPTY_INDEX;
+            }
+            // frames are never modified, continue after the last indexed one
+            // unless the archive has been compacted in the meantime
+            final boolean replaced = current == null || fileKey == null
+                    || !fileKey.equals(current.fileKey);
+            final Index result = scan(buffer, replaced ? EMPTY_INDEX
+                    : current, fileKey);
+            index = result;
+            return result;
+        }
+    }
+
+    private static boolean hasValidHeader(final ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_LENGTH && buffer.getInt(0) == MAGIC;
+    }
+
+    /**
+     * Walks the frames of the given archive content following the frames
+     * already indexed by the given index and collects the location of each
+     * record. Incomplete frames are skipped by looking for the start of the
+     * next frame.
+     *
+     * @return the index of all complete frames
+     */
+    static Index scan(final ByteBuffer buffer, final Index previous,
+            final Object fileKey) {
+        final Map<String, long[]> entries = new HashMap<>(previous.entries);
+        long live = previous.live;
+        long superseded = previous.superseded;
+        int end = previous.end;
+        int position = end;
+        final int limit = buffer.limit();
+        while (position <= limit - FRAME_HEADER_LENGTH - FRAME_TRAILER_LENGTH) {
+            final Map<String, long[]> records = new HashMap<>();
+            final int frameEnd = scanFrame(buffer, position, records);
+            if (frameEnd < 0) {
+                // a torn frame, resynchronize at the next frame
+                position = findFrame(buffer, position + 1);
+                continue;
+            }
+            for (final Map.Entry<String, long[]> record : records.entrySet()) {
+                final long[] replaced = entries.put(record.getKey(),
+                        record.getValue());
+                live += recordLength(record.getValue());
+                if (replaced != null) {
+                    live -= recordLength(replaced);
+                    superseded += recordLength(replaced);
+                }
+            }
+            position = frameEnd;
+            end = frameEnd;
+        }
+        return new Index(buffer, entries, end, live, superseded, fileKey);
+    }
+
+    /**
+     * Returns the position of the next frame header at or after the given
+     * position, or the limit of the buffer if there is none.
+     */
+    private static int findFrame(final ByteBuffer buffer, int position) {
+        final byte first = (byte) (FRAME >>> 24);
+        final int last = buffer.limit() - 4;
+        for (; position <= last; position++) {
+            if (buffer.get(position) == first
+                    && buffer.getInt(position) == FRAME) {
+                return position;
+            }
+        }
+        return buffer.limit();
+    }
+
+    /**
+     * Collects the location of the records of the frame at the given position
+     * if the frame is complete. Each location consists of the position and
+     * length of the bytes and the position of the record.
+     *
+     * @return the position after the frame or -1 if there is no complete frame
+     *         at the given position
+     */
+    private static int scanFrame(final ByteBuffer buffer, final int position,
+            final Map<String, long[]> records) {
+        if (buffer.getInt(position) != FRAME) {
+            return -1;
+        }
+        final int length = buffer.getInt(position + 4);
+        final int start = position + FRAME_HEADER_LENGTH;
+        if (length < 0
+                || length > buffer.limit() - start - FRAME_TRAILER_LENGTH) {
+            return -1;
+        }
+        final int end = start + length;
+        if (buffer.getInt(end) != length || buffer.getInt(end + 4) != COMMIT) {
+            return -1;
+        }
+        int recordPosition = start;
+        while (recordPosition < end) {
+            final int recordStart = recordPosition;
+            if (end - recordPosition < 4) {
+                return -1;
+            }
+            final int nameLength = buffer.getInt(recordPosition);
+            recordPosition += 4;
+            if (nameLength <= 0 || nameLength > end - recordPosition - 4) {
+                return -1;
+            }
+            final byte[] nameBytes = new byte[nameLength];
+            final ByteBuffer nameBuffer = buffer.duplicate();
+            nameBuffer.position(recordPosition);
+            nameBuffer.get(nameBytes);
+            recordPosition += nameLength;
+            final int recordLength = buffer.getInt(recordPosition);
+            recordPosition += 4;
+            if (recordLength < 0 || recordLength > end - recordPosition) {
+                return -1;
+            }
+            records.put(new String(nameBytes, StandardCharsets.UTF_8),
+                    new long[] { recordPosition, recordLength, recordStart });
+            recordPosition += recordLength;
+        }
+        return end + FRAME_TRAILER_LENGTH;
+    }
+
+    private static long recordLength(final long[] location) {
+        return location[0] - location[2] + location[1];
+    }
+
+    /**
+     * Appends the given classes to the archive as one frame. The archive is
+     * created if it does not exist yet. The frame is only valid once the
+     * classes have been forced to disk.
+     *
+     * @param classes The classes to append (name and bytes)
+     * @throws IOException if an error occurs while writing to the archive
+     */
+    public synchronized void append(
+            final List<Map.Entry<String, byte[]>> classes) throws IOException {
+        if (!cacheDirectory.exists()) {
+            cacheDirectory.mkdirs();
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(FRAME);
+        out.writeInt(0); // the length of the records, set below
+        for (final Map.Entry<String, byte[]> entry : classes) {
+            final byte[] name = entry.getKey().getBytes(
+                    StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+        }
+        out.flush();
+        final ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        final int length = frame.limit() - FRAME_HEADER_LENGTH;
+        frame.putInt(4, length);
+        final ByteBuffer trailer = ByteBuffer.allocate(FRAME_TRAILER_LENGTH);
+        trailer.putInt(length).putInt(COMMIT).flip();
+
+        if (archiveFile.length() > 0 && !hasValidHeader(archiveFile)) {
+            // not an archive of this format; it cannot be appended to
+            if (!archiveFile.delete()) {
+                throw new IOException("Cannot replace invalid archive: " //$NON-NLS-1$
+                        + archiveFile);
+            }
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(archiveFile, "rw")) { //$NON-NLS-1$
+            final FileChannel channel = raf.getChannel();
+            long position = channel.size();
+            if (position == 0) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                header.putInt(MAGIC).flip();
+                writeFully(channel, header, 0);
+                position = HEADER_LENGTH;
+            }
+            // always append, a torn frame at the end is skipped by readers
+            writeFully(channel, frame, position);
+            channel.force(false);
+            writeFully(channel, trailer, position + frame.limit());
+            channel.force(false);
+        } finally {
+            appended = true;
+        }
+    }
+
+    /**
+     * @return true if the superseded records take up more space than the live
+     *         records or the cache directory may still contain files of the
+     *         per-class cache format
+     * @throws IOException if the archive cannot be read
+     */
+    public boolean needsCompaction() throws IOException {
+        synchronized (this) {
+            if (!legacyFilesChecked) {
+                return true;
+            }
+            if (!replaceable) {
+                return false;
+            }
+        }
+        final Index current = remap();
+        return current.superseded > current.live;
+    }
+
+    /**
+     * Writes the live records of the archive to a new archive which replaces
+     * the current one and deletes the files of the per-class cache format
+     * from the cache directory. Readers which have mapped the current archive
+     * keep reading it; this instance maps the new archive on the next lookup.
+     *
+     * @throws IOException if an error occurs while writing the new archive
+     */
+    public synchronized void compact() throws IOException {
+        deleteLegacyFiles();
+        // pick up frames appended by other instances before copying
+        appended = true;
+        final Index current = remap();
+        if (current.superseded == 0 || !replaceable) {
+            return;
+        }
+        final List<long[]> records = new ArrayList<>(current.entries.values());
+        // keep the records in the order they were appended
+        Collections.sort(records, new Comparator<long[]>() {
+
+            @Override
+            public int compare(final long[] l1, final long[] l2) {
+                return Long.compare(l1[2], l2[2]);
+            }
+        });
+        final long length = current.live;
+        final File compacted = new File(cacheDirectory, ARCHIVE_NAME
+                + COMPACTED_SUFFIX);
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(compacted, "rw")) { //$NON-NLS-1$
+                raf.setLength(0);
+                final FileChannel channel = raf.getChannel();
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH
+                        + FRAME_HEADER_LENGTH);
+                header.putInt(MAGIC).putInt(FRAME).putInt((int) length).flip();
+                long position = writeFully(channel, header, 0);
+                for (final long[] location : records) {
+                    final ByteBuffer record = current.buffer.duplicate();
+                    record.limit((int) (location[0] + location[1]));
+                    record.position((int) location[2]);
+                    position = writeFully(channel, record, position);
+                }
+                final ByteBuffer trailer = ByteBuffer
+                        .allocate(FRAME_TRAILER_LENGTH);
+                trailer.putInt((int) length).putInt(COMMIT).flip();
+                writeFully(channel, trailer, position);
+                channel.force(false);
+            }
+            try {
+                Files.move(compacted.toPath(), archiveFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException e) {
+                // keep appending to the current archive
+                replaceable = false;
+                throw e;
+            }
+        } finally {
+            compacted.delete();
+        }
+        // the record positions have changed, map the new archive from scratch
+        index = null;
+        appended = false;
+    }
+
+    private void deleteLegacyFiles() {
+        if (legacyFilesChecked) {
+            return;
+        }
+        legacyFilesChecked = true;
+        final File[] files = cacheDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            if (file.isFile() && !file.getName().equals(ARCHIVE_NAME)) {
+                file.delete();
+            }
+        }
+    }
+
+    private static boolean hasValidHeader(final File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+            return raf.length() >= HEADER_LENGTH && raf.readInt() == MAGIC;
+        }
+    }
+
+    private static long writeFully(final FileChannel channel,
+            final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    private static final class Index {
+
+        final ByteBuffer buffer;
+
+        final Map<String, long[]> entries;
+
+        // the position after the last complete frame
+        final int end;
+
+        // the length of the records which are not replaced by later records
+        final long live;
+
+        // the length of the records replaced by later records
+        final long superseded;
+
+        // the key of the mapped file, may be null
+        final Object fileKey;
+
+        Index(final ByteBuffer buffer, final Map<String, long[]> entries,
+                final int end, final long live, final long superseded,
+                final Object fileKey) {
+            this.buffer = buffer;
+            this.entries = entries;
+            this.end = end;
+            this.live = live;
+            this.superseded = superseded;
+            this.fileKey = fileKey;
+        }
+    }
+
+}
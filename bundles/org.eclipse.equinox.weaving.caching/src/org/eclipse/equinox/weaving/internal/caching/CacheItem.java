@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009 Martin Lippert and others.
+ * Copyright (c) 2009, 2026 Martin Lippert and others.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,9 +25,9 @@ import java.util.Map;
  */
 public class CacheItem {
 
-    private final byte[] cachedBytes;
+    private final CacheArchive archive;
 
-    private final String directory;
+    private final byte[] cachedBytes;
 
     private final Map<String, byte[]> generatedClasses;
 
@@ -37,27 +37,27 @@ public class CacheItem {
      * Create a new item to be cached
      * 
      * @param cachedBytes The bytes to be written to the cache
-     * @param directory The directory to where the bytes should be stored
-     * @param name The name of the file to store the bytes in
+     * @param archive The archive to which the bytes should be appended
+     * @param name The name under which the bytes are stored
      */
-    public CacheItem(final byte[] cachedBytes, final String directory,
+    public CacheItem(final byte[] cachedBytes, final CacheArchive archive,
             final String name) {
-        this(cachedBytes, directory, name, null);
+        this(cachedBytes, archive, name, null);
     }
 
     /**
      * Create a new item to be cached
      * 
      * @param cachedBytes The bytes to be written to the cache
-     * @param directory The directory to where the bytes should be stored
-     * @param name The name of the file to store the bytes in
+     * @param archive The archive to which the bytes should be appended
+     * @param name The name under which the bytes are stored
      * @param generatedClasses The generated classes that should be stored
      *            together with this item (className -> bytecode)
      */
-    public CacheItem(final byte[] cachedBytes, final String directory,
+    public CacheItem(final byte[] cachedBytes, final CacheArchive archive,
             final String name, final Map<String, byte[]> generatedClasses) {
         this.cachedBytes = cachedBytes;
-        this.directory = directory;
+        this.archive = archive;
         this.name = name;
         this.generatedClasses = generatedClasses;
     }
@@ -70,10 +70,10 @@ public class CacheItem {
     }
 
     /**
-     * @return The directory in which the item should be stored
+     * @return The archive to which the item should be appended
      */
-    public String getDirectory() {
-        return directory;
+    public CacheArchive getArchive() {
+        return archive;
     }
 
     /**
@@ -86,7 +86,7 @@ public class CacheItem {
     }
 
     /**
-     * @return The name of the file to be written to the cache
+     * @return The name under which the bytes are stored
      */
     public String getName() {
         return name;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009 Martin Lippert and others.
+ * Copyright (c) 2009, 2026 Martin Lippert and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,24 +15,28 @@
 
 package org.eclipse.equinox.weaving.internal.caching;
 
-import java.io.BufferedOutputStream;
-import java.io.DataOutputStream;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.BlockingQueue;
 
 /**
  * The CacheWriter is responsible to store cache items to disk. The cache items
- * are read from the given queue.
+ * are read from the given queue. All items available in the queue are written
+ * as one batch, appending the classes of each bundle to its
+ * {@link CacheArchive} with a single write. Archives are compacted by the
+ * writer once they need it.
  *
  * @author Martin Lippert
  */
 public class CacheWriter {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final Thread writerThread;
 
     /**
@@ -44,16 +48,19 @@ public class CacheWriter {
     public CacheWriter(final BlockingQueue<CacheItem> cacheQueue) {
         this.writerThread = new Thread(new Runnable() {
 
-	    @Override
+            @Override
             public void run() {
+                final List<CacheItem> batch = new ArrayList<>();
                 try {
                     while (true) {
-                        final CacheItem item = cacheQueue.take();
+                        batch.add(cacheQueue.take());
+                        cacheQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
                         try {
-                            store(item);
+                            store(batch);
                         } catch (final IOException ioe) {
                             // storing in cache failed, do nothing
                         }
+                        batch.clear();
                     }
                 } catch (final InterruptedException e) {
                 }
@@ -86,53 +93,54 @@ public class CacheWriter {
      * @throws IOException if an error occurs while writing to the cache
      */
     protected void store(final CacheItem item) throws IOException {
-
-        // write out generated classes first
-        final Map<String, byte[]> generatedClasses = item.getGeneratedClasses();
-        if (generatedClasses != null) {
-            for (final Entry<String, byte[]> entry : generatedClasses
-                    .entrySet()) {
-                final String className = entry.getKey();
-                final byte[] classBytes = entry.getValue();
-                storeSingleClass(className, classBytes, item.getDirectory());
-            }
-        }
-
-        // write out the woven class
-        storeSingleClass(item.getName(), item.getCachedBytes(),
-                item.getDirectory());
+        final List<CacheItem> batch = new ArrayList<>(1);
+        batch.add(item);
+        store(batch);
     }
 
-    private void storeSingleClass(final String className,
-            final byte[] classBytes, final String cacheDirectory)
-            throws FileNotFoundException, IOException {
-        DataOutputStream outCache = null;
-        FileOutputStream fosCache = null;
-        try {
-            final File directory = new File(cacheDirectory);
-            if (!directory.exists()) {
-                directory.mkdirs();
+    /**
+     * store the given cache items to disk, appending the classes of each
+     * archive with a single write
+     *
+     * @param items the cache items to store to disc
+     * @throws IOException if an error occurs while writing to the cache
+     */
+    protected void store(final List<CacheItem> items) throws IOException {
+        final Map<CacheArchive, List<Entry<String, byte[]>>> byArchive = new LinkedHashMap<>();
+        for (final CacheItem item : items) {
+            List<Entry<String, byte[]>> classes = byArchive.get(item
+                    .getArchive());
+            if (classes == null) {
+                classes = new ArrayList<>();
+                byArchive.put(item.getArchive(), classes);
             }
+            // write out generated classes first
+            final Map<String, byte[]> generatedClasses = item
+                    .getGeneratedClasses();
+            if (generatedClasses != null) {
+                classes.addAll(generatedClasses.entrySet());
+            }
+            // then the woven class
+            classes.add(new SimpleEntry<>(item.getName(), item
+                    .getCachedBytes()));
+        }
 
-            fosCache = new FileOutputStream(new File(directory, className));
-            outCache = new DataOutputStream(new BufferedOutputStream(fosCache));
-
-            outCache.write(classBytes);
-        } finally {
-            if (outCache != null) {
-                try {
-                    outCache.flush();
-                    fosCache.getFD().sync();
-                } catch (final IOException e) {
-                    // do nothing, we tried
-                }
-                try {
-                    outCache.close();
-                } catch (final IOException e) {
-                    // do nothing
+        IOException failure = null;
+        for (final Entry<CacheArchive, List<Entry<String, byte[]>>> entry : byArchive
+                .entrySet()) {
+            final CacheArchive archive = entry.getKey();
+            try {
+                archive.append(entry.getValue());
+                if (archive.needsCompaction()) {
+                    archive.compact();
                 }
+            } catch (final IOException e) {
+                failure = e;
             }
         }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
 }
@@ -63,7 +63,12 @@ public class CachingServiceFactory implements ICachingServiceFactory {
 
             public void bundleChanged(final BundleEvent event) {
                 if (event.getType() == BundleEvent.UNINSTALLED) {
-                    stopBundleCachingService(event);
+                    final ICachingService bundleCachingService = stopBundleCachingService(
+                            event);
+                    if (bundleCachingService instanceof BundleCachingService) {
+                        ((BundleCachingService) bundleCachingService)
+                                .deleteCache();
+                    }
                 } else if (event.getType() == BundleEvent.UPDATED) {
                     stopBundleCachingService(event);
                 }
@@ -136,8 +141,9 @@ public class CachingServiceFactory implements ICachingServiceFactory {
      * 
      * @param event The event contains the information for which bundle to stop
      *            the caching service
+     * @return the stopped caching service or null if there was none
      */
-    protected void stopBundleCachingService(final BundleEvent event) {
+    protected ICachingService stopBundleCachingService(final BundleEvent event) {
         final String cacheId = getCacheId(event.getBundle());
         final ICachingService bundleCachingService = bundleCachingServices
                 .get(cacheId);
@@ -145,6 +151,7 @@ public class CachingServiceFactory implements ICachingServiceFactory {
             bundleCachingService.stop();
             bundleCachingServices.remove(cacheId);
         }
+        return bundleCachingService;
     }
 
 }
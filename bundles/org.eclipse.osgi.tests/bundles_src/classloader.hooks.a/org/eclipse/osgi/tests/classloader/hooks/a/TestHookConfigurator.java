@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2018 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.osgi.tests.classloader.hooks.a;
 
 import java.net.URL;
 import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import org.eclipse.osgi.container.Module;
 import org.eclipse.osgi.internal.hookregistry.ClassLoaderHook;
 import org.eclipse.osgi.internal.hookregistry.HookConfigurator;
@@ -31,6 +33,11 @@ public class TestHookConfigurator implements HookConfigurator {
 	private static final String FILTER_CLASS_PATHS = "classloader.hooks.a.filter.class.paths";
 	private static final String PREVENT_RESOURCE_LOAD_PRE = "classloader.hooks.a.fail.resource.load.pre";
 	private static final String PREVENT_RESOURCE_LOAD_POST = "classloader.hooks.a.fail.resource.load.post";
+	private static final String PRELOAD_THREAD_NAME = "Equinox class preload thread";
+	/**
+	 * The names of the classes defined by the class preload threads
+	 */
+	public static final BlockingQueue<String> preloadedClasses = new LinkedBlockingQueue<>();
 	final ThreadLocal<Boolean> doingRecursionLoad = new ThreadLocal<Boolean>() {
 		@Override
 		protected Boolean initialValue() {
@@ -74,6 +81,13 @@ public class TestHookConfigurator implements HookConfigurator {
 				return null;
 			}
 
+			@Override
+			public void recordClassDefine(String name, Class<?> clazz, byte[] classbytes, ClasspathEntry classpathEntry, BundleEntry entry, ClasspathManager manager) {
+				if (clazz != null && PRELOAD_THREAD_NAME.equals(Thread.currentThread().getName())) {
+					preloadedClasses.add(name);
+				}
+			}
+
 			@Override
 			public boolean isProcessClassRecursionSupported() {
 				return Boolean.getBoolean(RECURSION_LOAD_SUPPORTED);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2022 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,14 +13,19 @@
 package org.eclipse.equinox.log.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.equinox.log.CacheableLogFilter;
 import org.eclipse.equinox.log.ExtendedLogEntry;
 import org.eclipse.equinox.log.ExtendedLogReaderService;
 import org.eclipse.equinox.log.ExtendedLogService;
+import org.eclipse.equinox.log.LogFilter;
 import org.eclipse.osgi.tests.OSGiTestsActivator;
 import org.junit.After;
 import org.junit.Before;
@@ -201,4 +206,68 @@ public class ExtendedLogServiceTest {
 		if (log.getLogger("test").isLoggable(LogService.LOG_INFO))
 			fail();
 	}
+
+	@Test
+	public void testLoggerIsLoggableCached() throws Exception {
+		AtomicInteger checks = new AtomicInteger();
+		AtomicBoolean loggable = new AtomicBoolean(true);
+		CacheableLogFilter filter = (b, loggerName, logLevel) -> {
+			if (!loggerName.equals("test.cached"))
+				return false;
+			checks.incrementAndGet();
+			return loggable.get();
+		};
+		reader.addLogListener(listener, filter);
+		org.eclipse.equinox.log.Logger logger = log.getLogger("test.cached");
+		assertTrue(logger.isLoggable(LogService.LOG_INFO));
+		assertTrue(logger.isLoggable(LogService.LOG_INFO));
+		assertEquals("Wrong number of checks.", 1, checks.get());
+
+		// the cached result is only invalidated when the listener is added again
+		loggable.set(false);
+		assertTrue(logger.isLoggable(LogService.LOG_INFO));
+		reader.addLogListener(listener, filter);
+		assertFalse(logger.isLoggable(LogService.LOG_INFO));
+		assertEquals("Wrong number of checks.", 2, checks.get());
+
+		// each level is checked separately
+		assertFalse(logger.isLoggable(LogService.LOG_ERROR));
+		assertFalse(logger.isLoggable(100));
+		assertFalse(logger.isLoggable(100));
+		assertEquals("Wrong number of checks.", 5, checks.get());
+
+		// changing the log levels invalidates the cached results
+		Map<String, LogLevel> copyLogLevels = new HashMap<>(rootLoggerContext.getLogLevels());
+		copyLogLevels.put("test.cached", LogLevel.DEBUG);
+		rootLoggerContext.setLogLevels(copyLogLevels);
+		loggable.set(true);
+		assertTrue(logger.isLoggable(LogService.LOG_INFO));
+		assertEquals("Wrong number of checks.", 6, checks.get());
+
+		reader.removeLogListener(listener);
+		assertFalse(logger.isLoggable(LogService.LOG_INFO));
+		assertEquals("Wrong number of checks.", 6, checks.get());
+	}
+
+	@Test
+	public void testLoggerIsLoggableNotCachedForPlainFilter() throws Exception {
+		AtomicInteger checks = new AtomicInteger();
+		AtomicBoolean loggable = new AtomicBoolean(true);
+		LogFilter filter = (b, loggerName, logLevel) -> {
+			if (!loggerName.equals("test.uncached"))
+				return false;
+			checks.incrementAndGet();
+			return loggable.get();
+		};
+		reader.addLogListener(listener, filter);
+		org.eclipse.equinox.log.Logger logger = log.getLogger("test.uncached");
+		assertTrue(logger.isLoggable(LogService.LOG_INFO));
+		assertTrue(logger.isLoggable(LogService.LOG_INFO));
+		assertEquals("Wrong number of checks.", 2, checks.get());
+
+		// a filter which did not opt in to caching sees every check
+		loggable.set(false);
+		assertFalse(logger.isLoggable(LogService.LOG_INFO));
+		assertEquals("Wrong number of checks.", 3, checks.get());
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,11 +24,14 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.Proxy;
@@ -36,6 +39,7 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -89,6 +93,8 @@ import org.eclipse.osgi.service.datalocation.Location;
 import org.eclipse.osgi.service.environment.EnvironmentInfo;
 import org.eclipse.osgi.service.urlconversion.URLConverter;
 import org.eclipse.osgi.storage.url.reference.Handler;
+import org.eclipse.osgi.storagemanager.ManagedOutputStream;
+import org.eclipse.osgi.storagemanager.StorageManager;
 import org.eclipse.osgi.tests.OSGiTestsActivator;
 import org.eclipse.osgi.tests.security.BaseSecurityTest;
 import org.junit.Assert;
@@ -2206,6 +2212,132 @@ public class SystemBundleTests extends AbstractBundleTests {
 		equinox.stop();
 	}
 
+	@Test
+	public void testLocalizedHeadersPersisted() throws Exception {
+		File config = OSGiTestsActivator.getContext().getDataFile(getName()); //$NON-NLS-1$
+		config.mkdirs();
+		Map<String, Object> configuration = new HashMap<>();
+		configuration.put(Constants.FRAMEWORK_STORAGE, config.getAbsolutePath());
+		Equinox equinox = new Equinox(configuration);
+		equinox.start();
+		Bundle b = installLocalizedBundle(equinox, config);
+		assertEquals("Wrong bundle name.", "Localized Name", b.getHeaders().get(Constants.BUNDLE_NAME)); //$NON-NLS-1$ //$NON-NLS-2$
+		stop(equinox);
+
+		// the localization is no longer available from the bundle; the persisted values must be used
+		removeLocalization(config);
+		equinox = new Equinox(configuration);
+		equinox.start();
+		b = equinox.getBundleContext().getBundle(b.getBundleId());
+		assertEquals("Wrong bundle name.", "Localized Name", b.getHeaders().get(Constants.BUNDLE_NAME)); //$NON-NLS-1$ //$NON-NLS-2$
+		stop(equinox);
+	}
+
+	@Test
+	public void testLocalizedHeadersUpgrade() throws Exception {
+		File config = OSGiTestsActivator.getContext().getDataFile(getName()); //$NON-NLS-1$
+		config.mkdirs();
+		Map<String, Object> configuration = new HashMap<>();
+		configuration.put(Constants.FRAMEWORK_STORAGE, config.getAbsolutePath());
+		Equinox equinox = new Equinox(configuration);
+		equinox.start();
+		Bundle b = installLocalizedBundle(equinox, config);
+		assertEquals("Wrong bundle name.", "Localized Name", b.getHeaders().get(Constants.BUNDLE_NAME)); //$NON-NLS-1$ //$NON-NLS-2$
+		stop(equinox);
+
+		// turn the framework.info into one saved before the localized headers were persisted
+		removeStorageHookData(new File(config, "org.eclipse.osgi"), "org.eclipse.osgi.internal.hooks.LocalizedHeadersHookFactory"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		equinox = new Equinox(configuration);
+		equinox.start();
+		b = equinox.getBundleContext().getBundle(b.getBundleId());
+		assertNotNull("Bundle is not installed after the upgrade.", b); //$NON-NLS-1$
+		assertEquals("Wrong bundle state after the upgrade.", Bundle.RESOLVED, b.getState()); //$NON-NLS-1$
+		assertEquals("Wrong bundle name.", "Localized Name", b.getHeaders().get(Constants.BUNDLE_NAME)); //$NON-NLS-1$ //$NON-NLS-2$
+		stop(equinox);
+
+		// the upgraded framework persists the localized headers from now on
+		removeLocalization(config);
+		equinox = new Equinox(configuration);
+		equinox.start();
+		b = equinox.getBundleContext().getBundle(b.getBundleId());
+		assertEquals("Wrong bundle name.", "Localized Name", b.getHeaders().get(Constants.BUNDLE_NAME)); //$NON-NLS-1$ //$NON-NLS-2$
+		stop(equinox);
+	}
+
+	private Bundle installLocalizedBundle(Equinox equinox, File config) throws Exception {
+		Map<String, String> testHeaders = new HashMap<>();
+		testHeaders.put(Constants.BUNDLE_MANIFESTVERSION, "2"); //$NON-NLS-1$
+		testHeaders.put(Constants.BUNDLE_SYMBOLICNAME, getName());
+		testHeaders.put(Constants.BUNDLE_NAME, "%bundleName"); //$NON-NLS-1$
+		File testBundle = createBundle(config, getName(), testHeaders, Collections.singletonMap("OSGI-INF/l10n/bundle.properties", "bundleName=Localized Name")); //$NON-NLS-1$ //$NON-NLS-2$
+		Bundle b = equinox.getBundleContext().installBundle("reference:file:///" + testBundle.getAbsolutePath()); //$NON-NLS-1$
+		assertTrue("Could not resolve bundle.", equinox.adapt(FrameworkWiring.class).resolveBundles(Collections.singleton(b))); //$NON-NLS-1$
+		return b;
+	}
+
+	private void removeLocalization(File config) throws IOException {
+		Map<String, String> testHeaders = new HashMap<>();
+		testHeaders.put(Constants.BUNDLE_MANIFESTVERSION, "2"); //$NON-NLS-1$
+		testHeaders.put(Constants.BUNDLE_SYMBOLICNAME, getName());
+		testHeaders.put(Constants.BUNDLE_NAME, "%bundleName"); //$NON-NLS-1$
+		createBundle(config, getName(), testHeaders);
+	}
+
+	/*
+	 * Removes the data of a storage hook factory from the framework.info, as if the
+	 * factory did not exist when the framework.info was saved. The data of each factory
+	 * is saved as its key, storage version, data length and data, preceded by the
+	 * number of factories.
+	 */
+	private static void removeStorageHookData(File osgiArea, String factoryKey) throws IOException {
+		StorageManager storageManager = new StorageManager(osgiArea, "none", false); //$NON-NLS-1$
+		storageManager.open(true);
+		try {
+			byte[] info;
+			try (InputStream in = storageManager.getInputStream("framework.info")) { //$NON-NLS-1$
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					bytes.write(buffer, 0, read);
+				}
+				info = bytes.toByteArray();
+			}
+			ByteArrayOutputStream key = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(key)) {
+				out.writeUTF(factoryKey);
+			}
+			int start = indexOf(info, key.toByteArray());
+			assertTrue("Storage hook data not found: " + factoryKey, start >= 4); //$NON-NLS-1$
+			ByteBuffer buffer = ByteBuffer.wrap(info);
+			int dataLength = buffer.getInt(start + key.size() + 4);
+			int end = start + key.size() + 8 + dataLength;
+			// the factory is registered first, so the number of factories directly precedes its data
+			int numFactories = buffer.getInt(start - 4);
+			buffer.putInt(start - 4, numFactories - 1);
+
+			ManagedOutputStream out = storageManager.getOutputStream("framework.info"); //$NON-NLS-1$
+			out.write(info, 0, start);
+			out.write(info, end, info.length - end);
+			out.close();
+		} finally {
+			storageManager.close();
+		}
+	}
+
+	private static int indexOf(byte[] data, byte[] search) {
+		outer: for (int i = 0; i <= data.length - search.length; i++) {
+			for (int j = 0; j < search.length; j++) {
+				if (data[i + j] != search[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
 	@Test
 	public void testConfigPercentChar() throws BundleException, IOException {
 		doTestConfigSpecialChar('%');
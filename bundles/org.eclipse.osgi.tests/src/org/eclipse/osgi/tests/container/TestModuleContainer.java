@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2021 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -2346,6 +2347,145 @@ public class TestModuleContainer extends AbstractTest {
 		assertNull("Expected no dynamic wire.", dynamicWire);
 	}
 
+	@Test
+	public void testDynamicImportSingleProviderConcurrent() throws Exception {
+		Module systemBundle = createContainerWithSystemBundle(true);
+		ModuleContainer container = systemBundle.getContainer();
+
+		int numPackages = 50;
+		StringBuilder exports = new StringBuilder();
+		for (int i = 0; i < numPackages; i++) {
+			if (i > 0) {
+				exports.append(',');
+			}
+			exports.append("exporter.pkg").append(i);
+		}
+		Map<String, String> exporterManifest = new HashMap<>();
+		exporterManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		exporterManifest.put(Constants.BUNDLE_SYMBOLICNAME, "exporter");
+		exporterManifest.put(Constants.EXPORT_PACKAGE, exports.toString());
+		Module exporter = installDummyModule(exporterManifest, "exporter", container);
+
+		Map<String, String> importerManifest = new HashMap<>();
+		importerManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		importerManifest.put(Constants.BUNDLE_SYMBOLICNAME, "importer");
+		importerManifest.put(Constants.DYNAMICIMPORT_PACKAGE, "*");
+		Module importer = installDummyModule(importerManifest, "importer", container);
+
+		ResolutionReport report = container.resolve(Arrays.asList(exporter, importer), true);
+		assertNull("Failed to resolve.", report.getResolutionException());
+
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		try {
+			List<Future<ModuleWire>> results = new ArrayList<>();
+			for (int i = 0; i < numPackages; i++) {
+				String pkgName = "exporter.pkg" + i;
+				results.add(executor.submit(() -> container.resolveDynamic(pkgName, importer.getCurrentRevision())));
+			}
+			for (Future<ModuleWire> result : results) {
+				ModuleWire dynamicWire = result.get(30, TimeUnit.SECONDS);
+				assertNotNull("No dynamic wire found.", dynamicWire);
+				assertEquals("Wrong provider for the wire found.", exporter.getCurrentRevision(), dynamicWire.getProvider());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals("Wrong number of required wires.", numPackages, importer.getCurrentRevision().getWiring().getRequiredModuleWires(PackageNamespace.PACKAGE_NAMESPACE).size());
+		assertEquals("Wrong number of provided wires.", numPackages, exporter.getCurrentRevision().getWiring().getProvidedModuleWires(PackageNamespace.PACKAGE_NAMESPACE).size());
+		assertNull("Dynamic wire found.", container.resolveDynamic("does.not.exist", importer.getCurrentRevision()));
+	}
+
+	@Test
+	public void testDynamicImportSingleProviderFilteredByHook() throws BundleException, IOException {
+		Module systemBundle = createContainerWithSystemBundle(true, new ResolverHook() {
+			@Override
+			public void filterSingletonCollisions(BundleCapability singleton, Collection<BundleCapability> collisionCandidates) {
+			}
+
+			@Override
+			public void filterResolvable(Collection<BundleRevision> candidates) {
+			}
+
+			@Override
+			public void filterMatches(BundleRequirement requirement, Collection<BundleCapability> candidates) {
+				candidates.removeIf(c -> "filtered".equals(c.getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE)));
+			}
+
+			@Override
+			public void end() {
+			}
+		});
+		ModuleContainer container = systemBundle.getContainer();
+
+		Map<String, String> exporterManifest = new HashMap<>();
+		exporterManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		exporterManifest.put(Constants.BUNDLE_SYMBOLICNAME, "exporter");
+		exporterManifest.put(Constants.EXPORT_PACKAGE, "filtered, allowed");
+		Module exporter = installDummyModule(exporterManifest, "exporter", container);
+
+		Map<String, String> importerManifest = new HashMap<>();
+		importerManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		importerManifest.put(Constants.BUNDLE_SYMBOLICNAME, "importer");
+		importerManifest.put(Constants.DYNAMICIMPORT_PACKAGE, "*");
+		Module importer = installDummyModule(importerManifest, "importer", container);
+
+		ResolutionReport report = container.resolve(Arrays.asList(exporter, importer), true);
+		assertNull("Failed to resolve.", report.getResolutionException());
+
+		assertNull("Dynamic wire found.", container.resolveDynamic("filtered", importer.getCurrentRevision()));
+		ModuleWire dynamicWire = container.resolveDynamic("allowed", importer.getCurrentRevision());
+		assertNotNull("No dynamic wire found.", dynamicWire);
+		assertEquals("Wrong provider for the wire found.", exporter.getCurrentRevision(), dynamicWire.getProvider());
+	}
+
+	@Test
+	public void testDynamicImportSingleProviderTransitiveUses() throws BundleException, IOException {
+		Module systemBundle = createContainerWithSystemBundle(true);
+		ModuleContainer container = systemBundle.getContainer();
+
+		Map<String, String> d1Manifest = new HashMap<>();
+		d1Manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		d1Manifest.put(Constants.BUNDLE_SYMBOLICNAME, "d1");
+		d1Manifest.put(Constants.EXPORT_PACKAGE, "d; version=1.0");
+		Module d1 = installDummyModule(d1Manifest, "d1", container);
+
+		Map<String, String> d2Manifest = new HashMap<>();
+		d2Manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		d2Manifest.put(Constants.BUNDLE_SYMBOLICNAME, "d2");
+		d2Manifest.put(Constants.EXPORT_PACKAGE, "d; version=2.0");
+		Module d2 = installDummyModule(d2Manifest, "d2", container);
+
+		// y pins d to version 1.0 through its uses constraint
+		Map<String, String> yManifest = new HashMap<>();
+		yManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		yManifest.put(Constants.BUNDLE_SYMBOLICNAME, "y");
+		yManifest.put(Constants.EXPORT_PACKAGE, "y; uses:=d");
+		yManifest.put(Constants.IMPORT_PACKAGE, "d; version=\"[1.0,2.0)\"");
+		Module y = installDummyModule(yManifest, "y", container);
+
+		// x only uses y, so d is pinned indirectly
+		Map<String, String> xManifest = new HashMap<>();
+		xManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		xManifest.put(Constants.BUNDLE_SYMBOLICNAME, "x");
+		xManifest.put(Constants.EXPORT_PACKAGE, "x; uses:=y");
+		xManifest.put(Constants.IMPORT_PACKAGE, "y");
+		Module x = installDummyModule(xManifest, "x", container);
+
+		Map<String, String> importerManifest = new HashMap<>();
+		importerManifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		importerManifest.put(Constants.BUNDLE_SYMBOLICNAME, "importer");
+		importerManifest.put(Constants.IMPORT_PACKAGE, "x");
+		importerManifest.put(Constants.DYNAMICIMPORT_PACKAGE, "d; version=\"[2.0,3.0)\"");
+		Module importer = installDummyModule(importerManifest, "importer", container);
+
+		ResolutionReport report = container.resolve(Arrays.asList(d1, d2, y, x, importer), true);
+		assertNull("Failed to resolve.", report.getResolutionException());
+
+		// the only candidate conflicts with the d used transitively through x
+		assertNull("Dynamic wire found.", container.resolveDynamic("d", importer.getCurrentRevision()));
+	}
+
 	@Test
 	public void testSubstitutableExport() throws BundleException, IOException {
 		DummyContainerAdaptor adaptor = createDummyAdaptor();
@@ -4044,6 +4184,107 @@ public class TestModuleContainer extends AbstractTest {
 		assertEquals("Wrong last package wire.", dynamicImport2, pkgWires.get(pkgWires.size() - 1));
 	}
 
+	@Test
+	public void testIndexedCapabilityLookup() throws BundleException {
+		DummyContainerAdaptor adaptor = createDummyAdaptor();
+		ModuleContainer container = adaptor.getContainer();
+
+		// enough versions of the same capabilities for them to be indexed by version
+		List<Module> providers = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Map<String, String> manifest = new HashMap<>();
+			manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+			manifest.put(Constants.BUNDLE_SYMBOLICNAME, "provider");
+			manifest.put(Constants.BUNDLE_VERSION, "1.0." + i);
+			manifest.put(Constants.EXPORT_PACKAGE, "provider.pkg; version=1.0." + i);
+			manifest.put(Constants.PROVIDE_CAPABILITY, "provider.cap; provider.cap=x; version:Version=1.0." + i
+					+ ", other; color=" + (i % 4 == 0 ? "red" : "blue") + "; size:Long=" + i);
+			providers.add(installDummyModule(manifest, "provider." + i, container));
+		}
+		// a version attribute which is not a Version must still be matched by the filter
+		Map<String, String> untyped = new HashMap<>();
+		untyped.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		untyped.put(Constants.BUNDLE_SYMBOLICNAME, "untyped");
+		untyped.put(Constants.PROVIDE_CAPABILITY, "provider.cap; provider.cap=x; version=1.0.6, other; color:List<String>=\"green,red\"");
+		installDummyModule(untyped, "untyped", container);
+		// add enough unrelated capabilities for other attributes to be indexed
+		for (int i = 0; i < 64; i++) {
+			Map<String, String> manifest = new HashMap<>();
+			manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+			manifest.put(Constants.BUNDLE_SYMBOLICNAME, "unrelated." + i);
+			manifest.put(Constants.PROVIDE_CAPABILITY, "other; shape=square");
+			installDummyModule(manifest, "unrelated." + i, container);
+		}
+
+		Map<String, String> manifestConsumer = new HashMap<>();
+		manifestConsumer.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		manifestConsumer.put(Constants.BUNDLE_SYMBOLICNAME, "consumer");
+		manifestConsumer.put(Constants.IMPORT_PACKAGE, "provider.pkg; version=\"[1.0.10,1.0.20)\"");
+		manifestConsumer.put(Constants.REQUIRE_BUNDLE, "provider; bundle-version=\"(1.0.30,1.0.35]\"");
+		manifestConsumer.put(Constants.REQUIRE_CAPABILITY,
+				"provider.cap; filter:=\"(&(provider.cap=x)(version>=1.0.5)(!(version>=1.0.8)))\", other; filter:=\"(color=red)\"");
+		Module consumer = installDummyModule(manifestConsumer, "consumer", container);
+		ModuleRevision consumerRevision = consumer.getCurrentRevision();
+
+		ModuleRequirement importPackage = consumerRevision.getModuleRequirements(PackageNamespace.PACKAGE_NAMESPACE).get(0);
+		ModuleRequirement requireBundle = consumerRevision.getModuleRequirements(BundleNamespace.BUNDLE_NAMESPACE).get(0);
+		ModuleRequirement requireCap = consumerRevision.getModuleRequirements("provider.cap").get(0);
+		ModuleRequirement requireOther = consumerRevision.getModuleRequirements("other").get(0);
+		assertEquals("Wrong number of package providers.", 10, container.getFrameworkWiring().findProviders(importPackage).size());
+		assertEquals("Wrong number of bundle providers.", 5, container.getFrameworkWiring().findProviders(requireBundle).size());
+		assertEquals("Wrong number of capability providers.", 4, container.getFrameworkWiring().findProviders(requireCap).size());
+		assertEquals("Wrong number of other providers.", 11, container.getFrameworkWiring().findProviders(requireOther).size());
+
+		// the indexes must follow uninstalled modules
+		container.uninstall(providers.get(15));
+		container.uninstall(providers.get(32));
+		container.uninstall(providers.get(7));
+		container.uninstall(providers.get(8));
+		assertEquals("Wrong number of package providers.", 9, container.getFrameworkWiring().findProviders(importPackage).size());
+		assertEquals("Wrong number of bundle providers.", 4, container.getFrameworkWiring().findProviders(requireBundle).size());
+		assertEquals("Wrong number of capability providers.", 3, container.getFrameworkWiring().findProviders(requireCap).size());
+		assertEquals("Wrong number of other providers.", 9, container.getFrameworkWiring().findProviders(requireOther).size());
+
+		ResolutionReport report = container.resolve(Arrays.asList(consumer), true);
+		assertNull("Failed to resolve consumer.", report.getResolutionException());
+		ModuleWiring consumerWiring = consumer.getCurrentRevision().getWiring();
+		assertEquals("Wrong package provider.", new Version(1, 0, 19), consumerWiring.getRequiredModuleWires(PackageNamespace.PACKAGE_NAMESPACE).get(0).getProvider().getVersion());
+		assertEquals("Wrong bundle provider.", new Version(1, 0, 35), consumerWiring.getRequiredModuleWires(BundleNamespace.BUNDLE_NAMESPACE).get(0).getProvider().getVersion());
+	}
+
+	// disabled @Test
+	public void testResolvePerformanceLargeModuleSet() throws BundleException {
+		// many versions of each package, bundle and capability so that most lookups are version range queries
+		int numNames = 200;
+		int numVersions = 25;
+		for (int run = 0; run < 5; run++) {
+			DummyContainerAdaptor adaptor = createDummyAdaptor();
+			ModuleContainer container = adaptor.getContainer();
+			for (int version = 0; version < numVersions; version++) {
+				for (int name = 0; name < numNames; name++) {
+					Map<String, String> manifest = new HashMap<>();
+					manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+					manifest.put(Constants.BUNDLE_SYMBOLICNAME, "bundle." + name);
+					manifest.put(Constants.BUNDLE_VERSION, "1." + version);
+					manifest.put(Constants.EXPORT_PACKAGE, "pkg." + name + "; version=1." + version);
+					manifest.put(Constants.PROVIDE_CAPABILITY, "cap; cap=" + name + "; version:Version=1." + version
+							+ ", service; objectClass:List<String>=\"service." + name + "\"");
+					int dependency = (name + 1) % numNames;
+					manifest.put(Constants.IMPORT_PACKAGE, "pkg." + dependency + "; version=\"[1." + version / 2 + ",1." + (version + 1) + ")\"");
+					manifest.put(Constants.REQUIRE_BUNDLE, "bundle." + dependency + "; bundle-version=\"[1." + version / 2 + ",2.0)\"");
+					manifest.put(Constants.REQUIRE_CAPABILITY, "cap; filter:=\"(&(cap=" + dependency + ")(version>=1." + version / 2 + ")(!(version>=1." + (version + 1) + ")))\""
+							+ ", service; filter:=\"(objectClass=service." + dependency + ")\"");
+					installDummyModule(manifest, "bundle." + name + "_1." + version, container);
+				}
+			}
+			long start = System.nanoTime();
+			ResolutionReport report = container.resolve(null, false);
+			long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertNull("Failed to resolve.", report.getResolutionException());
+			System.out.println("RESOLVED " + numNames * numVersions + " modules in: " + time + "ms");
+		}
+	}
+
 	private static void assertWires(List<ModuleWire> required, List<ModuleWire>... provided) {
 		for (ModuleWire requiredWire : required) {
 			for (List<ModuleWire> providedList : provided) {
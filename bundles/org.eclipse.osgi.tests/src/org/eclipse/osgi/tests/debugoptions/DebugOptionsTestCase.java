@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2022 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -1017,6 +1018,125 @@ public class DebugOptionsTestCase extends CoreTest {
 		traceFile.delete();
 	}
 
+	/**
+	 * test that buffered trace records are only written on demand and that the
+	 * oldest records are dropped when the buffer is full
+	 */
+	public void testTraceBuffer() {
+
+		final File traceFile = OSGiTestsActivator.getContext().getDataFile(getName() + ".trace"); //$NON-NLS-1$
+		TestDebugTrace debugTrace = this.createDebugTrace(traceFile);
+		FrameworkDebugOptions fwDebugOptions = (FrameworkDebugOptions) debugOptions;
+		fwDebugOptions.setTraceBuffer(3, 0);
+		TraceEntry[] traceOutput = null;
+		try {
+			for (int i = 1; i <= 6; i++) {
+				debugTrace.trace("/debug", "testing " + i); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			assertFalse("The buffered records were written", traceFile.exists()); //$NON-NLS-1$
+			fwDebugOptions.flushTraceBuffer();
+			traceOutput = readTraceFile(traceFile);
+		} catch (InvalidTraceEntry invalidEx) {
+			fail("Failed 'DebugTrace.trace(option, message)' test as an invalid trace entry was found.  Actual Value: '" + invalidEx.getActualValue() + "'.", invalidEx); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			fwDebugOptions.setTraceBuffer(0, 0);
+		}
+		assertEquals("Wrong number of trace entries", 3, traceOutput.length); //$NON-NLS-1$
+		for (int i = 0; i < traceOutput.length; i++) {
+			assertEquals("Thread name is incorrect", Thread.currentThread().getName(), traceOutput[i].getThreadName()); //$NON-NLS-1$
+			assertEquals("class name value is incorrect", DebugOptionsTestCase.class.getName(), traceOutput[i].getClassName()); //$NON-NLS-1$
+			assertEquals("method name value is incorrect", "testTraceBuffer", traceOutput[i].getMethodName()); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("trace message is incorrect", "testing " + (i + 4), traceOutput[i].getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		// delete the trace file
+		traceFile.delete();
+	}
+
+	/**
+	 * test that buffered trace records are written by the background writer
+	 */
+	public void testTraceBufferWriter() throws InterruptedException {
+
+		final File traceFile = OSGiTestsActivator.getContext().getDataFile(getName() + ".trace"); //$NON-NLS-1$
+		TestDebugTrace debugTrace = this.createDebugTrace(traceFile);
+		FrameworkDebugOptions fwDebugOptions = (FrameworkDebugOptions) debugOptions;
+		fwDebugOptions.setTraceBuffer(16, 10);
+		TraceEntry[] traceOutput = null;
+		try {
+			debugTrace.trace("/debug", "testing 1"); //$NON-NLS-1$ //$NON-NLS-2$
+			debugTrace.trace("/notset", "testing 2"); //$NON-NLS-1$ //$NON-NLS-2$
+			debugTrace.traceEntry("/debug"); //$NON-NLS-1$
+			long end = System.currentTimeMillis() + 5000;
+			while (System.currentTimeMillis() < end && (traceOutput == null || traceOutput.length < 2)) {
+				Thread.sleep(50);
+				if (traceFile.exists()) {
+					traceOutput = readTraceFile(traceFile);
+				}
+			}
+		} catch (InvalidTraceEntry invalidEx) {
+			fail("Failed 'DebugTrace.trace(option, message)' test as an invalid trace entry was found.  Actual Value: '" + invalidEx.getActualValue() + "'.", invalidEx); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			fwDebugOptions.setTraceBuffer(0, 0);
+		}
+		assertNotNull("The buffered records were not written", traceOutput); //$NON-NLS-1$
+		assertEquals("Wrong number of trace entries", 2, traceOutput.length); //$NON-NLS-1$
+		assertEquals("trace message is incorrect", "testing 1", traceOutput[0].getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("method name value is incorrect", "testTraceBufferWriter", traceOutput[1].getMethodName()); //$NON-NLS-1$ //$NON-NLS-2$
+		// delete the trace file
+		traceFile.delete();
+	}
+
+	/**
+	 * test that buffered trace records which are concurrently added and overwritten
+	 * are written at most once and in the order they were traced
+	 */
+	public void testTraceBufferConcurrent() throws InterruptedException {
+
+		final File traceFile = OSGiTestsActivator.getContext().getDataFile(getName() + ".trace"); //$NON-NLS-1$
+		final TestDebugTrace debugTrace = this.createDebugTrace(traceFile);
+		FrameworkDebugOptions fwDebugOptions = (FrameworkDebugOptions) debugOptions;
+		fwDebugOptions.setTraceBuffer(3, 0);
+		final int numThreads = 4;
+		final int numRecords = 500;
+		TraceEntry[] traceOutput = null;
+		try {
+			Thread[] threads = new Thread[numThreads];
+			for (int t = 0; t < numThreads; t++) {
+				final int thread = t;
+				threads[t] = new Thread(() -> {
+					for (int i = 0; i < numRecords; i++) {
+						debugTrace.trace("/debug", thread + " " + i); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}, getName() + t);
+				threads[t].start();
+			}
+			for (Thread thread : threads) {
+				while (thread.isAlive()) {
+					fwDebugOptions.flushTraceBuffer();
+				}
+				thread.join();
+			}
+			fwDebugOptions.flushTraceBuffer();
+			traceOutput = readTraceFile(traceFile);
+		} catch (InvalidTraceEntry invalidEx) {
+			fail("Failed 'DebugTrace.trace(option, message)' test as an invalid trace entry was found.  Actual Value: '" + invalidEx.getActualValue() + "'.", invalidEx); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			fwDebugOptions.setTraceBuffer(0, 0);
+		}
+		assertTrue("No trace entries were written", traceOutput.length > 0); //$NON-NLS-1$
+		int[] last = new int[numThreads];
+		Arrays.fill(last, -1);
+		for (TraceEntry entry : traceOutput) {
+			String[] message = entry.getMessage().split(" "); //$NON-NLS-1$
+			int thread = Integer.parseInt(message[0]);
+			int record = Integer.parseInt(message[1]);
+			assertTrue("Trace record written twice or out of order: " + entry.getMessage(), record > last[thread]); //$NON-NLS-1$
+			last[thread] = record;
+		}
+		// delete the trace file
+		traceFile.delete();
+	}
+
 	public void testTraceSystemOut() throws IOException {
 		PrintStream old = System.out;
 		File traceFile = OSGiTestsActivator.getContext().getDataFile(getName() + ".trace"); //$NON-NLS-1$
@@ -25,7 +25,8 @@ import org.junit.runners.Suite;
 		DevClassPathWithExtensionTests.class, //
 		EmbeddedEquinoxWithURLInClassLoadTests.class, //
 		ActivatorOrderTest.class, //
-		DevClassPathDuplicateTests.class //
+		DevClassPathDuplicateTests.class, //
+		TransformerHookTests.class //
 })
 public class AllFrameworkHookTests {
 }
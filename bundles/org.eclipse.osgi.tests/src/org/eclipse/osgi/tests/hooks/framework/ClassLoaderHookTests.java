@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2021 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,22 @@
  *******************************************************************************/
 package org.eclipse.osgi.tests.hooks.framework;
 
+import static org.eclipse.osgi.tests.bundles.AbstractBundleTests.stop;
 import static org.eclipse.osgi.tests.bundles.AbstractBundleTests.stopQuietly;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import org.eclipse.osgi.internal.framework.EquinoxConfiguration;
 import org.eclipse.osgi.internal.hookregistry.HookRegistry;
 import org.eclipse.osgi.tests.OSGiTestsActivator;
 import org.osgi.framework.Bundle;
@@ -175,6 +181,94 @@ public class ClassLoaderHookTests extends AbstractFrameworkHookTests {
 		b.loadClass(TEST_CLASSNAME);
 	}
 
+	public void testClassPreloadProfile() throws Exception {
+		initAndStartFramework();
+		// install lazy activated bundles; chain.test.a.AChain extends chain.test.b.BChain
+		String[] names = {"chain.test.a", "chain.test.b", "chain.test.c", "chain.test.d"};
+		Bundle[] bundles = new Bundle[names.length];
+		for (int i = 0; i < names.length; i++) {
+			bundles[i] = framework.getBundleContext().installBundle(bundleInstaller.getBundleLocation(names[i]));
+		}
+		for (Bundle b : bundles) {
+			b.start(Bundle.START_ACTIVATION_POLICY);
+		}
+
+		// load classes while the framework starts up with recording enabled
+		configuration.put(EquinoxConfiguration.PROP_CLASS_PRELOAD_PROFILE, EquinoxConfiguration.CLASS_PRELOAD_PROFILE_RECORD);
+		stop(framework);
+		framework = createFramework(configuration);
+		framework.init();
+		Bundle a = framework.getBundleContext().getBundle(bundles[0].getBundleId());
+		Bundle d = framework.getBundleContext().getBundle(bundles[3].getBundleId());
+		a.loadClass("chain.test.a.AChain");
+		// loaded after AChain, so AChain has been preloaded once AMultiChain2 is
+		a.loadClass("chain.test.a.AMultiChain2");
+		d.loadClass("chain.test.d.DMultipleChain1");
+		// the profiles are saved once the framework has started
+		framework.start();
+
+		configuration.put(EquinoxConfiguration.PROP_CLASS_PRELOAD_PROFILE, EquinoxConfiguration.CLASS_PRELOAD_PROFILE_REPLAY);
+		framework = restart(framework, configuration);
+		Set<String> preloaded = waitForPreload("chain.test.a.AMultiChain2", "chain.test.d.DMultipleChain1");
+		for (Bundle b : bundles) {
+			assertEquals("Wrong state of bundle: " + b, Bundle.STARTING, framework.getBundleContext().getBundle(b.getBundleId()).getState());
+		}
+		// AChain must not be preloaded, it would no longer activate chain.test.b when used
+		assertFalse("Class preloaded.", preloaded.contains("chain.test.a.AChain"));
+
+		a = framework.getBundleContext().getBundle(bundles[0].getBundleId());
+		Bundle b = framework.getBundleContext().getBundle(bundles[1].getBundleId());
+		d = framework.getBundleContext().getBundle(bundles[3].getBundleId());
+		a.loadClass("chain.test.a.AChain");
+		assertEquals("Wrong state of bundle.", Bundle.ACTIVE, a.getState());
+		assertEquals("Wrong state of bundle.", Bundle.ACTIVE, b.getState());
+		d.loadClass("chain.test.d.DMultipleChain1");
+		assertEquals("Wrong state of bundle.", Bundle.ACTIVE, d.getState());
+	}
+
+	public void testClassPreloadProfileSkipsWovenClasses() throws Exception {
+		initAndStartFramework();
+		Bundle b = installBundle();
+		b.start();
+
+		configuration.put(EquinoxConfiguration.PROP_CLASS_PRELOAD_PROFILE, EquinoxConfiguration.CLASS_PRELOAD_PROFILE_RECORD);
+		stop(framework);
+		framework = createFramework(configuration);
+		framework.init();
+		// replace the bytes of Ax with an equal copy; the class is still transformed by a weaving hook
+		framework.getBundleContext().registerService(WeavingHook.class, wovenClass -> {
+			if (TEST_CLASSNAME.equals(wovenClass.getClassName())) {
+				wovenClass.setBytes(wovenClass.getBytes().clone());
+			}
+		}, null);
+		b = framework.getBundleContext().getBundle(b.getBundleId());
+		b.loadClass(TEST_CLASSNAME);
+		// loaded after Ax, so Ax would have been preloaded once Ay is
+		b.loadClass("substitutes.y.Ay");
+		framework.start();
+
+		configuration.put(EquinoxConfiguration.PROP_CLASS_PRELOAD_PROFILE, EquinoxConfiguration.CLASS_PRELOAD_PROFILE_REPLAY);
+		framework = restart(framework, configuration);
+		Set<String> preloaded = waitForPreload("substitutes.y.Ay");
+		assertFalse("Woven class preloaded.", preloaded.contains(TEST_CLASSNAME));
+	}
+
+	private Set<String> waitForPreload(String... classNames) throws Exception {
+		@SuppressWarnings("unchecked")
+		BlockingQueue<String> queue = (BlockingQueue<String>) classLoader.loadClass(HOOK_CONFIGURATOR_CLASS).getField("preloadedClasses").get(null);
+		Set<String> preloaded = new HashSet<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (!preloaded.containsAll(Arrays.asList(classNames))) {
+			// wait for the next class defined by a preload thread
+			String name = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (name == null) {
+				fail("Classes not preloaded: " + Arrays.toString(classNames) + " preloaded: " + preloaded);
+			}
+			preloaded.add(name);
+		}
+		return preloaded;
+	}
+
 	private void refreshBundles(Collection<Bundle> bundles) throws InterruptedException {
 		final CountDownLatch refreshSignal = new CountDownLatch(1);
 		framework.adapt(FrameworkWiring.class).refreshBundles(bundles, event -> {
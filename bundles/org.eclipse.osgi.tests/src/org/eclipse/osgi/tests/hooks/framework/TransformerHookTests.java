@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.tests.hooks.framework;
+
+import static org.eclipse.osgi.tests.bundles.AbstractBundleTests.stopQuietly;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.osgi.internal.hookregistry.HookRegistry;
+import org.eclipse.osgi.tests.OSGiTestsActivator;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.framework.launch.Framework;
+
+public class TransformerHookTests extends AbstractFrameworkHookTests {
+	private static final String TRANSFORMS_BUNDLE = "org.eclipse.equinox.transforms.hook";
+	private static final String HOOK_CONFIGURATOR_CLASS = "org.eclipse.equinox.internal.transforms.TransformerHook";
+	private static final String PROP_CACHE_SIZE = "equinox.transforms.cache.size";
+	private static final String TRANSFORMER_TYPE = "equinox.transformerType";
+	private static final String TEST_BUNDLE = "substitutes.a";
+	private static final String TEST_ENTRY = "data/resource1";
+	private static final String TEST_CONTENT = "root classpath";
+
+	private Map<String, String> configuration;
+	private Framework framework;
+	private File storage;
+
+	/**
+	 * A transformer which upper cases the content and counts how often it transforms content.
+	 */
+	public static class UpperCaseTransformer {
+		final AtomicInteger transformed = new AtomicInteger();
+
+		public InputStream getInputStream(InputStream inputStream, URL transformerUrl) throws IOException {
+			transformed.incrementAndGet();
+			return new ByteArrayInputStream(readAll(inputStream).toUpperCase().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * A transformer which reverses the content.
+	 */
+	public static class ReverseTransformer {
+		public InputStream getInputStream(InputStream inputStream, URL transformerUrl) throws IOException {
+			return new ByteArrayInputStream(new StringBuilder(readAll(inputStream)).reverse().toString().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * A transformer which replaces the content with content of a fixed length.
+	 */
+	public static class FixedLengthTransformer {
+		static final String CONTENT = "0123456789"; //$NON-NLS-1$
+		final AtomicInteger transformed = new AtomicInteger();
+
+		public InputStream getInputStream(InputStream inputStream, URL transformerUrl) throws IOException {
+			transformed.incrementAndGet();
+			return new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * A transformer whose transformed content cannot be read.
+	 */
+	public static class FailingTransformer {
+		public InputStream getInputStream(InputStream inputStream, URL transformerUrl) throws IOException {
+			return new InputStream() {
+				@Override
+				public int read() throws IOException {
+					throw new IOException("Expected failure"); //$NON-NLS-1$
+				}
+			};
+		}
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		Bundle transforms = null;
+		for (Bundle bundle : OSGiTestsActivator.getContext().getBundles()) {
+			if (TRANSFORMS_BUNDLE.equals(bundle.getSymbolicName())) {
+				transforms = bundle;
+			}
+		}
+		assertNotNull("The transforms hook is not available", transforms);
+		File transformsFile = FileLocator.getBundleFile(transforms);
+		classLoader.addURL(transformsFile.toURI().toURL());
+		if (transformsFile.isDirectory()) {
+			classLoader.addURL(new File(transformsFile, "bin/").toURI().toURL());
+		}
+		storage = OSGiTestsActivator.getContext().getDataFile(getName());
+		configuration = new HashMap<>();
+		configuration.put(Constants.FRAMEWORK_STORAGE, storage.getAbsolutePath());
+		configuration.put(HookRegistry.PROP_HOOK_CONFIGURATORS_INCLUDE, HOOK_CONFIGURATOR_CLASS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		stopQuietly(framework);
+		super.tearDown();
+	}
+
+	private Bundle startFrameworkAndInstallBundle() throws Exception {
+		framework = createFramework(configuration);
+		initAndStart(framework);
+		registerTransforms();
+		return framework.getBundleContext().installBundle(bundleInstaller.getBundleLocation(TEST_BUNDLE));
+	}
+
+	private void registerTransforms() throws IOException {
+		File transformsDir = new File(storage, "transforms");
+		transformsDir.mkdirs();
+		Files.write(new File(transformsDir, "transform.txt").toPath(), "transform".getBytes(StandardCharsets.UTF_8));
+		File transformsList = new File(transformsDir, "transforms.csv");
+		Files.write(transformsList.toPath(), "substitutes\\.a,(data|substitutes)/.*,transform.txt".getBytes(StandardCharsets.UTF_8));
+		Dictionary<String, Object> props = new Hashtable<>();
+		props.put(TRANSFORMER_TYPE, "test");
+		framework.getBundleContext().registerService(URL.class, transformsList.toURI().toURL(), props);
+	}
+
+	private ServiceRegistration<Object> registerTransformer(Object transformer) {
+		Dictionary<String, Object> props = new Hashtable<>();
+		props.put(TRANSFORMER_TYPE, "test");
+		BundleContext context = framework.getBundleContext();
+		return context.registerService(Object.class, transformer, props);
+	}
+
+	public void testTransformedContentCached() throws Exception {
+		Bundle b = startFrameworkAndInstallBundle();
+		UpperCaseTransformer transformer = new UpperCaseTransformer();
+		registerTransformer(transformer);
+
+		assertEquals("Wrong content", TEST_CONTENT.toUpperCase(), readAll(b.getEntry(TEST_ENTRY).openStream()));
+		assertEquals("Wrong content", TEST_CONTENT.toUpperCase(), readAll(b.getEntry(TEST_ENTRY).openStream()));
+		assertEquals("Content was not cached", 1, transformer.transformed.get());
+	}
+
+	public void testTransformerChangeInvalidatesCache() throws Exception {
+		Bundle b = startFrameworkAndInstallBundle();
+		ServiceRegistration<Object> registration = registerTransformer(new UpperCaseTransformer());
+		assertEquals("Wrong content", TEST_CONTENT.toUpperCase(), readAll(b.getEntry(TEST_ENTRY).openStream()));
+
+		// the cached content of the previous transformer must not be used
+		registration.unregister();
+		registerTransformer(new ReverseTransformer());
+		assertEquals("Wrong content", new StringBuilder(TEST_CONTENT).reverse().toString(), readAll(b.getEntry(TEST_ENTRY).openStream()));
+	}
+
+	public void testTransformedContentReadFailure() throws Exception {
+		Bundle b = startFrameworkAndInstallBundle();
+		registerTransformer(new FailingTransformer());
+
+		URL entry = b.getEntry(TEST_ENTRY);
+		for (int i = 0; i < 2; i++) {
+			try {
+				readAll(entry.openStream());
+				fail("Expected a failure to read the transformed content");
+			} catch (IOException e) {
+				// expected
+			}
+		}
+	}
+
+	public void testTransformedContentEvicted() throws Exception {
+		// room for the transformed content of two entries
+		long maxSize = 2 * FixedLengthTransformer.CONTENT.length() + 5;
+		configuration.put(PROP_CACHE_SIZE, Long.toString(maxSize));
+		Bundle b = startFrameworkAndInstallBundle();
+		FixedLengthTransformer transformer = new FixedLengthTransformer();
+		registerTransformer(transformer);
+
+		String[] entries = {TEST_ENTRY, "substitutes/x/Ax.class", "substitutes/y/Ay.class"};
+		for (String entry : entries) {
+			assertEquals("Wrong content", FixedLengthTransformer.CONTENT, readAll(b.getEntry(entry).openStream()));
+		}
+		assertEquals("Wrong number of transforms", entries.length, transformer.transformed.get());
+		long cacheSize = getCacheSize(storage);
+		assertEquals("Wrong cache size", 2 * FixedLengthTransformer.CONTENT.length(), cacheSize);
+
+		// the most recently transformed content is still cached
+		assertEquals("Wrong content", FixedLengthTransformer.CONTENT, readAll(b.getEntry(entries[entries.length - 1]).openStream()));
+		assertEquals("Content was not cached", entries.length, transformer.transformed.get());
+	}
+
+	public void testCacheHitDoesNotTouchCacheFile() throws Exception {
+		Bundle b = startFrameworkAndInstallBundle();
+		UpperCaseTransformer transformer = new UpperCaseTransformer();
+		registerTransformer(transformer);
+		assertEquals("Wrong content", TEST_CONTENT.toUpperCase(), readAll(b.getEntry(TEST_ENTRY).openStream()));
+
+		List<File> cacheFiles = getCacheFiles(storage, new ArrayList<>());
+		assertEquals("Wrong number of cache files", 1, cacheFiles.size());
+		long lastModified = 1000000000000L;
+		assertTrue("Could not set last modified", cacheFiles.get(0).setLastModified(lastModified));
+		assertEquals("Wrong content", TEST_CONTENT.toUpperCase(), readAll(b.getEntry(TEST_ENTRY).openStream()));
+		assertEquals("Content was not cached", 1, transformer.transformed.get());
+		assertEquals("Cache file was modified", lastModified, cacheFiles.get(0).lastModified());
+	}
+
+	public void testContentLargerThanCacheNotCached() throws Exception {
+		configuration.put(PROP_CACHE_SIZE, Long.toString(FixedLengthTransformer.CONTENT.length() - 1));
+		Bundle b = startFrameworkAndInstallBundle();
+		FixedLengthTransformer transformer = new FixedLengthTransformer();
+		registerTransformer(transformer);
+
+		URL entry = b.getEntry(TEST_ENTRY);
+		assertEquals("Wrong content", FixedLengthTransformer.CONTENT, readAll(entry.openStream()));
+		int transformed = transformer.transformed.get();
+		for (int i = 1; i <= 3; i++) {
+			assertEquals("Wrong content", FixedLengthTransformer.CONTENT, readAll(b.getEntry(TEST_ENTRY).openStream()));
+			assertEquals("Wrong number of transforms", transformed + i, transformer.transformed.get());
+		}
+		assertEquals("Wrong cache size", 0, getCacheSize(storage));
+		assertEquals("Temporary files left in the cache", 0, getTempFiles(storage, new ArrayList<>()).size());
+	}
+
+	private static long getCacheSize(File dir) {
+		long size = 0;
+		for (File file : getCacheFiles(dir, new ArrayList<>())) {
+			size += file.length();
+		}
+		return size;
+	}
+
+	private static List<File> getTempFiles(File dir, List<File> result) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return result;
+		}
+		for (File file : files) {
+			if (file.isDirectory()) {
+				getTempFiles(file, result);
+			} else if (file.getParentFile().getParentFile().getName().equals(".tfcache") && file.getName().endsWith(".tmp")) {
+				result.add(file);
+			}
+		}
+		return result;
+	}
+
+	private static List<File> getCacheFiles(File dir, List<File> result) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return result;
+		}
+		for (File file : files) {
+			if (file.isDirectory()) {
+				getCacheFiles(file, result);
+			} else if (file.getParentFile().getParentFile().getName().equals(".tfcache") && !file.getName().endsWith(".tmp")) {
+				result.add(file);
+			}
+		}
+		return result;
+	}
+
+	static String readAll(InputStream in) throws IOException {
+		try (InputStream input = in) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+			return new String(out.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.tests.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.core.tests.harness.PerformanceTestRunner;
+import org.eclipse.osgi.tests.OSGiTest;
+import org.junit.Assert;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceFactory;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.ServiceRegistration;
+
+/*
+ * Measures getService and ungetService of a service the bundle already uses
+ * with an increasing number of threads of the same bundle.
+ */
+public class ServiceUsePerformanceTest extends OSGiTest {
+	static final int GETS_PER_THREAD = 100000;
+
+	public ServiceUsePerformanceTest(String name) {
+		super(name);
+	}
+
+	public void testSingleton01() {
+		doTestGetUnget(new Object(), 1);
+	}
+
+	public void testSingleton02() {
+		doTestGetUnget(new Object(), 2);
+	}
+
+	public void testSingleton04() {
+		doTestGetUnget(new Object(), 4);
+	}
+
+	public void testSingleton08() {
+		doTestGetUnget(new Object(), 8);
+	}
+
+	public void testFactory01() {
+		doTestGetUnget(new TestServiceFactory(), 1);
+	}
+
+	public void testFactory04() {
+		doTestGetUnget(new TestServiceFactory(), 4);
+	}
+
+	public void testFactory08() {
+		doTestGetUnget(new TestServiceFactory(), 8);
+	}
+
+	private void doTestGetUnget(Object service, final int numThreads) {
+		final BundleContext context = getContext();
+		ServiceRegistration<?> registration = context.registerService(Object.class.getName(), service, null);
+		final ServiceReference<?> reference = registration.getReference();
+		// hold on to the service so that the measured calls are never the first or last use
+		Assert.assertNotNull("No service found.", context.getService(reference));
+		try {
+			new PerformanceTestRunner() {
+				protected void test() {
+					runThreads(context, reference, numThreads);
+				}
+			}.run(this, 10, 1);
+		} finally {
+			context.ungetService(reference);
+			registration.unregister();
+		}
+	}
+
+	static void runThreads(final BundleContext context, final ServiceReference<?> reference, int numThreads) {
+		List<Thread> threads = new ArrayList<>(numThreads);
+		for (int i = 0; i < numThreads; i++) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < GETS_PER_THREAD; j++) {
+					context.getService(reference);
+					context.ungetService(reference);
+				}
+			}, "ServiceUsePerformanceTest-" + i));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Assert.fail("Interrupted.");
+			}
+		}
+	}
+
+	static class TestServiceFactory implements ServiceFactory<Object> {
+		@Override
+		public Object getService(Bundle bundle, ServiceRegistration<Object> registration) {
+			return new Object();
+		}
+
+		@Override
+		public void ungetService(Bundle bundle, ServiceRegistration<Object> registration, Object service) {
+			// nothing
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2022 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,11 @@ package org.eclipse.osgi.tests.security;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
 import junit.framework.Test;
 import org.eclipse.core.tests.session.ConfigurationSessionTestSuite;
 import org.eclipse.osgi.signedcontent.InvalidContentException;
@@ -24,6 +27,7 @@ import org.eclipse.osgi.signedcontent.SignedContent;
 import org.eclipse.osgi.signedcontent.SignedContentEntry;
 import org.eclipse.osgi.signedcontent.SignerInfo;
 import org.eclipse.osgi.tests.OSGiTest;
+import org.eclipse.osgi.tests.OSGiTestsActivator;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleException;
 
@@ -1009,4 +1013,150 @@ public class SignedBundleTest extends BaseSecurityTest {
 			}
 		}
 	}
+
+	public void testSignedContentPersisted() {
+
+		Bundle testBundle = null;
+		try {
+			testBundle = installBundle(getTestJarPath("multiply_signed"));
+			getTrustEngine().addTrustAnchor(getTestCertificate("ca1_leafa"), "ca1_leafa");
+
+			// the first call verifies the content, the second uses the persisted result
+			SignedContent signedContent1 = getSignedContentFactory().getSignedContent(testBundle);
+			SignedContent signedContent2 = getSignedContentFactory().getSignedContent(testBundle);
+			SignerInfo[] infos1 = signedContent1.getSignerInfos();
+			SignerInfo[] infos2 = signedContent2.getSignerInfos();
+			assertEquals("wrong number of signers", infos1.length, infos2.length);
+			for (int i = 0; i < infos1.length; i++) {
+				assertTrue("Wrong certificate chain", Arrays.equals(infos1[i].getCertificateChain(), infos2[i].getCertificateChain()));
+				assertEquals("Wrong trust", infos1[i].isTrusted(), infos2[i].isTrusted());
+			}
+			SignedContentEntry[] entries1 = signedContent1.getSignedEntries();
+			SignedContentEntry[] entries2 = signedContent2.getSignedEntries();
+			assertEquals("wrong number of entries", entries1.length, entries2.length);
+			for (int i = 0; i < entries1.length; i++) {
+				assertEquals("Wrong entry", entries1[i].getName(), entries2[i].getName());
+				assertEquals("wrong number of entry signers", entries1[i].getSignerInfos().length, entries2[i].getSignerInfos().length);
+				entries2[i].verify();
+			}
+		} catch (Exception e) {
+			fail("Unexpected exception", e);
+		} finally {
+			try {
+				testBundle.uninstall();
+				getTrustEngine().removeTrustAnchor("ca1_leafa");
+			} catch (Exception e) {
+				fail("Failed to uninstall bundle", e);
+			}
+		}
+	}
+
+	public void testSignedContentPersistedCorrupt() {
+
+		Bundle testBundle = null;
+		try {
+			testBundle = installBundle(getTestJarPath("signed_with_corrupt"));
+			getTrustEngine().addTrustAnchor(getTestCertificate("ca1_leafa"), "ca1_leafa");
+
+			// the first call verifies the content, the second uses the persisted result
+			getSignedContentFactory().getSignedContent(testBundle);
+			SignedContentEntry corrupt = getSignedContentFactory().getSignedContent(testBundle).getSignedEntry("org/eclipse/equinox/security/junit/CorruptClass.class");
+			assertNotNull("No corrupt entry found", corrupt);
+			assertFalse("Corrupt entry is signed", corrupt.isSigned());
+			try {
+				corrupt.verify();
+				fail("Expected a corruption for: " + corrupt.getName());
+			} catch (InvalidContentException e) {
+				// expected
+			}
+		} catch (Exception e) {
+			fail("Unexpected exception", e);
+		} finally {
+			try {
+				testBundle.uninstall();
+				getTrustEngine().removeTrustAnchor("ca1_leafa");
+			} catch (Exception e) {
+				fail("Failed to uninstall bundle", e);
+			}
+		}
+	}
+
+	public void testSignedContentPersistedTampered() {
+
+		Bundle testBundle = null;
+		try {
+			File jar = copyEntryFile(getTestJarPath("multiply_signed"));
+			testBundle = OSGiTestsActivator.getContext().installBundle("reference:" + jar.toURI());
+			getTrustEngine().addTrustAnchor(getTestCertificate("ca1_leafa"), "ca1_leafa");
+
+			// persist the verified content
+			SignedContentEntry[] entries = getSignedContentFactory().getSignedContent(testBundle).getSignedEntries();
+			String tamperedName = null;
+			for (SignedContentEntry entry : entries) {
+				if (entry.getName().endsWith(".class")) {
+					tamperedName = entry.getName();
+					break;
+				}
+			}
+			assertNotNull("No signed class found", tamperedName);
+
+			// change the class without changing the length or the last modified time of
+			// the jar; the persisted result must still not be used
+			long lastModified = jar.lastModified();
+			long length = jar.length();
+			tamperEntry(jar, tamperedName);
+			assertTrue("Failed to set the last modified time", jar.setLastModified(lastModified));
+			assertEquals("Wrong length", length, jar.length());
+			assertEquals("Wrong last modified time", lastModified, jar.lastModified());
+
+			SignedContentEntry tampered = getSignedContentFactory().getSignedContent(testBundle).getSignedEntry(tamperedName);
+			assertNotNull("No entry found: " + tamperedName, tampered);
+			try {
+				tampered.verify();
+				fail("Expected a corruption for: " + tamperedName);
+			} catch (InvalidContentException e) {
+				// expected
+			}
+		} catch (Exception e) {
+			fail("Unexpected exception", e);
+		} finally {
+			try {
+				testBundle.uninstall();
+				getTrustEngine().removeTrustAnchor("ca1_leafa");
+			} catch (Exception e) {
+				fail("Failed to uninstall bundle", e);
+			}
+		}
+	}
+
+	/**
+	 * Flips the first byte of the compressed data of an entry in place.
+	 */
+	private static void tamperEntry(File jar, String name) throws IOException {
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		try (RandomAccessFile file = new RandomAccessFile(jar, "rw")) {
+			byte[] header = new byte[30];
+			for (long offset = 0; offset + header.length < file.length(); offset++) {
+				file.seek(offset);
+				file.readFully(header);
+				// the signature of a local file header
+				if (header[0] != 0x50 || header[1] != 0x4b || header[2] != 0x03 || header[3] != 0x04) {
+					continue;
+				}
+				int nameLength = (header[26] & 0xff) | (header[27] & 0xff) << 8;
+				int extraLength = (header[28] & 0xff) | (header[29] & 0xff) << 8;
+				byte[] entryName = new byte[nameLength];
+				file.readFully(entryName);
+				if (Arrays.equals(nameBytes, entryName)) {
+					long dataOffset = offset + header.length + nameLength + extraLength;
+					file.seek(dataOffset);
+					int data = file.read();
+					file.seek(dataOffset);
+					file.write(data ^ 0xff);
+					return;
+				}
+			}
+		}
+		fail("Entry not found: " + name);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,12 +38,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import org.eclipse.osgi.launch.Equinox;
+import org.eclipse.osgi.service.security.ConditionalPermissionDiagnostics;
 import org.eclipse.osgi.tests.OSGiTestsActivator;
 import org.eclipse.osgi.tests.bundles.AbstractBundleTests;
 import org.junit.Test;
 import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleException;
 import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceReference;
 import org.osgi.service.condpermadmin.ConditionInfo;
 import org.osgi.service.condpermadmin.ConditionalPermissionAdmin;
 import org.osgi.service.condpermadmin.ConditionalPermissionInfo;
@@ -1098,6 +1101,88 @@ public class SecurityAdminUnitTests extends AbstractBundleTests {
 		}
 	}
 
+	@Test
+	public void testEvaluationCacheHitRate() {
+		ConditionalPermissionUpdate update = cpa.newConditionalPermissionUpdate();
+		List rows = update.getConditionalPermissionInfos();
+		rows.add(cpa.newConditionalPermissionInfo(null, new ConditionInfo[] {SIGNER_CONDITION1}, READONLY_INFOS, ConditionalPermissionInfo.ALLOW));
+		assertTrue("failed to commit", update.commit()); //$NON-NLS-1$
+
+		ConditionalPermissionDiagnostics diagnostics = getDiagnostics();
+		long hits = diagnostics.getEvaluationCacheHitCount();
+		long misses = diagnostics.getEvaluationCacheMissCount();
+		AccessControlContext acc = cpa.getAccessControlContext(new String[] {"cn=t1,c=FR;cn=test1,c=US"}); //$NON-NLS-1$
+		for (int i = 0; i < 100; i++) {
+			acc.checkPermission(new FilePermission("test", "read")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		assertEquals("Wrong number of misses", 1, diagnostics.getEvaluationCacheMissCount() - misses); //$NON-NLS-1$
+		assertEquals("Wrong number of hits", 99, diagnostics.getEvaluationCacheHitCount() - hits); //$NON-NLS-1$
+		assertEquals("Wrong cache size", 1, diagnostics.getEvaluationCacheSize()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testEvaluationCacheEviction() {
+		ConditionalPermissionUpdate update = cpa.newConditionalPermissionUpdate();
+		List rows = update.getConditionalPermissionInfos();
+		rows.add(cpa.newConditionalPermissionInfo(null, new ConditionInfo[] {SIGNER_CONDITION1}, READONLY_INFOS, ConditionalPermissionInfo.ALLOW));
+		assertTrue("failed to commit", update.commit()); //$NON-NLS-1$
+
+		ConditionalPermissionDiagnostics diagnostics = getDiagnostics();
+		AccessControlContext acc = cpa.getAccessControlContext(new String[] {"cn=t1,c=FR;cn=test1,c=US"}); //$NON-NLS-1$
+		FilePermission hot = new FilePermission("hot", "read"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 0; i < 20; i++) {
+			acc.checkPermission(hot);
+		}
+		// a burst of one time checks fills the cache
+		long rejections = diagnostics.getEvaluationCacheRejectionCount();
+		for (int i = 0; i < 30000; i++) {
+			acc.checkPermission(new FilePermission("test" + i, "read")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		assertTrue("Cache is not bounded: " + diagnostics.getEvaluationCacheSize(), diagnostics.getEvaluationCacheSize() <= 10000); //$NON-NLS-1$
+		assertTrue("One time checks were not rejected", diagnostics.getEvaluationCacheRejectionCount() > rejections); //$NON-NLS-1$
+
+		// the frequently checked decision is still cached
+		long hits = diagnostics.getEvaluationCacheHitCount();
+		acc.checkPermission(hot);
+		assertEquals("Frequently checked decision was evicted", 1, diagnostics.getEvaluationCacheHitCount() - hits); //$NON-NLS-1$
+
+		// a decision which is checked repeatedly is admitted by evicting another one
+		long evictions = diagnostics.getEvaluationCacheEvictionCount();
+		FilePermission warm = new FilePermission("warm", "read"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 0; i < 15; i++) {
+			acc.checkPermission(warm);
+		}
+		assertTrue("Nothing was evicted", diagnostics.getEvaluationCacheEvictionCount() > evictions); //$NON-NLS-1$
+		hits = diagnostics.getEvaluationCacheHitCount();
+		acc.checkPermission(warm);
+		assertEquals("Repeatedly checked decision was not admitted", 1, diagnostics.getEvaluationCacheHitCount() - hits); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testEvaluationCacheClearedOnUninstall() throws BundleException {
+		Bundle test = installTestBundle(TEST_BUNDLE);
+		AccessControlContext acc = test.adapt(AccessControlContext.class);
+		ConditionalPermissionUpdate update = cpa.newConditionalPermissionUpdate();
+		List rows = update.getConditionalPermissionInfos();
+		rows.add(cpa.newConditionalPermissionInfo(null, ALLLOCATION_CONDS, READONLY_INFOS, ConditionalPermissionInfo.ALLOW));
+		assertTrue("failed to commit", update.commit()); //$NON-NLS-1$
+
+		ConditionalPermissionDiagnostics diagnostics = getDiagnostics();
+		testPermission(acc, new FilePermission("test", "read"), true); //$NON-NLS-1$ //$NON-NLS-2$
+		testPermission(acc, new FilePermission("test", "write"), false); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong cache size", 2, diagnostics.getEvaluationCacheSize()); //$NON-NLS-1$
+
+		test.uninstall();
+		assertEquals("Decisions of uninstalled bundle are cached", 0, diagnostics.getEvaluationCacheSize()); //$NON-NLS-1$
+	}
+
+	private ConditionalPermissionDiagnostics getDiagnostics() {
+		BundleContext context = equinox.getBundleContext();
+		ServiceReference<ConditionalPermissionDiagnostics> ref = context.getServiceReference(ConditionalPermissionDiagnostics.class);
+		assertNotNull("No diagnostics service", ref); //$NON-NLS-1$
+		return context.getService(ref);
+	}
+
 	private void checkInfos(ConditionalPermissionInfo testInfo1, ConditionalPermissionInfo testInfo2) {
 		assertTrue("Infos are not equal: " + testInfo1.getEncoded() + " " + testInfo2.getEncoded(), testInfo1.equals(testInfo2));
 		assertEquals("Info hash code is not equal", testInfo1.hashCode(), testInfo2.hashCode());
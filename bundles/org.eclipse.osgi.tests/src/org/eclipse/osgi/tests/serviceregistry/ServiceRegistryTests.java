@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.osgi.tests.OSGiTestsActivator;
 import org.eclipse.osgi.tests.bundles.AbstractBundleTests;
@@ -39,6 +40,7 @@ import org.junit.Test;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
+import org.osgi.framework.Filter;
 import org.osgi.framework.FrameworkEvent;
 import org.osgi.framework.FrameworkListener;
 import org.osgi.framework.FrameworkUtil;
@@ -578,6 +580,91 @@ public class ServiceRegistryTests extends AbstractBundleTests {
 		}
 	}
 
+	@Test
+	public void testFilterMatchDuringSetProperties() throws Exception {
+		BundleContext bc = OSGiTestsActivator.getContext();
+		Dictionary<String, Object> props = new Hashtable<>();
+		props.put("test.a", "0");
+		props.put("test.b", "0");
+		ServiceRegistration<Runnable> reg = bc.registerService(Runnable.class, () -> {
+			// nothing
+		}, props);
+		try {
+			ServiceReference<Runnable> ref = reg.getReference();
+			// modifying a returned value must not change the properties seen by filters
+			String[] objectClass = (String[]) ref.getProperty(Constants.OBJECTCLASS);
+			objectClass[0] = "modified";
+			assertTrue("Wrong objectClass match.", bc.createFilter("(objectClass=" + Runnable.class.getName() + ")").match(ref));
+
+			Thread modifier = new Thread(() -> {
+				for (int i = 0; i < 10000; i++) {
+					Dictionary<String, Object> update = new Hashtable<>();
+					update.put("test.a", String.valueOf(i % 2));
+					update.put("test.b", String.valueOf(i % 2));
+					reg.setProperties(update);
+				}
+			}, getName());
+			modifier.start();
+			// the properties of a single match must always come from the same update
+			Filter filter = bc.createFilter("(|(&(test.a=0)(test.b=0))(&(test.a=1)(test.b=1)))");
+			while (modifier.isAlive()) {
+				assertTrue("Matched properties from different updates.", filter.match(ref));
+			}
+			modifier.join();
+		} finally {
+			reg.unregister();
+		}
+	}
+
+	@Test
+	public void testConcurrentGetUngetServiceFactory() throws Exception {
+		BundleContext bc = OSGiTestsActivator.getContext();
+		AtomicInteger factoryGets = new AtomicInteger();
+		AtomicInteger factoryUngets = new AtomicInteger();
+		ServiceRegistration<?> reg = bc.registerService(Object.class.getName(), new ServiceFactory<Object>() {
+			@Override
+			public Object getService(Bundle bundle, ServiceRegistration<Object> registration) {
+				factoryGets.incrementAndGet();
+				return new Object();
+			}
+
+			@Override
+			public void ungetService(Bundle bundle, ServiceRegistration<Object> registration, Object service) {
+				factoryUngets.incrementAndGet();
+			}
+		}, null);
+		try {
+			ServiceReference<?> ref = reg.getReference();
+			List<Thread> threads = new ArrayList<>();
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			for (int i = 0; i < 8; i++) {
+				threads.add(new Thread(() -> {
+					try {
+						for (int j = 0; j < 10000; j++) {
+							assertNotNull("No service found.", bc.getService(ref));
+							assertTrue("Service not ungotten.", bc.ungetService(ref));
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					}
+				}, getName() + i));
+			}
+			for (Thread thread : threads) {
+				thread.start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertNull("Unexpected failure: " + failure.get(), failure.get());
+			// every factory get must have a matching unget once the last use is gone
+			assertEquals("Wrong number of factory calls.", factoryGets.get(), factoryUngets.get());
+			assertNull("Service still in use.", ref.getUsingBundles());
+			assertFalse("Service still in use.", bc.ungetService(ref));
+		} finally {
+			reg.unregister();
+		}
+	}
+
 	static class TestObjectClassOptimizationService implements Runnable, Callable<Void> {
 		@Override
 		public Void call() throws Exception {
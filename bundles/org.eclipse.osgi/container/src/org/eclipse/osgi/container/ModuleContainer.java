@@ -16,15 +16,18 @@ package org.eclipse.osgi.container;
 import java.io.Closeable;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -67,6 +70,7 @@ import org.osgi.framework.BundleException;
 import org.osgi.framework.Constants;
 import org.osgi.framework.FrameworkListener;
 import org.osgi.framework.Version;
+import org.osgi.framework.namespace.BundleNamespace;
 import org.osgi.framework.namespace.HostNamespace;
 import org.osgi.framework.namespace.IdentityNamespace;
 import org.osgi.framework.namespace.PackageNamespace;
@@ -573,6 +577,10 @@ public final class ModuleContainer implements DebugOptionsListener {
 	 * a dynamic wire could not be established.
 	 */
 	public ModuleWire resolveDynamic(String dynamicPkgName, ModuleRevision revision) {
+		Optional<ModuleWire> fastPathResult = resolveDynamicFastPath(dynamicPkgName, revision);
+		if (fastPathResult != null) {
+			return fastPathResult.orElse(null);
+		}
 		ModuleWire result;
 		Map<ModuleRevision, ModuleWiring> deltaWiring;
 		Collection<Module> modulesResolved;
@@ -669,6 +677,162 @@ public final class ModuleContainer implements DebugOptionsListener {
 		return result;
 	}
 
+	/**
+	 * Attempts to establish a dynamic package wire without using the resolver.
+	 * This is done for the common case where the first dynamic requirement matching
+	 * the package is satisfied by exactly one capability, the capability is provided
+	 * by a resolved host and no uses constraints can be involved because neither the
+	 * capability nor the wiring of the requesting revision uses the package, directly
+	 * or through the transitive closure of the packages it uses.
+	 * <p>
+	 * Only a single resolution permit is held, so dynamic imports of different
+	 * threads do not wait on each other, and only the wirings of the requester
+	 * and the provider are copied.  If another thread changes the wirings before
+	 * the delta is applied then the resolver is used.
+	 * @param dynamicPkgName the package name to attempt a dynamic resolution for
+	 * @param revision the module revision the dynamic resolution request is for
+	 * @return the result of the dynamic resolution or {@code null} if it must be done
+	 * by the resolver.
+	 */
+	private Optional<ModuleWire> resolveDynamicFastPath(String dynamicPkgName, ModuleRevision revision) {
+		if (System.getSecurityManager() != null) {
+			// leave the permission checks to the resolver
+			return null;
+		}
+		try (Permits resolutionPermits = _resolutionLock.acquire(1)) {
+			DynamicModuleRequirement dynamicReq;
+			ModuleCapability candidate;
+			Map<ModuleRevision, ModuleWiring> wiringCopy = new HashMap<>(4);
+			long timestamp;
+			moduleDatabase.readLock();
+			try {
+				ModuleWiring wiring = revision.getWiring();
+				if (wiring == null) {
+					// not resolved!!
+					return Optional.empty();
+				}
+				if (wiring.isDynamicPackageMiss(dynamicPkgName)) {
+					// cached a miss for this package
+					return Optional.empty();
+				}
+				ModuleWire existing = findExistingDynamicWire(wiring, dynamicPkgName);
+				if (existing != null) {
+					return Optional.of(existing);
+				}
+				List<DynamicModuleRequirement> dynamicReqs = getDynamicRequirements(dynamicPkgName, revision);
+				if (dynamicReqs.isEmpty()) {
+					// save the miss for the package name
+					wiring.addDynamicPackageMiss(dynamicPkgName);
+					return Optional.empty();
+				}
+				dynamicReq = dynamicReqs.get(0);
+				List<ModuleCapability> candidates = moduleDatabase.findCapabilities(dynamicReq);
+				if (candidates.size() != 1) {
+					return null;
+				}
+				candidate = candidates.get(0);
+				ModuleRevision provider = candidate.getRevision();
+				ModuleWiring providerWiring = provider.getWiring();
+				if (providerWiring == null || provider.equals(revision) || (provider.getTypes() & BundleRevision.TYPE_FRAGMENT) != 0) {
+					return null;
+				}
+				if (!providerWiring.getModuleCapabilities(PackageNamespace.PACKAGE_NAMESPACE).contains(candidate)) {
+					// substituted or not effective
+					return null;
+				}
+				if (candidate.getDirectives().get(Namespace.CAPABILITY_USES_DIRECTIVE) != null || isUsed(wiring, dynamicPkgName)) {
+					return null;
+				}
+				timestamp = moduleDatabase.getRevisionsTimestamp();
+				wiringCopy.put(revision, new ModuleWiring(revision, wiring.getCapabilities(), wiring.getRequirements(), wiring.getProvidedWires(), wiring.getRequiredWires(), wiring.getSubstitutedNames()));
+				wiringCopy.put(provider, new ModuleWiring(provider, providerWiring.getCapabilities(), providerWiring.getRequirements(), providerWiring.getProvidedWires(), providerWiring.getRequiredWires(), providerWiring.getSubstitutedNames()));
+			} finally {
+				moduleDatabase.readUnlock();
+			}
+
+			if (!moduleResolver.filterDynamicCandidate(dynamicReq, candidate)) {
+				return null;
+			}
+			Wire wire = new ModuleWire(candidate, candidate.getRevision(), dynamicReq.getOriginal(), revision);
+			Map<Resource, List<Wire>> resolutionResult = Collections.singletonMap(revision, Collections.singletonList(wire));
+			Map<ModuleRevision, ModuleWiring> deltaWiring = moduleResolver.generateDelta(resolutionResult, wiringCopy);
+			ModuleWire result = findExistingDynamicWire(deltaWiring.get(revision), dynamicPkgName);
+			if (!applyDelta(deltaWiring, new ArrayList<>(0), Collections.emptyList(), timestamp, false, resolutionPermits)) {
+				// the wirings changed in the meantime
+				return null;
+			}
+			return Optional.of(result);
+		} catch (ResolutionLockException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Returns true if a uses constraint of the specified wiring, its capabilities or
+	 * the capabilities it is wired to may involve the specified package, either
+	 * directly or through the transitive closure of the used packages.
+	 */
+	private static boolean isUsed(ModuleWiring wiring, String packageName) {
+		Deque<ModuleCapability> toVisit = new ArrayDeque<>();
+		toVisit.addAll(wiring.getCapabilities().getList(null));
+		for (ModuleWire wire : wiring.getRequiredWires().getList(null)) {
+			if (BundleNamespace.BUNDLE_NAMESPACE.equals(wire.getCapability().getNamespace())) {
+				// the packages of required bundles may have uses constraints of their own
+				return true;
+			}
+			toVisit.add(wire.getCapability());
+		}
+		Set<ModuleCapability> visited = new HashSet<>();
+		ModuleCapability capability;
+		while ((capability = toVisit.poll()) != null) {
+			if (!visited.add(capability)) {
+				continue;
+			}
+			String uses = capability.getDirectives().get(Namespace.CAPABILITY_USES_DIRECTIVE);
+			if (uses == null) {
+				continue;
+			}
+			ModuleWiring usesWiring = capability.getRevision().getWiring();
+			if (usesWiring == null) {
+				// cannot tell what the used packages are wired to
+				return true;
+			}
+			for (String used : uses.split(",")) { //$NON-NLS-1$
+				String usedName = used.trim();
+				if (packageName.equals(usedName)) {
+					return true;
+				}
+				if (!addUsedPackageCapabilities(usesWiring, usedName, toVisit)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the capabilities the specified wiring gets the specified package from.
+	 * Returns false if the package may come from a required bundle, in which case
+	 * the used capabilities are not known.
+	 */
+	private static boolean addUsedPackageCapabilities(ModuleWiring wiring, String packageName, Deque<ModuleCapability> toVisit) {
+		for (ModuleWire wire : wiring.getRequiredWires().getList(null)) {
+			String namespace = wire.getCapability().getNamespace();
+			if (BundleNamespace.BUNDLE_NAMESPACE.equals(namespace)) {
+				return false;
+			}
+			if (PackageNamespace.PACKAGE_NAMESPACE.equals(namespace) && packageName.equals(wire.getCapability().getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE))) {
+				toVisit.add(wire.getCapability());
+			}
+		}
+		for (ModuleCapability capability : wiring.getModuleCapabilities(PackageNamespace.PACKAGE_NAMESPACE)) {
+			if (packageName.equals(capability.getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE))) {
+				toVisit.add(capability);
+			}
+		}
+		return true;
+	}
+
 	private ModuleWire findExistingDynamicWire(ModuleWiring wiring, String dynamicPkgName) {
 		if (wiring == null) {
 			return null;
@@ -181,6 +181,48 @@ final class ModuleResolver {
 		return resolveProcess.resolve();
 	}
 
+	/**
+	 * Gives the resolver hooks the chance to filter the single candidate found for a
+	 * dynamic requirement without running a resolve process.  The hooks see the same
+	 * begin, filterMatches and end calls a dynamic resolve process would make.
+	 * @param dynamicReq the dynamic requirement
+	 * @param candidate the single resolved candidate for the requirement
+	 * @return true if the hooks did not filter out the candidate, false if the candidate
+	 * was filtered or the hooks could not be called in which case the resolve process
+	 * must be used.
+	 */
+	boolean filterDynamicCandidate(DynamicModuleRequirement dynamicReq, ModuleCapability candidate) {
+		if (threadResolving()) {
+			// let the resolve process report the recursion
+			return false;
+		}
+		threadResolving.set(Boolean.TRUE);
+		try {
+			ModuleRevision revision = dynamicReq.getRevision();
+			ResolverHook hook;
+			try {
+				hook = adaptor.getResolverHookFactory().begin(Collections.<BundleRevision> singletonList(revision));
+			} catch (RuntimeException e) {
+				return false;
+			}
+			List<ModuleCapability> candidates = new ArrayList<>(1);
+			candidates.add(candidate);
+			try {
+				hook.filterMatches(dynamicReq.getOriginal(), InternalUtils.asList(candidates));
+				if (!candidates.isEmpty() && hook instanceof ResolutionReport.Listener) {
+					Wire wire = new ModuleWire(candidate, candidate.getRevision(), dynamicReq.getOriginal(), revision);
+					Map<Resource, List<Wire>> result = Collections.singletonMap(revision, Collections.singletonList(wire));
+					((ResolutionReport.Listener) hook).handleResolutionReport(new ModuleResolutionReport.Builder().build(result, null));
+				}
+			} finally {
+				hook.end();
+			}
+			return !candidates.isEmpty();
+		} finally {
+			threadResolving.set(Boolean.FALSE);
+		}
+	}
+
 	Map<ModuleRevision, ModuleWiring> generateDelta(Map<Resource, List<Wire>> result, Map<ModuleRevision, ModuleWiring> wiringCopy) {
 		Map<ModuleRevision, Map<ModuleCapability, List<ModuleWire>>> provided = new HashMap<>();
 		Map<ModuleRevision, NamespaceList<ModuleWire>> required = new HashMap<>(result.size() * 4 / 3 + 1);
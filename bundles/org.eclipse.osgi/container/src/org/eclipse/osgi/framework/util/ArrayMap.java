@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2016 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -53,7 +53,7 @@ public class ArrayMap<K, V> implements Collection<K> {
 
 	public void put(K key, V value) {
 		int index = keys.indexOf(key);
-		if (index > 0) {
+		if (index >= 0) {
 			values.set(index, value);
 		} else {
 			keys.add(key);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2021 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -361,6 +361,39 @@ public class SecureAction {
 		}
 	}
 
+	/**
+	 * Returns a JarFile which verifies the signatures of its entries. Same as
+	 * calling new JarFile(file, true)
+	 * 
+	 * @param file the file to get a JarFile for
+	 * @return a JarFile
+	 * @throws IOException if an error occured
+	 */
+	public JarFile getJarFile(final File file) throws IOException {
+		try {
+			if (System.getSecurityManager() == null)
+				return new JarFile(file, true);
+			try {
+				return AccessController.doPrivileged(new PrivilegedExceptionAction<JarFile>() {
+					@Override
+					public JarFile run() throws IOException {
+						return new JarFile(file, true);
+					}
+				}, controlContext);
+			} catch (PrivilegedActionException e) {
+				if (e.getException() instanceof IOException)
+					throw (IOException) e.getException();
+				throw (RuntimeException) e.getException();
+			}
+		} catch (ZipException e) {
+			ZipException zipNameException = new ZipException("Exception in opening zip file: " + file.getPath()); //$NON-NLS-1$
+			zipNameException.initCause(e);
+			throw zipNameException;
+		} catch (IOException e) {
+			throw new IOException("Exception in opening zip file: " + file.getPath(), e); //$NON-NLS-1$
+		}
+	}
+
 	/**
 	 * Gets a URL. Same a calling
 	 * {@link URL#URL(java.lang.String, java.lang.String, int, java.lang.String, java.net.URLStreamHandler)}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2021 IBM Corporation and others.
+ * Copyright (c) 2012, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.eclipse.osgi.container.ModuleCapability;
@@ -30,9 +33,12 @@ import org.eclipse.osgi.internal.framework.FilterImpl;
 import org.eclipse.osgi.util.ManifestElement;
 import org.osgi.framework.Filter;
 import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.Version;
+import org.osgi.framework.VersionRange;
 import org.osgi.framework.namespace.AbstractWiringNamespace;
 import org.osgi.framework.namespace.BundleNamespace;
 import org.osgi.framework.namespace.HostNamespace;
+import org.osgi.framework.namespace.IdentityNamespace;
 import org.osgi.framework.namespace.PackageNamespace;
 import org.osgi.resource.Capability;
 import org.osgi.resource.Namespace;
@@ -45,10 +51,18 @@ public class Capabilities {
 		private final Set<ModuleCapability> all = new HashSet<>();
 		private final Set<ModuleCapability> nonStringIndexes = new HashSet<>(0);
 		private final boolean matchMandatory;
+		private final String versionAttr;
+		// Lazily built indexes; capabilities are only added and removed while holding the
+		// write lock but lookups may build these concurrently while holding the read lock.
+		// The version indexes of a primary key are discarded when the key changes;
+		// the attribute indexes are kept up to date once built.
+		private final Map<String, VersionIndex> versionIndexes = new ConcurrentHashMap<>();
+		private final Map<String, AttributeIndex> attributeIndexes = new ConcurrentHashMap<>();
 
 		NamespaceSet(String name) {
 			this.name = name;
 			this.matchMandatory = PackageNamespace.PACKAGE_NAMESPACE.equals(name) || BundleNamespace.BUNDLE_NAMESPACE.equals(name) || HostNamespace.HOST_NAMESPACE.equals(name);
+			this.versionAttr = BundleNamespace.BUNDLE_NAMESPACE.equals(name) || HostNamespace.HOST_NAMESPACE.equals(name) ? AbstractWiringNamespace.CAPABILITY_BUNDLE_VERSION_ATTRIBUTE : IdentityNamespace.CAPABILITY_VERSION_ATTRIBUTE;
 		}
 
 		void addCapability(ModuleCapability capability) {
@@ -56,6 +70,9 @@ public class Capabilities {
 				throw new IllegalArgumentException("Invalid namespace: " + capability.getNamespace() + ": expecting: " + name); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 			all.add(capability);
+			for (AttributeIndex attributeIndex : attributeIndexes.values()) {
+				attributeIndex.add(capability);
+			}
 			// by convention we index by the namespace attribute
 			Object index = capability.getAttributes().get(name);
 			if (index == null) {
@@ -86,6 +103,7 @@ public class Capabilities {
 					indexes.put((String) indexKey, capabilities);
 				}
 				capabilities.add(capability);
+				versionIndexes.remove(indexKey);
 			}
 		}
 
@@ -94,6 +112,9 @@ public class Capabilities {
 				throw new IllegalArgumentException("Invalid namespace: " + capability.getNamespace() + ": expecting: " + name); //$NON-NLS-1$//$NON-NLS-2$
 			}
 			all.remove(capability);
+			for (AttributeIndex attributeIndex : attributeIndexes.values()) {
+				attributeIndex.remove(capability);
+			}
 			// by convention we index by the namespace attribute
 			Object index = capability.getAttributes().get(name);
 			if (index == null) {
@@ -122,6 +143,7 @@ public class Capabilities {
 				if (capabilities != null) {
 					capabilities.remove(capability);
 				}
+				versionIndexes.remove(indexKey);
 			}
 		}
 
@@ -147,13 +169,13 @@ public class Capabilities {
 			} else {
 				String indexKey = f.getPrimaryKeyValue(name);
 				if (indexKey == null) {
-					result = match(f, all, synthetic);
+					result = match(f, findCandidates(f), synthetic);
 				} else {
 					Set<ModuleCapability> indexed = indexes.get(indexKey);
 					if (indexed == null) {
 						result = new ArrayList<>(0);
 					} else {
-						result = match(f, indexed, synthetic);
+						result = match(f, findCandidates(f, indexKey, indexed), synthetic);
 					}
 					if (!nonStringIndexes.isEmpty()) {
 						List<ModuleCapability> nonStringResult = match(f, nonStringIndexes, synthetic);
@@ -168,7 +190,45 @@ public class Capabilities {
 			return result;
 		}
 
-		private List<ModuleCapability> match(Filter f, Set<ModuleCapability> candidates, boolean synthetic) {
+		/*
+		 * Narrows down the capabilities with the primary key by the version range
+		 * required by the filter, if any.
+		 */
+		private Collection<ModuleCapability> findCandidates(FilterImpl f, String indexKey, Set<ModuleCapability> indexed) {
+			if (indexed.size() < VERSION_INDEX_THRESHOLD) {
+				return indexed;
+			}
+			VersionRange range = f.getRequiredVersionRange(versionAttr);
+			if (range == null) {
+				return indexed;
+			}
+			VersionIndex versionIndex = versionIndexes.get(indexKey);
+			if (versionIndex == null) {
+				versionIndex = new VersionIndex(indexed, versionAttr);
+				versionIndexes.put(indexKey, versionIndex);
+			}
+			return versionIndex.getCandidates(range);
+		}
+
+		/*
+		 * Narrows down all the capabilities by the smallest set of capabilities with
+		 * an attribute value required by the filter, if any.
+		 */
+		private Collection<ModuleCapability> findCandidates(FilterImpl f) {
+			if (all.size() < ATTRIBUTE_INDEX_THRESHOLD) {
+				return all;
+			}
+			Collection<ModuleCapability> candidates = all;
+			for (Map.Entry<String, String> required : f.getRequiredAttributeValues().entrySet()) {
+				Collection<ModuleCapability> attributeCandidates = attributeIndexes.computeIfAbsent(required.getKey(), attr -> new AttributeIndex(attr, all)).getCandidates(required.getValue());
+				if (attributeCandidates.size() < candidates.size()) {
+					candidates = attributeCandidates;
+				}
+			}
+			return candidates;
+		}
+
+		private List<ModuleCapability> match(Filter f, Collection<ModuleCapability> candidates, boolean synthetic) {
 			List<ModuleCapability> result = new ArrayList<>(1);
 			for (ModuleCapability candidate : candidates) {
 				if (matches(f, candidate, !synthetic && matchMandatory)) {
@@ -179,6 +239,121 @@ public class Capabilities {
 		}
 	}
 
+	/*
+	 * The capabilities of a primary key sorted by the version attribute. Built once
+	 * and only read afterwards.
+	 */
+	static class VersionIndex {
+		private final NavigableMap<Version, List<ModuleCapability>> versioned = new TreeMap<>();
+		// capabilities without a Version object as the version attribute may match any range
+		private final List<ModuleCapability> unversioned = new ArrayList<>(0);
+
+		VersionIndex(Collection<ModuleCapability> capabilities, String versionAttr) {
+			for (ModuleCapability capability : capabilities) {
+				Object version = capability.getAttributes().get(versionAttr);
+				if (version instanceof Version) {
+					versioned.computeIfAbsent((Version) version, v -> new ArrayList<>(1)).add(capability);
+				} else {
+					unversioned.add(capability);
+				}
+			}
+		}
+
+		Collection<ModuleCapability> getCandidates(VersionRange range) {
+			List<ModuleCapability> result = new ArrayList<>(unversioned);
+			if (range.isEmpty()) {
+				return result;
+			}
+			Version left = range.getLeft();
+			Version right = range.getRight();
+			boolean leftInclusive = range.getLeftType() == VersionRange.LEFT_CLOSED;
+			NavigableMap<Version, List<ModuleCapability>> inRange = right == null ? versioned.tailMap(left, leftInclusive) : versioned.subMap(left, leftInclusive, right, range.getRightType() == VersionRange.RIGHT_CLOSED);
+			for (List<ModuleCapability> capabilities : inRange.values()) {
+				result.addAll(capabilities);
+			}
+			return result;
+		}
+	}
+
+	/*
+	 * The capabilities of a namespace indexed by the String values of an attribute
+	 * other than the primary key. Kept up to date while capabilities are added and
+	 * removed while holding the write lock.
+	 */
+	static class AttributeIndex {
+		private final String attr;
+		private final Map<String, Set<ModuleCapability>> indexes = new HashMap<>();
+		private final Set<ModuleCapability> nonStringIndexes = new HashSet<>(0);
+
+		AttributeIndex(String attr, Collection<ModuleCapability> capabilities) {
+			this.attr = attr;
+			for (ModuleCapability capability : capabilities) {
+				add(capability);
+			}
+		}
+
+		void add(ModuleCapability capability) {
+			Object index = capability.getAttributes().get(attr);
+			if (index == null) {
+				// an equality can never match a capability without the attribute
+				return;
+			}
+			for (Object indexKey : getIndexKeys(index)) {
+				if (indexKey instanceof String) {
+					indexes.computeIfAbsent((String) indexKey, k -> new HashSet<>(1)).add(capability);
+				} else {
+					nonStringIndexes.add(capability);
+				}
+			}
+		}
+
+		void remove(ModuleCapability capability) {
+			Object index = capability.getAttributes().get(attr);
+			if (index == null) {
+				return;
+			}
+			for (Object indexKey : getIndexKeys(index)) {
+				if (indexKey instanceof String) {
+					Set<ModuleCapability> capabilities = indexes.get(indexKey);
+					if (capabilities != null) {
+						capabilities.remove(capability);
+						if (capabilities.isEmpty()) {
+							indexes.remove(indexKey);
+						}
+					}
+				} else {
+					nonStringIndexes.remove(capability);
+				}
+			}
+		}
+
+		Collection<ModuleCapability> getCandidates(String value) {
+			Set<ModuleCapability> indexed = indexes.get(value);
+			if (nonStringIndexes.isEmpty()) {
+				return indexed == null ? Collections.emptySet() : indexed;
+			}
+			Set<ModuleCapability> result = new HashSet<>(nonStringIndexes);
+			if (indexed != null) {
+				result.addAll(indexed);
+			}
+			return result;
+		}
+
+		private static Collection<?> getIndexKeys(Object index) {
+			if (index instanceof Collection) {
+				return (Collection<?>) index;
+			} else if (index.getClass().isArray()) {
+				return Arrays.asList((Object[]) index);
+			}
+			return Collections.singleton(index);
+		}
+	}
+
+	// the minimum number of capabilities with the same primary key before they are sorted by version
+	static final int VERSION_INDEX_THRESHOLD = 16;
+	// the minimum number of capabilities in a namespace before other attributes are indexed
+	static final int ATTRIBUTE_INDEX_THRESHOLD = 64;
+
 	public static final Pattern MANDATORY_ATTR = Pattern.compile("\\(([^(=<>]+)\\s*[=<>]\\s*[^)]+\\)"); //$NON-NLS-1$
 	public static final String SYNTHETIC_REQUIREMENT = "org.eclipse.osgi.container.synthetic"; //$NON-NLS-1$
 
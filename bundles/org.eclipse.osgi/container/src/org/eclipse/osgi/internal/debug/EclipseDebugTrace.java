@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.security.AccessController;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import org.eclipse.core.runtime.adaptor.EclipseStarter;
 import org.eclipse.osgi.framework.util.SecureAction;
 import org.eclipse.osgi.service.debug.DebugTrace;
@@ -108,6 +109,11 @@ class EclipseDebugTrace implements DebugTrace {
 
 	private final boolean consoleLog;
 
+	/** The writer kept open between batches of buffered records; guarded by the write lock */
+	private Writer batchWriter = null;
+	/** The file the batch writer writes to; guarded by the write lock */
+	private File batchFile = null;
+
 	/**
 	 * Construct a new EclipseDebugTrace for the specified bundle symbolic name and write messages to the specified
 	 * trace file.
@@ -348,6 +354,12 @@ class EclipseDebugTrace implements DebugTrace {
 	private void writeRecord(final FrameworkDebugTraceEntry entry) {
 
 		if (entry != null) {
+			final TraceBuffer traceBuffer = debugOptions.getTraceBuffer();
+			if (traceBuffer != null) {
+				// the buffered records are written in batches
+				traceBuffer.add(entry);
+				return;
+			}
 			synchronized (debugOptions.getWriteLock()) {
 				final File tracingFile = debugOptions.getFile(); // the tracing file may be null if it has not been set
 				Writer traceWriter = null;
@@ -374,6 +386,66 @@ class EclipseDebugTrace implements DebugTrace {
 		}
 	}
 
+	/**
+	 * Write a batch of buffered FrameworkTraceEntry objects to the trace file. Unlike
+	 * {@link #writeRecord(FrameworkDebugTraceEntry)} the trace file is kept open
+	 * between batches; it is only closed to rotate it or when the file changes.
+	 *
+	 * @param entries The FrameworkTraceEntry objects to write to the log file.
+	 * @param dropped The number of records which were dropped before the entries because the buffer was full.
+	 */
+	void writeRecords(final List<FrameworkDebugTraceEntry> entries, final long dropped) {
+
+		synchronized (debugOptions.getWriteLock()) {
+			final File tracingFile = debugOptions.getFile(); // the tracing file may be null if it has not been set
+			final long timestamp = entries.isEmpty() ? System.currentTimeMillis() : entries.get(0).getTimestamp();
+			try {
+				if (batchWriter != null) {
+					boolean fileChanged = (tracingFile == null) ? batchFile != null : !tracingFile.equals(batchFile);
+					// the trace file cannot be rotated while it is open
+					boolean rotate = (maxTraceFileSize > 0) && (tracingFile != null) && ((tracingFile.length() >> 10) > maxTraceFileSize);
+					if (fileChanged || rotate) {
+						closeBatchWriter();
+					}
+				}
+				if (batchWriter == null) {
+					// check to see if the file should be rotated
+					checkTraceFileSize(tracingFile, timestamp);
+					batchWriter = openWriter(tracingFile);
+					batchFile = tracingFile;
+				}
+				if (debugOptions.newSession()) {
+					writeSession(batchWriter, timestamp);
+				}
+				if (dropped > 0) {
+					writeComment(batchWriter, dropped + " trace records were dropped because the trace buffer was full"); //$NON-NLS-1$
+				}
+				for (FrameworkDebugTraceEntry entry : entries) {
+					writeMessage(batchWriter, entry);
+				}
+				// flush the writer
+				batchWriter.flush();
+			} catch (Exception ex) {
+				// any exceptions during tracing should be caught
+				System.err.println("An exception occurred while writing to the platform trace file: ");//$NON-NLS-1$
+				ex.printStackTrace(System.err);
+				closeBatchWriter();
+			}
+		}
+	}
+
+	/**
+	 * Close the writer kept open between batches of buffered records
+	 */
+	void closeBatchWriter() {
+
+		synchronized (debugOptions.getWriteLock()) {
+			closeWriter(batchWriter);
+			batchWriter = null;
+			batchFile = null;
+		}
+	}
+
 	/**
 	 * Reads the PROP_TRACE_SIZE_MAX and PROP_TRACE_FILE_MAX properties.
 	 */
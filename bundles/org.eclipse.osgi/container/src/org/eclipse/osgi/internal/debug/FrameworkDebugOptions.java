@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2016 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,12 @@ public class FrameworkDebugOptions implements DebugOptions, ServiceTrackerCustom
 	private static final String OSGI_DEBUG = "osgi.debug"; //$NON-NLS-1$
 	private static final String OSGI_DEBUG_VERBOSE = "osgi.debug.verbose"; //$NON-NLS-1$
 	public static final String PROP_TRACEFILE = "osgi.tracefile"; //$NON-NLS-1$
+	/** The maximum number of trace records kept in memory before they are written; 0 writes each record immediately */
+	public static final String PROP_TRACE_BUFFER_SIZE = "eclipse.trace.buffer.size"; //$NON-NLS-1$
+	/** The time in milliseconds between writing the buffered trace records; 0 writes them only on demand */
+	public static final String PROP_TRACE_BUFFER_INTERVAL = "eclipse.trace.buffer.interval"; //$NON-NLS-1$
+	/** The default time in milliseconds between writing the buffered trace records */
+	private static final long DEFAULT_TRACE_BUFFER_INTERVAL = 1000;
 	/** The default name of the .options file if loading when the -debug command-line argument is used */
 	private static final String OPTIONS = ".options"; //$NON-NLS-1$
 
@@ -69,11 +75,23 @@ public class FrameworkDebugOptions implements DebugOptions, ServiceTrackerCustom
 	private final EquinoxConfiguration environmentInfo;
 	private volatile BundleContext context;
 	private volatile ServiceTracker<DebugOptionsListener, DebugOptionsListener> listenerTracker;
+	/** The buffer of trace records if they are written in batches; may be null */
+	private volatile TraceBuffer traceBuffer;
+	/** The maximum number of buffered trace records; 0 if the records are not buffered. Guarded by lock */
+	private int traceBufferSize;
+	/** The time in milliseconds between writing the buffered trace records. Guarded by lock */
+	private long traceBufferInterval;
 
 	public FrameworkDebugOptions(EquinoxConfiguration environmentInfo) {
 		this.environmentInfo = environmentInfo;
 		// check if verbose debugging was set during initialization.  This needs to be set even if debugging is disabled
 		this.verboseDebug = Boolean.valueOf(environmentInfo.getConfiguration(OSGI_DEBUG_VERBOSE, Boolean.TRUE.toString())).booleanValue();
+		// the trace buffer can also be configured before debugging is enabled
+		traceBufferSize = parseNumber(environmentInfo.getConfiguration(PROP_TRACE_BUFFER_SIZE), 0);
+		traceBufferInterval = parseNumber(environmentInfo.getConfiguration(PROP_TRACE_BUFFER_INTERVAL), DEFAULT_TRACE_BUFFER_INTERVAL);
+		if (traceBufferSize > 0) {
+			traceBuffer = new TraceBuffer(this, traceBufferSize, traceBufferInterval);
+		}
 		// if no debug option was specified, don't even bother to try.
 		// Must ensure that the options slot is null as this is the signal to the
 		// platform that debugging is not enabled.
@@ -118,12 +136,41 @@ public class FrameworkDebugOptions implements DebugOptions, ServiceTrackerCustom
 		this.context = bc;
 		listenerTracker = new ServiceTracker<>(bc, DebugOptionsListener.class.getName(), this);
 		listenerTracker.open();
+		synchronized (lock) {
+			// the buffer is closed when the framework is stopped
+			if (traceBuffer == null && traceBufferSize > 0) {
+				traceBuffer = new TraceBuffer(this, traceBufferSize, traceBufferInterval);
+			}
+		}
 	}
 
 	public void stop(BundleContext bc) {
 		listenerTracker.close();
 		listenerTracker = null;
 		this.context = null;
+		// write the buffered records and stop the writer; later records are written immediately
+		TraceBuffer previous;
+		synchronized (lock) {
+			previous = traceBuffer;
+			traceBuffer = null;
+		}
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	private static int parseNumber(String value, int defaultValue) {
+		return (int) parseNumber(value, (long) defaultValue);
+	}
+
+	private static long parseNumber(String value, long defaultValue) {
+		if (value == null)
+			return defaultValue;
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
 	}
 
 	/**
@@ -414,6 +461,8 @@ public class FrameworkDebugOptions implements DebugOptions, ServiceTrackerCustom
 	 */
 	@Override
 	public void setFile(final File traceFile) {
+		// the records traced so far belong to the current file
+		flushTraceBuffer();
 		synchronized (lock) {
 			this.outFile = traceFile;
 			if (this.outFile != null)
@@ -439,6 +488,46 @@ public class FrameworkDebugOptions implements DebugOptions, ServiceTrackerCustom
 		return writeLock;
 	}
 
+	TraceBuffer getTraceBuffer() {
+		return traceBuffer;
+	}
+
+	/**
+	 * Sets the buffer for trace records. Buffered records are captured without
+	 * locking and written to the trace file in batches by a background thread
+	 * or on demand with {@link #flushTraceBuffer()}. The records of a previous
+	 * buffer are written before it is replaced.
+	 *
+	 * @param size The maximum number of buffered records; the oldest records are
+	 *        dropped if the buffer is full. 0 disables buffering so each record is written immediately.
+	 * @param writeInterval The time in milliseconds between writing the buffered records;
+	 *        0 writes them only on demand.
+	 */
+	public void setTraceBuffer(final int size, final long writeInterval) {
+		TraceBuffer previous;
+		synchronized (lock) {
+			previous = traceBuffer;
+			traceBufferSize = Math.max(size, 0);
+			traceBufferInterval = writeInterval;
+			traceBuffer = size > 0 ? new TraceBuffer(this, size, writeInterval) : null;
+		}
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Writes the buffered trace records, if any, to the trace file now.
+	 *
+	 * @see #setTraceBuffer(int, long)
+	 */
+	public void flushTraceBuffer() {
+		TraceBuffer currentBuffer = traceBuffer;
+		if (currentBuffer != null) {
+			currentBuffer.flush();
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.eclipse.osgi.service.debug.DebugOptions#getVerbose()
@@ -457,6 +546,8 @@ public class FrameworkDebugOptions implements DebugOptions, ServiceTrackerCustom
 	 * @see org.eclipse.osgi.service.debug.DebugOptions#setVerbose(boolean)
 	 */
 	public void setVerbose(final boolean verbose) {
+		// the records traced so far are written with the current format
+		flushTraceBuffer();
 		synchronized (lock) {
 			this.verboseDebug = verbose;
 			// the verbose flag changed so start a new session
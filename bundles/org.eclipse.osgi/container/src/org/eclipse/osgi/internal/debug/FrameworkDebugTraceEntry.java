@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.osgi.internal.debug;
 
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * A framework trace entry is a bean containing all of the attributes for a single trace message.
  */
@@ -108,36 +112,97 @@ public class FrameworkDebugTraceEntry {
 		this.message = message;
 		throwable = error;
 
-		String determineClassName = null;
-		String determineMethodName = null;
-		int determineLineNumber = 0;
 		// dynamically determine the class name, method name, and line number of the method calling the trace framework
-		StackTraceElement[] stackElements = new Exception().getStackTrace();
-		int i = 0;
-		while (i < stackElements.length) {
-			String fullClassName = stackElements[i].getClassName();
-			if (!fullClassName.equals(Thread.class.getName()) && !fullClassName.equals(FrameworkDebugTraceEntry.class.getName()) && !fullClassName.equals(EclipseDebugTrace.class.getName())) {
-				/*
-				 * The first class which is non-JDK or framework related has been hit.
-				 * If a traceClass has been specified then this current stack element
-				 * is likely that class so we should find out who called it.  If a
-				 * trace class has not been specified, or has been specified and this
-				 * stack element is not that class, then we assume this stack element
-				 * is the caller of the trace API.
-				 */
-				if ((traceClass == null) || !fullClassName.equals(traceClass)) {
-					determineClassName = stackElements[i].getClassName();
-					determineMethodName = stackElements[i].getMethodName();
-					determineLineNumber = stackElements[i].getLineNumber();
-					break; // only break when the right stack element has been found; Otherwise keep trying
+		StackTraceElement caller = CallerFinder.findCaller(traceClass);
+		if (caller != null) {
+			className = caller.getClassName();
+			methodName = caller.getMethodName();
+			lineNumber = caller.getLineNumber();
+		} else {
+			className = null;
+			methodName = null;
+			lineNumber = 0;
+		}
+	}
+
+	/**
+	 * Determines if the specified stack frame is the caller of the trace API.
+	 */
+	private static boolean isCaller(final String fullClassName, final String traceClass) {
+		if (fullClassName.equals(Thread.class.getName()) || fullClassName.equals(FrameworkDebugTraceEntry.class.getName()) || fullClassName.equals(CallerFinder.class.getName()) || fullClassName.equals(EclipseDebugTrace.class.getName())) {
+			return false;
+		}
+		/*
+		 * The first class which is non-JDK or framework related has been hit.
+		 * If a traceClass has been specified then this current stack element
+		 * is likely that class so we should find out who called it.  If a
+		 * trace class has not been specified, or has been specified and this
+		 * stack element is not that class, then we assume this stack element
+		 * is the caller of the trace API.
+		 */
+		return (traceClass == null) || !fullClassName.equals(traceClass);
+	}
+
+	/**
+	 * Finds the caller of the trace API. On Java 9 and later a
+	 * <code>StackWalker</code> is used which only walks the frames up to the
+	 * caller instead of capturing the complete stack of the thread. The
+	 * framework still runs on Java 8, so it is looked up reflectively.
+	 */
+	private static final class CallerFinder {
+		private static final Object STACK_WALKER;
+		private static final Method WALK;
+		private static final Method GET_CLASS_NAME;
+		private static final Method TO_STACK_TRACE_ELEMENT;
+
+		static {
+			Object stackWalker = null;
+			Method walk = null;
+			Method getClassName = null;
+			Method toStackTraceElement = null;
+			try {
+				Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker"); //$NON-NLS-1$
+				Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame"); //$NON-NLS-1$
+				walk = stackWalkerClass.getMethod("walk", Function.class); //$NON-NLS-1$
+				getClassName = stackFrameClass.getMethod("getClassName"); //$NON-NLS-1$
+				toStackTraceElement = stackFrameClass.getMethod("toStackTraceElement"); //$NON-NLS-1$
+				stackWalker = stackWalkerClass.getMethod("getInstance").invoke(null); //$NON-NLS-1$
+			} catch (Exception | LinkageError e) {
+				// fall back to the stack trace of an exception
+				stackWalker = null;
+			}
+			STACK_WALKER = stackWalker;
+			WALK = walk;
+			GET_CLASS_NAME = getClassName;
+			TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+		}
+
+		static StackTraceElement findCaller(final String traceClass) {
+			if (STACK_WALKER != null) {
+				try {
+					Function<Stream<?>, Object> findFirst = frames -> frames.filter(frame -> isCaller(getClassName(frame), traceClass)).findFirst().orElse(null);
+					Object frame = WALK.invoke(STACK_WALKER, findFirst);
+					return frame == null ? null : (StackTraceElement) TO_STACK_TRACE_ELEMENT.invoke(frame);
+				} catch (Exception e) {
+					// fall back to the stack trace of an exception
 				}
 			}
-			i++;
+			StackTraceElement[] stackElements = new Exception().getStackTrace();
+			for (StackTraceElement stackElement : stackElements) {
+				if (isCaller(stackElement.getClassName(), traceClass)) {
+					return stackElement;
+				}
+			}
+			return null;
 		}
 
-		className = determineClassName;
-		methodName = determineMethodName;
-		lineNumber = determineLineNumber;
+		private static String getClassName(Object frame) {
+			try {
+				return (String) GET_CLASS_NAME.invoke(frame);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
 	}
 
 	/*
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.internal.debug;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded in-memory buffer of trace records. Tracing threads add records
+ * without locking; once the buffer is full the oldest records are overwritten.
+ * The records are written to the trace file in batches, either periodically by
+ * a background thread or on demand with {@link #flush()}.
+ */
+class TraceBuffer implements Runnable {
+	/** The name of the thread writing the buffered records */
+	private static final String WRITER_THREAD_NAME = "Equinox Trace Writer"; //$NON-NLS-1$
+
+	private final AtomicReferenceArray<FrameworkDebugTraceEntry> entries;
+	/**
+	 * The sequence number + 1 of the record in each slot of the buffer; 0 if the slot is empty.
+	 * While a record is being written to a slot the negated value is stored.
+	 */
+	private final AtomicLongArray sequences;
+	private final int capacity;
+	/** The sequence number of the next record added to the buffer */
+	private final AtomicLong next = new AtomicLong();
+	/** The time in milliseconds between two batches; 0 if the records are only written on demand */
+	private final long writeInterval;
+	/** The trace used to write the records; the format only depends on the debug options */
+	private final EclipseDebugTrace writer;
+
+	/** A lock object used to synchronize draining the buffer */
+	private final Object drainLock = new Object();
+	/** The sequence number of the next record to write; guarded by the drainLock */
+	private long read = 0;
+
+	/** The background writer; only modified while holding this */
+	private volatile Thread writerThread;
+	/** Set once the buffer has been closed; the writer is not started again */
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a new trace buffer.
+	 *
+	 * @param debugOptions The debug options used to format and write the records
+	 * @param size The maximum number of records in the buffer
+	 * @param writeInterval The time in milliseconds between two batches written by the background writer;
+	 *        0 if the records are only written on demand
+	 */
+	TraceBuffer(final FrameworkDebugOptions debugOptions, final int size, final long writeInterval) {
+		this.capacity = Math.max(size, 1);
+		this.entries = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		this.writeInterval = writeInterval;
+		this.writer = new EclipseDebugTrace(null, debugOptions, null);
+	}
+
+	/**
+	 * Adds the specified record to the buffer. This never blocks; if the buffer is full
+	 * the oldest record is overwritten.
+	 *
+	 * @param entry The trace record
+	 */
+	void add(final FrameworkDebugTraceEntry entry) {
+		long sequence = next.getAndIncrement();
+		int index = (int) (sequence % capacity);
+		// claim the slot before writing the record so that a concurrent flush never
+		// takes the record of one sequence number for another
+		while (true) {
+			long current = sequences.get(index);
+			if (Math.abs(current) > sequence + 1) {
+				// the slot has already been taken by a newer record
+				return;
+			}
+			if (current < 0) {
+				// an older record is still being written to the slot
+				Thread.yield();
+			} else if (sequences.compareAndSet(index, current, -(sequence + 1))) {
+				break;
+			}
+		}
+		entries.set(index, entry);
+		sequences.set(index, sequence + 1);
+		if (writeInterval > 0 && writerThread == null && !closed) {
+			startWriter();
+		}
+	}
+
+	private synchronized void startWriter() {
+		if (writerThread == null && !closed) {
+			writerThread = new Thread(this, WRITER_THREAD_NAME);
+			writerThread.setDaemon(true);
+			writerThread.start();
+		}
+	}
+
+	/**
+	 * Stops the background writer for good, writes the remaining records and closes
+	 * the trace file. Records added concurrently with closing the buffer may be lost.
+	 */
+	void close() {
+		Thread thread;
+		synchronized (this) {
+			closed = true;
+			thread = writerThread;
+			writerThread = null;
+			notifyAll();
+		}
+		if (thread != null) {
+			try {
+				thread.join(writeInterval + 1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+		writer.closeBatchWriter();
+	}
+
+	@Override
+	public void run() {
+		Thread current = Thread.currentThread();
+		while (true) {
+			synchronized (this) {
+				if (writerThread != current) {
+					return;
+				}
+				try {
+					wait(writeInterval);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+			flush();
+		}
+	}
+
+	/**
+	 * Writes all records which have been added to the buffer in one batch to the
+	 * trace file.
+	 */
+	void flush() {
+		synchronized (drainLock) {
+			long end = next.get();
+			long dropped = 0;
+			if (end - read > capacity) {
+				// the oldest records have been overwritten
+				dropped = end - capacity - read;
+				read = end - capacity;
+			}
+			List<FrameworkDebugTraceEntry> batch = new ArrayList<>((int) (end - read));
+			while (read < end) {
+				int index = (int) (read % capacity);
+				long sequence = sequences.get(index);
+				if (Math.abs(sequence) < read + 1 || sequence == -(read + 1)) {
+					// the record is still being added; write it with the next batch
+					break;
+				}
+				FrameworkDebugTraceEntry entry = entries.get(index);
+				if (sequence == read + 1 && sequences.get(index) == sequence) {
+					batch.add(entry);
+				} else {
+					// the record has been overwritten while draining
+					dropped++;
+				}
+				read++;
+			}
+			if (!batch.isEmpty() || dropped > 0) {
+				writer.writeRecords(batch, dropped);
+			}
+		}
+	}
+}
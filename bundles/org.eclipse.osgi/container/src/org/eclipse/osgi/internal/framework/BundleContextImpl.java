@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2021 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,9 +25,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.osgi.container.Module;
 import org.eclipse.osgi.container.ModuleWiring;
 import org.eclipse.osgi.container.namespaces.EquinoxModuleDataNamespace;
@@ -86,9 +86,10 @@ public class BundleContextImpl implements BundleContext, EventDispatcher<Object,
 	final Debug debug;
 
 	/** Services that bundle is using. Key is ServiceRegistrationImpl,
-	 Value is ServiceUse */
-	/* @GuardedBy("contextLock") */
-	private HashMap<ServiceRegistrationImpl<?>, ServiceUse<?>> servicesInUse;
+	 Value is ServiceUse. The map is changed while synchronized on the map
+	 but may be read without synchronization. */
+	/* @GuardedBy("contextLock") for writes */
+	private volatile ConcurrentHashMap<ServiceRegistrationImpl<?>, ServiceUse<?>> servicesInUse;
 
 	/** The current instantiation of the activator. */
 	private BundleActivator activator;
@@ -905,9 +906,7 @@ public class BundleContextImpl implements BundleContext, EventDispatcher<Object,
 	 * this context.
 	 */
 	public Map<ServiceRegistrationImpl<?>, ServiceUse<?>> getServicesInUseMap() {
-		synchronized (contextLock) {
-			return servicesInUse;
-		}
+		return servicesInUse;
 	}
 
 	/**
@@ -915,10 +914,13 @@ public class BundleContextImpl implements BundleContext, EventDispatcher<Object,
 	 * used by this context.
 	 */
 	public void provisionServicesInUseMap() {
+		if (servicesInUse != null) {
+			return;
+		}
 		synchronized (contextLock) {
 			if (servicesInUse == null)
 				// Cannot predict how many services a bundle will use, start with a small table.
-				servicesInUse = new HashMap<>(10);
+				servicesInUse = new ConcurrentHashMap<>(10);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2021 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -202,6 +202,10 @@ public class EquinoxConfiguration implements EnvironmentInfo {
 	public static final String PROP_FRAMEWORK_LIBRARY_EXTENSIONS = "osgi.framework.library.extensions"; //$NON-NLS-1$
 	public static final String PROP_COPY_NATIVES = "osgi.classloader.copy.natives"; //$NON-NLS-1$
 	public static final String PROP_DEFINE_PACKAGES = "osgi.classloader.define.packages"; //$NON-NLS-1$
+	// Records the classes defined during startup or preloads the recorded classes on later launches
+	public static final String PROP_CLASS_PRELOAD_PROFILE = "equinox.class.preload.profile"; //$NON-NLS-1$
+	public static final String CLASS_PRELOAD_PROFILE_RECORD = "record"; //$NON-NLS-1$
+	public static final String CLASS_PRELOAD_PROFILE_REPLAY = "replay"; //$NON-NLS-1$
 	public static final String PROP_BUNDLE_SETTCCL = "eclipse.bundle.setTCCL"; //$NON-NLS-1$
 
 	public static final String PROP_EQUINOX_SECURITY = "eclipse.security"; //$NON-NLS-1$
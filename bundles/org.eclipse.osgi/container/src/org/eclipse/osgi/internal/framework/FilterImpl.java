@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2021 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ import org.osgi.framework.Filter;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.Version;
+import org.osgi.framework.VersionRange;
 
 /**
  * RFC 1960-based Filter. Filter objects can be created by calling the
@@ -1275,6 +1276,98 @@ public abstract class FilterImpl implements Filter {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Returns the attribute values required by the simple equality items of this
+	 * filter or of a base '&amp;' clause for the filter to evaluate to true.
+	 * This is useful for indexing candidates on attributes other than the primary key.
+	 * @return the required attribute values, keyed by attribute; empty if none could be determined.
+	 */
+	public Map<String, String> getRequiredAttributeValues() {
+		Map<String, String> result = new HashMap<>(2);
+		for (FilterImpl operand : getBaseOperands()) {
+			// only exact equality; approx and range items are subclasses of Equal
+			if (operand.getClass() == Equal.class) {
+				Equal equal = (Equal) operand;
+				result.putIfAbsent(equal.attr, equal.value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the range of versions this filter or a base '&amp;' clause requires for
+	 * the specified version attribute for the filter to evaluate to true.
+	 * For example <code>(&amp;(name=x)(version&gt;=1.0)(!(version&gt;=2.0)))</code> requires
+	 * the range <code>[1.0,2.0)</code>. Only values of the attribute which are
+	 * {@link Version} objects are constrained by the returned range.
+	 * @param versionAttr the version attribute
+	 * @return The required version range or null if none could be determined.
+	 */
+	public VersionRange getRequiredVersionRange(String versionAttr) {
+		Version left = Version.emptyVersion;
+		boolean leftOpen = false;
+		Version right = null;
+		boolean rightOpen = true;
+		boolean found = false;
+		for (FilterImpl operand : getBaseOperands()) {
+			boolean not = operand instanceof Not;
+			if (not) {
+				operand = ((Not) operand).operand;
+			}
+			if (!(operand instanceof Equal) || operand instanceof Approx || !versionAttr.equals(((Equal) operand).attr)) {
+				continue;
+			}
+			Version version;
+			try {
+				version = Version.valueOf(((Equal) operand).value);
+			} catch (IllegalArgumentException e) {
+				// not a version; leave it to the filter match
+				continue;
+			}
+			boolean lower;
+			boolean upper;
+			boolean open = not;
+			if (operand instanceof GreaterEqual) {
+				// (v>=a) is [a; (!(v>=b)) is b)
+				lower = !not;
+				upper = not;
+			} else if (operand instanceof LessEqual) {
+				// (v<=b) is b]; (!(v<=a)) is (a
+				lower = not;
+				upper = !not;
+			} else if (!not) {
+				// (v=a) is [a,a]
+				lower = true;
+				upper = true;
+			} else {
+				continue;
+			}
+			found = true;
+			if (lower) {
+				int compare = version.compareTo(left);
+				if (compare > 0 || (compare == 0 && open)) {
+					left = version;
+					leftOpen = open;
+				}
+			}
+			if (upper) {
+				int compare = right == null ? -1 : version.compareTo(right);
+				if (compare < 0 || (compare == 0 && open)) {
+					right = version;
+					rightOpen = open;
+				}
+			}
+		}
+		if (!found) {
+			return null;
+		}
+		return new VersionRange(leftOpen ? VersionRange.LEFT_OPEN : VersionRange.LEFT_CLOSED, left, right, rightOpen ? VersionRange.RIGHT_OPEN : VersionRange.RIGHT_CLOSED);
+	}
+
+	private FilterImpl[] getBaseOperands() {
+		return this instanceof And ? ((And) this).operands : new FilterImpl[] {this};
+	}
+
 	/**
 	 * Returns all the attributes contained within this filter
 	 * @return all the attributes contained within this filter
@@ -1667,6 +1760,7 @@ public abstract class FilterImpl implements Filter {
 	private static final class ServiceReferenceMap extends AbstractMap<String, Object> implements Map<String, Object> {
 		static Map<String, ?> asMap(ServiceReference<?> reference) {
 			if (reference instanceof ServiceReferenceImpl) {
+				// the properties are an immutable snapshot which the filter reads without locking or copying
 				return ((ServiceReferenceImpl<?>) reference).getRegistration().getProperties();
 			}
 			return new ServiceReferenceMap(reference);
@@ -34,6 +34,7 @@ import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
 import org.eclipse.osgi.service.environment.EnvironmentInfo;
 import org.eclipse.osgi.service.localization.BundleLocalization;
+import org.eclipse.osgi.service.security.ConditionalPermissionDiagnostics;
 import org.eclipse.osgi.service.urlconversion.URLConverter;
 import org.eclipse.osgi.storage.BundleLocalizationImpl;
 import org.eclipse.osgi.storage.url.BundleResourceHandler;
@@ -95,6 +96,7 @@ public class SystemBundleActivator implements BundleActivator {
 		SecurityAdmin sa = equinoxContainer.getStorage().getSecurityAdmin();
 		register(bc, PermissionAdmin.class, sa, null);
 		register(bc, ConditionalPermissionAdmin.class, sa, null);
+		register(bc, ConditionalPermissionDiagnostics.class, sa, null);
 
 
 		props.clear();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,8 +27,10 @@ import org.eclipse.osgi.internal.cds.CDSHookConfigurator;
 import org.eclipse.osgi.internal.connect.ConnectHookConfigurator;
 import org.eclipse.osgi.internal.framework.EquinoxConfiguration;
 import org.eclipse.osgi.internal.framework.EquinoxContainer;
+import org.eclipse.osgi.internal.hooks.ClassPreloadHook;
 import org.eclipse.osgi.internal.hooks.DevClassLoadingHook;
 import org.eclipse.osgi.internal.hooks.EclipseLazyStarter;
+import org.eclipse.osgi.internal.hooks.LocalizedHeadersHookFactory;
 import org.eclipse.osgi.internal.signedcontent.SignedBundleHook;
 import org.eclipse.osgi.internal.weaving.WeavingHookConfigurator;
 import org.eclipse.osgi.util.ManifestElement;
@@ -110,9 +112,17 @@ public final class HookRegistry {
 		// make sure to add connect configurator first always
 		configurators.add(0, ConnectHookConfigurator.class.getName());
 		synchronized (this) {
+			String preloadProfile = container.getConfiguration().getConfiguration(EquinoxConfiguration.PROP_CLASS_PRELOAD_PROFILE);
+			if (EquinoxConfiguration.CLASS_PRELOAD_PROFILE_RECORD.equals(preloadProfile) || EquinoxConfiguration.CLASS_PRELOAD_PROFILE_REPLAY.equals(preloadProfile)) {
+				// must be the first class loader hook to see the bytes before any other hook transforms them
+				ClassPreloadHook preloadHook = new ClassPreloadHook(container, EquinoxConfiguration.CLASS_PRELOAD_PROFILE_RECORD.equals(preloadProfile));
+				addClassLoaderHook(preloadHook);
+				addActivatorHookFactory(preloadHook);
+			}
 			addClassLoaderHook(new DevClassLoadingHook(container.getConfiguration()));
 			addClassLoaderHook(new EclipseLazyStarter(container));
 			addClassLoaderHook(new WeavingHookConfigurator(container));
+			addStorageHookFactory(new LocalizedHeadersHookFactory());
 			configurators.add(SignedBundleHook.class.getName());
 			configurators.add(CDSHookConfigurator.class.getName());
 			loadConfigurators(configurators, errors);
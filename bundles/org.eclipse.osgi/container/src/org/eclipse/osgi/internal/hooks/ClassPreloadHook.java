@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.internal.hooks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.osgi.container.Module;
+import org.eclipse.osgi.container.ModuleLoader;
+import org.eclipse.osgi.container.ModuleRevision;
+import org.eclipse.osgi.container.ModuleWiring;
+import org.eclipse.osgi.framework.log.FrameworkLogEntry;
+import org.eclipse.osgi.internal.debug.Debug;
+import org.eclipse.osgi.internal.framework.EquinoxConfiguration;
+import org.eclipse.osgi.internal.framework.EquinoxContainer;
+import org.eclipse.osgi.internal.hookregistry.ActivatorHookFactory;
+import org.eclipse.osgi.internal.hookregistry.ClassLoaderHook;
+import org.eclipse.osgi.internal.loader.BundleLoader;
+import org.eclipse.osgi.internal.loader.classpath.ClasspathEntry;
+import org.eclipse.osgi.internal.loader.classpath.ClasspathManager;
+import org.eclipse.osgi.storage.BundleInfo.Generation;
+import org.eclipse.osgi.storage.Storage;
+import org.eclipse.osgi.storage.bundlefile.BundleEntry;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleActivator;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkEvent;
+import org.osgi.framework.FrameworkListener;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.framework.wiring.BundleRevision;
+
+/**
+ * Records the classes each bundle generation defines while the framework starts and
+ * defines the recorded classes ahead of time on later launches.
+ * <p>
+ * In record mode the names of the classes defined by a class loader are collected
+ * until the framework has started, then the names are persisted with each generation
+ * in the storage area. This hook is registered ahead of all other class loader hooks,
+ * so it sees the bytes read from the bundle; classes whose bytes a later hook, such as
+ * a weaving hook, transformed are not recorded.
+ * <p>
+ * In replay mode the recorded classes of a generation are defined on background
+ * threads as soon as the bundle is resolved. The classes are defined without
+ * triggering lazy activation and are not initialized. Classes which need a class of
+ * another bundle that is waiting for lazy activation are left to be loaded on demand,
+ * so that using them still activates the other bundle. Names which no longer exist in
+ * the generation are skipped, and a generation which is updated gets a new storage
+ * area without any recorded classes.
+ */
+public class ClassPreloadHook extends ClassLoaderHook implements ActivatorHookFactory {
+	private static final int VERSION = 1;
+	private static final String PROFILE_DIR = "preload"; //$NON-NLS-1$
+	private static final String PROFILE_FILE = "classes.dat"; //$NON-NLS-1$
+	private static final String PRELOAD_THREAD_NAME = "Equinox class preload thread"; //$NON-NLS-1$
+
+	private final EquinoxContainer container;
+	private final boolean record;
+	private final Debug debug;
+
+	// record mode; the original bytes of the classes being defined by the current thread
+	private final ThreadLocal<List<byte[]>> processing = new ThreadLocal<>();
+	private final Map<Generation, Collection<String>> recorded = new ConcurrentHashMap<>();
+	private volatile boolean recording;
+
+	// replay mode; the generations for which preloading has been scheduled
+	private final Set<Generation> scheduled = ConcurrentHashMap.newKeySet();
+	private volatile ThreadPoolExecutor executor;
+
+	public ClassPreloadHook(EquinoxContainer container, boolean record) {
+		this.container = container;
+		this.record = record;
+		this.recording = record;
+		this.debug = container.getConfiguration().getDebug();
+	}
+
+	@Override
+	public byte[] processClass(String name, byte[] classbytes, ClasspathEntry classpathEntry, BundleEntry entry, ClasspathManager manager) {
+		if (recording) {
+			List<byte[]> stack = processing.get();
+			if (stack == null) {
+				stack = new ArrayList<>(6);
+				processing.set(stack);
+			}
+			stack.add(classbytes);
+		}
+		return null;
+	}
+
+	@Override
+	public void recordClassDefine(String name, Class<?> clazz, byte[] classbytes, ClasspathEntry classpathEntry, BundleEntry entry, ClasspathManager manager) {
+		List<byte[]> stack = processing.get();
+		if (stack == null || stack.isEmpty()) {
+			return;
+		}
+		byte[] original = stack.remove(stack.size() - 1);
+		// only record classes which are defined from the unmodified bytes
+		if (recording && clazz != null && original == classbytes) {
+			recorded.computeIfAbsent(manager.getGeneration(), g -> new ConcurrentLinkedQueue<>()).add(name);
+		}
+	}
+
+	@Override
+	public BundleActivator createActivator() {
+		return new BundleActivator() {
+			private FrameworkListener startedListener;
+			private SynchronousBundleListener resolvedListener;
+
+			@Override
+			public void start(BundleContext context) {
+				if (record) {
+					startedListener = event -> {
+						if (event.getType() == FrameworkEvent.STARTED) {
+							saveProfiles();
+						}
+					};
+					context.addFrameworkListener(startedListener);
+					return;
+				}
+				ThreadPoolExecutor preloadExecutor = new ThreadPoolExecutor(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(), 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+					Thread t = new Thread(r, PRELOAD_THREAD_NAME);
+					t.setDaemon(true);
+					t.setPriority(Thread.MIN_PRIORITY);
+					return t;
+				});
+				preloadExecutor.allowCoreThreadTimeOut(true);
+				executor = preloadExecutor;
+				resolvedListener = event -> {
+					if (event.getType() == BundleEvent.RESOLVED) {
+						schedulePreload(event.getBundle());
+					}
+				};
+				context.addBundleListener(resolvedListener);
+				for (Bundle bundle : context.getBundles()) {
+					if ((bundle.getState() & (Bundle.RESOLVED | Bundle.STARTING | Bundle.ACTIVE)) != 0) {
+						schedulePreload(bundle);
+					}
+				}
+			}
+
+			@Override
+			public void stop(BundleContext context) {
+				if (startedListener != null) {
+					context.removeFrameworkListener(startedListener);
+				}
+				if (resolvedListener != null) {
+					context.removeBundleListener(resolvedListener);
+				}
+				// the framework may be stopped before the started event is delivered
+				saveProfiles();
+				recorded.clear();
+				ThreadPoolExecutor current = executor;
+				executor = null;
+				if (current != null) {
+					current.shutdownNow();
+				}
+				scheduled.clear();
+			}
+		};
+	}
+
+	void schedulePreload(Bundle bundle) {
+		Module module = container.getStorage().getModuleContainer().getModule(bundle.getBundleId());
+		ModuleRevision revision = module == null ? null : module.getCurrentRevision();
+		if (revision == null || (revision.getTypes() & BundleRevision.TYPE_FRAGMENT) != 0) {
+			return;
+		}
+		Generation generation = (Generation) revision.getRevisionInfo();
+		ThreadPoolExecutor current = executor;
+		if (current == null || !scheduled.add(generation)) {
+			return;
+		}
+		try {
+			current.execute(() -> preload(revision, generation));
+		} catch (RejectedExecutionException e) {
+			// shutting down
+		}
+	}
+
+	private void preload(ModuleRevision revision, Generation generation) {
+		File profile = generation.getExtractFile(PROFILE_DIR, PROFILE_FILE);
+		if (!profile.isFile()) {
+			return;
+		}
+		ModuleWiring wiring = revision.getWiring();
+		ModuleLoader moduleLoader = wiring == null ? null : wiring.getModuleLoader();
+		if (!(moduleLoader instanceof BundleLoader)) {
+			return;
+		}
+		int defined = 0;
+		long start = System.nanoTime();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(profile)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			ClasspathManager manager = ((BundleLoader) moduleLoader).getModuleClassLoader().getClasspathManager();
+			for (int numClasses = in.readInt(); numClasses > 0 && !Thread.currentThread().isInterrupted(); numClasses--) {
+				String name = in.readUTF();
+				try {
+					if (manager.preloadLocalClass(name) != null) {
+						defined++;
+					}
+				} catch (LinkageError | RuntimeException e) {
+					// the profile is stale or the class cannot be defined yet; leave it to the normal class loading
+				}
+			}
+		} catch (IOException e) {
+			// ignore and let classes load on demand
+		}
+		if (debug.DEBUG_LOADER) {
+			Debug.println("Preloaded " + defined + " classes for " + revision + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	synchronized void saveProfiles() {
+		if (!recording) {
+			return;
+		}
+		recording = false;
+		Storage storage = container.getStorage();
+		if (storage.isReadOnly()) {
+			recorded.clear();
+			return;
+		}
+		for (Map.Entry<Generation, Collection<String>> entry : recorded.entrySet()) {
+			Generation generation = entry.getKey();
+			try {
+				File profile = storage.getFile(generation.getBundleInfo().getBundleId() + "/" + generation.getGenerationId() + "/" + PROFILE_DIR, PROFILE_FILE, false); //$NON-NLS-1$ //$NON-NLS-2$
+				writeProfile(profile, entry.getValue());
+			} catch (IOException | RuntimeException e) {
+				container.getLogServices().log(EquinoxContainer.NAME, FrameworkLogEntry.WARNING, "Unable to save the class preload profile of " + generation.getRevision(), e); //$NON-NLS-1$
+			}
+		}
+		recorded.clear();
+	}
+
+	private static void writeProfile(File profile, Collection<String> classNames) throws IOException {
+		File dir = profile.getParentFile();
+		if (!dir.mkdirs() && !dir.isDirectory()) {
+			throw new IOException("Unable to create directory: " + dir); //$NON-NLS-1$
+		}
+		List<String> names = new ArrayList<>(classNames);
+		File tempFile = File.createTempFile(PROFILE_FILE, ".tmp", dir); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(VERSION);
+				out.writeInt(names.size());
+				for (String name : names) {
+					out.writeUTF(name);
+				}
+			}
+			Files.move(tempFile.toPath(), profile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			tempFile.delete();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2020 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,6 +73,16 @@ public class EclipseLazyStarter extends ClassLoaderHook {
 		// The bundle is not active and does not require activation, just return the class
 		if (!shouldActivateFor(name, module, revision, manager))
 			return;
+		ClasspathManager preloadingManager = ClasspathManager.getPreloadingManager();
+		if (preloadingManager != null) {
+			// a class is defined ahead of time on this thread; never activate a bundle for it.
+			// The preloading bundle is still activated once a class is requested from it.
+			if (preloadingManager == manager)
+				return;
+			// the preloaded class needs a class of another lazy bundle; fail to define the
+			// preloaded class so that it is loaded, and the other bundle activated, on demand
+			throw new ClassNotFoundException(name);
+		}
 		Deque<ClasspathManager> stack = activationStack.get();
 		if (stack == null) {
 			stack = new ArrayDeque<>(6);
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.internal.hooks;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.eclipse.osgi.internal.hookregistry.StorageHookFactory;
+import org.eclipse.osgi.internal.hooks.LocalizedHeadersHookFactory.LocalizedHeadersHook;
+import org.eclipse.osgi.storage.BundleInfo.Generation;
+
+/**
+ * Persists the localized manifest headers of each generation with the storage
+ * hook data so that the localization files do not have to be read out of the
+ * bundle again after a restart.
+ * <p>
+ * Only the values of the headers which are localized are kept. The values are
+ * only valid for the default locale, root locale and wiring they were computed
+ * with; if any of them changes the persisted values are ignored and replaced.
+ * The values are discarded with the generation.
+ */
+public class LocalizedHeadersHookFactory extends StorageHookFactory<Object, Object, LocalizedHeadersHook> {
+	// the maximum number of locales persisted for a single generation
+	private static final int MAX_LOCALES = 8;
+
+	@Override
+	public int getStorageVersion() {
+		return 1;
+	}
+
+	@Override
+	protected LocalizedHeadersHook createStorageHook(Generation generation) {
+		return new LocalizedHeadersHook(generation);
+	}
+
+	public static class LocalizedHeadersHook extends StorageHookFactory.StorageHook<Object, Object> {
+		private static final LocalizedHeaders EMPTY = new LocalizedHeaders(null, null, null, Collections.<String, Map<String, String>> emptyMap());
+
+		// an immutable snapshot; replaced on each change so that lookups do not lock
+		private volatile LocalizedHeaders localizedHeaders = EMPTY;
+
+		public LocalizedHeadersHook(Generation generation) {
+			super(generation, LocalizedHeadersHookFactory.class);
+		}
+
+		/**
+		 * Returns the persisted values of the localized headers for the specified locale
+		 * or {@code null} if there are none for the current default locale, the specified
+		 * root locale and the specified wiring.
+		 * @param wiringKey identifies the generations whose resources were used to localize the headers
+		 */
+		public Map<String, String> getLocalizedHeaders(String locale, String rootLocale, String wiringKey) {
+			LocalizedHeaders current = localizedHeaders;
+			if (!current.matches(Locale.getDefault().toString(), rootLocale, wiringKey)) {
+				return null;
+			}
+			return current.locales.get(locale);
+		}
+
+		/**
+		 * Persists the values of the localized headers for the specified locale.
+		 * Values persisted for a different default locale, root locale or wiring are discarded.
+		 * @param wiringKey identifies the generations whose resources were used to localize the headers
+		 */
+		public synchronized void putLocalizedHeaders(String locale, String rootLocale, String wiringKey, Map<String, String> headers) {
+			LocalizedHeaders current = localizedHeaders;
+			String defaultLocale = Locale.getDefault().toString();
+			Map<String, Map<String, String>> locales;
+			if (current.matches(defaultLocale, rootLocale, wiringKey)) {
+				if (current.locales.size() >= MAX_LOCALES || current.locales.containsKey(locale)) {
+					return;
+				}
+				locales = new HashMap<>(current.locales);
+			} else {
+				locales = new HashMap<>(4);
+			}
+			locales.put(locale, Collections.unmodifiableMap(new HashMap<>(headers)));
+			localizedHeaders = new LocalizedHeaders(defaultLocale, rootLocale, wiringKey, Collections.unmodifiableMap(locales));
+			getGeneration().getBundleInfo().getStorage().storageHookDataChanged();
+		}
+
+		@Override
+		public void load(Object loadContext, DataInputStream is) throws IOException {
+			int numLocales = is.readInt();
+			if (numLocales == 0) {
+				return;
+			}
+			String defaultLocale = readString(is);
+			String rootLocale = readString(is);
+			String wiringKey = readString(is);
+			Map<String, Map<String, String>> locales = new HashMap<>(numLocales);
+			for (int i = 0; i < numLocales; i++) {
+				String locale = readString(is);
+				int numHeaders = is.readInt();
+				Map<String, String> headers = new HashMap<>(numHeaders);
+				for (int j = 0; j < numHeaders; j++) {
+					headers.put(readString(is), readString(is));
+				}
+				locales.put(locale, Collections.unmodifiableMap(headers));
+			}
+			localizedHeaders = new LocalizedHeaders(defaultLocale, rootLocale, wiringKey, Collections.unmodifiableMap(locales));
+		}
+
+		@Override
+		public void save(Object saveContext, DataOutputStream os) throws IOException {
+			LocalizedHeaders current = localizedHeaders;
+			os.writeInt(current.locales.size());
+			if (current.locales.isEmpty()) {
+				return;
+			}
+			writeString(os, current.defaultLocale);
+			writeString(os, current.rootLocale);
+			writeString(os, current.wiringKey);
+			for (Map.Entry<String, Map<String, String>> locale : current.locales.entrySet()) {
+				writeString(os, locale.getKey());
+				os.writeInt(locale.getValue().size());
+				for (Map.Entry<String, String> header : locale.getValue().entrySet()) {
+					writeString(os, header.getKey());
+					writeString(os, header.getValue());
+				}
+			}
+		}
+
+		// header values are not limited in length, so writeUTF cannot be used
+		private static String readString(DataInputStream in) throws IOException {
+			byte[] data = new byte[in.readInt()];
+			in.readFully(data);
+			return new String(data, StandardCharsets.UTF_8);
+		}
+
+		private static void writeString(DataOutputStream out, String value) throws IOException {
+			byte[] data = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(data.length);
+			out.write(data);
+		}
+	}
+
+	private static final class LocalizedHeaders {
+		final String defaultLocale;
+		final String rootLocale;
+		final String wiringKey;
+		final Map<String, Map<String, String>> locales;
+
+		LocalizedHeaders(String defaultLocale, String rootLocale, String wiringKey, Map<String, Map<String, String>> locales) {
+			this.defaultLocale = defaultLocale;
+			this.rootLocale = rootLocale;
+			this.wiringKey = wiringKey;
+			this.locales = locales;
+		}
+
+		boolean matches(String otherDefaultLocale, String otherRootLocale, String otherWiringKey) {
+			return !locales.isEmpty() && otherDefaultLocale.equals(defaultLocale) && otherRootLocale.equals(rootLocale) && otherWiringKey.equals(wiringKey);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -63,6 +63,8 @@ import org.osgi.framework.namespace.HostNamespace;
 public class ClasspathManager {
 	private static final FragmentClasspath[] emptyFragments = new FragmentClasspath[0];
 	private static final String[] DEFAULT_CLASSPATH = new String[] {"."}; //$NON-NLS-1$
+	// the manager preloading a class on the current thread
+	private static final ThreadLocal<ClasspathManager> preloading = new ThreadLocal<>();
 
 	private final Generation generation;
 	private final ModuleClassLoader classloader;
@@ -572,6 +574,47 @@ public class ClasspathManager {
 		}
 	}
 
+	/**
+	 * Defines the requested class ahead of time if it can be found in the local
+	 * classpath of this manager. Unlike {@link #findLocalClass(String)} the
+	 * {@link ClassLoaderHook#preFindLocalClass(String, ClasspathManager)} and
+	 * {@link ClassLoaderHook#postFindLocalClass(String, Class, ClasspathManager)}
+	 * methods are not called, so defining a class this way does not activate a bundle
+	 * with a lazy activation policy. All other class loader hooks are called as usual.
+	 * <p>
+	 * Classes loaded while the class is defined, such as its super types, are found
+	 * as usual while {@link #getPreloadingManager()} returns this manager. Hooks which
+	 * activate bundles must not activate any bundle for these classes.
+	 * @param classname the requested class name.
+	 * @return the requested class or null if the class does not exist
+	 */
+	public Class<?> preloadLocalClass(String classname) {
+		Class<?> result = classloader.publicFindLoaded(classname);
+		if (result != null)
+			return result;
+		ClasspathManager previous = preloading.get();
+		preloading.set(this);
+		try {
+			return findLocalClassImpl(classname, hookRegistry.getClassLoaderHooks());
+		} finally {
+			if (previous == null) {
+				preloading.remove();
+			} else {
+				preloading.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Returns the classpath manager which is defining a class with
+	 * {@link #preloadLocalClass(String)} on the current thread.
+	 * @return the preloading classpath manager or null if no class is preloaded
+	 * on the current thread
+	 */
+	public static ClasspathManager getPreloadingManager() {
+		return preloading.get();
+	}
+
 	private Class<?> findLocalClassImpl(String classname, List<ClassLoaderHook> hooks) {
 		Class<?> result;
 
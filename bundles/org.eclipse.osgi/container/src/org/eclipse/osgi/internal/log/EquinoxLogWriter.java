@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2019 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,8 +29,8 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.Map;
 import org.eclipse.core.runtime.adaptor.EclipseStarter;
+import org.eclipse.equinox.log.CacheableLogFilter;
 import org.eclipse.equinox.log.ExtendedLogEntry;
-import org.eclipse.equinox.log.LogFilter;
 import org.eclipse.equinox.log.SynchronousLogListener;
 import org.eclipse.osgi.framework.log.FrameworkLogEntry;
 import org.eclipse.osgi.internal.framework.EquinoxConfiguration;
@@ -42,7 +42,9 @@ import org.osgi.service.log.LogService;
 import org.osgi.service.log.admin.LoggerAdmin;
 import org.osgi.service.log.admin.LoggerContext;
 
-class EquinoxLogWriter implements SynchronousLogListener, LogFilter {
+// the log level only changes in readLogProperties which is followed by applyLogLevel;
+// setting the log levels of the root logger context invalidates the cached results
+class EquinoxLogWriter implements SynchronousLogListener, CacheableLogFilter {
 	private static final String PASSWORD = "-password"; //$NON-NLS-1$
 	/** The session tag */
 	private static final String SESSION = "!SESSION"; //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 Cognos Incorporated, IBM Corporation and others
+ * Copyright (c) 2006, 2026 Cognos Incorporated, IBM Corporation and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -23,8 +23,10 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.eclipse.equinox.log.CacheableLogFilter;
 import org.eclipse.equinox.log.LogFilter;
 import org.eclipse.equinox.log.SynchronousLogListener;
 import org.eclipse.osgi.framework.util.ArrayMap;
@@ -42,6 +44,10 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 
 	static final int MAX_RECURSIONS = 50;
 
+	// bits of the result of checkLoggable
+	static final int LOGGABLE = 0x1;
+	static final int CACHEABLE = 0x2;
+
 	static final class LogTask implements Runnable {
 		private final LogEntry logEntry;
 		private final LogListener listener;
@@ -68,9 +74,12 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 
 	private static PrintStream errorStream;
 
+	// guards modifications of listeners and filters; readers use the volatile fields directly
 	private final ReentrantReadWriteLock listenersLock = new ReentrantReadWriteLock();
-	private ArrayMap<LogListener, Object[]> listeners = new ArrayMap<>(5);
-	private LogFilter[] filters = null;
+	private volatile ArrayMap<LogListener, Object[]> listeners = new ArrayMap<>(5);
+	private volatile LogFilter[] filters = null;
+	// incremented whenever a result of isLoggable cached by a logger may have changed
+	private final AtomicInteger loggableVersion = new AtomicInteger();
 	private final ThreadLocal<int[]> nestedCallCount = new ThreadLocal<>();
 	private final LinkedList<LogEntry> history;
 	private final int maxHistory;
@@ -79,8 +88,14 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 	private OrderedExecutor executor;
 
 	static boolean safeIsLoggable(LogFilter filter, Bundle bundle, String name, int level) {
+		return (safeCheckLoggable(filter, bundle, name, level) & LOGGABLE) != 0;
+	}
+
+	private static int safeCheckLoggable(LogFilter filter, Bundle bundle, String name, int level) {
 		try {
-			return filter.isLoggable(bundle, name, level);
+			// only filters which opted in may have their results cached
+			int cacheable = filter instanceof CacheableLogFilter ? CACHEABLE : 0;
+			return filter.isLoggable(bundle, name, level) ? (LOGGABLE | cacheable) : cacheable;
 		} catch (RuntimeException | LinkageError e) {
 			// "listener.logged" calls user code and might throw an unchecked exception
 			// we catch the error here to gather information on where the problem occurred.
@@ -88,7 +103,8 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 			getErrorStream().println("LogFilter.isLoggable threw a non-fatal unchecked exception as follows:"); //$NON-NLS-1$
 			e.printStackTrace(getErrorStream());
 		}
-		return false;
+		// do not cache the result of a failing filter
+		return 0;
 	}
 
 	private static synchronized PrintStream getErrorStream() {
@@ -147,44 +163,67 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 	}
 
 	boolean isLoggable(final Bundle bundle, final String name, final int level) {
+		return (checkLoggable(bundle, name, level) & LOGGABLE) != 0;
+	}
+
+	/**
+	 * Returns the version of the results of {@link #checkLoggable(Bundle, String, int)}.
+	 * A result marked as {@link #CACHEABLE} may be reused as long as the version
+	 * is unchanged; the version must be read before the result is checked.
+	 */
+	int getLoggableVersion() {
+		return loggableVersion.get();
+	}
+
+	/**
+	 * Invalidates the results of isLoggable cached by the loggers.
+	 */
+	void loggableChanged() {
+		loggableVersion.incrementAndGet();
+	}
+
+	/**
+	 * Checks whether an entry is loggable by any of the listeners.
+	 * @return {@link #LOGGABLE} if the entry is loggable, combined with
+	 * {@link #CACHEABLE} if the result may be cached for the current
+	 * {@link #getLoggableVersion() version}
+	 */
+	int checkLoggable(final Bundle bundle, final String name, final int level) {
+		LogFilter[] filtersCopy = filters;
+		if (filtersCopy == null)
+			return CACHEABLE;
+		if (filtersCopy == ALWAYS_LOG)
+			return LOGGABLE | CACHEABLE;
+
 		if (System.getSecurityManager() != null) {
-			return AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+			return AccessController.doPrivileged(new PrivilegedAction<Integer>() {
 				@Override
-				public Boolean run() {
-					return isLoggablePrivileged(bundle, name, level);
+				public Integer run() {
+					return checkLoggablePrivileged(filtersCopy, bundle, name, level);
 				}
 			});
 		}
-		return isLoggablePrivileged(bundle, name, level);
+		return checkLoggablePrivileged(filtersCopy, bundle, name, level);
 	}
 
-	boolean isLoggablePrivileged(Bundle bundle, String name, int level) {
-		LogFilter[] filtersCopy;
-		listenersLock.readLock().lock();
-		try {
-			filtersCopy = filters;
-		} finally {
-			listenersLock.readLock().unlock();
-		}
+	private int checkLoggablePrivileged(LogFilter[] filtersCopy, Bundle bundle, String name, int level) {
 		try {
 			if (incrementNestedCount() == MAX_RECURSIONS)
-				return false;
-			if (filtersCopy == null)
-				return false;
-
-			if (filtersCopy == ALWAYS_LOG)
-				return true;
+				return 0;
 
+			int result = CACHEABLE;
 			int filtersLength = filtersCopy.length;
 			for (int i = 0; i < filtersLength; i++) {
 				LogFilter filter = filtersCopy[i];
-				if (safeIsLoggable(filter, bundle, name, level))
-					return true;
+				int filterResult = safeCheckLoggable(filter, bundle, name, level);
+				if ((filterResult & LOGGABLE) != 0)
+					return filterResult;
+				result &= filterResult;
 			}
+			return result;
 		} finally {
 			decrementNestedCount();
 		}
-		return false;
 	}
 
 	private int incrementNestedCount() {
@@ -226,13 +265,7 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 	void logPrivileged(Bundle bundle, String name, StackTraceElement stackTraceElement, Object context, LogLevel logLevelEnum, int level, String message, ServiceReference<?> ref, Throwable exception) {
 		LogEntry logEntry = new ExtendedLogEntryImpl(bundle, name, stackTraceElement, context, logLevelEnum, level, message, ref, exception);
 		storeEntry(logEntry);
-		ArrayMap<LogListener, Object[]> listenersCopy;
-		listenersLock.readLock().lock();
-		try {
-			listenersCopy = listeners;
-		} finally {
-			listenersLock.readLock().unlock();
-		}
+		ArrayMap<LogListener, Object[]> listenersCopy = listeners;
 		try {
 			if (incrementNestedCount() >= MAX_RECURSIONS)
 				return;
@@ -281,6 +314,7 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 				listenerObjects[0] = filter;
 			}
 			listenersCopy.put(listener, listenerObjects);
+			// always recalculate; adding a listener again applies changes to its filter
 			recalculateFilters(listenersCopy);
 			listeners = listenersCopy;
 		} finally {
@@ -289,22 +323,26 @@ public class ExtendedLogReaderServiceFactory implements ServiceFactory<ExtendedL
 	}
 
 	private void recalculateFilters(ArrayMap<LogListener, Object[]> listenersCopy) {
+		filters = computeFilters(listenersCopy);
+		loggableChanged();
+	}
+
+	private static LogFilter[] computeFilters(ArrayMap<LogListener, Object[]> listenersCopy) {
 		List<LogFilter> filtersList = new ArrayList<>();
 		int size = listenersCopy.size();
 		for (int i = 0; i < size; i++) {
 			Object[] listenerObjects = listenersCopy.getValue(i);
 			LogFilter filter = (LogFilter) listenerObjects[0];
 			if (filter == NULL_LOGGER_FILTER) {
-				filters = ALWAYS_LOG;
-				return;
+				return ALWAYS_LOG;
 			}
 			filtersList.add(filter);
 		}
 
 		if (filtersList.isEmpty())
-			filters = null;
+			return null;
 
-		filters = filtersList.toArray(new LogFilter[filtersList.size()]);
+		return filtersList.toArray(new LogFilter[filtersList.size()]);
 	}
 
 	void removeLogListener(LogListener listener) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 Cognos Incorporated, IBM Corporation and others
+ * Copyright (c) 2006, 2026 Cognos Incorporated, IBM Corporation and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -201,6 +201,8 @@ public class ExtendedLogServiceFactory implements ServiceFactory<ExtendedLogServ
 					contextsLock.writeLock().unlock();
 				}
 				loggerContextTargetMap.applyLogLevels(this);
+				// filters may depend on the log levels (e.g. the framework log writer)
+				logReaderServiceFactory.loggableChanged();
 			} finally {
 				if (readLocked) {
 					contextsLock.readLock().unlock();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 Cognos Incorporated, IBM Corporation and others
+ * Copyright (c) 2006, 2026 Cognos Incorporated, IBM Corporation and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -117,6 +117,8 @@ public class ExtendedLogServiceImpl implements ExtendedLogService {
 		} finally {
 			factory.contextsLock.writeLock().unlock();
 		}
+		// the loggers of this service now check the filters for another bundle
+		factory.logReaderServiceFactory.loggableChanged();
 	}
 
 	Bundle getBundle() {
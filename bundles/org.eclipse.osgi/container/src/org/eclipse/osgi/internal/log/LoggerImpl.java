@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2020 Cognos Incorporated, IBM Corporation and others
+ * Copyright (c) 2006, 2026 Cognos Incorporated, IBM Corporation and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -26,7 +26,13 @@ public class LoggerImpl implements Logger {
 	protected final ExtendedLogServiceImpl logServiceImpl;
 	protected final String name;
 
-	private LogLevel enabledLevel = LogLevel.TRACE;
+	// the number of levels for which the result of isLoggable is cached
+	private static final int CACHED_LEVELS = 16;
+
+	private volatile LogLevel enabledLevel = LogLevel.TRACE;
+	// the loggable version (upper 32 bits), the checked levels (bits 16-31)
+	// and the loggable levels (bits 0-15) of this logger
+	private volatile long loggableLevels = 0;
 
 	public LoggerImpl(ExtendedLogServiceImpl logServiceImpl, String name, LoggerContext loggerContext) {
 		this.logServiceImpl = logServiceImpl;
@@ -41,7 +47,26 @@ public class LoggerImpl implements Logger {
 
 	@Override
 	public boolean isLoggable(int level) {
-		return logServiceImpl.isLoggable(name, level);
+		if (level < 0 || level >= CACHED_LEVELS) {
+			return logServiceImpl.isLoggable(name, level);
+		}
+		ExtendedLogReaderServiceFactory readerFactory = logServiceImpl.getFactory().logReaderServiceFactory;
+		// read the version before checking the filters so a concurrent change invalidates the result
+		int version = readerFactory.getLoggableVersion();
+		long current = loggableLevels;
+		long levelBit = 1L << level;
+		if ((int) (current >>> 32) != version) {
+			current = ((long) version) << 32;
+		} else if ((current & (levelBit << CACHED_LEVELS)) != 0) {
+			return (current & levelBit) != 0;
+		}
+		int result = readerFactory.checkLoggable(logServiceImpl.getBundle(), name, level);
+		boolean loggable = (result & ExtendedLogReaderServiceFactory.LOGGABLE) != 0;
+		if ((result & ExtendedLogReaderServiceFactory.CACHEABLE) != 0) {
+			// a racing update may be lost; that only causes the level to be checked again
+			loggableLevels = current | (levelBit << CACHED_LEVELS) | (loggable ? levelBit : 0);
+		}
+		return loggable;
 	}
 
 	@Override
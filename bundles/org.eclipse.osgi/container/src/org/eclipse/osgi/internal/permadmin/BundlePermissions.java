@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -93,5 +93,6 @@ public final class BundlePermissions extends PermissionCollection {
 			impliedPermissions.clearPermissionCache();
 		if (restrictedPermissions != null)
 			restrictedPermissions.clearPermissionCache();
+		securityAdmin.clearEvaluationCache(this);
 	}
 }
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.internal.permadmin;
+
+import java.security.Permission;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size bounded cache of the decisions of a {@link SecurityTable}. Decisions are
+ * kept per bundle so that lookups do not need to allocate a key and the decisions
+ * of a single bundle can be discarded without touching the others.
+ * <p>
+ * Once the cache is full a new decision is only admitted if it has been asked for
+ * more often than a victim sampled from the cached decisions, in which case the
+ * victim is evicted. Access frequencies are estimated with a small count-min
+ * sketch which is periodically aged so that decisions which were popular a long
+ * time ago do not stay forever. A burst of one time checks therefore cannot push
+ * out the decisions which are asked for all the time.
+ */
+final class EvaluationCache {
+	// the number of cached decisions looked at to find an eviction victim
+	private static final int SAMPLE_SIZE = 8;
+
+	private final int maximumSize;
+	private final Map<BundlePermissions, Map<Permission, Integer>> decisions = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final FrequencySketch sketch;
+	private final Statistics statistics;
+
+	EvaluationCache(int maximumSize, Statistics statistics) {
+		this.maximumSize = maximumSize;
+		this.sketch = new FrequencySketch(maximumSize);
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Returns the cached decision or {@code null} if there is none.
+	 */
+	Integer get(BundlePermissions bundlePermissions, Permission permission) {
+		sketch.increment(hash(bundlePermissions, permission));
+		Map<Permission, Integer> bundleDecisions = decisions.get(bundlePermissions);
+		return bundleDecisions == null ? null : bundleDecisions.get(permission);
+	}
+
+	void put(BundlePermissions bundlePermissions, Permission permission, Integer decision) {
+		Map<Permission, Integer> bundleDecisions = decisions.get(bundlePermissions);
+		if (bundleDecisions != null && bundleDecisions.replace(permission, decision) != null) {
+			return;
+		}
+		if (size.get() >= maximumSize && !evictFor(hash(bundlePermissions, permission))) {
+			statistics.rejections.increment();
+			return;
+		}
+		// decisions are only added while holding the bundle entry so that an emptied
+		// map cannot be removed concurrently and the decision get lost with it
+		decisions.compute(bundlePermissions, (b, current) -> {
+			Map<Permission, Integer> result = current == null ? new ConcurrentHashMap<>() : current;
+			if (result.putIfAbsent(permission, decision) == null) {
+				size.incrementAndGet();
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Evicts a sampled decision that is asked for less often than the candidate.
+	 * @return true if there is room for the candidate
+	 */
+	private boolean evictFor(int candidateHash) {
+		int candidateFrequency = sketch.frequency(candidateHash);
+		BundlePermissions victimBundle = null;
+		Permission victim = null;
+		int victimFrequency = Integer.MAX_VALUE;
+		int sampled = 0;
+		// start at a random bundle to avoid always evicting from the same bundles
+		int skip = ThreadLocalRandom.current().nextInt(Math.max(1, decisions.size()));
+		for (int pass = 0; pass < 2 && sampled < SAMPLE_SIZE; pass++) {
+			for (Iterator<Map.Entry<BundlePermissions, Map<Permission, Integer>>> iBundles = decisions.entrySet().iterator(); iBundles.hasNext() && sampled < SAMPLE_SIZE;) {
+				Map.Entry<BundlePermissions, Map<Permission, Integer>> bundleEntry = iBundles.next();
+				if (pass == 0 && skip-- > 0) {
+					continue;
+				}
+				for (Iterator<Permission> iPermissions = bundleEntry.getValue().keySet().iterator(); iPermissions.hasNext() && sampled < SAMPLE_SIZE; sampled++) {
+					Permission permission = iPermissions.next();
+					int frequency = sketch.frequency(hash(bundleEntry.getKey(), permission));
+					if (frequency < victimFrequency) {
+						victimBundle = bundleEntry.getKey();
+						victim = permission;
+						victimFrequency = frequency;
+					}
+				}
+			}
+		}
+		if (victim == null) {
+			// nothing cached; the size is out of sync with the content
+			size.set(0);
+			return true;
+		}
+		if (candidateFrequency <= victimFrequency) {
+			return false;
+		}
+		Permission evicted = victim;
+		decisions.computeIfPresent(victimBundle, (b, bundleDecisions) -> {
+			if (bundleDecisions.remove(evicted) != null) {
+				size.decrementAndGet();
+				statistics.evictions.increment();
+			}
+			// do not keep the maps of bundles without decisions
+			return bundleDecisions.isEmpty() ? null : bundleDecisions;
+		});
+		return true;
+	}
+
+	/**
+	 * Discards the decisions cached for the specified bundle. This must be called
+	 * once the bundle is uninstalled, otherwise its decisions are kept until they
+	 * are evicted.
+	 */
+	void clear(BundlePermissions bundlePermissions) {
+		Map<Permission, Integer> bundleDecisions = decisions.remove(bundlePermissions);
+		if (bundleDecisions != null) {
+			size.addAndGet(-bundleDecisions.size());
+		}
+	}
+
+	void clear() {
+		decisions.clear();
+		size.set(0);
+	}
+
+	Statistics getStatistics() {
+		return statistics;
+	}
+
+	int size() {
+		return Math.max(0, size.get());
+	}
+
+	private static int hash(BundlePermissions bundlePermissions, Permission permission) {
+		return 31 * System.identityHashCode(bundlePermissions) + permission.hashCode();
+	}
+
+	/**
+	 * The counters of the evaluation caches of a security admin. The counters are
+	 * shared by all the tables of the security admin so they survive table updates.
+	 */
+	static final class Statistics {
+		final LongAdder hits = new LongAdder();
+		final LongAdder misses = new LongAdder();
+		final LongAdder evictions = new LongAdder();
+		final LongAdder rejections = new LongAdder();
+	}
+
+	/**
+	 * A count-min sketch with four bit counters. Counters are incremented with a
+	 * compare and set loop so that concurrent updates are not lost and a counter
+	 * never overflows into its neighbor.
+	 */
+	static final class FrequencySketch {
+		private static final int[] SEEDS = {0x97cb3127, 0xb5b7d0b9, 0x8f8bd5a9, 0x9e3779b9};
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final AtomicLongArray table;
+		private final int tableMask;
+		private final int sampleSize;
+		private final AtomicInteger additions = new AtomicInteger();
+
+		FrequencySketch(int maximumSize) {
+			int tableSize = Integer.highestOneBit(Math.max(16, maximumSize / 4) - 1) << 1;
+			table = new AtomicLongArray(tableSize);
+			tableMask = tableSize - 1;
+			sampleSize = 10 * Math.max(16, maximumSize);
+		}
+
+		int frequency(int hash) {
+			int frequency = Integer.MAX_VALUE;
+			for (int i = 0; i < SEEDS.length; i++) {
+				int h = spread(hash, i);
+				int count = (int) ((table.get((h >>> 4) & tableMask) >>> ((h & 15) << 2)) & 0xF);
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			boolean added = false;
+			for (int i = 0; i < SEEDS.length; i++) {
+				int h = spread(hash, i);
+				added |= incrementAt((h >>> 4) & tableMask, (h & 15) << 2);
+			}
+			if (added) {
+				int current = additions.incrementAndGet();
+				// only the thread which moves the count back performs the reset
+				if (current >= sampleSize && additions.compareAndSet(current, sampleSize / 2)) {
+					reset();
+				}
+			}
+		}
+
+		/**
+		 * Increments the counter at the specified offset unless it is saturated.
+		 * @return true if the counter was incremented
+		 */
+		private boolean incrementAt(int index, int offset) {
+			for (;;) {
+				long value = table.get(index);
+				if (((value >>> offset) & 0xF) == 15) {
+					return false;
+				}
+				if (table.compareAndSet(index, value, value + (1L << offset))) {
+					return true;
+				}
+			}
+		}
+
+		private void reset() {
+			// halve all counters
+			for (int i = 0; i < table.length(); i++) {
+				for (;;) {
+					long value = table.get(i);
+					if (table.compareAndSet(i, value, (value >>> 1) & RESET_MASK)) {
+						break;
+					}
+				}
+			}
+		}
+
+		private static int spread(int hash, int i) {
+			int h = hash * SEEDS[i];
+			return h ^ (h >>> 16);
+		}
+	}
+}
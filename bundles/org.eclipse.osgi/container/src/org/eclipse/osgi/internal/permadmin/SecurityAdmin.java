@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.eclipse.osgi.internal.framework.EquinoxBundle;
+import org.eclipse.osgi.service.security.ConditionalPermissionDiagnostics;
 import org.eclipse.osgi.storage.PermissionData;
 import org.osgi.framework.AdminPermission;
 import org.osgi.framework.Bundle;
@@ -64,7 +65,7 @@ import org.osgi.service.condpermadmin.ConditionalPermissionUpdate;
 import org.osgi.service.permissionadmin.PermissionAdmin;
 import org.osgi.service.permissionadmin.PermissionInfo;
 
-public final class SecurityAdmin implements PermissionAdmin, ConditionalPermissionAdmin {
+public final class SecurityAdmin implements PermissionAdmin, ConditionalPermissionAdmin, ConditionalPermissionDiagnostics {
 	private static final PermissionCollection DEFAULT_DEFAULT;
 	static {
 		AllPermission allPerm = new AllPermission();
@@ -95,6 +96,7 @@ public final class SecurityAdmin implements PermissionAdmin, ConditionalPermissi
 	// private final EquinoxContainer container;
 	private final PermissionInfo[] impliedPermissionInfos;
 	private final EquinoxSecurityManager supportedSecurityManager;
+	private final EvaluationCache.Statistics evaluationCacheStatistics = new EvaluationCache.Statistics();
 
 	public SecurityAdmin(EquinoxSecurityManager supportedSecurityManager, PermissionData permissionStorage) {
 		this.supportedSecurityManager = supportedSecurityManager;
@@ -458,6 +460,47 @@ public final class SecurityAdmin implements PermissionAdmin, ConditionalPermissi
 		condAdminTable.clearEvaluationCache();
 	}
 
+	void clearEvaluationCache(BundlePermissions bundlePermissions) {
+		SecurityTable curCondAdminTable;
+		synchronized (lock) {
+			curCondAdminTable = condAdminTable;
+		}
+		curCondAdminTable.clearEvaluationCache(bundlePermissions);
+	}
+
+	EvaluationCache.Statistics getEvaluationCacheStatistics() {
+		return evaluationCacheStatistics;
+	}
+
+	@Override
+	public long getEvaluationCacheHitCount() {
+		return evaluationCacheStatistics.hits.sum();
+	}
+
+	@Override
+	public long getEvaluationCacheMissCount() {
+		return evaluationCacheStatistics.misses.sum();
+	}
+
+	@Override
+	public long getEvaluationCacheEvictionCount() {
+		return evaluationCacheStatistics.evictions.sum();
+	}
+
+	@Override
+	public long getEvaluationCacheRejectionCount() {
+		return evaluationCacheStatistics.rejections.sum();
+	}
+
+	@Override
+	public int getEvaluationCacheSize() {
+		SecurityTable curCondAdminTable;
+		synchronized (lock) {
+			curCondAdminTable = condAdminTable;
+		}
+		return curCondAdminTable.getEvaluationCacheSize();
+	}
+
 	EquinoxSecurityManager getSupportedSecurityManager() {
 		return supportedSecurityManager != null ? supportedSecurityManager : getSupportedSystemSecurityManager();
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,6 @@ import java.security.Permission;
 import java.security.PermissionCollection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.osgi.internal.permadmin.SecurityRow.Decision;
 import org.osgi.service.condpermadmin.Condition;
 
@@ -32,16 +30,20 @@ public class SecurityTable extends PermissionCollection {
 
 	private static final int MUTABLE = 0x0016;
 
+	// the maximum number of decisions kept in the evaluation cache
+	private static final int EVALUATION_CACHE_SIZE = 10000;
+
 	private final SecurityRow[] rows;
 	private final SecurityAdmin securityAdmin;
 
-	private final transient Map<EvaluationCacheKey, Integer> evaluationCache = new ConcurrentHashMap<>(10000);
+	private final transient EvaluationCache evaluationCache;
 
 	public SecurityTable(SecurityAdmin securityAdmin, SecurityRow[] rows) {
 		if (rows == null)
 			throw new NullPointerException("rows cannot be null!!"); //$NON-NLS-1$
 		this.rows = rows;
 		this.securityAdmin = securityAdmin;
+		this.evaluationCache = new EvaluationCache(EVALUATION_CACHE_SIZE, securityAdmin != null ? securityAdmin.getEvaluationCacheStatistics() : new EvaluationCache.Statistics());
 	}
 
 	boolean isEmpty() {
@@ -52,24 +54,21 @@ public class SecurityTable extends PermissionCollection {
 		if (bundlePermissions == null) {
 			return ABSTAIN;
 		}
-		if (evaluationCache.size() > 10000) {
-			clearEvaluationCache();
-		}
-		EvaluationCacheKey evaluationCacheKey = new EvaluationCacheKey(bundlePermissions, permission);
 		if (isEmpty()) {
-			evaluationCache.put(evaluationCacheKey, ABSTAIN);
 			return ABSTAIN;
 		}
 
 		//can't short-circuit early, so try cache
-		Integer result = evaluationCache.get(evaluationCacheKey);
+		Integer result = evaluationCache.get(bundlePermissions, permission);
 		boolean hasMutable = false;
 		if (result != null) {
 			hasMutable = (result & MUTABLE) == MUTABLE;
 			if (!hasMutable) {
+				statistics().hits.increment();
 				return result;
 			}
 		}
+		statistics().misses.increment();
 		//cache miss or has mutable rows
 		boolean postponed = false;
 		Decision[] results = new Decision[rows.length];
@@ -78,7 +77,7 @@ public class SecurityTable extends PermissionCollection {
 		for (int i = 0; i < rows.length && immediateDecisionIdx == -1; i++) {
 			if (result == null) {
 				//check all conditions for any that are mutable, this will turn off the cache
-				hasMutable |= checkMutable(bundlePermissions, evaluationCacheKey, rows[i]);
+				hasMutable |= checkMutable(bundlePermissions, permission, rows[i]);
 			}
 			try {
 				results[i] = rows[i].evaluate(bundlePermissions, permission);
@@ -96,7 +95,7 @@ public class SecurityTable extends PermissionCollection {
 			if (!postponed) {
 				// no postpones encountered yet; we can return the decision quickly
 				if (!hasMutable) {
-					evaluationCache.put(evaluationCacheKey, results[i].decision);
+					evaluationCache.put(bundlePermissions, permission, results[i].decision);
 				}
 				return results[i].decision; // return GRANTED or DENIED
 			}
@@ -104,22 +103,22 @@ public class SecurityTable extends PermissionCollection {
 			// no need to process the rest of the rows
 			immediateDecisionIdx = i;
 		}
-		Integer immediateDecision = handlePostponedConditions(evaluationCacheKey, hasMutable, postponed, results, immediateDecisionIdx);
+		Integer immediateDecision = handlePostponedConditions(bundlePermissions, permission, hasMutable, postponed, results, immediateDecisionIdx);
 		if (immediateDecision != null)
 			return immediateDecision;
 		int finalDecision = postponed ? POSTPONED : ABSTAIN;
 		if (!hasMutable && (finalDecision & POSTPONED) != POSTPONED) {
-			evaluationCache.put(evaluationCacheKey, finalDecision);
+			evaluationCache.put(bundlePermissions, permission, finalDecision);
 		}
 		return finalDecision;
 	}
 
-	private boolean checkMutable(BundlePermissions bundlePermissions, EvaluationCacheKey evaluationCacheKey, SecurityRow row) {
+	private boolean checkMutable(BundlePermissions bundlePermissions, Permission permission, SecurityRow row) {
 		Condition[] conditions = row.getConditions(bundlePermissions);
 		if (conditions != null) {
 			for (Condition condition : conditions) {
 				if (condition != null && condition.isMutable()) {
-					evaluationCache.put(evaluationCacheKey, MUTABLE);
+					evaluationCache.put(bundlePermissions, permission, MUTABLE);
 					return true;
 				}
 			}
@@ -127,7 +126,7 @@ public class SecurityTable extends PermissionCollection {
 		return false;
 	}
 
-	private Integer handlePostponedConditions(EvaluationCacheKey evaluationCacheKey, boolean hasMutable, boolean postponed, Decision[] results, int immediateDecisionIdx) {
+	private Integer handlePostponedConditions(BundlePermissions bundlePermissions, Permission permission, boolean hasMutable, boolean postponed, Decision[] results, int immediateDecisionIdx) {
 		if (postponed) {
 			int immediateDecision = immediateDecisionIdx < 0 ? DENIED : results[immediateDecisionIdx].decision;
 			// iterate over all postponed conditions;
@@ -144,7 +143,7 @@ public class SecurityTable extends PermissionCollection {
 			}
 			if (allSameDecision) {
 				if (!hasMutable) {
-					evaluationCache.put(evaluationCacheKey, immediateDecision);
+					evaluationCache.put(bundlePermissions, permission, immediateDecision);
 				}
 				return immediateDecision;
 			}
@@ -156,7 +155,7 @@ public class SecurityTable extends PermissionCollection {
 				// TODO this is really an error condition.
 				// This should never happen.  We checked for a supported manager when the row was postponed
 				if (!hasMutable) {
-					evaluationCache.put(evaluationCacheKey, ABSTAIN);
+					evaluationCache.put(bundlePermissions, permission, ABSTAIN);
 				}
 				return ABSTAIN;
 			}
@@ -169,6 +168,18 @@ public class SecurityTable extends PermissionCollection {
 		evaluationCache.clear();
 	}
 
+	void clearEvaluationCache(BundlePermissions bundlePermissions) {
+		evaluationCache.clear(bundlePermissions);
+	}
+
+	int getEvaluationCacheSize() {
+		return evaluationCache.size();
+	}
+
+	private EvaluationCache.Statistics statistics() {
+		return evaluationCache.getStatistics();
+	}
+
 	SecurityRow getRow(int i) {
 		return rows.length <= i || i < 0 ? null : rows[i];
 	}
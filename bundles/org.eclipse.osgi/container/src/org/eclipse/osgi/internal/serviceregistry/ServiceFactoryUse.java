@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2022 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,8 +40,8 @@ public class ServiceFactoryUse<S> extends ServiceUse<S> {
 	final ServiceFactory<S> factory;
 
 	/** Service object returned by ServiceFactory.getService() */
-	/* @GuardedBy("getLock()") */
-	private S cachedService;
+	/* @GuardedBy("getLock()") for writes */
+	private volatile S cachedService;
 	/** true if we are calling the factory getService method. Used to detect recursion. */
 	/* @GuardedBy("getLock()") */
 	private boolean factoryInUse;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2022 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -77,9 +77,11 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 	/* @GuardedBy("registrationLock") */
 	private final List<BundleContextImpl> contextsUsing;
 
-	/** properties for this registration. */
-	/* @GuardedBy("registrationLock") */
-	private Map<String, Object> properties;
+	/** properties for this registration.
+	 * An immutable snapshot which is replaced while holding the registrationLock
+	 * and read without holding it.
+	 */
+	private volatile Map<String, Object> properties;
 
 	/** service id. */
 	private final long serviceid;
@@ -92,8 +94,8 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 	private final Object registrationLock = new Object();
 
 	/** The registration state */
-	/* @GuardedBy("registrationLock") */
-	private int state;
+	/* @GuardedBy("registrationLock") for writes */
+	private volatile int state;
 	private static final int REGISTERED = 0x00;
 	private static final int UNREGISTERING = 0x01;
 	private static final int UNREGISTERED = 0x02;
@@ -279,9 +281,7 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 	 * @return true if unregistered; otherwise false.
 	 */
 	boolean isUnregistered() {
-		synchronized (registrationLock) {
-			return state == UNREGISTERED;
-		}
+		return state == UNREGISTERED;
 	}
 
 	/**
@@ -379,12 +379,12 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 
 	/**
 	 * Return the properties object. This is for framework internal use only.
+	 * The returned map is an immutable snapshot which is not copied; its values,
+	 * such as the objectClass array, must not be modified.
 	 * @return The service registration's properties.
 	 */
 	public Map<String, Object> getProperties() {
-		synchronized (registrationLock) {
-			return properties;
-		}
+		return properties;
 	}
 
 	/**
@@ -400,9 +400,7 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 	 * no property by that name.
 	 */
 	Object getProperty(String key) {
-		synchronized (registrationLock) {
-			return ServiceProperties.cloneValue(properties.get(key));
-		}
+		return ServiceProperties.cloneValue(properties.get(key));
 	}
 
 	/**
@@ -416,9 +414,7 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 	 * @return The list of property key names.
 	 */
 	String[] getPropertyKeys() {
-		synchronized (registrationLock) {
-			return properties.keySet().toArray(new String[0]);
-		}
+		return properties.keySet().toArray(new String[0]);
 	}
 
 	/**
@@ -432,9 +428,7 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 	 * @return A copy of the properties.
 	 */
 	Dictionary<String, Object> getPropertiesCopy() {
-		synchronized (registrationLock) {
-			return new ServiceProperties(properties);
-		}
+		return new ServiceProperties(properties);
 	}
 
 	/**
@@ -513,6 +507,17 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 			Debug.println("[" + Thread.currentThread().getName() + "] getService[" + user.getBundleImpl() + "](" + this //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 					+ ")"); //$NON-NLS-1$
 		}
+		/* Without locking, increment the use count of a service already in use by the user */
+		if (consumer == ServiceConsumer.singletonConsumer) {
+			@SuppressWarnings("unchecked")
+			ServiceUse<S> use = (ServiceUse<S>) servicesInUse.get(this);
+			if (use != null) {
+				S serviceObject = use.getServiceInUse();
+				if (serviceObject != null) {
+					return serviceObject;
+				}
+			}
+		}
 		/* Use a while loop to support retry if a call to a ServiceFactory fails */
 		while (true) {
 			final ServiceUse<S> use;
@@ -642,14 +647,14 @@ public class ServiceRegistrationImpl<S> implements ServiceRegistration<S>, Compa
 					+ this + ")"); //$NON-NLS-1$
 		}
 
-		ServiceUse<S> use;
-		synchronized (servicesInUse) {
-			@SuppressWarnings("unchecked")
-			ServiceUse<S> u = (ServiceUse<S>) servicesInUse.get(this);
-			use = u;
-			if (use == null) {
-				return false;
-			}
+		@SuppressWarnings("unchecked")
+		ServiceUse<S> use = (ServiceUse<S>) servicesInUse.get(this);
+		if (use == null) {
+			return false;
+		}
+		/* Without locking, decrement the use count unless this is the last use by the user */
+		if (consumer == ServiceConsumer.singletonConsumer && use.ungetServiceInUse()) {
+			return true;
 		}
 
 		try (ServiceUseLock locked = use.lock()) {
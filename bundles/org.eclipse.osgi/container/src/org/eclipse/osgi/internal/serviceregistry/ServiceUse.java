@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2022 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.osgi.internal.debug.Debug;
 import org.eclipse.osgi.internal.framework.BundleContextImpl;
@@ -49,9 +50,14 @@ public class ServiceUse<S> {
 	final ServiceRegistrationImpl<S> registration;
 	final Debug debug;
 
-	/** bundle's use count for this service */
-	/* @GuardedBy("getLock()") */
-	private int useCount;
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<ServiceUse> USE_COUNT = AtomicIntegerFieldUpdater.newUpdater(ServiceUse.class, "useCount"); //$NON-NLS-1$
+
+	/** bundle's use count for this service.
+	 * Changed while holding getLock() except for the changes made by
+	 * {@link #getServiceInUse()} and {@link #ungetServiceInUse()}.
+	 */
+	private volatile int useCount;
 
 	/**
 	 * ServiceUseLock for this service use. Use the @{@link #lock()} method to lock
@@ -112,6 +118,47 @@ public class ServiceUse<S> {
 		return true;
 	}
 
+	/**
+	 * Get a service's service object and increment the use count without
+	 * holding the lock if the service is already in use.
+	 * <p>
+	 * The use count is only incremented if it is not zero, so the first use,
+	 * which may need to call a service factory, is left to {@link #getService()}.
+	 *
+	 * @return The service object or {@code null} if the service is not in use.
+	 */
+	S getServiceInUse() {
+		int count;
+		do {
+			count = useCount;
+			if (count <= 0 || count == Integer.MAX_VALUE) {
+				return null;
+			}
+		} while (!USE_COUNT.compareAndSet(this, count, count + 1));
+		// null if the service use was released concurrently
+		return getCachedService();
+	}
+
+	/**
+	 * Unget a service's service object without holding the lock if this
+	 * is not the last use of the service.
+	 * <p>
+	 * The use count is never decremented to zero, so the last use, which
+	 * may need to call a service factory, is left to {@link #ungetService()}.
+	 *
+	 * @return true if the service was ungotten; otherwise false.
+	 */
+	boolean ungetServiceInUse() {
+		int count;
+		do {
+			count = useCount;
+			if (count <= 1) {
+				return false;
+			}
+		} while (!USE_COUNT.compareAndSet(this, count, count - 1));
+		return true;
+	}
+
 	/**
 	 * Return the service object for this service use.
 	 *
@@ -193,10 +240,13 @@ public class ServiceUse<S> {
 	 */
 	/* @GuardedBy("getLock()") */
 	void incrementUse() {
-		if (useCount == Integer.MAX_VALUE) {
-			throw new ServiceException(Msg.SERVICE_USE_OVERFLOW);
-		}
-		useCount++;
+		int count;
+		do {
+			count = useCount;
+			if (count == Integer.MAX_VALUE) {
+				throw new ServiceException(Msg.SERVICE_USE_OVERFLOW);
+			}
+		} while (!USE_COUNT.compareAndSet(this, count, count + 1));
 	}
 
 	/**
@@ -205,7 +255,7 @@ public class ServiceUse<S> {
 	/* @GuardedBy("getLock()") */
 	void decrementUse() {
 		assert inUse();
-		useCount--;
+		USE_COUNT.decrementAndGet(this);
 	}
 
 	/**
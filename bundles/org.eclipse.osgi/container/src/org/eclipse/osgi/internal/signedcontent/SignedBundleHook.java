@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -176,7 +176,7 @@ public class SignedBundleHook implements ActivatorHookFactory, HookConfigurator,
 	public SignedContent getSignedContent(Bundle bundle) throws IOException, InvalidKeyException, SignatureException, CertificateException, NoSuchAlgorithmException, NoSuchProviderException {
 		Generation generation = (Generation) ((EquinoxBundle) bundle).getModule().getCurrentRevision()
 				.getRevisionInfo();
-		SignedContentFromBundleFile signedContent = new SignedContentFromBundleFile(generation.getBundleFile());
+		SignedContentFromBundleFile signedContent = SignedContentCache.getSignedContent(generation);
 		determineTrust(signedContent, EquinoxConfiguration.SIGNED_CONTENT_VERIFY_TRUST);
 		return signedContent;
 	}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.internal.signedcontent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSigner;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Timestamp;
+import java.security.cert.CertPath;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.osgi.internal.signedcontent.SignedContentFromBundleFile.CodeSignerEntry;
+import org.eclipse.osgi.internal.signedcontent.SignedContentFromBundleFile.CodeSignerInfo;
+import org.eclipse.osgi.internal.signedcontent.SignedContentFromBundleFile.CorruptEntry;
+import org.eclipse.osgi.signedcontent.InvalidContentException;
+import org.eclipse.osgi.signedcontent.SignedContentEntry;
+import org.eclipse.osgi.signedcontent.SignerInfo;
+import org.eclipse.osgi.storage.BundleInfo.Generation;
+
+/**
+ * Persists the verification results of the entries of a bundle generation so that
+ * the content of a signed jar does not need to be verified again each time the
+ * framework is launched.
+ * <p>
+ * A persisted result records a SHA-256 digest of the complete jar. The jar is hashed
+ * each time and the result is only used if the digest is unchanged; the length and the
+ * last modified time of a jar can be preserved while its content is changed, so they
+ * never decide whether the content is verified. Hashing the jar once is still much
+ * cheaper than verifying the digests and signatures of its entries. Both the signers
+ * of each entry and the entries which failed to verify are persisted; the trust of the
+ * signers is determined again each time.
+ */
+final class SignedContentCache {
+	private static final int VERSION = 4;
+	private static final byte ENTRY_SIGNED = 0;
+	private static final byte ENTRY_CORRUPT = 1;
+	private static final String CACHE_DIR = "signed"; //$NON-NLS-1$
+	private static final String CACHE_FILE = "signedcontent.dat"; //$NON-NLS-1$
+	private static final String CERT_PATH_ENCODING = "PkiPath"; //$NON-NLS-1$
+
+	private SignedContentCache() {
+		// no instances
+	}
+
+	/**
+	 * Returns the signed content of the generation, verifying the content only if
+	 * no valid persisted result exists.
+	 */
+	static SignedContentFromBundleFile getSignedContent(Generation generation) throws IOException {
+		File content = generation.getBundleFile().getBaseFile();
+		if (content == null || !content.isFile() || generation.getBundleInfo().getStorage().isReadOnly()) {
+			return new SignedContentFromBundleFile(generation.getBundleFile());
+		}
+		File cacheFile;
+		byte[] fingerprint;
+		try {
+			cacheFile = getCacheFile(generation);
+			// the digest of the content read now is persisted, so a concurrent change is noticed next time
+			fingerprint = fingerprint(content);
+			Persisted persisted = read(cacheFile);
+			if (persisted != null && Arrays.equals(fingerprint, persisted.fingerprint)) {
+				return persisted.signedContent;
+			}
+		} catch (IOException | GeneralSecurityException | RuntimeException e) {
+			// ignore and verify the content without persisting the result
+			return new SignedContentFromBundleFile(generation.getBundleFile());
+		}
+		SignedContentFromBundleFile signedContent = new SignedContentFromBundleFile(generation.getBundleFile());
+		try {
+			write(cacheFile, fingerprint, signedContent);
+		} catch (IOException | GeneralSecurityException | RuntimeException e) {
+			// ignore; the content is verified again next time
+		}
+		return signedContent;
+	}
+
+	private static File getCacheFile(Generation generation) {
+		// only the storage area of this framework is used, the result is written there
+		return generation.getBundleInfo().getStorage().getFile(generation.getBundleInfo().getBundleId() + "/" + generation.getGenerationId() + "/" + CACHE_DIR, CACHE_FILE, false); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static final class Persisted {
+		final byte[] fingerprint;
+		final SignedContentFromBundleFile signedContent;
+
+		Persisted(byte[] fingerprint, SignedContentFromBundleFile signedContent) {
+			this.fingerprint = fingerprint;
+			this.signedContent = signedContent;
+		}
+	}
+
+	private static byte[] fingerprint(File content) throws IOException, NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		byte[] buffer = new byte[8192];
+		try (InputStream in = SignedBundleHook.secureAction.getFileInputStream(content)) {
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return digest.digest();
+	}
+
+	private static Persisted read(File cacheFile) throws IOException, GeneralSecurityException {
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (in.readInt() != VERSION) {
+				return null;
+			}
+			byte[] fingerprint = new byte[in.readInt()];
+			in.readFully(fingerprint);
+			CertificateFactory certFactory = CertificateFactory.getInstance("X.509"); //$NON-NLS-1$
+			int numSigners = in.readInt();
+			List<CodeSignerInfo> signerInfos = new ArrayList<>(numSigners);
+			for (int i = 0; i < numSigners; i++) {
+				CertPath signerCertPath = readCertPath(in, certFactory);
+				Timestamp timestamp = null;
+				if (in.readBoolean()) {
+					Date date = new Date(in.readLong());
+					timestamp = new Timestamp(date, readCertPath(in, certFactory));
+				}
+				signerInfos.add(new CodeSignerInfo(new CodeSigner(signerCertPath, timestamp)));
+			}
+			int numEntries = in.readInt();
+			Map<String, SignedContentEntry> signedEntries = new LinkedHashMap<>();
+			for (int i = 0; i < numEntries; i++) {
+				String name = in.readUTF();
+				if (in.readByte() == ENTRY_CORRUPT) {
+					String message = in.readUTF();
+					signedEntries.put(name, new CorruptEntry(new InvalidContentException(name, new SecurityException(message)), name));
+					continue;
+				}
+				int numEntrySigners = in.readInt();
+				List<CodeSignerInfo> entrySigners = new ArrayList<>(numEntrySigners);
+				for (int j = 0; j < numEntrySigners; j++) {
+					entrySigners.add(signerInfos.get(in.readInt()));
+				}
+				signedEntries.put(name, new CodeSignerEntry(entrySigners, name));
+			}
+			return new Persisted(fingerprint, new SignedContentFromBundleFile(signerInfos, signedEntries));
+		}
+	}
+
+	private static CertPath readCertPath(DataInputStream in, CertificateFactory certFactory) throws IOException, GeneralSecurityException {
+		byte[] encoded = new byte[in.readInt()];
+		in.readFully(encoded);
+		return certFactory.generateCertPath(new ByteArrayInputStream(encoded), CERT_PATH_ENCODING);
+	}
+
+	private static void write(File cacheFile, byte[] fingerprint, SignedContentFromBundleFile signedContent) throws IOException, GeneralSecurityException {
+		File dir = cacheFile.getParentFile();
+		if (!dir.mkdirs() && !dir.isDirectory()) {
+			return;
+		}
+		File tempFile = File.createTempFile(CACHE_FILE, ".tmp", dir); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(VERSION);
+				out.writeInt(fingerprint.length);
+				out.write(fingerprint);
+				SignerInfo[] signerInfos = signedContent.getSignerInfos();
+				Map<SignerInfo, Integer> signerIndexes = new HashMap<>();
+				out.writeInt(signerInfos.length);
+				for (SignerInfo signerInfo : signerInfos) {
+					CodeSigner codeSigner = ((CodeSignerInfo) signerInfo).getCodeSigner();
+					signerIndexes.put(signerInfo, signerIndexes.size());
+					writeCertPath(out, codeSigner.getSignerCertPath());
+					Timestamp timestamp = codeSigner.getTimestamp();
+					out.writeBoolean(timestamp != null);
+					if (timestamp != null) {
+						out.writeLong(timestamp.getTimestamp().getTime());
+						writeCertPath(out, timestamp.getSignerCertPath());
+					}
+				}
+				SignedContentEntry[] entries = signedContent.getSignedEntries();
+				out.writeInt(entries.length);
+				for (SignedContentEntry entry : entries) {
+					out.writeUTF(entry.getName());
+					if (entry instanceof CorruptEntry) {
+						out.writeByte(ENTRY_CORRUPT);
+						Throwable cause = ((CorruptEntry) entry).verifyError.getCause();
+						String message = cause == null ? null : cause.getMessage();
+						out.writeUTF(message == null ? entry.getName() : message);
+						continue;
+					}
+					out.writeByte(ENTRY_SIGNED);
+					SignerInfo[] entrySigners = entry.getSignerInfos();
+					out.writeInt(entrySigners.length);
+					for (SignerInfo entrySigner : entrySigners) {
+						out.writeInt(signerIndexes.get(entrySigner));
+					}
+				}
+			}
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			tempFile.delete();
+		}
+	}
+
+	private static void writeCertPath(DataOutputStream out, CertPath certPath) throws IOException, GeneralSecurityException {
+		byte[] encoded = certPath.getEncoded(CERT_PATH_ENCODING);
+		out.writeInt(encoded.length);
+		out.write(encoded);
+	}
+}
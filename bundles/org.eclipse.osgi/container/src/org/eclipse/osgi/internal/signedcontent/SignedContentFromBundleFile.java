@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
 import java.security.CodeSigner;
 import java.security.Timestamp;
@@ -31,9 +32,18 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import org.eclipse.osgi.internal.debug.Debug;
 import org.eclipse.osgi.signedcontent.InvalidContentException;
@@ -103,6 +113,10 @@ public class SignedContentFromBundleFile implements SignedContent {
 		TimestampSignerInfo getTSASignerInfo() {
 			return timestamp;
 		}
+
+		CodeSigner getCodeSigner() {
+			return codeSigner;
+		}
 	}
 
 	static class CodeSignerEntry implements SignedContentEntry {
@@ -167,10 +181,28 @@ public class SignedContentFromBundleFile implements SignedContent {
 
 	}
 
-	private final List<CodeSignerInfo> signerInfos = new ArrayList<>();
+	// the minimum number of entries verified by a single task when verifying in parallel
+	private static final int MIN_ENTRIES_PER_TASK = 64;
+	// the maximum number of threads verifying the entries of a jar, including the calling thread
+	private static final int MAX_VERIFIER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	// created on first use; its threads end when idle
+	private static ExecutorService verifierExecutor;
+
+	private final List<CodeSignerInfo> signerInfos;
 	private final Map<String, SignedContentEntry> signedEntries;
 
+	SignedContentFromBundleFile(List<CodeSignerInfo> signerInfos, Map<String, SignedContentEntry> signedEntries) {
+		this.signerInfos = signerInfos;
+		this.signedEntries = signedEntries;
+	}
+
 	public SignedContentFromBundleFile(BundleFile bundleFile) throws IOException {
+		signerInfos = new ArrayList<>();
+		File baseFile = bundleFile.getBaseFile();
+		if (baseFile != null && baseFile.isFile()) {
+			signedEntries = getSignedEntries(baseFile, signerInfos);
+			return;
+		}
 		signedEntries = getSignedEntries(() -> {
 			try {
 				return getJarInputStream(bundleFile);
@@ -181,6 +213,11 @@ public class SignedContentFromBundleFile implements SignedContent {
 	}
 
 	public SignedContentFromBundleFile(File bundleFile, Debug debug) throws IOException {
+		signerInfos = new ArrayList<>();
+		if (bundleFile.isFile()) {
+			signedEntries = getSignedEntries(bundleFile, signerInfos);
+			return;
+		}
 		DirBundleFile tmpDirBundleFile = null;
 		if (bundleFile.isDirectory()) {
 			try {
@@ -228,16 +265,7 @@ public class SignedContentFromBundleFile implements SignedContent {
 					for (byte[] drain = new byte[4096]; jarInput.read(drain, 0, drain.length) != -1;) {
 						// nothing
 					}
-					CodeSigner[] signers = entry.getCodeSigners();
-					if (signers != null) {
-						List<CodeSignerInfo> entryInfos = new ArrayList<>(signers.length);
-						for (CodeSigner codeSigner : signers) {
-							CodeSignerInfo info = codeSigners.computeIfAbsent(codeSigner, CodeSignerInfo::new);
-							entryInfos.add(info);
-						}
-						CodeSignerEntry signedEntry = new CodeSignerEntry(entryInfos, entry.getName());
-						signedEntries.put(entry.getName(), signedEntry);
-					}
+					addSignedEntry(entry, codeSigners, signedEntries);
 				} catch (SecurityException | IOException e) {
 					// assume corruption
 					signedEntries.put(entry.getName(),
@@ -259,6 +287,121 @@ public class SignedContentFromBundleFile implements SignedContent {
 		return signedEntries;
 	}
 
+	/**
+	 * Verifies the entries of a jar file. Unlike a {@link JarInputStream} the jar file
+	 * can be read at random, so the entries are split into ranges which are verified in
+	 * parallel, each with a jar file of its own.
+	 */
+	private static Map<String, SignedContentEntry> getSignedEntries(File file, List<CodeSignerInfo> signerInfos) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (ZipFile zipFile = SignedBundleHook.secureAction.getZipFile(file, false)) {
+			for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+				ZipEntry entry = entries.nextElement();
+				// the manifest is not an entry of a JarInputStream either
+				if (!entry.isDirectory() && !JarFile.MANIFEST_NAME.equalsIgnoreCase(entry.getName())) {
+					names.add(entry.getName());
+				}
+			}
+		}
+		int numTasks = Math.max(1, Math.min(MAX_VERIFIER_THREADS, names.size() / MIN_ENTRIES_PER_TASK));
+		Map<CodeSigner, CodeSignerInfo> codeSigners = new ConcurrentHashMap<>();
+		// the first range is verified on the calling thread, the others on the verifier executor
+		List<Future<Map<String, SignedContentEntry>>> others = new ArrayList<>(numTasks - 1);
+		for (int task = 1; task < numTasks; task++) {
+			List<String> range = getRange(names, task, numTasks);
+			others.add(getVerifierExecutor().submit(() -> verifyEntries(file, range, codeSigners)));
+		}
+		Map<String, SignedContentEntry> signedEntries = new LinkedHashMap<>();
+		try {
+			signedEntries.putAll(verifyEntries(file, getRange(names, 0, numTasks), codeSigners));
+			for (Future<Map<String, SignedContentEntry>> other : others) {
+				signedEntries.putAll(other.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		} finally {
+			for (Future<Map<String, SignedContentEntry>> other : others) {
+				other.cancel(true);
+			}
+		}
+		// collect the signers in the same order as when the entries are verified one after the other
+		Map<CodeSigner, CodeSignerInfo> orderedSigners = new LinkedHashMap<>();
+		for (SignedContentEntry entry : signedEntries.values()) {
+			for (SignerInfo signerInfo : entry.getSignerInfos()) {
+				CodeSignerInfo info = (CodeSignerInfo) signerInfo;
+				orderedSigners.putIfAbsent(info.getCodeSigner(), info);
+			}
+		}
+		signerInfos.addAll(orderedSigners.values());
+		return signedEntries;
+	}
+
+	private static List<String> getRange(List<String> names, int task, int numTasks) {
+		int from = (int) ((long) names.size() * task / numTasks);
+		int to = (int) ((long) names.size() * (task + 1) / numTasks);
+		return names.subList(from, to);
+	}
+
+	private static synchronized ExecutorService getVerifierExecutor() {
+		if (verifierExecutor == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_VERIFIER_THREADS, MAX_VERIFIER_THREADS, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread t = SignedBundleHook.secureAction.createThread(r, "Equinox Signed Content Verifier", null); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			verifierExecutor = executor;
+		}
+		return verifierExecutor;
+	}
+
+	private static Map<String, SignedContentEntry> verifyEntries(File file, List<String> names, Map<CodeSigner, CodeSignerInfo> codeSigners) throws IOException {
+		Map<String, SignedContentEntry> signedEntries = new LinkedHashMap<>();
+		try (JarFile jarFile = SignedBundleHook.secureAction.getJarFile(file)) {
+			byte[] drain = new byte[4096];
+			for (String name : names) {
+				JarEntry entry = jarFile.getJarEntry(name);
+				if (entry == null) {
+					continue;
+				}
+				// drain the entry so we can get the code signer
+				try (InputStream in = jarFile.getInputStream(entry)) {
+					while (in.read(drain, 0, drain.length) != -1) {
+						// nothing
+					}
+					addSignedEntry(entry, codeSigners, signedEntries);
+				} catch (SecurityException | IOException e) {
+					// assume corruption
+					signedEntries.put(name, new CorruptEntry(new InvalidContentException(name, e), name));
+				}
+			}
+		}
+		return signedEntries;
+	}
+
+	private static void addSignedEntry(JarEntry entry, Map<CodeSigner, CodeSignerInfo> codeSigners, Map<String, SignedContentEntry> signedEntries) {
+		CodeSigner[] signers = entry.getCodeSigners();
+		if (signers != null) {
+			List<CodeSignerInfo> entryInfos = new ArrayList<>(signers.length);
+			for (CodeSigner codeSigner : signers) {
+				CodeSignerInfo info = codeSigners.computeIfAbsent(codeSigner, CodeSignerInfo::new);
+				entryInfos.add(info);
+			}
+			CodeSignerEntry signedEntry = new CodeSignerEntry(entryInfos, entry.getName());
+			signedEntries.put(entry.getName(), signedEntry);
+		}
+	}
+
 	private static InputStream getJarInputStream(BundleFile bundleFile) throws IOException {
 		File f = bundleFile.getBaseFile();
 		if (f == null || f.isDirectory()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 Cognos Incorporated, IBM Corporation and others.
+ * Copyright (c) 2006, 2026 Cognos Incorporated, IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.osgi.internal.url;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.reflect.AccessibleObject;
@@ -25,6 +26,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import org.eclipse.osgi.framework.log.FrameworkLogEntry;
 import org.eclipse.osgi.internal.framework.EquinoxBundle;
 import org.eclipse.osgi.internal.framework.EquinoxContainer;
@@ -118,6 +121,7 @@ public abstract class MultiplexingFactory {
 	protected EquinoxContainer container;
 	protected BundleContext context;
 	private List<Object> factories; // list of multiplexed factories
+	private volatile FactoryAuthorities authorities = new FactoryAuthorities(null);
 
 	// used to get access to the protected SecurityManager#getClassContext method
 	static class InternalSecurityManager extends SecurityManager {
@@ -203,26 +207,18 @@ public abstract class MultiplexingFactory {
 	}
 
 	public Object findAuthorizedFactory(List<Class<?>> ignoredClasses) {
-		List<Object> current = getFactories();
+		FactoryAuthorities current = authorities;
 		Class<?>[] classStack = internalSecurityManager.getClassContext();
 		for (Class<?> clazz : classStack) {
-			if (clazz == InternalSecurityManager.class || clazz == MultiplexingFactory.class || ignoredClasses.contains(clazz) || isSystemClass(clazz))
+			if (clazz == InternalSecurityManager.class || clazz == MultiplexingFactory.class || ignoredClasses.contains(clazz))
 				continue;
-			if (hasAuthority(clazz))
-				return this;
-			if (current == null)
+			ClassLoader cl = getClassLoader(clazz);
+			// we want to ignore classes from the system
+			if (cl == null || systemLoaders.contains(cl))
 				continue;
-			for (Object factory : current) {
-				try {
-					Method hasAuthorityMethod = factory.getClass().getMethod("hasAuthority", new Class[] {Class.class}); //$NON-NLS-1$
-					if (((Boolean) hasAuthorityMethod.invoke(factory, new Object[] {clazz})).booleanValue()) {
-						return factory;
-					}
-				} catch (Exception e) {
-					container.getLogServices().log(MultiplexingFactory.class.getName(), FrameworkLogEntry.ERROR, "findAuthorizedURLStreamHandler-loop", e); //$NON-NLS-1$
-					// we continue to the next factory here instead of failing
-				}
-			}
+			Object authorized = current.getAuthorizedFactory(cl, clazz);
+			if (authorized != null)
+				return authorized;
 		}
 		// Instead of returning null here, this factory is returned;
 		// This means the root factory may provide protocol handlers for call stacks
@@ -230,15 +226,16 @@ public abstract class MultiplexingFactory {
 		return this;
 	}
 
-	private boolean isSystemClass(final Class<?> clazz) {
-		// we want to ignore classes from the system
-		ClassLoader cl = AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
+	private static ClassLoader getClassLoader(final Class<?> clazz) {
+		if (System.getSecurityManager() == null) {
+			return clazz.getClassLoader();
+		}
+		return AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
 			@Override
 			public ClassLoader run() {
 				return clazz.getClassLoader();
 			}
 		});
-		return cl == null || systemLoaders.contains(cl);
 	}
 
 	public boolean hasAuthority(Class<?> clazz) {
@@ -259,6 +256,7 @@ public abstract class MultiplexingFactory {
 
 		List<Object> released = new LinkedList<>(factories);
 		factories = null;
+		authorities = new FactoryAuthorities(null);
 		return released;
 	}
 
@@ -266,12 +264,73 @@ public abstract class MultiplexingFactory {
 		List<Object> updated = (factories == null) ? new LinkedList<>() : new LinkedList<>(factories);
 		updated.add(factory);
 		factories = updated;
+		authorities = new FactoryAuthorities(updated);
 	}
 
 	private synchronized void removeFactory(Object factory) {
 		List<Object> updated = new LinkedList<>(factories);
 		updated.remove(factory);
 		factories = updated.isEmpty() ? null : updated;
+		authorities = new FactoryAuthorities(factories);
+	}
+
+	/*
+	 * The hasAuthority methods of the multiplexed factories and a cache of the
+	 * factory which has authority over the classes of each class loader. A new
+	 * instance replaces the current one each time the multiplexed factories change.
+	 */
+	private final class FactoryAuthorities {
+		// used to cache class loaders without an authorized factory
+		private final Object noAuthority = new Object();
+		private final List<Object> factoryList = new ArrayList<>();
+		private final List<MethodHandle> hasAuthorityHandles = new ArrayList<>();
+		private final Map<ClassLoader, Object> authorizedFactories = Collections.synchronizedMap(new WeakHashMap<ClassLoader, Object>());
+
+		FactoryAuthorities(List<Object> multiplexed) {
+			if (multiplexed == null) {
+				return;
+			}
+			for (Object factory : multiplexed) {
+				try {
+					// the factories of other frameworks are loaded by other class loaders; bind to their method once
+					Method hasAuthorityMethod = factory.getClass().getMethod("hasAuthority", new Class[] {Class.class}); //$NON-NLS-1$
+					hasAuthorityHandles.add(MethodHandles.lookup().unreflect(hasAuthorityMethod).bindTo(factory));
+					factoryList.add(factory);
+				} catch (Exception e) {
+					container.getLogServices().log(MultiplexingFactory.class.getName(), FrameworkLogEntry.ERROR, "findAuthorizedURLStreamHandler-loop", e); //$NON-NLS-1$
+					// we continue to the next factory here instead of failing
+				}
+			}
+		}
+
+		/*
+		 * Returns the factory with authority over the classes of the specified class loader
+		 * or null if there is none.
+		 */
+		Object getAuthorizedFactory(ClassLoader cl, Class<?> clazz) {
+			Object authorized = authorizedFactories.get(cl);
+			if (authorized == null) {
+				authorized = findAuthorizedFactory(clazz);
+				authorizedFactories.put(cl, authorized);
+			}
+			return authorized == noAuthority ? null : authorized;
+		}
+
+		private Object findAuthorizedFactory(Class<?> clazz) {
+			if (hasAuthority(clazz))
+				return MultiplexingFactory.this;
+			for (int i = 0; i < hasAuthorityHandles.size(); i++) {
+				try {
+					if ((boolean) hasAuthorityHandles.get(i).invokeExact(clazz)) {
+						return factoryList.get(i);
+					}
+				} catch (Throwable t) {
+					container.getLogServices().log(MultiplexingFactory.class.getName(), FrameworkLogEntry.ERROR, "findAuthorizedURLStreamHandler-loop", t); //$NON-NLS-1$
+					// we continue to the next factory here instead of failing
+				}
+			}
+			return noAuthority;
+		}
 	}
 
 	static void setAccessible(AccessibleObject o) {
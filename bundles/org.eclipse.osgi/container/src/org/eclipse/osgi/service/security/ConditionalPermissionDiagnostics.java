@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.osgi.service.security;
+
+/**
+ * A service reporting how well the decisions of the conditional permission
+ * admin are cached. The framework registers this service alongside the
+ * {@link org.osgi.service.condpermadmin.ConditionalPermissionAdmin} service.
+ * The counts are kept for the lifetime of the framework, across updates of
+ * the conditional permission table.
+ * <p>
+ * This interface is not intended to be implemented by clients.
+ * </p>
+ * @since 3.19
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface ConditionalPermissionDiagnostics {
+	/**
+	 * Returns the number of conditional permission checks answered by the evaluation cache.
+	 * @return the number of cache hits
+	 */
+	long getEvaluationCacheHitCount();
+
+	/**
+	 * Returns the number of conditional permission checks which had to evaluate the rows.
+	 * @return the number of cache misses
+	 */
+	long getEvaluationCacheMissCount();
+
+	/**
+	 * Returns the number of decisions evicted from the evaluation cache to make room for
+	 * more frequently checked decisions.
+	 * @return the number of evicted decisions
+	 */
+	long getEvaluationCacheEvictionCount();
+
+	/**
+	 * Returns the number of decisions not cached because they were checked less frequently
+	 * than the cached decisions.
+	 * @return the number of rejected decisions
+	 */
+	long getEvaluationCacheRejectionCount();
+
+	/**
+	 * Returns the number of decisions currently in the evaluation cache.
+	 * @return the size of the evaluation cache
+	 */
+	int getEvaluationCacheSize();
+}
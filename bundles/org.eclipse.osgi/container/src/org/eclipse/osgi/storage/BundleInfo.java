@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2021 IBM Corporation and others.
+ * Copyright (c) 2012, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.security.PermissionCollection;
 import java.security.ProtectionDomain;
 import java.util.Collection;
 import java.util.Collections;
@@ -49,6 +50,7 @@ import org.eclipse.osgi.internal.framework.EquinoxContainer;
 import org.eclipse.osgi.internal.hookregistry.StorageHookFactory;
 import org.eclipse.osgi.internal.hookregistry.StorageHookFactory.StorageHook;
 import org.eclipse.osgi.internal.messages.Msg;
+import org.eclipse.osgi.internal.permadmin.BundlePermissions;
 import org.eclipse.osgi.storage.ContentProvider.Type;
 import org.eclipse.osgi.storage.Storage.StorageException;
 import org.eclipse.osgi.storage.bundlefile.BundleEntry;
@@ -78,7 +80,7 @@ public final class BundleInfo {
 		private BundleFile bundleFile;
 		private Map<String, String> rawHeaders;
 		private ModuleRevision revision;
-		private ManifestLocalization headerLocalization;
+		private volatile ManifestLocalization headerLocalization;
 		private ProtectionDomain domain;
 		private NativeCodeFinder nativeCodeFinder;
 		private List<StorageHook<?, ?>> storageHooks;
@@ -200,6 +202,10 @@ public final class BundleInfo {
 		}
 
 		private ManifestLocalization getManifestLocalization() {
+			ManifestLocalization current = headerLocalization;
+			if (current != null) {
+				return current;
+			}
 			synchronized (genMonitor) {
 				if (headerLocalization == null) {
 					headerLocalization = new ManifestLocalization(this, getHeaders(), getStorage().getConfiguration().getConfiguration(EquinoxConfiguration.PROP_ROOT_LOCALE, "en")); //$NON-NLS-1$
@@ -408,6 +414,12 @@ public final class BundleInfo {
 					hook.deletingGeneration();
 				}
 			}
+			ProtectionDomain currentDomain = getDomain(false);
+			PermissionCollection permissions = currentDomain == null ? null : currentDomain.getPermissions();
+			if (permissions instanceof BundlePermissions) {
+				// discard the permission decisions cached for the generation
+				((BundlePermissions) permissions).clearPermissionCache();
+			}
 			synchronized (this.genMonitor) {
 				// make sure the bundle file is closed
 				if (bundleFile != null) {
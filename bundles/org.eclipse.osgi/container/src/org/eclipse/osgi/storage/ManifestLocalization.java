@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2022 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,17 +20,22 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.MissingResourceException;
 import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.osgi.container.Module;
 import org.eclipse.osgi.container.ModuleWire;
 import org.eclipse.osgi.container.ModuleWiring;
 import org.eclipse.osgi.framework.util.CaseInsensitiveDictionaryMap;
+import org.eclipse.osgi.internal.hooks.LocalizedHeadersHookFactory;
+import org.eclipse.osgi.internal.hooks.LocalizedHeadersHookFactory.LocalizedHeadersHook;
 import org.eclipse.osgi.storage.BundleInfo.Generation;
 import org.osgi.framework.Constants;
 import org.osgi.framework.namespace.HostNamespace;
@@ -38,12 +43,15 @@ import org.osgi.framework.wiring.BundleRevision;
 
 /**
  * This class is used to localize manifest headers for a revision.
+ * The localized headers are kept for each locale and, once the revision is
+ * resolved, also persisted with the storage hook data of the generation.
  */
 public class ManifestLocalization {
 	final String defaultRoot;
 	private final Generation generation;
 	private final Dictionary<String, String> rawHeaders;
 	private volatile Dictionary<String, String> defaultLocaleHeaders = null;
+	private final Map<String, Dictionary<String, String>> localeHeadersCache = new ConcurrentHashMap<>();
 	private final Hashtable<String, BundleResourceBundle> cache = new Hashtable<>(5);
 
 	public ManifestLocalization(Generation generation, Dictionary<String, String> rawHeaders, String defaultRoot) {
@@ -55,6 +63,7 @@ public class ManifestLocalization {
 	public void clearCache() {
 		synchronized (cache) {
 			cache.clear();
+			localeHeadersCache.clear();
 			defaultLocaleHeaders = null;
 		}
 	}
@@ -69,14 +78,41 @@ public class ManifestLocalization {
 		if (isDefaultLocale && currentDefault != null) {
 			return currentDefault;
 		}
+		Dictionary<String, String> cached = localeHeadersCache.get(localeString);
+		if (cached != null) {
+			return cached;
+		}
 		if (generation.getRevision().getRevisions().getModule().getState().equals(Module.State.UNINSTALLED)) {
 			// defaultLocaleHeaders should have been initialized on uninstall
 			if (currentDefault != null)
 				return currentDefault;
 			return rawHeaders;
 		}
-		ResourceBundle localeProperties = getResourceBundle(localeString, isDefaultLocale);
+		// only headers localized with the resources of a wiring are persisted; the wiring is persisted as well
+		LocalizedHeadersHook localizedHeadersHook = generation.getStorageHook(LocalizedHeadersHookFactory.class);
+		String wiringKey = localizedHeadersHook == null ? null : getWiringKey();
+		Map<String, String> persisted = wiringKey == null ? null : localizedHeadersHook.getLocalizedHeaders(localeString, defaultRoot, wiringKey);
 		CaseInsensitiveDictionaryMap<String, String> localeHeaders = new CaseInsensitiveDictionaryMap<>(this.rawHeaders);
+		if (persisted == null || !localize(localeHeaders, persisted)) {
+			Map<String, String> localized = localize(localeHeaders, getResourceBundle(localeString, isDefaultLocale));
+			if (wiringKey != null) {
+				localizedHeadersHook.putLocalizedHeaders(localeString, defaultRoot, wiringKey, localized);
+			}
+		}
+		Dictionary<String, String> result = localeHeaders.asUnmodifiableDictionary();
+		if (isDefaultLocale) {
+			defaultLocaleHeaders = result;
+		}
+		localeHeadersCache.put(localeString, result);
+		return result;
+	}
+
+	/*
+	 * Replaces the localizable values of the headers with the values from the resource bundle
+	 * and returns the values which were replaced.
+	 */
+	private static Map<String, String> localize(CaseInsensitiveDictionaryMap<String, String> localeHeaders, ResourceBundle localeProperties) {
+		Map<String, String> localized = new HashMap<>();
 		for (Entry<String, String> entry : localeHeaders.entrySet()) {
 			String value = entry.getValue();
 			if (value.startsWith("%") && (value.length() > 1)) { //$NON-NLS-1$
@@ -87,13 +123,51 @@ public class ManifestLocalization {
 					value = propertiesKey;
 				}
 				entry.setValue(value);
+				localized.put(entry.getKey(), value);
 			}
 		}
-		Dictionary<String, String> result = localeHeaders.asUnmodifiableDictionary();
-		if (isDefaultLocale) {
-			defaultLocaleHeaders = result;
+		return localized;
+	}
+
+	/*
+	 * Replaces the localizable values of the headers with persisted values. Returns false
+	 * without changing the headers if a value is missing.
+	 */
+	private static boolean localize(CaseInsensitiveDictionaryMap<String, String> localeHeaders, Map<String, String> persisted) {
+		for (Entry<String, String> entry : localeHeaders.entrySet()) {
+			String value = entry.getValue();
+			if (value.startsWith("%") && (value.length() > 1) && !persisted.containsKey(entry.getKey())) { //$NON-NLS-1$
+				return false;
+			}
 		}
-		return result;
+		for (Entry<String, String> entry : localeHeaders.entrySet()) {
+			String value = entry.getValue();
+			if (value.startsWith("%") && (value.length() > 1)) { //$NON-NLS-1$
+				entry.setValue(persisted.get(entry.getKey()));
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Returns a key identifying the generations whose resources are searched by findResource,
+	 * or null if the revision is not resolved.
+	 */
+	private String getWiringKey() {
+		ModuleWiring wiring = generation.getRevision().getWiring();
+		if (wiring == null) {
+			return null;
+		}
+		boolean fragment = (generation.getRevision().getTypes() & BundleRevision.TYPE_FRAGMENT) != 0;
+		List<ModuleWire> hostWires = fragment ? wiring.getRequiredModuleWires(HostNamespace.HOST_NAMESPACE) : wiring.getProvidedModuleWires(HostNamespace.HOST_NAMESPACE);
+		StringBuilder key = new StringBuilder();
+		if (hostWires != null) {
+			for (ModuleWire hostWire : hostWires) {
+				Generation wired = (Generation) (fragment ? hostWire.getProvider() : hostWire.getRequirer()).getRevisionInfo();
+				key.append(wired.getBundleInfo().getBundleId()).append('.').append(wired.getGenerationId()).append(',');
+			}
+		}
+		return key.toString();
 	}
 
 	private String[] buildNLVariants(String nl) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2021 IBM Corporation and others.
+ * Copyright (c) 2012, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -172,6 +172,7 @@ public class Storage {
 	private final ModuleContainer moduleContainer;
 	private final Object saveMonitor = new Object();
 	private long lastSavedTimestamp = -1;
+	private volatile boolean storageHookDataChanged;
 	private final MRUBundleFileList mruList;
 	private final FrameworkExtensionInstaller extensionInstaller;
 	private final List<String> cachedHeaderKeys = Arrays.asList(Constants.BUNDLE_SYMBOLICNAME, Constants.BUNDLE_ACTIVATIONPOLICY, "Service-Component"); //$NON-NLS-1$
@@ -1295,16 +1296,28 @@ public class Storage {
 		}
 	}
 
+	/**
+	 * Indicates that the data of a storage hook changed without the module database
+	 * changing, so that the data is persisted with the next save.
+	 */
+	public void storageHookDataChanged() {
+		storageHookDataChanged = true;
+	}
+
 	void save0() throws IOException {
 		StorageManager childStorageManager = null;
 		ManagedOutputStream mos = null;
 		DataOutputStream out = null;
 		boolean success = false;
+		boolean hookDataChanged = false;
 		moduleDatabase.readLock();
 		try {
 			synchronized (this.saveMonitor) {
-				if (lastSavedTimestamp == moduleDatabase.getTimestamp())
+				if (lastSavedTimestamp == moduleDatabase.getTimestamp() && !storageHookDataChanged)
 					return;
+				// clear before saving so that changes made while saving are saved next time
+				hookDataChanged = storageHookDataChanged;
+				storageHookDataChanged = false;
 				childStorageManager = getChildStorageManager();
 				mos = childStorageManager.getOutputStream(FRAMEWORK_INFO);
 				out = new DataOutputStream(new BufferedOutputStream(mos));
@@ -1316,6 +1329,9 @@ public class Storage {
 			}
 		} finally {
 			if (!success) {
+				if (hookDataChanged) {
+					storageHookDataChanged = true;
+				}
 				if (mos != null) {
 					mos.abort();
 				}
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.equinox.log;
+
+/**
+ * Marker interface to denote a log filter whose results may be cached by the loggers.
+ * <p>
+ * The results are cached until a listener is added or removed or the log levels of a
+ * logger context change. A filter which returns a different result for the same arguments
+ * for any other reason must add its listener again to invalidate the cached results.
+ * The results of filters which do not implement this interface are never cached.
+ * </p>
+ * @ThreadSafe
+ * @see ExtendedLogReaderService#addLogListener(org.osgi.service.log.LogListener, LogFilter)
+ * @since 3.19
+ */
+public interface CacheableLogFilter extends LogFilter {
+	//
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others
+ * Copyright (c) 2006, 2026 IBM Corporation and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -17,6 +17,7 @@ import org.osgi.service.log.LogEntry;
  * A <code>LogFilter</code> is used to pre-filter log requests before sending events to a <code>LogListener</code>.
  * @ThreadSafe
  * @see ExtendedLogReaderService#addLogListener(org.osgi.service.log.LogListener, LogFilter)
+ * @see CacheableLogFilter
  * @since 3.7
  */
 public interface LogFilter {